@@ -0,0 +1,29 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Loads GPX fixtures with the {@link GpxParser} used by the replay location engine.
+ */
+public final class GpxTraces {
+
+  private GpxTraces() {
+    // Utility class
+  }
+
+  public static List<Location> load(String fixtureName) throws Exception {
+    InputStream inputStream = GpxTraces.class.getClassLoader().getResourceAsStream(fixtureName);
+    try {
+      List<Location> locations = new GpxParser().parseGpx(inputStream);
+      if (locations == null) {
+        throw new IllegalArgumentException("No track points found in " + fixtureName);
+      }
+      return locations;
+    } finally {
+      inputStream.close();
+    }
+  }
+}
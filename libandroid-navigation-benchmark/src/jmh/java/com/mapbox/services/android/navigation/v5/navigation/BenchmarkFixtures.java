@@ -0,0 +1,137 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Loads the route fixtures shared with the navigation unit tests and builds the location traces
+ * driven through the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+  static final String DIRECTIONS_V5 = "directions_v5.json";
+  static final String DIRECTIONS_PRECISION_6 = "directions_v5_precision_6.json";
+  static final String LONG_STEP = "long_step.json";
+  static final String TWO_LEG_ROUTE = "directions_two_leg_route.json";
+  static final String GPX_TRACE = "test.gpx";
+  /**
+   * Not a fixture file: the two leg route with its legs repeated {@link #LONG_ROUTE_LEG_REPEATS} times.
+   */
+  static final String LONG_ROUTE = "long_route";
+  static final int LONG_ROUTE_LEG_REPEATS = 50;
+
+  private static final String LOCATION_PROVIDER = "benchmark";
+  private static final double FIX_SPACING_METERS = 10;
+  private static final float FIX_SPEED_METERS_PER_SECOND = 10f;
+  private static final float FIX_ACCURACY_METERS = 5f;
+  private static final long FIX_INTERVAL_MILLIS = 1000;
+
+  private BenchmarkFixtures() {
+    // Utility class
+  }
+
+  static String loadJson(String fixtureName) {
+    InputStream inputStream = BenchmarkFixtures.class.getClassLoader().getResourceAsStream(fixtureName);
+    Scanner scanner = new Scanner(inputStream, "UTF-8").useDelimiter("\\A");
+    String json = scanner.hasNext() ? scanner.next() : "";
+    scanner.close();
+    return json;
+  }
+
+  static DirectionsRoute loadRoute(String fixtureName) {
+    if (LONG_ROUTE.equals(fixtureName)) {
+      return buildLongRoute(LONG_ROUTE_LEG_REPEATS);
+    }
+    Gson gson = new GsonBuilder().registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    DirectionsResponse response = gson.fromJson(loadJson(fixtureName), DirectionsResponse.class);
+    return response.routes().get(0);
+  }
+
+  /**
+   * Builds a long route from the two leg route, with its legs repeated the given number of times.
+   * The concatenated route geometries stay a valid polyline, each copy continuing from the last
+   * coordinate of the previous one.
+   */
+  static DirectionsRoute buildLongRoute(int legRepeats) {
+    DirectionsRoute route = loadRoute(TWO_LEG_ROUTE);
+    List<RouteLeg> legs = new ArrayList<>();
+    StringBuilder geometry = new StringBuilder();
+    for (int repeat = 0; repeat < legRepeats; repeat++) {
+      legs.addAll(route.legs());
+      geometry.append(route.geometry());
+    }
+    return route.toBuilder().legs(legs).geometry(geometry.toString()).build();
+  }
+
+  /**
+   * The fixtures are precision 6, except {@link #DIRECTIONS_V5}, which was requested with
+   * the default polyline geometry.
+   */
+  static int geometryPrecision(String fixtureName) {
+    return DIRECTIONS_V5.equals(fixtureName) ? Constants.PRECISION_5 : Constants.PRECISION_6;
+  }
+
+  /**
+   * Builds one location every {@link #FIX_SPACING_METERS} along the step geometries of the route,
+   * heading along the route, one second apart.
+   */
+  static List<Location> buildLocationsAlongRoute(DirectionsRoute route) {
+    List<Location> locations = new ArrayList<>();
+    long time = 0;
+    for (RouteLeg leg : route.legs()) {
+      for (LegStep step : leg.steps()) {
+        List<Point> stepPoints = PolylineUtils.decode(step.geometry(), Constants.PRECISION_6);
+        if (stepPoints.size() < 2) {
+          continue;
+        }
+        LineString stepLineString = LineString.fromLngLats(stepPoints);
+        double stepLength = TurfMeasurement.length(stepLineString, TurfConstants.UNIT_METERS);
+        for (double distance = 0; distance < stepLength; distance += FIX_SPACING_METERS) {
+          Point point = TurfMeasurement.along(stepLineString, distance, TurfConstants.UNIT_METERS);
+          Point ahead = TurfMeasurement.along(stepLineString, distance + FIX_SPACING_METERS, TurfConstants.UNIT_METERS);
+          locations.add(buildLocation(point, TurfMeasurement.bearing(point, ahead), time));
+          time += FIX_INTERVAL_MILLIS;
+        }
+      }
+    }
+    return locations;
+  }
+
+  /**
+   * Runs the locations through a {@link NavigationEngine} with the default options, so benchmarks
+   * of single engines can replay realistic route progress.
+   */
+  static List<NavigationEngineResult> processRoute(DirectionsRoute route, List<Location> locations) {
+    NavigationEngine engine = new NavigationEngine(route, MapboxNavigationOptions.builder().build());
+    return engine.processAll(locations);
+  }
+
+  private static Location buildLocation(Point point, double bearing, long time) {
+    Location location = new Location(LOCATION_PROVIDER);
+    location.setLongitude(point.longitude());
+    location.setLatitude(point.latitude());
+    location.setBearing((float) ((bearing + 360) % 360));
+    location.setSpeed(FIX_SPEED_METERS_PER_SECOND);
+    location.setAccuracy(FIX_ACCURACY_METERS);
+    location.setTime(time);
+    return location;
+  }
+}
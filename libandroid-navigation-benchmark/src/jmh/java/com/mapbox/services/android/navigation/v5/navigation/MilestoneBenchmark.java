@@ -0,0 +1,85 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.milestone.BannerInstructionMilestone;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.MilestoneScheduler;
+import com.mapbox.services.android.navigation.v5.milestone.StepMilestone;
+import com.mapbox.services.android.navigation.v5.milestone.Trigger;
+import com.mapbox.services.android.navigation.v5.milestone.TriggerProperty;
+import com.mapbox.services.android.navigation.v5.milestone.TriggerSnapshot;
+import com.mapbox.services.android.navigation.v5.milestone.VoiceInstructionMilestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.BANNER_INSTRUCTION_MILESTONE_ID;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.VOICE_INSTRUCTION_MILESTONE_ID;
+
+/**
+ * Per-fix cost of {@link NavigationHelper#checkMilestones(RouteProgress, RouteProgress, java.util.Collection)}
+ * and of the {@link MilestoneScheduler}, with the default voice and banner milestones plus a number of
+ * step milestones triggered at increasing distances before each maneuver.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MilestoneBenchmark {
+
+  @Param({BenchmarkFixtures.DIRECTIONS_PRECISION_6, BenchmarkFixtures.TWO_LEG_ROUTE})
+  public String fixture;
+
+  @Param({"0", "50"})
+  public int stepMilestones;
+
+  private List<Milestone> milestones;
+  private MilestoneScheduler scheduler;
+  private TriggerSnapshot snapshot;
+  private List<NavigationEngineResult> results;
+  private int locationIndex;
+
+  @Setup
+  public void setup() {
+    DirectionsRoute route = BenchmarkFixtures.loadRoute(fixture);
+    results = BenchmarkFixtures.processRoute(route, BenchmarkFixtures.buildLocationsAlongRoute(route));
+    milestones = new ArrayList<>();
+    milestones.add(new VoiceInstructionMilestone.Builder().setIdentifier(VOICE_INSTRUCTION_MILESTONE_ID).build());
+    milestones.add(new BannerInstructionMilestone.Builder().setIdentifier(BANNER_INSTRUCTION_MILESTONE_ID).build());
+    for (int i = 0; i < stepMilestones; i++) {
+      milestones.add(new StepMilestone.Builder()
+        .setIdentifier(i)
+        .setTrigger(Trigger.lte(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, (i + 1) * 10))
+        .build());
+    }
+    scheduler = new MilestoneScheduler();
+    scheduler.setMilestones(milestones);
+    snapshot = new TriggerSnapshot();
+  }
+
+  @Benchmark
+  public List<Milestone> checkMilestones() {
+    int index = locationIndex++ % results.size();
+    RouteProgress previousRouteProgress = results.get(index == 0 ? 0 : index - 1).routeProgress();
+    RouteProgress routeProgress = results.get(index).routeProgress();
+    return NavigationHelper.checkMilestones(previousRouteProgress, routeProgress, milestones);
+  }
+
+  @Benchmark
+  public List<Milestone> scheduleMilestones() {
+    int index = locationIndex++ % results.size();
+    RouteProgress previousRouteProgress = results.get(index == 0 ? 0 : index - 1).routeProgress();
+    RouteProgress routeProgress = results.get(index).routeProgress();
+    return scheduler.checkMilestones(previousRouteProgress, routeProgress, snapshot);
+  }
+}
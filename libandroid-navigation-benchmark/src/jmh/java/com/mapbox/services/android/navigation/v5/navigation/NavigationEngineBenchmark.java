@@ -0,0 +1,47 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state cost of navigating a whole route: a new {@link NavigationEngine} processes every
+ * location along the route, with all engines and the default milestones enabled.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NavigationEngineBenchmark {
+
+  @Param({BenchmarkFixtures.DIRECTIONS_PRECISION_6, BenchmarkFixtures.LONG_STEP, BenchmarkFixtures.TWO_LEG_ROUTE})
+  public String fixture;
+
+  private DirectionsRoute route;
+  private MapboxNavigationOptions options;
+  private List<Location> locations;
+
+  @Setup
+  public void setup() {
+    route = BenchmarkFixtures.loadRoute(fixture);
+    options = MapboxNavigationOptions.builder().build();
+    locations = BenchmarkFixtures.buildLocationsAlongRoute(route);
+  }
+
+  @Benchmark
+  public List<NavigationEngineResult> processRoute() {
+    NavigationEngine engine = new NavigationEngine(route, options);
+    return engine.processAll(locations);
+  }
+}
@@ -0,0 +1,76 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.location.replay.GpxTraces;
+import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteSpatialIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-fix cost of {@link OffRouteDetector#isUserOffRoute(Location, RouteProgress, MapboxNavigationOptions)}.
+ * <p>
+ * The on-route trace follows the route; the GPX trace was recorded away from the route, so its fixes
+ * exercise the detector's off-route checks.  Without the {@link RouteSpatialIndex}, the detector
+ * measures the distance to every segment of the step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OffRouteDetectorBenchmark {
+
+  private static final String ON_ROUTE_TRACE = "on-route";
+
+  @Param({ON_ROUTE_TRACE, BenchmarkFixtures.GPX_TRACE})
+  public String trace;
+
+  @Param({"true", "false"})
+  public boolean spatialIndex;
+
+  private OffRouteDetector offRouteDetector;
+  private MapboxNavigationOptions options;
+  private List<Location> locations;
+  private List<RouteProgress> routeProgresses;
+  private int locationIndex;
+
+  @Setup
+  public void setup() throws Exception {
+    DirectionsRoute route = BenchmarkFixtures.loadRoute(BenchmarkFixtures.DIRECTIONS_PRECISION_6);
+    List<Location> routeLocations = BenchmarkFixtures.buildLocationsAlongRoute(route);
+    routeProgresses = new ArrayList<>();
+    for (NavigationEngineResult result : BenchmarkFixtures.processRoute(route, routeLocations)) {
+      routeProgresses.add(result.routeProgress());
+    }
+    locations = ON_ROUTE_TRACE.equals(trace) ? routeLocations : GpxTraces.load(trace);
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    offRouteDetector = new OffRouteDetector();
+    offRouteDetector.setRouteGeometryIndex(geometryIndex);
+    if (spatialIndex) {
+      offRouteDetector.setRouteSpatialIndex(RouteSpatialIndex.create(route, geometryIndex));
+    }
+    options = MapboxNavigationOptions.builder().build();
+  }
+
+  @Benchmark
+  public boolean isUserOffRoute() {
+    int index = locationIndex++;
+    Location location = locations.get(index % locations.size());
+    RouteProgress routeProgress = routeProgresses.get(index % routeProgresses.size());
+    return offRouteDetector.isUserOffRoute(location, routeProgress, options);
+  }
+}
@@ -0,0 +1,95 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.utils.PolylineDecoder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost and allocation (see the gc profiler) of decoding a route geometry into points with
+ * {@link PolylineUtils#decode(String, int)}, and into coordinate arrays or a visitor with
+ * {@link PolylineDecoder}.  Each benchmark sums the coordinates, so the decoded values are used.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PolylineArrayDecodeBenchmark {
+
+  private static final int WINDOW_VERTICES = 32;
+
+  @Param({BenchmarkFixtures.LONG_STEP, BenchmarkFixtures.TWO_LEG_ROUTE})
+  public String fixture;
+
+  private String routeGeometry;
+  private int precision;
+  private double[] latitudes;
+  private double[] longitudes;
+  private final CoordinateSum coordinateSum = new CoordinateSum();
+
+  @Setup
+  public void setup() {
+    routeGeometry = BenchmarkFixtures.loadRoute(fixture).geometry();
+    precision = BenchmarkFixtures.geometryPrecision(fixture);
+    int vertexCount = PolylineDecoder.vertexCount(routeGeometry);
+    latitudes = new double[vertexCount];
+    longitudes = new double[vertexCount];
+  }
+
+  @Benchmark
+  public double decodePoints() {
+    List<Point> points = PolylineUtils.decode(routeGeometry, precision);
+    double sum = 0;
+    for (Point point : points) {
+      sum += point.latitude() + point.longitude();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double decodeArrays() {
+    int vertices = PolylineDecoder.decode(routeGeometry, precision, latitudes, longitudes);
+    double sum = 0;
+    for (int vertex = 0; vertex < vertices; vertex++) {
+      sum += latitudes[vertex] + longitudes[vertex];
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double decodeVisitor() {
+    coordinateSum.sum = 0;
+    PolylineDecoder.decode(routeGeometry, precision, coordinateSum);
+    return coordinateSum.sum;
+  }
+
+  @Benchmark
+  public double decodeFirstWindow() {
+    int vertices = PolylineDecoder.decode(routeGeometry, precision, 0, WINDOW_VERTICES, latitudes, longitudes, 0);
+    double sum = 0;
+    for (int vertex = 0; vertex < vertices; vertex++) {
+      sum += latitudes[vertex] + longitudes[vertex];
+    }
+    return sum;
+  }
+
+  private static class CoordinateSum implements PolylineDecoder.CoordinateVisitor {
+
+    private double sum;
+
+    @Override
+    public void visit(int vertex, double latitude, double longitude) {
+      sum += latitude + longitude;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link PolylineUtils#decode(String, int)} for the route geometry and for every step geometry,
+ * as done when a new route is received.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PolylineDecodeBenchmark {
+
+  @Param({BenchmarkFixtures.DIRECTIONS_V5, BenchmarkFixtures.LONG_STEP, BenchmarkFixtures.TWO_LEG_ROUTE})
+  public String fixture;
+
+  private String routeGeometry;
+  private List<String> stepGeometries;
+  private int precision;
+
+  @Setup
+  public void setup() {
+    DirectionsRoute route = BenchmarkFixtures.loadRoute(fixture);
+    routeGeometry = route.geometry();
+    stepGeometries = new ArrayList<>();
+    for (RouteLeg leg : route.legs()) {
+      for (LegStep step : leg.steps()) {
+        stepGeometries.add(step.geometry());
+      }
+    }
+    precision = BenchmarkFixtures.geometryPrecision(fixture);
+  }
+
+  @Benchmark
+  public List<Point> decodeRouteGeometry() {
+    return PolylineUtils.decode(routeGeometry, precision);
+  }
+
+  @Benchmark
+  public void decodeStepGeometries(Blackhole blackhole) {
+    for (String stepGeometry : stepGeometries) {
+      blackhole.consume(PolylineUtils.decode(stepGeometry, precision));
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.utils.PolylineTranscoder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost and allocation (see the gc profiler) of converting a precision 6 route geometry to precision 5,
+ * as sent with the telemetry events, by decoding and encoding it and with a {@link PolylineTranscoder}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PolylineTranscodeBenchmark {
+
+  @Param({BenchmarkFixtures.DIRECTIONS_PRECISION_6, BenchmarkFixtures.LONG_STEP, BenchmarkFixtures.TWO_LEG_ROUTE})
+  public String fixture;
+
+  private String routeGeometry;
+  private PolylineTranscoder transcoder;
+
+  @Setup
+  public void setup() {
+    routeGeometry = BenchmarkFixtures.loadRoute(fixture).geometry();
+    transcoder = new PolylineTranscoder(Constants.PRECISION_6, Constants.PRECISION_5);
+  }
+
+  @Benchmark
+  public String decodeAndEncode() {
+    return PolylineUtils.encode(PolylineUtils.decode(routeGeometry, Constants.PRECISION_6), Constants.PRECISION_5);
+  }
+
+  @Benchmark
+  public String transcode() {
+    return transcoder.transcode(routeGeometry);
+  }
+}
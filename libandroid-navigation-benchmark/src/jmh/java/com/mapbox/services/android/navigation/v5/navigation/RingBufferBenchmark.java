@@ -0,0 +1,82 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.services.android.navigation.v5.utils.DoubleRingBuffer;
+import com.mapbox.services.android.navigation.v5.utils.IntRingBuffer;
+import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost and allocation (see the gc profiler) of pushing one distance into a bounded history and reading
+ * back its newest value and its mean, with the boxed {@link RingBuffer} and with the primitive ring buffers.
+ * <p>
+ * The distances are larger than the integers cached by {@link Integer#valueOf(int)}, as distances in
+ * meters usually are, so every push to the boxed buffer allocates.  Like the off-route distance history,
+ * the boxed buffer is filled from its head, and keeps its first values once full.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RingBufferBenchmark {
+
+  private static final int FIRST_DISTANCE = 1000;
+  private static final int DISTANCES = 4096;
+
+  @Param({"3", "40"})
+  public int capacity;
+
+  private RingBuffer<Integer> boxedIntegers;
+  private RingBuffer<Double> boxedDoubles;
+  private IntRingBuffer integers;
+  private DoubleRingBuffer doubles;
+  private int pushCount;
+
+  @Setup
+  public void setup() {
+    boxedIntegers = new RingBuffer<>(capacity);
+    boxedDoubles = new RingBuffer<>(capacity);
+    integers = new IntRingBuffer(capacity);
+    doubles = new DoubleRingBuffer(capacity);
+  }
+
+  @Benchmark
+  public int boxedIntegerPush() {
+    boxedIntegers.push(nextDistance());
+    return boxedIntegers.peek();
+  }
+
+  @Benchmark
+  public int intPush() {
+    integers.push(nextDistance());
+    return integers.newest();
+  }
+
+  @Benchmark
+  public double boxedDoubleMean() {
+    boxedDoubles.push((double) nextDistance());
+    double sum = 0;
+    for (Double distance : boxedDoubles) {
+      sum += distance;
+    }
+    return sum / boxedDoubles.size();
+  }
+
+  @Benchmark
+  public double doubleMean() {
+    doubles.push(nextDistance());
+    return doubles.mean();
+  }
+
+  private int nextDistance() {
+    return FIRST_DISTANCE + (pushCount++ % DISTANCES);
+  }
+}
@@ -0,0 +1,105 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.routeprogress.PackedRouteGeometry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost and allocation (see the gc profiler) of decoding the route and step geometries of a route into
+ * points, as the navigation engine and the map did, and into a {@link PackedRouteGeometry}.
+ * <p>
+ * The long route repeats the legs of the two leg route {@code legRepeats} times.  {@link #main(String[])}
+ * prints the heap retained by each form of the long route geometry, which the allocation of
+ * {@link #decodePoints()} overstates with the garbage of growing the point lists:
+ * <pre>
+ * ./gradlew :libandroid-navigation-benchmark:jmhJar
+ * java -cp libandroid-navigation-benchmark/build/libs/*-jmh.jar \
+ *   com.mapbox.services.android.navigation.v5.navigation.RouteGeometryFootprintBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RouteGeometryFootprintBenchmark {
+
+  private static final int RETAINED_COPIES = 20;
+
+  @Param({"1", "50"})
+  public int legRepeats;
+
+  private DirectionsRoute route;
+
+  @Setup
+  public void setup() {
+    route = BenchmarkFixtures.buildLongRoute(legRepeats);
+  }
+
+  @Benchmark
+  public List<List<Point>> decodePoints() {
+    return decodeGeometries(route);
+  }
+
+  @Benchmark
+  public PackedRouteGeometry packGeometry() {
+    return PackedRouteGeometry.create(route);
+  }
+
+  public static void main(String[] args) {
+    DirectionsRoute longRoute = BenchmarkFixtures.loadRoute(BenchmarkFixtures.LONG_ROUTE);
+    int coordinates = PackedRouteGeometry.create(longRoute).coordinateCount();
+    long pointBytes = measureRetainedBytes(longRoute, true);
+    long packedBytes = measureRetainedBytes(longRoute, false);
+    System.out.printf("%d coordinates: points %d bytes (%.1f per coordinate), "
+        + "packed %d bytes (%.1f per coordinate)%n", coordinates, pointBytes, (double) pointBytes / coordinates,
+      packedBytes, (double) packedBytes / coordinates);
+  }
+
+  private static List<List<Point>> decodeGeometries(DirectionsRoute route) {
+    List<List<Point>> geometries = new ArrayList<>();
+    geometries.add(PolylineUtils.decode(route.geometry(), Constants.PRECISION_6));
+    for (RouteLeg leg : route.legs()) {
+      for (LegStep step : leg.steps()) {
+        geometries.add(PolylineUtils.decode(step.geometry(), Constants.PRECISION_6));
+      }
+    }
+    return geometries;
+  }
+
+  private static long measureRetainedBytes(DirectionsRoute route, boolean points) {
+    Object[] retained = new Object[RETAINED_COPIES];
+    long before = usedHeap();
+    for (int copy = 0; copy < RETAINED_COPIES; copy++) {
+      retained[copy] = points ? decodeGeometries(route) : PackedRouteGeometry.create(route);
+    }
+    long after = usedHeap();
+    if (retained[RETAINED_COPIES - 1] == null) {
+      throw new IllegalStateException();
+    }
+    return (after - before) / RETAINED_COPIES;
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,61 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.utils.RouteFingerprint;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-fix cost of checking whether the route has changed, when the route being compared is an equal
+ * but separate instance, such as one deserialized again or copied with {@code toBuilder()}.
+ * <p>
+ * {@link #deepEquals()} and {@link #geometryEquals()} are the comparisons previously made with every
+ * update; the fingerprint comparisons replace them.  The {@link BenchmarkFixtures#LONG_ROUTE} shows
+ * how the previous comparisons grow with the size of the route.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RouteIdentityBenchmark {
+
+  @Param({BenchmarkFixtures.DIRECTIONS_PRECISION_6, BenchmarkFixtures.TWO_LEG_ROUTE, BenchmarkFixtures.LONG_ROUTE})
+  public String fixture;
+
+  private DirectionsRoute route;
+  private DirectionsRoute equalRoute;
+
+  @Setup
+  public void setup() {
+    route = BenchmarkFixtures.loadRoute(fixture);
+    equalRoute = BenchmarkFixtures.loadRoute(fixture);
+  }
+
+  @Benchmark
+  public boolean deepEquals() {
+    return route.equals(equalRoute);
+  }
+
+  @Benchmark
+  public boolean geometryEquals() {
+    return route.geometry().equals(equalRoute.geometry());
+  }
+
+  @Benchmark
+  public boolean fingerprintEqualRoute() {
+    return RouteFingerprint.isSameRoute(route, equalRoute);
+  }
+
+  @Benchmark
+  public boolean fingerprintSameRoute() {
+    return RouteFingerprint.isSameRoute(route, route);
+  }
+}
@@ -0,0 +1,62 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
+import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-fix cost of {@link NavigationRouteProcessor#buildNewRouteProgress(DirectionsRoute,
+ * MapboxNavigationOptions, OffRoute, Location)}, replaying one location along the route per invocation.
+ * The processor starts over from the first location once the end of the route is reached.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RouteProcessorBenchmark {
+
+  @Param({BenchmarkFixtures.DIRECTIONS_PRECISION_6, BenchmarkFixtures.LONG_STEP, BenchmarkFixtures.TWO_LEG_ROUTE})
+  public String fixture;
+
+  private DirectionsRoute route;
+  private MapboxNavigationOptions options;
+  private OffRoute offRouteEngine;
+  private List<Location> locations;
+  private NavigationRouteProcessor routeProcessor;
+  private int locationIndex;
+
+  @Setup
+  public void setup() {
+    route = BenchmarkFixtures.loadRoute(fixture);
+    options = MapboxNavigationOptions.builder().build();
+    offRouteEngine = new OffRouteDetector();
+    locations = BenchmarkFixtures.buildLocationsAlongRoute(route);
+    routeProcessor = new NavigationRouteProcessor();
+  }
+
+  @Benchmark
+  public RouteProgress buildNewRouteProgress() {
+    if (locationIndex == locations.size()) {
+      routeProcessor = new NavigationRouteProcessor();
+      locationIndex = 0;
+    }
+    Location location = locations.get(locationIndex++);
+    RouteProgress routeProgress = routeProcessor.buildNewRouteProgress(route, options, offRouteEngine, location);
+    routeProcessor.setRouteProgress(routeProgress);
+    return routeProgress;
+  }
+}
@@ -0,0 +1,50 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.snap.SnapToRoute;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-fix cost of {@link SnapToRoute#getSnappedLocation(Location, RouteProgress)} along the route.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SnapToRouteBenchmark {
+
+  @Param({BenchmarkFixtures.DIRECTIONS_PRECISION_6, BenchmarkFixtures.LONG_STEP, BenchmarkFixtures.TWO_LEG_ROUTE})
+  public String fixture;
+
+  private SnapToRoute snapToRoute;
+  private List<NavigationEngineResult> results;
+  private int locationIndex;
+
+  @Setup
+  public void setup() {
+    DirectionsRoute route = BenchmarkFixtures.loadRoute(fixture);
+    results = BenchmarkFixtures.processRoute(route, BenchmarkFixtures.buildLocationsAlongRoute(route));
+    snapToRoute = new SnapToRoute();
+    snapToRoute.setRouteGeometryIndex(RouteGeometryIndex.create(route));
+  }
+
+  @Benchmark
+  public Location getSnappedLocation() {
+    NavigationEngineResult result = results.get(locationIndex++ % results.size());
+    return snapToRoute.getSnappedLocation(result.rawLocation(), result.routeProgress());
+  }
+}
@@ -0,0 +1,74 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.routeprogress.PackedRouteGeometry;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-fix cost and allocation (see the gc profiler) of reading every point of the current step, as
+ * snapping, the snapped bearing and the intersection distances do on each location update.
+ * <p>
+ * {@link #indexStepPoints()} reads the points kept by the {@link RouteGeometryIndex}, and should not
+ * allocate.  {@link #packedStepPoints()} reads the {@link PackedRouteGeometry} view of the step, which
+ * creates a point for every element read.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StepPointsBenchmark {
+
+  @Param({BenchmarkFixtures.DIRECTIONS_PRECISION_6, BenchmarkFixtures.LONG_STEP, BenchmarkFixtures.TWO_LEG_ROUTE})
+  public String fixture;
+
+  private RouteGeometryIndex geometryIndex;
+  private List<NavigationEngineResult> results;
+  private int locationIndex;
+
+  @Setup
+  public void setup() {
+    DirectionsRoute route = BenchmarkFixtures.loadRoute(fixture);
+    geometryIndex = RouteGeometryIndex.create(route);
+    results = BenchmarkFixtures.processRoute(route, BenchmarkFixtures.buildLocationsAlongRoute(route));
+  }
+
+  @Benchmark
+  public double indexStepPoints() {
+    RouteProgress routeProgress = nextRouteProgress();
+    return sumCoordinates(geometryIndex.stepPoints(routeProgress.legIndex(),
+      routeProgress.currentLegProgress().stepIndex()));
+  }
+
+  @Benchmark
+  public double packedStepPoints() {
+    RouteProgress routeProgress = nextRouteProgress();
+    return sumCoordinates(geometryIndex.geometry().stepPoints(routeProgress.legIndex(),
+      routeProgress.currentLegProgress().stepIndex()));
+  }
+
+  private RouteProgress nextRouteProgress() {
+    return results.get(locationIndex++ % results.size()).routeProgress();
+  }
+
+  private static double sumCoordinates(List<Point> stepPoints) {
+    double sum = 0;
+    for (int i = 0; i < stepPoints.size(); i++) {
+      Point point = stepPoints.get(i);
+      sum += point.latitude() + point.longitude();
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,103 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of journaling telemetry events, and time to recover a journal left by a killed process.
+ * <p>
+ * The events are random bytes of the size of a marshalled reroute event with its location history.
+ * {@link #append()} commits every {@code batchSize} events, so a batch size of 1 syncs the storage device
+ * for every event.  Recovering a journal also writes its events back, so {@link #recover()} replays the same
+ * events on every invocation.  The journal is written to a temporary directory of the JVM.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TelemetryEventJournalBenchmark {
+
+  private static final int EVENT_SIZE = 6 * 1024;
+  private static final int EVENTS_PER_INVOCATION = 128;
+  private static final long MAX_SIZE = 4 << 20;
+  private static final int MAX_REPLAYS = Integer.MAX_VALUE;
+
+  @Param({"1", "16", "128"})
+  public int batchSize;
+
+  @Param({"32", "512"})
+  public int recoveredEvents;
+
+  private File directory;
+  private File appendFile;
+  private File recoveryFile;
+  private TelemetryEventJournal journal;
+  private byte[] event;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("telemetry-journal").toFile();
+    appendFile = new File(directory, "append.journal");
+    recoveryFile = new File(directory, "recovery.journal");
+    event = new byte[EVENT_SIZE];
+    new Random(42).nextBytes(event);
+    TelemetryEventJournal recoveryJournal = TelemetryEventJournal.open(recoveryFile, batchSize, MAX_SIZE, MAX_REPLAYS);
+    for (int i = 0; i < recoveredEvents; i++) {
+      recoveryJournal.append(event);
+    }
+    recoveryJournal.close();
+  }
+
+  @Setup(Level.Iteration)
+  public void openJournal() throws IOException {
+    journal = TelemetryEventJournal.open(appendFile, batchSize, MAX_SIZE, MAX_REPLAYS);
+    journal.compact();
+  }
+
+  @TearDown(Level.Iteration)
+  public void closeJournal() throws IOException {
+    journal.close();
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteJournals() {
+    appendFile.delete();
+    recoveryFile.delete();
+    directory.delete();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS_PER_INVOCATION)
+  public TelemetryEventJournal append() throws IOException {
+    for (int i = 0; i < EVENTS_PER_INVOCATION; i++) {
+      journal.append(event);
+    }
+    journal.commit();
+    journal.compact();
+    return journal;
+  }
+
+  @Benchmark
+  public int recover() throws IOException {
+    TelemetryEventJournal recoveredJournal = TelemetryEventJournal.open(recoveryFile, batchSize, MAX_SIZE, MAX_REPLAYS);
+    try {
+      return recoveredJournal.recoveredRecords().size();
+    } finally {
+      recoveredJournal.close();
+    }
+  }
+}
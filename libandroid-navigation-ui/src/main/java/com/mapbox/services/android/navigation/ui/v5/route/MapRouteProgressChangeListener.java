@@ -5,6 +5,7 @@ import android.location.Location;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.utils.RouteFingerprint;
 
 import java.util.List;
 
@@ -35,6 +36,6 @@ class MapRouteProgressChangeListener implements ProgressChangeListener {
   private boolean isANewRoute(DirectionsRoute currentRoute, List<DirectionsRoute> directionsRoutes,
                               int primaryRouteIndex) {
     boolean noRoutes = directionsRoutes.isEmpty();
-    return noRoutes || !currentRoute.equals(directionsRoutes.get(primaryRouteIndex));
+    return noRoutes || !RouteFingerprint.isSameRoute(currentRoute, directionsRoutes.get(primaryRouteIndex));
   }
 }
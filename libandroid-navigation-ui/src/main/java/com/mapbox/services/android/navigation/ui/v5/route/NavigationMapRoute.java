@@ -19,7 +19,6 @@ import android.support.v7.content.res.AppCompatResources;
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.RouteLeg;
-import com.mapbox.core.constants.Constants;
 import com.mapbox.geojson.Feature;
 import com.mapbox.geojson.FeatureCollection;
 import com.mapbox.geojson.LineString;
@@ -40,6 +39,7 @@ import com.mapbox.services.android.navigation.ui.v5.R;
 import com.mapbox.services.android.navigation.ui.v5.utils.MapImageUtils;
 import com.mapbox.services.android.navigation.ui.v5.utils.MapUtils;
 import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation;
+import com.mapbox.services.android.navigation.v5.routeprogress.PackedRouteGeometry;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.turf.TurfConstants;
@@ -1058,12 +1058,10 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
    */
   private FeatureCollection addTrafficToSource(DirectionsRoute route, int index) {
     final List<Feature> features = new ArrayList<>();
-    LineString originalGeometry = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
+    LineString originalGeometry = PackedRouteGeometry.of(route).routeLineString();
     buildRouteFeatureFromGeometry(index, features, originalGeometry);
     routeLineStrings.put(originalGeometry, route);
-
-    LineString lineString = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
-    buildTrafficFeaturesFromRoute(route, index, features, lineString);
+    buildTrafficFeaturesFromRoute(route, index, features, originalGeometry);
     return FeatureCollection.fromFeatures(features);
   }
 
@@ -1,10 +1,10 @@
 package com.mapbox.services.android.navigation.v5.milestone;
 
 import com.mapbox.api.directions.v5.models.BannerInstructions;
-import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
+import com.mapbox.services.android.navigation.v5.utils.StepInstructionCursor;
 
 /**
  * A default milestone that is added to {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation}
@@ -16,19 +16,18 @@ import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
 public class BannerInstructionMilestone extends Milestone {
 
   private BannerInstructions instructions;
-  private RouteUtils routeUtils;
+  private StepInstructionCursor<BannerInstructions> instructionCursor;
 
   BannerInstructionMilestone(Builder builder) {
     super(builder);
-    routeUtils = new RouteUtils();
   }
 
   @Override
   public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
     RouteLegProgress legProgress = routeProgress.currentLegProgress();
-    LegStep currentStep = legProgress.currentStep();
     double stepDistanceRemaining = legProgress.currentStepProgress().distanceRemaining();
-    BannerInstructions instructions = routeUtils.findCurrentBannerInstructions(currentStep, stepDistanceRemaining);
+    BannerInstructions instructions = retrieveInstructionCursor(routeProgress.directionsRoute())
+      .findCurrentInstructions(routeProgress.legIndex(), legProgress.stepIndex(), stepDistanceRemaining);
     if (shouldBeShown(instructions, stepDistanceRemaining)) {
       this.instructions = instructions;
       return true;
@@ -46,6 +45,16 @@ public class BannerInstructionMilestone extends Milestone {
     return instructions;
   }
 
+  /**
+   * The instructions of the route are sorted once, when the first progress along it is checked.
+   */
+  private StepInstructionCursor<BannerInstructions> retrieveInstructionCursor(DirectionsRoute route) {
+    if (instructionCursor == null || !instructionCursor.isFor(route)) {
+      instructionCursor = StepInstructionCursor.forBannerInstructions(route);
+    }
+    return instructionCursor;
+  }
+
   /**
    * Uses the current step distance remaining to check against banner instructions distance.
    *
@@ -0,0 +1,328 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link Trigger.Statement} tree compiled once into a flat evaluator over the primitive values of a
+ * {@link TriggerSnapshot}.
+ * <p>
+ * Nodes are stored in pre-order in parallel arrays, each compound node followed by its children and
+ * holding the index where its subtree ends.  While compiling, the value given to each comparison is
+ * unboxed, comparisons of two route progress values are resolved to a single operation, nested
+ * compound statements of the same kind are merged and compound statements with a constant outcome
+ * are folded.  Compound statements stop evaluating their children as soon as their outcome is known.
+ * <p>
+ * Custom statements, which only implement {@link Trigger.Statement#isOccurring(android.util.SparseArray)},
+ * are kept as they are and evaluated with {@link Trigger.Statement#isOccurring(TriggerSnapshot)}.
+ * The interpreted {@link Trigger.Statement#isOccurring(TriggerSnapshot)} remains the reference behavior.
+ */
+final class CompiledTrigger {
+
+  static final int ALL = 0;
+  static final int ANY = 1;
+  static final int NONE = 2;
+  static final int TRUE = 3;
+  static final int FALSE = 4;
+  static final int GREATER_THAN = 5;
+  static final int GREATER_THAN_EQUAL = 6;
+  static final int LESS_THAN = 7;
+  static final int LESS_THAN_EQUAL = 8;
+  static final int EQUAL = 9;
+  static final int NOT_EQUAL = 10;
+  static final int CUSTOM = 11;
+
+  private final Trigger.Statement statement;
+  private final int[] operations;
+  private final int[] keys;
+  private final double[] operands;
+  private final boolean[] comparesProperty;
+  private final int[] subtreeEnds;
+  private final Trigger.Statement[] customStatements;
+
+  private CompiledTrigger(Trigger.Statement statement, int nodeCount) {
+    this.statement = statement;
+    this.operations = new int[nodeCount];
+    this.keys = new int[nodeCount];
+    this.operands = new double[nodeCount];
+    this.comparesProperty = new boolean[nodeCount];
+    this.subtreeEnds = new int[nodeCount];
+    this.customStatements = new Trigger.Statement[nodeCount];
+  }
+
+  static CompiledTrigger compile(Trigger.Statement statement) {
+    Node root = statement.compile().fold();
+    CompiledTrigger compiledTrigger = new CompiledTrigger(statement, root.count());
+    compiledTrigger.emit(root, 0);
+    return compiledTrigger;
+  }
+
+  /**
+   * @param statement to compare with
+   * @return true if this was compiled from the given statement
+   */
+  boolean isCompiledFrom(Trigger.Statement statement) {
+    return this.statement == statement;
+  }
+
+  boolean isOccurring(TriggerSnapshot snapshot) {
+    return evaluate(0, snapshot);
+  }
+
+  int nodeCount() {
+    return operations.length;
+  }
+
+  int operationAt(int node) {
+    return operations[node];
+  }
+
+  /**
+   * Finds the largest {@link TriggerProperty#STEP_DISTANCE_REMAINING_METERS} at which this trigger can
+   * occur on a step, from its comparisons of the distance remaining, the duration remaining and the
+   * distance traveled along the step.  The trigger is known not to occur while more distance remains.
+   *
+   * @param stepDistance total distance of the step, in meters
+   * @param stepDuration total duration of the step, in seconds
+   * @return distance remaining in meters, {@link Double#POSITIVE_INFINITY} if the trigger can occur
+   * anywhere along the step, or {@link Double#NEGATIVE_INFINITY} if it can never occur
+   */
+  double distanceRemainingBound(double stepDistance, double stepDuration) {
+    return distanceRemainingBound(0, stepDistance, stepDuration);
+  }
+
+  private double distanceRemainingBound(int node, double stepDistance, double stepDuration) {
+    double bound;
+    switch (operations[node]) {
+      case ALL:
+        bound = Double.POSITIVE_INFINITY;
+        for (int child = node + 1; child < subtreeEnds[node]; child = subtreeEnds[child]) {
+          bound = Math.min(bound, distanceRemainingBound(child, stepDistance, stepDuration));
+        }
+        return bound;
+      case ANY:
+        bound = Double.NEGATIVE_INFINITY;
+        for (int child = node + 1; child < subtreeEnds[node]; child = subtreeEnds[child]) {
+          bound = Math.max(bound, distanceRemainingBound(child, stepDistance, stepDuration));
+        }
+        return bound;
+      case FALSE:
+        return Double.NEGATIVE_INFINITY;
+      case NONE:
+      case TRUE:
+      case CUSTOM:
+        return Double.POSITIVE_INFINITY;
+      default:
+        return comparisonDistanceRemainingBound(node, stepDistance, stepDuration);
+    }
+  }
+
+  /**
+   * The duration remaining is the step duration scaled by the fraction of the step distance remaining,
+   * and the distance traveled is the step distance minus the distance remaining.
+   */
+  private double comparisonDistanceRemainingBound(int node, double stepDistance, double stepDuration) {
+    if (comparesProperty[node]) {
+      return Double.POSITIVE_INFINITY;
+    }
+    int operation = operations[node];
+    double operand = operands[node];
+    boolean isAtMost = operation == LESS_THAN || operation == LESS_THAN_EQUAL || operation == EQUAL;
+    boolean isAtLeast = operation == GREATER_THAN || operation == GREATER_THAN_EQUAL || operation == EQUAL;
+    switch (keys[node]) {
+      case TriggerProperty.STEP_DISTANCE_REMAINING_METERS:
+        return isAtMost ? operand : Double.POSITIVE_INFINITY;
+      case TriggerProperty.STEP_DURATION_REMAINING_SECONDS:
+        return isAtMost && stepDistance > 0 && stepDuration > 0
+          ? operand * stepDistance / stepDuration : Double.POSITIVE_INFINITY;
+      case TriggerProperty.STEP_DISTANCE_TRAVELED_METERS:
+        return isAtLeast && operand > 0 ? stepDistance - operand : Double.POSITIVE_INFINITY;
+      default:
+        return Double.POSITIVE_INFINITY;
+    }
+  }
+
+  private boolean evaluate(int node, TriggerSnapshot snapshot) {
+    switch (operations[node]) {
+      case ALL:
+        for (int child = node + 1; child < subtreeEnds[node]; child = subtreeEnds[child]) {
+          if (!evaluate(child, snapshot)) {
+            return false;
+          }
+        }
+        return true;
+      case ANY:
+        for (int child = node + 1; child < subtreeEnds[node]; child = subtreeEnds[child]) {
+          if (evaluate(child, snapshot)) {
+            return true;
+          }
+        }
+        return false;
+      case NONE:
+        for (int child = node + 1; child < subtreeEnds[node]; child = subtreeEnds[child]) {
+          if (evaluate(child, snapshot)) {
+            return false;
+          }
+        }
+        return true;
+      case TRUE:
+        return true;
+      case FALSE:
+        return false;
+      case CUSTOM:
+        return customStatements[node].isOccurring(snapshot);
+      default:
+        return compare(node, snapshot);
+    }
+  }
+
+  private boolean compare(int node, TriggerSnapshot snapshot) {
+    int key = keys[node];
+    double value = snapshot.value(key);
+    double operand = comparesProperty[node] ? snapshot.comparedValue(key) : operands[node];
+    switch (operations[node]) {
+      case GREATER_THAN:
+        return value > operand;
+      case GREATER_THAN_EQUAL:
+        return value >= operand;
+      case LESS_THAN:
+        return value < operand;
+      case LESS_THAN_EQUAL:
+        return value <= operand;
+      case EQUAL:
+        return value == operand;
+      case NOT_EQUAL:
+        return value != operand;
+      default:
+        throw new IllegalStateException("Unknown trigger operation " + operations[node]);
+    }
+  }
+
+  private int emit(Node node, int index) {
+    operations[index] = node.operation;
+    keys[index] = node.key;
+    operands[index] = node.operand;
+    comparesProperty[index] = node.comparesProperty;
+    customStatements[index] = node.customStatement;
+    int next = index + 1;
+    for (Node child : node.children) {
+      next = emit(child, next);
+    }
+    subtreeEnds[index] = next;
+    return next;
+  }
+
+  /**
+   * A node of the statement tree, as produced by {@link Trigger.Statement#compile()} before folding.
+   */
+  static final class Node {
+
+    private final int operation;
+    private final List<Node> children;
+    private int key;
+    private double operand;
+    private boolean comparesProperty;
+    private Trigger.Statement customStatement;
+
+    private Node(int operation, List<Node> children) {
+      this.operation = operation;
+      this.children = children;
+    }
+
+    static Node compound(int operation, Trigger.Statement... statements) {
+      List<Node> children = new ArrayList<>(statements.length);
+      for (Trigger.Statement statement : statements) {
+        children.add(statement.compile());
+      }
+      return new Node(operation, children);
+    }
+
+    /**
+     * Comparisons of properties holding two route progress values, such as {@link TriggerProperty#NEW_STEP},
+     * compare those two values, with the operation inverted unless the given value is
+     * {@link TriggerProperty#TRUE}, matching {@link Operation}.
+     */
+    static Node comparison(int operation, int key, Number value) {
+      Node node;
+      if (TriggerSnapshot.isComparedProperty(key)) {
+        node = new Node(value.equals(TriggerProperty.TRUE) ? operation : invert(operation), new ArrayList<Node>());
+        node.comparesProperty = true;
+      } else {
+        node = new Node(operation, new ArrayList<Node>());
+        node.operand = value.doubleValue();
+      }
+      node.key = key;
+      return node;
+    }
+
+    static Node custom(Trigger.Statement statement) {
+      Node node = new Node(CUSTOM, new ArrayList<Node>());
+      node.customStatement = statement;
+      return node;
+    }
+
+    private static Node constant(boolean value) {
+      return new Node(value ? TRUE : FALSE, new ArrayList<Node>());
+    }
+
+    private static int invert(int operation) {
+      switch (operation) {
+        case GREATER_THAN:
+          return LESS_THAN_EQUAL;
+        case GREATER_THAN_EQUAL:
+          return LESS_THAN;
+        case LESS_THAN:
+          return GREATER_THAN_EQUAL;
+        case LESS_THAN_EQUAL:
+          return GREATER_THAN;
+        case EQUAL:
+          return NOT_EQUAL;
+        case NOT_EQUAL:
+          return EQUAL;
+        default:
+          throw new IllegalArgumentException("Cannot invert trigger operation " + operation);
+      }
+    }
+
+    Node fold() {
+      if (operation != ALL && operation != ANY && operation != NONE) {
+        return this;
+      }
+      List<Node> foldedChildren = new ArrayList<>(children.size());
+      for (Node child : children) {
+        Node foldedChild = child.fold();
+        if (foldedChild.operation == operation && operation != NONE) {
+          foldedChildren.addAll(foldedChild.children);
+        } else {
+          foldedChildren.add(foldedChild);
+        }
+      }
+      // A child which cannot change the outcome is dropped, a child which decides it folds the statement
+      int neutral = operation == ALL ? TRUE : FALSE;
+      int deciding = operation == ALL ? FALSE : TRUE;
+      List<Node> remainingChildren = new ArrayList<>(foldedChildren.size());
+      for (Node child : foldedChildren) {
+        if (child.operation == deciding) {
+          return constant(operation == ANY);
+        } else if (child.operation != neutral) {
+          remainingChildren.add(child);
+        }
+      }
+      if (remainingChildren.isEmpty()) {
+        return constant(operation != ANY);
+      }
+      if (remainingChildren.size() == 1 && operation != NONE) {
+        return remainingChildren.get(0);
+      }
+      return new Node(operation, remainingChildren);
+    }
+
+    int count() {
+      int count = 1;
+      for (Node child : children) {
+        count += child.count();
+      }
+      return count;
+    }
+  }
+}
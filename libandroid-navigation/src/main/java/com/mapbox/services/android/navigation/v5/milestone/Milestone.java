@@ -55,6 +55,25 @@ public abstract class Milestone {
   public abstract boolean isOccurring(RouteProgress previousRouteProgress,
                                       RouteProgress routeProgress);
 
+  /**
+   * Checks the milestone against a {@link TriggerSnapshot} of the route progress, which is taken once
+   * per location update and shared by all milestones, rather than read from the route progress by
+   * each milestone.
+   * <p>
+   * By default, this calls {@link #isOccurring(RouteProgress, RouteProgress)}.
+   *
+   * @param previousRouteProgress last locations generated {@link RouteProgress} object used to
+   *                              determine certain {@link TriggerProperty}s
+   * @param routeProgress         used to determine certain {@link TriggerProperty}s
+   * @param snapshot              of the {@link TriggerProperty} values for the two route progress objects
+   * @return true if the milestone trigger's valid, else false
+   * @since 0.20.0
+   */
+  public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress,
+                             TriggerSnapshot snapshot) {
+    return isOccurring(previousRouteProgress, routeProgress);
+  }
+
   /**
    * Build a new {@link Milestone}
    *
@@ -0,0 +1,187 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Checks milestones against location updates, evaluating each {@link StepMilestone} and
+ * {@link RouteMilestone} only once the user is close enough along the step for its trigger to occur.
+ * <p>
+ * When a step begins, every milestone is evaluated and the trigger of each step and route milestone is
+ * analysed for the largest {@link TriggerProperty#STEP_DISTANCE_REMAINING_METERS} at which it can occur,
+ * from its comparisons of the distance remaining, the duration remaining and the distance traveled.
+ * Those milestones wait in a queue ordered by that distance and are evaluated with every update from
+ * the point the user reaches it until the end of the step.  Milestones whose trigger cannot be bounded,
+ * including custom statements and every other kind of milestone, are evaluated with every update.
+ * <p>
+ * The milestones returned are the same as evaluating every milestone with every update, in the order
+ * they were set.  A scheduler is not thread-safe; it is used on the thread checking the milestones.
+ *
+ * @since 0.20.0
+ */
+public final class MilestoneScheduler {
+
+  private static final double WINDOW_SLACK_METERS = 1d;
+  private static final double WINDOW_SLACK_STEP_FRACTION = 0.0001d;
+  private static final int NO_INDEX = -1;
+
+  private final PriorityQueue<ScheduledMilestone> waitingMilestones = new PriorityQueue<>(
+    1, new Comparator<ScheduledMilestone>() {
+      @Override
+      public int compare(ScheduledMilestone first, ScheduledMilestone second) {
+        return Double.compare(second.distanceRemainingBound, first.distanceRemainingBound);
+      }
+    });
+  private Milestone[] milestones = new Milestone[0];
+  private ScheduledMilestone[] scheduledMilestones = new ScheduledMilestone[0];
+  private int[] evaluatedIndices = new int[0];
+  private int evaluatedCount;
+  private DirectionsRoute scheduledRoute;
+  private int scheduledLegIndex = NO_INDEX;
+  private int scheduledStepIndex = NO_INDEX;
+
+  /**
+   * Replaces the milestones to be checked.  Every milestone is evaluated with the next update.
+   *
+   * @param milestones to be checked, in the order they should be returned
+   * @since 0.20.0
+   */
+  public void setMilestones(@NonNull Collection<Milestone> milestones) {
+    this.milestones = milestones.toArray(new Milestone[milestones.size()]);
+    scheduledMilestones = new ScheduledMilestone[this.milestones.length];
+    for (int index = 0; index < scheduledMilestones.length; index++) {
+      scheduledMilestones[index] = new ScheduledMilestone(index);
+    }
+    evaluatedIndices = new int[this.milestones.length];
+    evaluatedCount = 0;
+    waitingMilestones.clear();
+    scheduledRoute = null;
+  }
+
+  /**
+   * Returns the occurring milestones, evaluating only those which can occur at the current distance
+   * along the step.
+   *
+   * @param previousRouteProgress of the previous location update
+   * @param routeProgress         of the current location update
+   * @param snapshot              updated with the given progress and shared by the milestones
+   * @return list of occurring milestones
+   * @since 0.20.0
+   */
+  @NonNull
+  public List<Milestone> checkMilestones(@NonNull RouteProgress previousRouteProgress,
+                                         @NonNull RouteProgress routeProgress, @NonNull TriggerSnapshot snapshot) {
+    snapshot.update(previousRouteProgress, routeProgress);
+    List<Milestone> occurringMilestones = new ArrayList<>();
+    if (isNewStep(previousRouteProgress, routeProgress)) {
+      for (Milestone milestone : milestones) {
+        if (milestone.isOccurring(previousRouteProgress, routeProgress, snapshot)) {
+          occurringMilestones.add(milestone);
+        }
+      }
+      schedule(routeProgress, snapshot);
+    } else {
+      openWindows(snapshot.value(TriggerProperty.STEP_DISTANCE_REMAINING_METERS));
+      for (int i = 0; i < evaluatedCount; i++) {
+        Milestone milestone = milestones[evaluatedIndices[i]];
+        if (milestone.isOccurring(previousRouteProgress, routeProgress, snapshot)) {
+          occurringMilestones.add(milestone);
+        }
+      }
+    }
+    return occurringMilestones;
+  }
+
+  /**
+   * @return number of milestones evaluated with the last update, unless that update began a step
+   */
+  int evaluatedCount() {
+    return evaluatedCount;
+  }
+
+  private boolean isNewStep(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+    int legIndex = routeProgress.legIndex();
+    int stepIndex = routeProgress.currentLegProgress().stepIndex();
+    return routeProgress.directionsRoute() != scheduledRoute
+      || legIndex != scheduledLegIndex
+      || stepIndex != scheduledStepIndex
+      || legIndex != previousRouteProgress.legIndex()
+      || stepIndex != previousRouteProgress.currentLegProgress().stepIndex();
+  }
+
+  private void schedule(RouteProgress routeProgress, TriggerSnapshot snapshot) {
+    scheduledRoute = routeProgress.directionsRoute();
+    scheduledLegIndex = routeProgress.legIndex();
+    scheduledStepIndex = routeProgress.currentLegProgress().stepIndex();
+    waitingMilestones.clear();
+    evaluatedCount = 0;
+
+    double stepDistance = snapshot.value(TriggerProperty.STEP_DISTANCE_TOTAL_METERS);
+    double stepDuration = snapshot.value(TriggerProperty.STEP_DURATION_TOTAL_SECONDS);
+    double slack = WINDOW_SLACK_METERS + Math.abs(stepDistance) * WINDOW_SLACK_STEP_FRACTION;
+    for (int index = 0; index < milestones.length; index++) {
+      double bound = findDistanceRemainingBound(milestones[index], stepDistance, stepDuration);
+      if (bound == Double.NEGATIVE_INFINITY) {
+        continue;
+      }
+      if (bound < Double.POSITIVE_INFINITY) {
+        scheduledMilestones[index].distanceRemainingBound = bound + slack;
+        waitingMilestones.add(scheduledMilestones[index]);
+      } else {
+        evaluatedIndices[evaluatedCount++] = index;
+      }
+    }
+  }
+
+  /**
+   * Moves the milestones whose window has been reached into the evaluated milestones, keeping those
+   * in the order the milestones were set.
+   */
+  private void openWindows(double distanceRemaining) {
+    while (!waitingMilestones.isEmpty() && waitingMilestones.peek().distanceRemainingBound >= distanceRemaining) {
+      int index = waitingMilestones.poll().index;
+      int position = evaluatedCount;
+      while (position > 0 && evaluatedIndices[position - 1] > index) {
+        evaluatedIndices[position] = evaluatedIndices[position - 1];
+        position--;
+      }
+      evaluatedIndices[position] = index;
+      evaluatedCount++;
+    }
+  }
+
+  /**
+   * A bound which is not a number, such as one from a NaN trigger value, is treated as unbounded.
+   */
+  private static double findDistanceRemainingBound(Milestone milestone, double stepDistance, double stepDuration) {
+    CompiledTrigger compiledTrigger = null;
+    if (milestone instanceof StepMilestone) {
+      compiledTrigger = ((StepMilestone) milestone).compiledTrigger();
+    } else if (milestone instanceof RouteMilestone) {
+      compiledTrigger = ((RouteMilestone) milestone).compiledTrigger();
+    }
+    if (compiledTrigger == null) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double bound = compiledTrigger.distanceRemainingBound(stepDistance, stepDuration);
+    return Double.isNaN(bound) ? Double.POSITIVE_INFINITY : bound;
+  }
+
+  private static class ScheduledMilestone {
+
+    private final int index;
+    private double distanceRemainingBound;
+
+    ScheduledMilestone(int index) {
+      this.index = index;
+    }
+  }
+}
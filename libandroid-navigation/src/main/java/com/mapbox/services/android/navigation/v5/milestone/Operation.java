@@ -22,6 +22,18 @@ class Operation {
     return valueOne[0].doubleValue() > valueTwo.doubleValue();
   }
 
+  static boolean greaterThan(TriggerSnapshot snapshot, int key, Number valueTwo) {
+    double value = snapshot.value(key);
+    if (TriggerSnapshot.isComparedProperty(key)) {
+      if (valueTwo.equals(TriggerProperty.TRUE)) {
+        return value > snapshot.comparedValue(key);
+      } else {
+        return value <= snapshot.comparedValue(key);
+      }
+    }
+    return value > valueTwo.doubleValue();
+  }
+
   static boolean lessThan(Number[] valueOne, Number valueTwo) {
     if (valueOne.length > 1) {
       if (valueTwo.equals(TriggerProperty.TRUE)) {
@@ -33,26 +45,54 @@ class Operation {
     return valueOne[0].doubleValue() < valueTwo.doubleValue();
   }
 
+  static boolean lessThan(TriggerSnapshot snapshot, int key, Number valueTwo) {
+    double value = snapshot.value(key);
+    if (TriggerSnapshot.isComparedProperty(key)) {
+      if (valueTwo.equals(TriggerProperty.TRUE)) {
+        return value < snapshot.comparedValue(key);
+      } else {
+        return value >= snapshot.comparedValue(key);
+      }
+    }
+    return value < valueTwo.doubleValue();
+  }
+
   static boolean notEqual(Number[] valueOne, Number valueTwo) {
     if (valueOne.length > 1) {
       if (valueTwo.equals(TriggerProperty.TRUE)) {
-        return !valueOne[0].equals(valueOne[1]);
+        return valueOne[0].doubleValue() != valueOne[1].doubleValue();
       } else {
-        return valueOne[0].equals(valueOne[1]);
+        return valueOne[0].doubleValue() == valueOne[1].doubleValue();
       }
     }
-    return !valueOne[0].equals(valueTwo);
+    return valueOne[0].doubleValue() != valueTwo.doubleValue();
+  }
+
+  static boolean notEqual(TriggerSnapshot snapshot, int key, Number valueTwo) {
+    return !equal(snapshot, key, valueTwo);
   }
 
   static boolean equal(Number[] valueOne, Number valueTwo) {
     if (valueOne.length > 1) {
       if (valueTwo.equals(TriggerProperty.TRUE)) {
-        return valueOne[0].equals(valueOne[1]);
+        return valueOne[0].doubleValue() == valueOne[1].doubleValue();
       } else {
-        return !valueOne[0].equals(valueOne[1]);
+        return valueOne[0].doubleValue() != valueOne[1].doubleValue();
       }
     }
-    return valueOne[0].equals(valueTwo);
+    return valueOne[0].doubleValue() == valueTwo.doubleValue();
+  }
+
+  static boolean equal(TriggerSnapshot snapshot, int key, Number valueTwo) {
+    double value = snapshot.value(key);
+    if (TriggerSnapshot.isComparedProperty(key)) {
+      if (valueTwo.equals(TriggerProperty.TRUE)) {
+        return value == snapshot.comparedValue(key);
+      } else {
+        return value != snapshot.comparedValue(key);
+      }
+    }
+    return value == valueTwo.doubleValue();
   }
 
   static boolean greaterThanEqual(Number[] valueOne, Number valueTwo) {
@@ -66,6 +106,18 @@ class Operation {
     return valueOne[0].doubleValue() >= valueTwo.doubleValue();
   }
 
+  static boolean greaterThanEqual(TriggerSnapshot snapshot, int key, Number valueTwo) {
+    double value = snapshot.value(key);
+    if (TriggerSnapshot.isComparedProperty(key)) {
+      if (valueTwo.equals(TriggerProperty.TRUE)) {
+        return value >= snapshot.comparedValue(key);
+      } else {
+        return value < snapshot.comparedValue(key);
+      }
+    }
+    return value >= valueTwo.doubleValue();
+  }
+
   static boolean lessThanEqual(Number[] valueOne, Number valueTwo) {
     if (valueOne.length > 1) {
       if (valueTwo.equals(TriggerProperty.TRUE)) {
@@ -77,4 +129,15 @@ class Operation {
     return valueOne[0].doubleValue() <= valueTwo.doubleValue();
   }
 
+  static boolean lessThanEqual(TriggerSnapshot snapshot, int key, Number valueTwo) {
+    double value = snapshot.value(key);
+    if (TriggerSnapshot.isComparedProperty(key)) {
+      if (valueTwo.equals(TriggerProperty.TRUE)) {
+        return value <= snapshot.comparedValue(key);
+      } else {
+        return value > snapshot.comparedValue(key);
+      }
+    }
+    return value <= valueTwo.doubleValue();
+  }
 }
@@ -14,14 +14,25 @@ public class StepMilestone extends Milestone {
 
   private Builder builder;
   private boolean called;
+  private CompiledTrigger compiledTrigger;
 
   private StepMilestone(Builder builder) {
     super(builder);
     this.builder = builder;
+    if (builder.getTrigger() != null) {
+      compiledTrigger = CompiledTrigger.compile(builder.getTrigger());
+    }
   }
 
   @Override
   public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+    return isOccurring(previousRouteProgress, routeProgress,
+      TriggerSnapshot.create(previousRouteProgress, routeProgress));
+  }
+
+  @Override
+  public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress,
+                             TriggerSnapshot snapshot) {
 
     // Determine if the step index has changed and set called accordingly. This prevents multiple calls to
     // onMilestoneEvent per Step.
@@ -33,14 +44,32 @@ public class StepMilestone extends Milestone {
     if (called) {
       return false;
     }
-    if (builder.getTrigger().isOccurring(
-      TriggerProperty.getSparseArray(previousRouteProgress, routeProgress))) {
+    if (retrieveCompiledTrigger().isOccurring(snapshot)) {
       called = true;
       return true;
     }
     return false;
   }
 
+  /**
+   * The trigger is compiled when the milestone is built, and compiled again if a different trigger
+   * has been set on the builder since.
+   */
+  private CompiledTrigger retrieveCompiledTrigger() {
+    Trigger.Statement trigger = builder.getTrigger();
+    if (compiledTrigger == null || !compiledTrigger.isCompiledFrom(trigger)) {
+      compiledTrigger = CompiledTrigger.compile(trigger);
+    }
+    return compiledTrigger;
+  }
+
+  /**
+   * @return the compiled trigger, or null if no trigger has been set
+   */
+  CompiledTrigger compiledTrigger() {
+    return builder.getTrigger() == null ? null : retrieveCompiledTrigger();
+  }
+
   /**
    * Build a new {@link StepMilestone}
    *
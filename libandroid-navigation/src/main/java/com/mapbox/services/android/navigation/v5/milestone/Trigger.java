@@ -34,6 +34,29 @@ public class Trigger {
      * @since 0.4.0
      */
     public abstract boolean isOccurring(SparseArray<Number[]> statementObjects);
+
+    /**
+     * Validates whether the statement meets the specified trigger criteria, using the values of a
+     * {@link TriggerSnapshot} shared by all milestones checked against the same location update.
+     * <p>
+     * The statements provided by {@link Trigger} read the primitive values of the snapshot.  By default,
+     * custom statements are validated with {@link #isOccurring(SparseArray)}.
+     *
+     * @param snapshot of the trigger properties for the current location update
+     * @return true if the statement is valid, otherwise false
+     * @since 0.20.0
+     */
+    public boolean isOccurring(TriggerSnapshot snapshot) {
+      return isOccurring(snapshot.statementObjects());
+    }
+
+    /**
+     * Builds the node of this statement for the {@link CompiledTrigger}.  Statements not provided by
+     * {@link Trigger} are evaluated as they are.
+     */
+    CompiledTrigger.Node compile() {
+      return CompiledTrigger.Node.custom(this);
+    }
   }
 
   /*
@@ -62,6 +85,22 @@ public class Trigger {
       }
       return all;
     }
+
+    @Override
+    public boolean isOccurring(TriggerSnapshot snapshot) {
+      boolean all = true;
+      for (Statement statement : statements) {
+        if (!statement.isOccurring(snapshot)) {
+          all = false;
+        }
+      }
+      return all;
+    }
+
+    @Override
+    CompiledTrigger.Node compile() {
+      return CompiledTrigger.Node.compound(CompiledTrigger.ALL, statements);
+    }
   }
 
   /**
@@ -85,6 +124,21 @@ public class Trigger {
       }
       return true;
     }
+
+    @Override
+    public boolean isOccurring(TriggerSnapshot snapshot) {
+      for (Statement statement : statements) {
+        if (statement.isOccurring(snapshot)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    CompiledTrigger.Node compile() {
+      return CompiledTrigger.Node.compound(CompiledTrigger.NONE, statements);
+    }
   }
 
   /**
@@ -108,6 +162,21 @@ public class Trigger {
       }
       return false;
     }
+
+    @Override
+    public boolean isOccurring(TriggerSnapshot snapshot) {
+      for (Statement statement : statements) {
+        if (statement.isOccurring(snapshot)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    CompiledTrigger.Node compile() {
+      return CompiledTrigger.Node.compound(CompiledTrigger.ANY, statements);
+    }
   }
 
   /*
@@ -133,6 +202,16 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.greaterThan(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    public boolean isOccurring(TriggerSnapshot snapshot) {
+      return Operation.greaterThan(snapshot, key, (Number) value);
+    }
+
+    @Override
+    CompiledTrigger.Node compile() {
+      return CompiledTrigger.Node.comparison(CompiledTrigger.GREATER_THAN, key, (Number) value);
+    }
   }
 
   /**
@@ -154,6 +233,16 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.greaterThanEqual(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    public boolean isOccurring(TriggerSnapshot snapshot) {
+      return Operation.greaterThanEqual(snapshot, key, (Number) value);
+    }
+
+    @Override
+    CompiledTrigger.Node compile() {
+      return CompiledTrigger.Node.comparison(CompiledTrigger.GREATER_THAN_EQUAL, key, (Number) value);
+    }
   }
 
   /**
@@ -174,6 +263,16 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.lessThan(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    public boolean isOccurring(TriggerSnapshot snapshot) {
+      return Operation.lessThan(snapshot, key, (Number) value);
+    }
+
+    @Override
+    CompiledTrigger.Node compile() {
+      return CompiledTrigger.Node.comparison(CompiledTrigger.LESS_THAN, key, (Number) value);
+    }
   }
 
   /**
@@ -195,6 +294,16 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.lessThanEqual(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    public boolean isOccurring(TriggerSnapshot snapshot) {
+      return Operation.lessThanEqual(snapshot, key, (Number) value);
+    }
+
+    @Override
+    CompiledTrigger.Node compile() {
+      return CompiledTrigger.Node.comparison(CompiledTrigger.LESS_THAN_EQUAL, key, (Number) value);
+    }
   }
 
   /**
@@ -215,6 +324,16 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.notEqual(statementObjects.get(key), (Number) values[0]);
     }
+
+    @Override
+    public boolean isOccurring(TriggerSnapshot snapshot) {
+      return Operation.notEqual(snapshot, key, (Number) values[0]);
+    }
+
+    @Override
+    CompiledTrigger.Node compile() {
+      return CompiledTrigger.Node.comparison(CompiledTrigger.NOT_EQUAL, key, (Number) values[0]);
+    }
   }
 
   /**
@@ -235,6 +354,16 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.equal(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    public boolean isOccurring(TriggerSnapshot snapshot) {
+      return Operation.equal(snapshot, key, (Number) value);
+    }
+
+    @Override
+    CompiledTrigger.Node compile() {
+      return CompiledTrigger.Node.comparison(CompiledTrigger.EQUAL, key, (Number) value);
+    }
   }
 
   /**
@@ -272,6 +401,10 @@ public class Trigger {
 
   /**
    * Check the property equals the given value.
+   * <p>
+   * The values are compared as numbers, so an {@link Integer} and a {@link Double} of the same value
+   * are equal, whether the statement is evaluated against a snapshot or the statement objects.  Before
+   * 0.20.0 they were compared with {@link Number#equals(Object)}, which treats them as different.
    *
    * @param key   the property key which must be one of the constants found in {@link TriggerProperty}
    * @param value the value to check against
@@ -284,6 +417,10 @@ public class Trigger {
 
   /**
    * Check the property does not equals the given value.
+   * <p>
+   * The values are compared as numbers, so an {@link Integer} and a {@link Double} of the same value
+   * are equal, whether the statement is evaluated against a snapshot or the statement objects.  Before
+   * 0.20.0 they were compared with {@link Number#equals(Object)}, which treats them as different.
    *
    * @param key   the property key which must be one of the constants found in {@link TriggerProperty}
    * @param value the value to check against
@@ -59,7 +59,15 @@ public final class TriggerProperty {
 
   public static final int NEXT_STEP_DURATION_SECONDS = 0x00000011;
 
-  public static final int FIRST_LEG = 0x00000009;
+  /**
+   * The Milestone will be triggered based on whether the current leg is the first leg.
+   * <p>
+   * Before 0.20.0 this key shared its value with {@link #STEP_DISTANCE_TRAVELED_METERS}, so triggers
+   * on either property evaluated the distance traveled.
+   *
+   * @since 0.20.0
+   */
+  public static final int FIRST_LEG = 0x00000012;
 
   public static final int LAST_LEG = 0x000000010;
 
@@ -0,0 +1,138 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import android.support.annotation.NonNull;
+import android.util.SparseArray;
+
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+/**
+ * The current values of every {@link TriggerProperty}, taken once per location update and shared by
+ * all milestones checked against that update.
+ * <p>
+ * Values are held as primitives in arrays indexed by the {@link TriggerProperty} key, so a snapshot
+ * can be reused for every update without allocating.  They are read from the route progress the first
+ * time a trigger needs them after {@link #update(RouteProgress, RouteProgress)}.  Properties compared
+ * against another value of the route progress, such as {@link TriggerProperty#NEW_STEP}, also hold
+ * that second value.
+ * <p>
+ * A snapshot is not thread-safe; it is updated and read on the thread checking the milestones.
+ *
+ * @since 0.20.0
+ */
+public final class TriggerSnapshot {
+
+  private static final int PROPERTY_COUNT = TriggerProperty.FIRST_LEG + 1;
+  private static final int SECOND_TO_LAST_STEP_OFFSET = 2;
+
+  private final double[] values = new double[PROPERTY_COUNT];
+  private final double[] comparedValues = new double[PROPERTY_COUNT];
+  private RouteProgress previousRouteProgress;
+  private RouteProgress routeProgress;
+  private SparseArray<Number[]> statementObjects;
+  private boolean isUpToDate;
+
+  /**
+   * Creates a snapshot of the given progress.
+   *
+   * @param previousRouteProgress of the previous location update
+   * @param routeProgress         of the current location update
+   * @return a new snapshot
+   * @since 0.20.0
+   */
+  @NonNull
+  public static TriggerSnapshot create(@NonNull RouteProgress previousRouteProgress,
+                                       @NonNull RouteProgress routeProgress) {
+    TriggerSnapshot snapshot = new TriggerSnapshot();
+    snapshot.update(previousRouteProgress, routeProgress);
+    return snapshot;
+  }
+
+  /**
+   * Replaces the values of this snapshot with those of the given progress.
+   *
+   * @param previousRouteProgress of the previous location update
+   * @param routeProgress         of the current location update
+   * @since 0.20.0
+   */
+  public void update(@NonNull RouteProgress previousRouteProgress, @NonNull RouteProgress routeProgress) {
+    this.previousRouteProgress = previousRouteProgress;
+    this.routeProgress = routeProgress;
+    statementObjects = null;
+    isUpToDate = false;
+  }
+
+  /**
+   * @param property one of the {@link TriggerProperty} keys
+   * @return true if the property is compared against a second value of the route progress rather
+   * than against the value given to the trigger
+   */
+  static boolean isComparedProperty(int property) {
+    switch (property) {
+      case TriggerProperty.NEW_STEP:
+      case TriggerProperty.LAST_STEP:
+      case TriggerProperty.FIRST_STEP:
+      case TriggerProperty.FIRST_LEG:
+      case TriggerProperty.LAST_LEG:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  double value(int property) {
+    readValuesIfNeeded();
+    return values[property];
+  }
+
+  double comparedValue(int property) {
+    readValuesIfNeeded();
+    return comparedValues[property];
+  }
+
+  /**
+   * The same values in the format of {@link TriggerProperty}, for custom {@link Trigger.Statement}s which
+   * only implement {@link Trigger.Statement#isOccurring(SparseArray)}.  Built at most once per update.
+   */
+  SparseArray<Number[]> statementObjects() {
+    if (statementObjects == null) {
+      statementObjects = TriggerProperty.getSparseArray(previousRouteProgress, routeProgress);
+    }
+    return statementObjects;
+  }
+
+  private void readValuesIfNeeded() {
+    if (isUpToDate) {
+      return;
+    }
+    isUpToDate = true;
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    LegStep currentStep = legProgress.currentStep();
+    values[TriggerProperty.STEP_DISTANCE_TOTAL_METERS] = currentStep.distance();
+    values[TriggerProperty.STEP_DURATION_TOTAL_SECONDS] = currentStep.duration();
+    values[TriggerProperty.STEP_DISTANCE_REMAINING_METERS] = legProgress.currentStepProgress().distanceRemaining();
+    values[TriggerProperty.STEP_DURATION_REMAINING_SECONDS] = legProgress.currentStepProgress().durationRemaining();
+    values[TriggerProperty.STEP_DISTANCE_TRAVELED_METERS] = legProgress.currentStepProgress().distanceTraveled();
+
+    LegStep upcomingStep = legProgress.upComingStep();
+    values[TriggerProperty.NEXT_STEP_DURATION_SECONDS] = upcomingStep != null ? upcomingStep.duration() : 0;
+    values[TriggerProperty.NEXT_STEP_DISTANCE_METERS] = upcomingStep != null ? upcomingStep.distance() : 0;
+
+    int stepIndex = legProgress.stepIndex();
+    values[TriggerProperty.STEP_INDEX] = stepIndex;
+    setCompared(TriggerProperty.NEW_STEP, previousRouteProgress.currentLegProgress().stepIndex(), stepIndex);
+    setCompared(TriggerProperty.LAST_STEP, stepIndex,
+      routeProgress.currentLeg().steps().size() - SECOND_TO_LAST_STEP_OFFSET);
+    setCompared(TriggerProperty.FIRST_STEP, stepIndex, 0);
+
+    int legIndex = routeProgress.legIndex();
+    setCompared(TriggerProperty.FIRST_LEG, legIndex, 0);
+    setCompared(TriggerProperty.LAST_LEG, legIndex, routeProgress.directionsRoute().legs().size() - 1);
+  }
+
+  private void setCompared(int property, double value, double comparedValue) {
+    values[property] = value;
+    comparedValues[property] = comparedValue;
+  }
+}
@@ -1,12 +1,12 @@
 package com.mapbox.services.android.navigation.v5.milestone;
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
-import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.api.directions.v5.models.VoiceInstructions;
 import com.mapbox.services.android.navigation.v5.instruction.Instruction;
 import com.mapbox.services.android.navigation.v5.navigation.VoiceInstructionLoader;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
+import com.mapbox.services.android.navigation.v5.utils.RouteFingerprint;
+import com.mapbox.services.android.navigation.v5.utils.StepInstructionCursor;
 
 /**
  * A default milestone that is added to {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation}
@@ -21,11 +21,10 @@ public class VoiceInstructionMilestone extends Milestone {
 
   private VoiceInstructions instructions;
   private DirectionsRoute currentRoute;
-  private RouteUtils routeUtils;
+  private StepInstructionCursor<VoiceInstructions> instructionCursor;
 
   VoiceInstructionMilestone(Builder builder) {
     super(builder);
-    routeUtils = new RouteUtils();
   }
 
   @Override
@@ -33,9 +32,9 @@ public class VoiceInstructionMilestone extends Milestone {
     if (isNewRoute(routeProgress)) {
       cacheInstructions(routeProgress, true);
     }
-    LegStep currentStep = routeProgress.currentLegProgress().currentStep();
     double stepDistanceRemaining = routeProgress.currentLegProgress().currentStepProgress().distanceRemaining();
-    VoiceInstructions instructions = routeUtils.findCurrentVoiceInstructions(currentStep, stepDistanceRemaining);
+    VoiceInstructions instructions = retrieveInstructionCursor(routeProgress.directionsRoute()).findCurrentInstructions(
+      routeProgress.legIndex(), routeProgress.currentLegProgress().stepIndex(), stepDistanceRemaining);
     if (shouldBeVoiced(instructions, stepDistanceRemaining)) {
       return updateInstructions(routeProgress, instructions);
     }
@@ -93,11 +92,21 @@ public class VoiceInstructionMilestone extends Milestone {
    * @return true if new route, false if not
    */
   private boolean isNewRoute(RouteProgress routeProgress) {
-    boolean newRoute = currentRoute == null || !currentRoute.equals(routeProgress.directionsRoute());
+    boolean newRoute = !RouteFingerprint.isSameRoute(currentRoute, routeProgress.directionsRoute());
     currentRoute = routeProgress.directionsRoute();
     return newRoute;
   }
 
+  /**
+   * The instructions of the route are sorted once, when the first progress along it is checked.
+   */
+  private StepInstructionCursor<VoiceInstructions> retrieveInstructionCursor(DirectionsRoute route) {
+    if (instructionCursor == null || !instructionCursor.isFor(route)) {
+      instructionCursor = StepInstructionCursor.forVoiceInstructions(route);
+    }
+    return instructionCursor;
+  }
+
   /**
    * Checks if the current instructions are different from the instructions
    * determined by the step distance remaining.
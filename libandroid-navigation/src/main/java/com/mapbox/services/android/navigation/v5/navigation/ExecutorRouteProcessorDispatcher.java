@@ -0,0 +1,49 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers the results of the {@link RouteProcessorWorker} to the
+ * {@link RouteProcessorBackgroundThread.Listener} through the given response {@link Executor},
+ * with every callback for each processed location update.
+ * <p>
+ * The time until the response executor runs the callbacks is recorded as the
+ * {@link PipelineStage#MAIN_THREAD_HOP}, even if the executor does not run on the main thread.
+ */
+class ExecutorRouteProcessorDispatcher implements RouteProcessorDispatcher {
+
+  private final Executor responseExecutor;
+  private final RouteProcessorBackgroundThread.Listener listener;
+  private final PipelineMetricsRecorder metrics;
+
+  ExecutorRouteProcessorDispatcher(Executor responseExecutor, RouteProcessorBackgroundThread.Listener listener,
+                                   PipelineMetricsRecorder metrics) {
+    this.responseExecutor = responseExecutor;
+    this.listener = listener;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void dispatch(final boolean userOffRoute, final List<Milestone> milestones, final Location location,
+                       final boolean checkFasterRoute, final RouteProgress routeProgress) {
+    final long dispatchStartNanos = metrics.start();
+    responseExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        final long callbackStartNanos = metrics.recordStage(PipelineStage.MAIN_THREAD_HOP, dispatchStartNanos);
+        listener.onNewRouteProgress(location, routeProgress);
+        metrics.recordFixToCallback(location);
+        listener.onMilestoneTrigger(milestones, routeProgress);
+        listener.onUserOffRoute(location, userOffRoute);
+        listener.onCheckFasterRoute(location, routeProgress, checkFasterRoute);
+        metrics.recordStage(PipelineStage.LISTENER_CALLBACKS, callbackStartNanos);
+      }
+    });
+  }
+}
@@ -0,0 +1,126 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.os.Handler;
+import android.os.SystemClock;
+
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.List;
+
+/**
+ * Posts the results of the {@link RouteProcessorWorker} to the
+ * {@link RouteProcessorBackgroundThread.Listener} on the thread of the response {@link Handler}.
+ * <p>
+ * With a maximum progress dispatch rate, updates which only carry new progress are merged: the latest
+ * one is held and delivered once the minimum interval since the last delivery has passed.  Updates
+ * with triggered milestones, off-route or faster-route events are always delivered immediately, and
+ * replace any progress still waiting to be delivered.
+ * <p>
+ * The time from dispatch until the callbacks run is recorded as the {@link PipelineStage#MAIN_THREAD_HOP};
+ * for merged progress, it is measured from the first update of the merge.
+ */
+class HandlerRouteProcessorDispatcher implements RouteProcessorDispatcher {
+
+  private static final long ONE_SECOND_IN_MILLIS = 1000;
+  private static final long NO_INTERVAL = 0;
+
+  private final Handler responseHandler;
+  private final RouteProcessorBackgroundThread.Listener listener;
+  private final long minimumProgressIntervalMillis;
+  private final PipelineMetricsRecorder metrics;
+  private final Object pendingProgressLock = new Object();
+  private final Runnable pendingProgressDispatch = new Runnable() {
+    @Override
+    public void run() {
+      dispatchPendingProgress();
+    }
+  };
+  private Location pendingLocation;
+  private RouteProgress pendingRouteProgress;
+  private boolean isProgressDispatchScheduled;
+  private long pendingDispatchStartNanos;
+  private volatile long lastProgressDispatchMillis;
+
+  HandlerRouteProcessorDispatcher(Handler responseHandler, RouteProcessorBackgroundThread.Listener listener,
+                                  int maximumProgressDispatchRate, PipelineMetricsRecorder metrics) {
+    this.responseHandler = responseHandler;
+    this.listener = listener;
+    this.minimumProgressIntervalMillis = maximumProgressDispatchRate > 0
+      ? ONE_SECOND_IN_MILLIS / maximumProgressDispatchRate : NO_INTERVAL;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void dispatch(final boolean userOffRoute, final List<Milestone> milestones, final Location location,
+                       final boolean checkFasterRoute, final RouteProgress routeProgress) {
+    boolean deliverImmediately = minimumProgressIntervalMillis == NO_INTERVAL
+      || userOffRoute || checkFasterRoute || !milestones.isEmpty();
+    final long dispatchStartNanos = metrics.start();
+    if (deliverImmediately) {
+      clearPendingProgress();
+      responseHandler.post(new Runnable() {
+        @Override
+        public void run() {
+          final long callbackStartNanos = metrics.recordStage(PipelineStage.MAIN_THREAD_HOP, dispatchStartNanos);
+          lastProgressDispatchMillis = SystemClock.uptimeMillis();
+          listener.onNewRouteProgress(location, routeProgress);
+          metrics.recordFixToCallback(location);
+          listener.onMilestoneTrigger(milestones, routeProgress);
+          listener.onUserOffRoute(location, userOffRoute);
+          listener.onCheckFasterRoute(location, routeProgress, checkFasterRoute);
+          metrics.recordStage(PipelineStage.LISTENER_CALLBACKS, callbackStartNanos);
+        }
+      });
+    } else {
+      scheduleProgress(location, routeProgress, dispatchStartNanos);
+    }
+  }
+
+  private void scheduleProgress(Location location, RouteProgress routeProgress, long dispatchStartNanos) {
+    synchronized (pendingProgressLock) {
+      if (pendingRouteProgress == null) {
+        pendingDispatchStartNanos = dispatchStartNanos;
+      }
+      pendingLocation = location;
+      pendingRouteProgress = routeProgress;
+      if (isProgressDispatchScheduled) {
+        return;
+      }
+      isProgressDispatchScheduled = true;
+    }
+    long nextDispatchMillis = lastProgressDispatchMillis + minimumProgressIntervalMillis;
+    long dispatchMillis = Math.max(SystemClock.uptimeMillis(), nextDispatchMillis);
+    responseHandler.postAtTime(pendingProgressDispatch, dispatchMillis);
+  }
+
+  private void clearPendingProgress() {
+    synchronized (pendingProgressLock) {
+      pendingLocation = null;
+      pendingRouteProgress = null;
+    }
+  }
+
+  private void dispatchPendingProgress() {
+    Location location;
+    RouteProgress routeProgress;
+    long dispatchStartNanos;
+    synchronized (pendingProgressLock) {
+      location = pendingLocation;
+      routeProgress = pendingRouteProgress;
+      dispatchStartNanos = pendingDispatchStartNanos;
+      pendingLocation = null;
+      pendingRouteProgress = null;
+      isProgressDispatchScheduled = false;
+    }
+    if (routeProgress == null) {
+      return;
+    }
+    final long callbackStartNanos = metrics.recordStage(PipelineStage.MAIN_THREAD_HOP, dispatchStartNanos);
+    lastProgressDispatchMillis = SystemClock.uptimeMillis();
+    listener.onNewRouteProgress(location, routeProgress);
+    metrics.recordFixToCallback(location);
+    metrics.recordStage(PipelineStage.LISTENER_CALLBACKS, callbackStartNanos);
+  }
+}
@@ -0,0 +1,141 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size histogram of nanosecond latencies with log-linear buckets, in the style of HdrHistogram.
+ * <p>
+ * Values below {@link #SUB_BUCKET_COUNT} nanoseconds are counted exactly.  Above that, each power of two
+ * is split into {@link #SUB_BUCKET_COUNT} equal buckets, so every value is counted with a relative error
+ * of at most 1 / {@link #SUB_BUCKET_COUNT} (about 3%).  Values of {@link #MAXIMUM_TRACKABLE_NANOS} or more,
+ * roughly 18 minutes, are counted in the last bucket.
+ * <p>
+ * Recording does not allocate and is safe from any thread.  {@link #copy()} takes a snapshot which
+ * can be queried without affecting further recording.
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int MAXIMUM_EXPONENT = 40;
+  private static final long MAXIMUM_TRACKABLE_NANOS = 1L << (MAXIMUM_EXPONENT + 1);
+  private static final int BUCKET_COUNT = SUB_BUCKET_COUNT
+    + (MAXIMUM_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+  private static final double ONE_HUNDRED_PERCENT = 100d;
+
+  private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong totalCount = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong maximumNanos = new AtomicLong();
+
+  /**
+   * Counts one occurrence of the given latency; negative values are counted as zero.
+   *
+   * @param nanos latency in nanoseconds
+   */
+  void record(long nanos) {
+    long value = Math.max(0, nanos);
+    bucketCounts.incrementAndGet(bucketIndexFor(value));
+    totalCount.incrementAndGet();
+    totalNanos.addAndGet(value);
+    long currentMaximum = maximumNanos.get();
+    while (value > currentMaximum && !maximumNanos.compareAndSet(currentMaximum, value)) {
+      currentMaximum = maximumNanos.get();
+    }
+  }
+
+  long count() {
+    return totalCount.get();
+  }
+
+  long maximumNanos() {
+    return maximumNanos.get();
+  }
+
+  double averageNanos() {
+    long count = totalCount.get();
+    if (count == 0) {
+      return 0d;
+    }
+    return (double) totalNanos.get() / count;
+  }
+
+  /**
+   * Finds the latency at or below which the given percentage of the recorded latencies fall.
+   * <p>
+   * The highest value of the matching bucket is returned, capped at {@link #maximumNanos()}; for the
+   * last bucket, which has no upper bound, {@link #maximumNanos()} is returned.
+   *
+   * @param percentile between 0 and 100
+   * @return latency in nanoseconds, or 0 if nothing has been recorded
+   */
+  long percentileNanos(double percentile) {
+    long count = totalCount.get();
+    if (count == 0) {
+      return 0;
+    }
+    double boundedPercentile = Math.min(Math.max(percentile, 0d), ONE_HUNDRED_PERCENT);
+    long targetCount = Math.max(1, (long) Math.ceil(boundedPercentile / ONE_HUNDRED_PERCENT * count));
+    long runningCount = 0;
+    for (int bucketIndex = 0; bucketIndex < BUCKET_COUNT; bucketIndex++) {
+      runningCount += bucketCounts.get(bucketIndex);
+      if (runningCount >= targetCount) {
+        return bucketIndex == BUCKET_COUNT - 1
+          ? maximumNanos.get() : Math.min(highestValueIn(bucketIndex), maximumNanos.get());
+      }
+    }
+    return maximumNanos.get();
+  }
+
+  void reset() {
+    for (int bucketIndex = 0; bucketIndex < BUCKET_COUNT; bucketIndex++) {
+      bucketCounts.set(bucketIndex, 0);
+    }
+    totalCount.set(0);
+    totalNanos.set(0);
+    maximumNanos.set(0);
+  }
+
+  /**
+   * Copies the current counts into a new histogram.  Latencies recorded while copying may or may
+   * not be part of the copy.
+   *
+   * @return a new histogram with the same counts
+   */
+  LatencyHistogram copy() {
+    LatencyHistogram copy = new LatencyHistogram();
+    long count = 0;
+    for (int bucketIndex = 0; bucketIndex < BUCKET_COUNT; bucketIndex++) {
+      long bucketCount = bucketCounts.get(bucketIndex);
+      copy.bucketCounts.set(bucketIndex, bucketCount);
+      count += bucketCount;
+    }
+    copy.totalCount.set(count);
+    copy.totalNanos.set(totalNanos.get());
+    copy.maximumNanos.set(maximumNanos.get());
+    return copy;
+  }
+
+  static int bucketIndexFor(long nanos) {
+    if (nanos < SUB_BUCKET_COUNT) {
+      return (int) nanos;
+    }
+    if (nanos >= MAXIMUM_TRACKABLE_NANOS) {
+      return BUCKET_COUNT - 1;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucketIndex = (int) (nanos >>> shift) - SUB_BUCKET_COUNT;
+    return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucketIndex;
+  }
+
+  static long highestValueIn(int bucketIndex) {
+    if (bucketIndex < SUB_BUCKET_COUNT) {
+      return bucketIndex;
+    }
+    int shift = (bucketIndex - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+    long mantissa = (bucketIndex - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+    return ((mantissa + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,103 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegAnnotation;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+
+import java.util.List;
+
+/**
+ * Holds the cumulative {@link LegAnnotation#distance()} of each {@link RouteLeg} in a route,
+ * so the annotation the user is currently traveling along can be found with a binary search.
+ * <p>
+ * Built once per {@link DirectionsRoute} by the {@link NavigationRouteProcessor}.
+ */
+final class LegAnnotationIndex {
+
+  static final int INVALID_ANNOTATION_INDEX = -1;
+  private static final int FIRST_ANNOTATION_INDEX = 0;
+
+  private final double[][] legAnnotationDistances;
+
+  private LegAnnotationIndex(double[][] legAnnotationDistances) {
+    this.legAnnotationDistances = legAnnotationDistances;
+  }
+
+  static LegAnnotationIndex create(DirectionsRoute route) {
+    List<RouteLeg> legs = route.legs();
+    int legCount = legs == null ? 0 : legs.size();
+    double[][] legAnnotationDistances = new double[legCount][];
+    for (int legIndex = 0; legIndex < legCount; legIndex++) {
+      legAnnotationDistances[legIndex] = measureAnnotationDistances(legs.get(legIndex));
+    }
+    return new LegAnnotationIndex(legAnnotationDistances);
+  }
+
+  /**
+   * Finds the index of the annotation segment at the given distance along the leg.
+   * <p>
+   * If the distance is past the end of the last annotation, the last annotation index is returned.
+   *
+   * @param legIndex         of the leg
+   * @param distanceTraveled along the leg, in meters
+   * @return annotation index, or {@link LegAnnotationIndex#INVALID_ANNOTATION_INDEX} if the leg
+   * has no distance annotations
+   */
+  int findAnnotationIndex(int legIndex, double distanceTraveled) {
+    double[] annotationDistances = findAnnotationDistances(legIndex);
+    if (annotationDistances == null) {
+      return INVALID_ANNOTATION_INDEX;
+    }
+    int annotationCount = annotationDistances.length - 1;
+    int low = FIRST_ANNOTATION_INDEX;
+    int high = annotationCount - 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (annotationDistances[middle + 1] > distanceTraveled) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Distance along the leg, in meters, to the beginning of the given annotation.
+   *
+   * @param legIndex        of the leg
+   * @param annotationIndex of the annotation segment
+   * @return distance to the annotation
+   */
+  double distanceToAnnotation(int legIndex, int annotationIndex) {
+    double[] annotationDistances = findAnnotationDistances(legIndex);
+    if (annotationDistances == null || annotationIndex < 0 || annotationIndex >= annotationDistances.length) {
+      return 0d;
+    }
+    return annotationDistances[annotationIndex];
+  }
+
+  private double[] findAnnotationDistances(int legIndex) {
+    if (legIndex < 0 || legIndex >= legAnnotationDistances.length) {
+      return null;
+    }
+    return legAnnotationDistances[legIndex];
+  }
+
+  private static double[] measureAnnotationDistances(RouteLeg leg) {
+    LegAnnotation legAnnotation = leg.annotation();
+    if (legAnnotation == null) {
+      return null;
+    }
+    List<Double> distanceList = legAnnotation.distance();
+    if (distanceList == null || distanceList.isEmpty()) {
+      return null;
+    }
+    double[] annotationDistances = new double[distanceList.size() + 1];
+    for (int i = 0; i < distanceList.size(); i++) {
+      Double distance = distanceList.get(i);
+      annotationDistances[i + 1] = annotationDistances[i] + (distance == null ? 0d : distance);
+    }
+    return annotationDistances;
+  }
+}
@@ -0,0 +1,47 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds at most one pending {@link NavigationLocationUpdate}, so the route processor always works
+ * on the newest location rather than replaying a backlog of stale ones.
+ * <p>
+ * {@link #offer(NavigationLocationUpdate)} is called from the thread delivering locations and
+ * {@link #poll()} from the route processor thread.
+ */
+class LocationUpdateCoalescer {
+
+  private final AtomicReference<NavigationLocationUpdate> pendingUpdate = new AtomicReference<>();
+  private final RouteProcessorStats stats;
+
+  LocationUpdateCoalescer(RouteProcessorStats stats) {
+    this.stats = stats;
+  }
+
+  /**
+   * Replaces the pending update with the given one.
+   *
+   * @param update newest location update
+   * @return true if there was no pending update, meaning the route processor needs to be notified
+   */
+  boolean offer(NavigationLocationUpdate update) {
+    NavigationLocationUpdate replacedUpdate = pendingUpdate.getAndSet(update);
+    if (replacedUpdate != null) {
+      stats.recordDroppedUpdate();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Takes the pending update, leaving nothing pending.
+   *
+   * @return newest location update, or null if there is none
+   */
+  @Nullable
+  NavigationLocationUpdate poll() {
+    return pendingUpdate.getAndSet(null);
+  }
+}
@@ -26,6 +26,7 @@ import com.mapbox.services.android.navigation.v5.route.FasterRoute;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.snap.Snap;
+import com.mapbox.services.android.navigation.v5.utils.RouteFingerprint;
 import com.mapbox.services.android.navigation.v5.utils.ValidationUtils;
 
 import java.util.ArrayList;
@@ -57,10 +58,13 @@ public class MapboxNavigation implements ServiceConnection {
   private MapboxNavigationOptions options;
   private LocationEngine locationEngine = null;
   private Set<Milestone> milestones;
+  private volatile int milestonesVersion;
   private final String accessToken;
   private Context applicationContext;
   private boolean isBound;
   private NavigationTelemetry navigationTelemetry = null;
+  private RouteProcessorStats routeProcessorStats;
+  private PipelineMetricsRecorder pipelineMetricsRecorder;
 
   /**
    * Constructs a new instance of this class using the default options. This should be used over
@@ -160,6 +164,8 @@ public class MapboxNavigation implements ServiceConnection {
     // Initialize event dispatcher and add internal listeners
     navigationEventDispatcher = new NavigationEventDispatcher();
     navigationEngineFactory = new NavigationEngineFactory();
+    routeProcessorStats = new RouteProcessorStats();
+    pipelineMetricsRecorder = new PipelineMetricsRecorder(options.enablePipelineMetrics());
     initializeDefaultLocationEngine();
     initializeTelemetry();
 
@@ -256,7 +262,9 @@ public class MapboxNavigation implements ServiceConnection {
     boolean milestoneAdded = milestones.add(milestone);
     if (!milestoneAdded) {
       Timber.w("Milestone has already been added to the stack.");
+      return;
     }
+    milestonesVersion++;
   }
 
   /**
@@ -273,7 +281,9 @@ public class MapboxNavigation implements ServiceConnection {
     boolean milestonesAdded = this.milestones.addAll(milestones);
     if (!milestonesAdded) {
       Timber.w("These milestones have already been added to the stack.");
+      return;
     }
+    milestonesVersion++;
   }
 
   /**
@@ -288,12 +298,14 @@ public class MapboxNavigation implements ServiceConnection {
   public void removeMilestone(@Nullable Milestone milestone) {
     if (milestone == null) {
       milestones.clear();
+      milestonesVersion++;
       return;
     } else if (!milestones.contains(milestone)) {
       Timber.w("Milestone attempting to remove does not exist in stack.");
       return;
     }
     milestones.remove(milestone);
+    milestonesVersion++;
   }
 
   /**
@@ -389,6 +401,8 @@ public class MapboxNavigation implements ServiceConnection {
    */
   public void startNavigation(@NonNull DirectionsRoute directionsRoute) {
     ValidationUtils.validDirectionsRoute(directionsRoute, options.defaultMilestonesEnabled());
+    // Fingerprinted here, once, so checking for a new route while navigating does not hash it again
+    RouteFingerprint.of(directionsRoute);
     this.directionsRoute = directionsRoute;
     Timber.d("MapboxNavigation startNavigation called.");
     if (!isBound) {
@@ -748,6 +762,45 @@ public class MapboxNavigation implements ServiceConnection {
     return navigationEngineFactory.retrieveFasterRouteEngine();
   }
 
+  /**
+   * Returns the counters for location updates processed and dropped by the navigation route
+   * processor, along with the time updates spent waiting to be processed.
+   *
+   * @return route processor counters for this navigation instance
+   * @see MapboxNavigationOptions#enableLocationUpdateCoalescing()
+   * @since 0.20.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  @NonNull
+  public RouteProcessorStats getRouteProcessorStats() {
+    return routeProcessorStats;
+  }
+
+  /**
+   * Takes a snapshot of the latencies recorded for each stage of processing location updates, from
+   * the location fix to the progress listeners.
+   * <p>
+   * Latencies are only recorded if {@link MapboxNavigationOptions#enablePipelineMetrics()} is enabled.
+   *
+   * @return latency percentiles for each {@link PipelineStage}
+   * @since 0.20.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  @NonNull
+  public NavigationMetrics getNavigationMetrics() {
+    return pipelineMetricsRecorder.snapshot();
+  }
+
+  /**
+   * Clears the latencies recorded so far, for example to measure a new part of a route.
+   *
+   * @since 0.20.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void resetNavigationMetrics() {
+    pipelineMetricsRecorder.reset();
+  }
+
   /**
    * Creates a new {@link FeedbackEvent} with a given type, description, and source.
    * <p>
@@ -805,6 +858,13 @@ public class MapboxNavigation implements ServiceConnection {
     return new ArrayList<>(milestones);
   }
 
+  /**
+   * @return a number which changes whenever milestones are added or removed
+   */
+  int getMilestonesVersion() {
+    return milestonesVersion;
+  }
+
   MapboxNavigationOptions options() {
     return options;
   }
@@ -817,6 +877,10 @@ public class MapboxNavigation implements ServiceConnection {
     return navigationEngineFactory;
   }
 
+  PipelineMetricsRecorder getPipelineMetricsRecorder() {
+    return pipelineMetricsRecorder;
+  }
+
   private Intent getServiceIntent() {
     return new Intent(applicationContext, NavigationService.class);
   }
@@ -5,6 +5,8 @@ import android.support.annotation.Nullable;
 import com.google.auto.value.AutoValue;
 import com.mapbox.services.android.navigation.v5.navigation.notification.NavigationNotification;
 
+import java.util.concurrent.Executor;
+
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.ROUNDING_INCREMENT_FIFTY;
 
 /**
@@ -35,6 +37,52 @@ public abstract class MapboxNavigationOptions {
 
   public abstract boolean enableFasterRouteDetection();
 
+  /**
+   * If enabled, only the newest location update waiting to be processed is kept; older pending
+   * updates are dropped rather than processed one after another when the route processor falls behind.
+   *
+   * @return true if pending location updates are coalesced, false otherwise
+   * @since 0.20.0
+   */
+  public abstract boolean enableLocationUpdateCoalescing();
+
+  /**
+   * Maximum number of times per second progress updates are delivered to listeners on the main thread.
+   * Progress updates arriving in between are merged and only the latest one is delivered.
+   * Updates with triggered milestones, off-route or faster-route events are always delivered immediately.
+   * <p>
+   * Defaults to 0, which delivers every progress update.
+   *
+   * @return maximum progress dispatch rate in Hz, or 0 for no limit
+   * @since 0.20.0
+   */
+  public abstract int maximumProgressDispatchRate();
+
+  /**
+   * If enabled, the time spent in each stage of processing a location update is recorded, along with
+   * the time from the location fix to its delivery to the progress listeners.
+   * <p>
+   * The recorded latencies are available from {@link MapboxNavigation#getNavigationMetrics()}.
+   *
+   * @return true if pipeline latencies are recorded, false otherwise
+   * @since 0.20.0
+   */
+  public abstract boolean enablePipelineMetrics();
+
+  /**
+   * Executor the route processing runs on instead of a dedicated background thread, such as a fixed
+   * thread pool shared by several navigation sessions.  Location updates are still processed one at
+   * a time and in order, and the results are delivered on the main thread.
+   * <p>
+   * Defaults to null, which processes location updates on a dedicated background thread.
+   * {@link #maximumProgressDispatchRate()} only applies to the dedicated background thread.
+   *
+   * @return executor processing location updates, or null for a dedicated background thread
+   * @since 0.20.0
+   */
+  @Nullable
+  public abstract Executor routeProcessorExecutor();
+
   public abstract boolean manuallyEndNavigationUponCompletion();
 
   public abstract double metersRemainingTillArrival();
@@ -83,6 +131,14 @@ public abstract class MapboxNavigationOptions {
 
     public abstract Builder enableFasterRouteDetection(boolean enableFasterRouteDetection);
 
+    public abstract Builder enableLocationUpdateCoalescing(boolean enableLocationUpdateCoalescing);
+
+    public abstract Builder maximumProgressDispatchRate(int maximumProgressDispatchRate);
+
+    public abstract Builder enablePipelineMetrics(boolean enablePipelineMetrics);
+
+    public abstract Builder routeProcessorExecutor(@Nullable Executor routeProcessorExecutor);
+
     public abstract Builder manuallyEndNavigationUponCompletion(boolean manuallyEndNavigation);
 
     public abstract Builder metersRemainingTillArrival(double metersRemainingTillArrival);
@@ -115,6 +171,9 @@ public abstract class MapboxNavigationOptions {
       .secondsBeforeReroute(NavigationConstants.SECONDS_BEFORE_REROUTE)
       .enableOffRouteDetection(true)
       .enableFasterRouteDetection(false)
+      .enableLocationUpdateCoalescing(false)
+      .maximumProgressDispatchRate(NavigationConstants.UNLIMITED_PROGRESS_DISPATCH_RATE)
+      .enablePipelineMetrics(false)
       .snapToRoute(true)
       .manuallyEndNavigationUponCompletion(false)
       .defaultMilestonesEnabled(true)
@@ -107,6 +107,13 @@ public final class NavigationConstants {
    */
   static final int MAX_MANIPULATED_COURSE_ANGLE = 25;
 
+  /**
+   * Progress updates are delivered to listeners for every processed location, without throttling.
+   *
+   * @since 0.20.0
+   */
+  static final int UNLIMITED_PROGRESS_DISPATCH_RATE = 0;
+
   /**
    * Meter radius which the user must be inside for an arrival milestone to be triggered and
    * navigation to end.
@@ -0,0 +1,186 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.milestone.BannerInstructionMilestone;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.MilestoneScheduler;
+import com.mapbox.services.android.navigation.v5.milestone.TriggerSnapshot;
+import com.mapbox.services.android.navigation.v5.milestone.VoiceInstructionMilestone;
+import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
+import com.mapbox.services.android.navigation.v5.route.FasterRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.snap.Snap;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.BANNER_INSTRUCTION_MILESTONE_ID;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.VOICE_INSTRUCTION_MILESTONE_ID;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.buildSnappedLocation;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.isUserOffRoute;
+
+/**
+ * Runs the navigation engines (route progress, off-route, snapping, milestones and faster-route)
+ * synchronously on the calling thread, without a {@link android.content.Context},
+ * {@link NavigationService} or main thread.
+ * <p>
+ * Each location is processed the same way {@link MapboxNavigation} processes locations during a
+ * navigation session, so recorded traces can be replayed as fast as they can be processed, for
+ * example to tune {@link MapboxNavigationOptions} or to catch regressions.
+ * <p>
+ * An engine holds the state of one session and is not thread-safe; use one instance per trace.
+ *
+ * @since 0.20.0
+ */
+public class NavigationEngine {
+
+  private final DirectionsRoute directionsRoute;
+  private final MapboxNavigationOptions options;
+  private final NavigationEngineFactory engineFactory;
+  private final NavigationRouteProcessor routeProcessor;
+  private final Set<Milestone> milestones = new LinkedHashSet<>();
+  private final TriggerSnapshot triggerSnapshot = new TriggerSnapshot();
+  private final MilestoneScheduler milestoneScheduler = new MilestoneScheduler();
+
+  /**
+   * Creates an engine for the given route, using the default off-route, snap and faster-route
+   * engines, plus the default milestones if {@link MapboxNavigationOptions#defaultMilestonesEnabled()}.
+   *
+   * @param directionsRoute the route to navigate along
+   * @param options         to configure the engines
+   * @since 0.20.0
+   */
+  public NavigationEngine(@NonNull DirectionsRoute directionsRoute, @NonNull MapboxNavigationOptions options) {
+    this.directionsRoute = directionsRoute;
+    this.options = options;
+    this.engineFactory = new NavigationEngineFactory();
+    this.routeProcessor = new NavigationRouteProcessor();
+    if (options.defaultMilestonesEnabled()) {
+      milestones.add(new VoiceInstructionMilestone.Builder().setIdentifier(VOICE_INSTRUCTION_MILESTONE_ID).build());
+      milestones.add(new BannerInstructionMilestone.Builder().setIdentifier(BANNER_INSTRUCTION_MILESTONE_ID).build());
+    }
+    milestoneScheduler.setMilestones(milestones);
+  }
+
+  /**
+   * Adds a {@link Milestone} to be checked with every processed location.
+   *
+   * @param milestone a custom built milestone
+   * @since 0.20.0
+   */
+  public void addMilestone(@NonNull Milestone milestone) {
+    if (milestones.add(milestone)) {
+      milestoneScheduler.setMilestones(milestones);
+    }
+  }
+
+  /**
+   * Replaces the default snap engine.
+   *
+   * @param snapEngine a custom implementation of the {@link Snap} class
+   * @since 0.20.0
+   */
+  public void setSnapEngine(@NonNull Snap snapEngine) {
+    engineFactory.updateSnapEngine(snapEngine);
+  }
+
+  /**
+   * Replaces the default off-route engine.
+   *
+   * @param offRouteEngine a custom implementation of the {@link OffRoute} class
+   * @since 0.20.0
+   */
+  public void setOffRouteEngine(@NonNull OffRoute offRouteEngine) {
+    engineFactory.updateOffRouteEngine(offRouteEngine);
+  }
+
+  /**
+   * Replaces the default faster-route engine.
+   *
+   * @param fasterRouteEngine a custom implementation of the {@link FasterRoute} class
+   * @since 0.20.0
+   */
+  public void setFasterRouteEngine(@NonNull FasterRoute fasterRouteEngine) {
+    engineFactory.updateFasterRouteEngine(fasterRouteEngine);
+  }
+
+  /**
+   * Processes the next location of the trace.
+   *
+   * @param rawLocation the next location
+   * @return the result of running all engines against the location
+   * @since 0.20.0
+   */
+  @NonNull
+  public NavigationEngineResult process(@NonNull Location rawLocation) {
+    OffRoute offRouteEngine = engineFactory.retrieveOffRouteEngine();
+    RouteProgress routeProgress = routeProcessor.buildNewRouteProgress(
+      directionsRoute, options, offRouteEngine, rawLocation
+    );
+    Snap snapEngine = engineFactory.retrieveSnapEngine();
+    routeProcessor.updateEngineIndices(offRouteEngine, snapEngine);
+
+    boolean userOffRoute = isUserOffRoute(rawLocation, routeProgress, options, offRouteEngine, routeProcessor);
+    routeProcessor.checkIncreaseIndex(directionsRoute, offRouteEngine);
+    List<Milestone> triggeredMilestones = milestoneScheduler.checkMilestones(routeProcessor.getRouteProgress(),
+      routeProgress, triggerSnapshot);
+    Location location = buildSnappedLocation(snapEngine, options.snapToRoute(),
+      rawLocation, routeProgress, userOffRoute);
+    boolean checkFasterRoute = options.enableFasterRouteDetection() && !userOffRoute
+      && engineFactory.retrieveFasterRouteEngine().shouldCheckFasterRoute(rawLocation, routeProgress);
+
+    routeProcessor.setRouteProgress(routeProgress);
+    return NavigationEngineResult.create(
+      rawLocation, location, routeProgress, userOffRoute, triggeredMilestones, checkFasterRoute
+    );
+  }
+
+  /**
+   * Lazily processes a trace; each location is processed when the next result is requested.
+   *
+   * @param locations of the trace, in order
+   * @return the results, in the same order as the locations
+   * @since 0.20.0
+   */
+  @NonNull
+  public Iterator<NavigationEngineResult> process(@NonNull final Iterator<Location> locations) {
+    return new Iterator<NavigationEngineResult>() {
+      @Override
+      public boolean hasNext() {
+        return locations.hasNext();
+      }
+
+      @Override
+      public NavigationEngineResult next() {
+        return process(locations.next());
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  /**
+   * Processes a whole trace.
+   *
+   * @param locations of the trace, in order
+   * @return the results, in the same order as the locations
+   * @since 0.20.0
+   */
+  @NonNull
+  public List<NavigationEngineResult> processAll(@NonNull Iterable<Location> locations) {
+    List<NavigationEngineResult> results = new ArrayList<>();
+    for (Location location : locations) {
+      results.add(process(location));
+    }
+    return results;
+  }
+}
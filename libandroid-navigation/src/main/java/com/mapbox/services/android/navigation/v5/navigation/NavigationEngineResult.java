@@ -0,0 +1,74 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.google.auto.value.AutoValue;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.List;
+
+/**
+ * The result of processing one location with a {@link NavigationEngine}.
+ *
+ * @since 0.20.0
+ */
+@AutoValue
+public abstract class NavigationEngineResult {
+
+  static NavigationEngineResult create(Location rawLocation, Location location, RouteProgress routeProgress,
+                                       boolean userOffRoute, List<Milestone> milestones, boolean checkFasterRoute) {
+    return new AutoValue_NavigationEngineResult(
+      rawLocation, location, routeProgress, userOffRoute, milestones, checkFasterRoute
+    );
+  }
+
+  /**
+   * The location as it was passed to the engine.
+   *
+   * @return the raw location
+   * @since 0.20.0
+   */
+  public abstract Location rawLocation();
+
+  /**
+   * The location snapped to the route, or the raw location if snapping is disabled or the user
+   * is off-route.
+   *
+   * @return the snapped location
+   * @since 0.20.0
+   */
+  public abstract Location location();
+
+  /**
+   * The progress along the route after processing the location.
+   *
+   * @return new route progress
+   * @since 0.20.0
+   */
+  public abstract RouteProgress routeProgress();
+
+  /**
+   * Whether the off-route engine determined the user is off-route.
+   *
+   * @return true if the user is off-route, false otherwise
+   * @since 0.20.0
+   */
+  public abstract boolean userOffRoute();
+
+  /**
+   * Milestones triggered by this location; empty if none were triggered.
+   *
+   * @return list of triggered milestones
+   * @since 0.20.0
+   */
+  public abstract List<Milestone> milestones();
+
+  /**
+   * Whether the faster-route engine determined a faster route should be requested.
+   *
+   * @return true if a faster route should be checked for, false otherwise
+   * @since 0.20.0
+   */
+  public abstract boolean checkFasterRoute();
+}
@@ -12,30 +12,30 @@ import com.mapbox.api.directions.v5.models.MaxSpeed;
 import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.api.directions.v5.models.StepIntersection;
 import com.mapbox.api.directions.v5.models.StepManeuver;
-import com.mapbox.core.constants.Constants;
 import com.mapbox.geojson.Feature;
 import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
-import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.TriggerSnapshot;
 import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteCallback;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
 import com.mapbox.services.android.navigation.v5.route.FasterRoute;
 import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotation;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometryIndex;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.snap.Snap;
+import com.mapbox.services.android.navigation.v5.snap.SnapCursor;
 import com.mapbox.services.android.navigation.v5.utils.MathUtils;
 import com.mapbox.turf.TurfConstants;
 import com.mapbox.turf.TurfMeasurement;
 import com.mapbox.turf.TurfMisc;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
-import static com.mapbox.core.constants.Constants.PRECISION_6;
-
 /**
  * This contains several single purpose methods that help out when a new location update occurs and
  * calculations need to be performed on it.
@@ -49,6 +49,7 @@ public class NavigationHelper {
   private static final String EMPTY_STRING = "";
   private static final double ZERO_METERS = 0d;
   private static final int TWO_POINTS = 2;
+  private static final String INDEX_PROPERTY = "index";
 
   private NavigationHelper() {
     // Empty private constructor to prevent users creating an instance of this class.
@@ -72,11 +73,29 @@ public class NavigationHelper {
     return ((Point) feature.geometry());
   }
 
+  /**
+   * Same as {@link NavigationHelper#userSnappedToRoutePosition(Location, List)}, but uses the given
+   * {@link SnapCursor} so only the segments around the last snapped position need to be searched.
+   */
+  static Point userSnappedToRoutePosition(Location location, List<Point> coordinates, SnapCursor snapCursor) {
+    Point locationToPoint = Point.fromLngLat(location.getLongitude(), location.getLatitude());
+    if (coordinates.size() < 2) {
+      return locationToPoint;
+    }
+    return snapCursor.snap(locationToPoint, coordinates);
+  }
+
   static Location buildSnappedLocation(MapboxNavigation mapboxNavigation, boolean snapToRouteEnabled,
                                        Location rawLocation, RouteProgress routeProgress, boolean userOffRoute) {
+    return buildSnappedLocation(mapboxNavigation.getSnapEngine(), snapToRouteEnabled,
+      rawLocation, routeProgress, userOffRoute);
+  }
+
+  static Location buildSnappedLocation(Snap snapEngine, boolean snapToRouteEnabled,
+                                       Location rawLocation, RouteProgress routeProgress, boolean userOffRoute) {
     final Location location;
     if (!userOffRoute && snapToRouteEnabled) {
-      location = getSnappedLocation(mapboxNavigation, rawLocation, routeProgress);
+      location = snapEngine.getSnappedLocation(rawLocation, routeProgress);
     } else {
       location = rawLocation;
     }
@@ -104,31 +123,47 @@ public class NavigationHelper {
     List<LegStep> steps = directionsRoute.legs().get(legIndex).steps();
     Point nextManeuverPosition = nextManeuverPosition(stepIndex, steps, coordinates);
 
-    LineString lineString = LineString.fromPolyline(steps.get(stepIndex).geometry(),
-      Constants.PRECISION_6);
     // If the users snapped position equals the next maneuver
-    // position or the linestring coordinate size is less than 2,the distance remaining is zero.
-    if (snappedPosition.equals(nextManeuverPosition) || lineString.coordinates().size() < 2) {
+    // position or the step coordinate size is less than 2,the distance remaining is zero.
+    if (snappedPosition.equals(nextManeuverPosition) || coordinates.size() < 2) {
       return 0;
     }
+    LineString lineString = LineString.fromLngLats(coordinates);
     LineString slicedLine = TurfMisc.lineSlice(snappedPosition, nextManeuverPosition, lineString);
     return TurfMeasurement.length(slicedLine, TurfConstants.UNIT_METERS);
   }
 
   /**
-   * Takes in the already calculated step distance and iterates through the step list from the
-   * step index value plus one till the end of the leg.
+   * Calculates the distance remaining in the step from the segment matched by the {@link SnapCursor},
+   * using the cumulative step distances of the {@link RouteGeometryIndex}.
+   * <p>
+   * Falls back to {@link NavigationHelper#stepDistanceRemaining(Point, int, int, DirectionsRoute, List)}
+   * if the coordinates are not the indexed geometry of the step.
    */
-  static double legDistanceRemaining(double stepDistanceRemaining, int legIndex, int stepIndex,
-                                     DirectionsRoute directionsRoute) {
-    List<LegStep> steps = directionsRoute.legs().get(legIndex).steps();
-    if ((steps.size() < stepIndex + 1)) {
-      return stepDistanceRemaining;
+  static double stepDistanceRemaining(Point snappedPosition, SnapCursor snapCursor, RouteGeometryIndex geometryIndex,
+                                      int legIndex, int stepIndex, DirectionsRoute directionsRoute,
+                                      List<Point> coordinates) {
+    boolean isIndexedStep = coordinates == geometryIndex.stepPoints(legIndex, stepIndex);
+    if (!isIndexedStep || coordinates != snapCursor.stepPoints()) {
+      return stepDistanceRemaining(snappedPosition, legIndex, stepIndex, directionsRoute, coordinates);
     }
-    for (int i = stepIndex + 1; i < steps.size(); i++) {
-      stepDistanceRemaining += steps.get(i).distance();
+    List<LegStep> steps = directionsRoute.legs().get(legIndex).steps();
+    Point nextManeuverPosition = nextManeuverPosition(stepIndex, steps, coordinates);
+    if (snappedPosition.equals(nextManeuverPosition) || coordinates.size() < 2) {
+      return 0;
     }
-    return stepDistanceRemaining;
+    return geometryIndex.stepDistanceRemaining(
+      legIndex, stepIndex, snapCursor.segmentIndex(), snapCursor.segmentFraction()
+    );
+  }
+
+  /**
+   * Takes in the already calculated step distance and adds the distance of every step
+   * from the step index value plus one till the end of the leg.
+   */
+  static double legDistanceRemaining(double stepDistanceRemaining, int legIndex, int stepIndex,
+                                     RouteGeometryIndex geometryIndex) {
+    return geometryIndex.legDistanceRemaining(legIndex, stepIndex, stepDistanceRemaining);
   }
 
   /**
@@ -138,15 +173,8 @@ public class NavigationHelper {
    * equal the leg distance remaining.
    */
   static double routeDistanceRemaining(double legDistanceRemaining, int legIndex,
-                                       DirectionsRoute directionsRoute) {
-    if (directionsRoute.legs().size() < 2) {
-      return legDistanceRemaining;
-    }
-
-    for (int i = legIndex + 1; i < directionsRoute.legs().size(); i++) {
-      legDistanceRemaining += directionsRoute.legs().get(i).distance();
-    }
-    return legDistanceRemaining;
+                                       RouteGeometryIndex geometryIndex) {
+    return geometryIndex.routeDistanceRemaining(legIndex, legDistanceRemaining);
   }
 
   /**
@@ -225,42 +253,27 @@ public class NavigationHelper {
   }
 
   /**
-   * Given the current {@link DirectionsRoute} and leg / step index,
+   * Given the current {@link RouteGeometryIndex} and leg / step index,
    * return a list of {@link Point} representing the current step.
    * <p>
-   * This method is only used on a per-step basis as {@link PolylineUtils#decode(String, int)}
-   * can be a heavy operation based on the length of the step.
+   * The step geometry has already been decoded when the index was built, so this
+   * lookup is cheap enough to be called for every new step.
    * <p>
-   * Returns null if index is invalid.
+   * Returns the current points if the index is invalid or the step has no geometry.
    *
-   * @param directionsRoute for list of steps
-   * @param legIndex        to get current step list
-   * @param stepIndex       to get current step
+   * @param geometryIndex for the decoded step geometries
+   * @param currentPoints returned if the step cannot be found
+   * @param legIndex      to get current step list
+   * @param stepIndex     to get current step
    * @return list of {@link Point} representing the current step
    */
-  static List<Point> decodeStepPoints(DirectionsRoute directionsRoute, List<Point> currentPoints,
-                                      int legIndex, int stepIndex) {
-    List<RouteLeg> legs = directionsRoute.legs();
-    if (hasInvalidLegs(legs)) {
-      return currentPoints;
-    }
-    List<LegStep> steps = legs.get(legIndex).steps();
-    if (hasInvalidSteps(steps)) {
-      return currentPoints;
-    }
-    boolean invalidStepIndex = stepIndex < 0 || stepIndex > steps.size() - 1;
-    if (invalidStepIndex) {
-      return currentPoints;
-    }
-    LegStep step = steps.get(stepIndex);
-    if (step == null) {
+  static List<Point> findStepPoints(RouteGeometryIndex geometryIndex, List<Point> currentPoints,
+                                    int legIndex, int stepIndex) {
+    List<Point> stepPoints = geometryIndex.stepPoints(legIndex, stepIndex);
+    if (stepPoints == null) {
       return currentPoints;
     }
-    String stepGeometry = step.geometry();
-    if (stepGeometry != null) {
-      return PolylineUtils.decode(stepGeometry, PRECISION_6);
-    }
-    return currentPoints;
+    return stepPoints;
   }
 
   /**
@@ -299,27 +312,102 @@ public class NavigationHelper {
   @NonNull
   public static List<Pair<StepIntersection, Double>> createDistancesToIntersections(List<Point> stepPoints,
                                                                              List<StepIntersection> intersections) {
+    double[] intersectionDistances = measureDistancesToIntersections(stepPoints, intersections);
+    return createDistancesToIntersections(intersections, intersectionDistances);
+  }
+
+  /**
+   * Pairs each {@link StepIntersection} with its already measured distance along the step.
+   *
+   * @param intersections         along the step
+   * @param intersectionDistances measured with
+   *                              {@link NavigationHelper#measureDistancesToIntersections(List, List)}
+   *                              or from a {@link RouteGeometryIndex}
+   * @return list of measured intersection pairs
+   * @since 0.20.0
+   */
+  public static List<Pair<StepIntersection, Double>> createDistancesToIntersections(
+    List<StepIntersection> intersections, double[] intersectionDistances) {
+    if (intersectionDistances.length == 0) {
+      return Collections.emptyList();
+    }
+    List<Pair<StepIntersection, Double>> distancesToIntersections = new ArrayList<>(intersectionDistances.length);
+    for (int i = 0; i < intersectionDistances.length; i++) {
+      distancesToIntersections.add(new Pair<>(intersections.get(i), intersectionDistances[i]));
+    }
+    return distancesToIntersections;
+  }
+
+  /**
+   * Measures the distance in meters along the step to each {@link StepIntersection}.
+   * <p>
+   * The cumulative distance to each step point is measured once, and intersections are matched
+   * to step points in order, so the step geometry doesn't need to be sliced for every intersection.
+   * If an intersection isn't located on a step point, it is snapped to the closest segment of the step.
+   *
+   * @param stepPoints    representing the step geometry
+   * @param intersections along the step to be measured
+   * @return distances along the step, in the same order as the intersections
+   * @since 0.20.0
+   */
+  public static double[] measureDistancesToIntersections(List<Point> stepPoints,
+                                                         List<StepIntersection> intersections) {
     boolean lessThanTwoStepPoints = stepPoints.size() < TWO_POINTS;
     boolean noIntersections = intersections.isEmpty();
     if (lessThanTwoStepPoints || noIntersections) {
-      return Collections.emptyList();
+      return new double[0];
     }
 
-    LineString stepLineString = LineString.fromLngLats(stepPoints);
-    Point firstStepPoint = stepPoints.get(FIRST_POINT);
-    List<Pair<StepIntersection, Double>> distancesToIntersections = new ArrayList<>();
+    double[] stepPointDistances = new double[stepPoints.size()];
+    for (int i = 1; i < stepPoints.size(); i++) {
+      double segmentDistance = TurfMeasurement.distance(stepPoints.get(i - 1), stepPoints.get(i),
+        TurfConstants.UNIT_METERS);
+      stepPointDistances[i] = stepPointDistances[i - 1] + segmentDistance;
+    }
+    return matchDistancesToIntersections(stepPoints, stepPointDistances, intersections);
+  }
+
+  /**
+   * Measures the distance in meters along the step to each {@link StepIntersection}, reading the
+   * cumulative distance to each step point from the {@link RouteGeometryIndex} instead of measuring
+   * the step geometry again.
+   *
+   * @param geometryIndex of the current route
+   * @param legIndex      of the current leg
+   * @param stepIndex     of the current step in the leg
+   * @param intersections along the step to be measured
+   * @return distances along the step, in the same order as the intersections
+   * @since 0.20.0
+   */
+  public static double[] measureDistancesToIntersections(RouteGeometryIndex geometryIndex, int legIndex,
+                                                         int stepIndex, List<StepIntersection> intersections) {
+    List<Point> stepPoints = geometryIndex.stepPoints(legIndex, stepIndex);
+    boolean lessThanTwoStepPoints = stepPoints == null || stepPoints.size() < TWO_POINTS;
+    if (lessThanTwoStepPoints || intersections.isEmpty()) {
+      return new double[0];
+    }
+    double[] stepPointDistances = new double[stepPoints.size()];
+    for (int i = 1; i < stepPoints.size(); i++) {
+      stepPointDistances[i] = geometryIndex.distanceAlongStep(legIndex, stepIndex, i);
+    }
+    return matchDistancesToIntersections(stepPoints, stepPointDistances, intersections);
+  }
 
-    for (StepIntersection intersection : intersections) {
-      Point intersectionPoint = intersection.location();
-      if (firstStepPoint.equals(intersectionPoint)) {
-        distancesToIntersections.add(new Pair<>(intersection, ZERO_METERS));
+  private static double[] matchDistancesToIntersections(List<Point> stepPoints, double[] stepPointDistances,
+                                                        List<StepIntersection> intersections) {
+    double[] intersectionDistances = new double[intersections.size()];
+    int stepPointIndex = FIRST_POINT;
+    for (int i = 0; i < intersections.size(); i++) {
+      Point intersectionPoint = intersections.get(i).location();
+      int matchingIndex = findStepPointIndex(stepPoints, intersectionPoint, stepPointIndex);
+      if (matchingIndex >= FIRST_POINT) {
+        stepPointIndex = matchingIndex;
+        intersectionDistances[i] = stepPointDistances[matchingIndex];
       } else {
-        LineString beginningLineString = TurfMisc.lineSlice(firstStepPoint, intersectionPoint, stepLineString);
-        double distanceToIntersectionInMeters = TurfMeasurement.length(beginningLineString, TurfConstants.UNIT_METERS);
-        distancesToIntersections.add(new Pair<>(intersection, distanceToIntersectionInMeters));
+        intersectionDistances[i] = measureSnappedDistance(stepPoints, stepPointDistances, intersectionPoint);
       }
     }
-    return distancesToIntersections;
+    return intersectionDistances;
   }
 
   /**
@@ -335,11 +423,11 @@ public class NavigationHelper {
   public static StepIntersection findCurrentIntersection(@NonNull List<StepIntersection> intersections,
                                                   @NonNull List<Pair<StepIntersection, Double>> measuredIntersections,
                                                   double stepDistanceTraveled) {
-    for (Pair<StepIntersection, Double> measuredIntersection : measuredIntersections) {
+    int measuredIntersectionSize = measuredIntersections.size();
+    for (int intersectionIndex = 0; intersectionIndex < measuredIntersectionSize; intersectionIndex++) {
+      Pair<StepIntersection, Double> measuredIntersection = measuredIntersections.get(intersectionIndex);
       double intersectionDistance = measuredIntersection.second;
-      int intersectionIndex = measuredIntersections.indexOf(measuredIntersection);
       int nextIntersectionIndex = intersectionIndex + ONE_INDEX;
-      int measuredIntersectionSize = measuredIntersections.size();
       boolean hasValidNextIntersection = nextIntersectionIndex < measuredIntersectionSize;
 
       if (hasValidNextIntersection) {
@@ -356,6 +444,41 @@ public class NavigationHelper {
     return intersections.get(FIRST_INTERSECTION);
   }
 
+  /**
+   * Based on the measured intersection distances and the step distance traveled, finds
+   * the index of the current intersection a user is traveling along.
+   * <p>
+   * Uses a binary search over the intersection distances, which are increasing along the step.
+   *
+   * @param intersectionDistances measured distances along the step
+   * @param stepDistanceTraveled  how far the user has traveled along the step
+   * @return the index of the current step intersection
+   * @since 0.20.0
+   */
+  public static int findCurrentIntersectionIndex(@NonNull double[] intersectionDistances,
+                                                 double stepDistanceTraveled) {
+    int low = 0;
+    int high = intersectionDistances.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (intersectionDistances[middle] < stepDistanceTraveled) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    int intersectionIndex = low - ONE_INDEX;
+    if (intersectionIndex < FIRST_INTERSECTION) {
+      return FIRST_INTERSECTION;
+    }
+    int nextIntersectionIndex = intersectionIndex + ONE_INDEX;
+    boolean hasValidNextIntersection = nextIntersectionIndex < intersectionDistances.length;
+    if (hasValidNextIntersection && stepDistanceTraveled >= intersectionDistances[nextIntersectionIndex]) {
+      return FIRST_INTERSECTION;
+    }
+    return intersectionIndex;
+  }
+
   /**
    * Based on the current intersection index, add one and try to get the upcoming.
    * <p>
@@ -386,6 +509,33 @@ public class NavigationHelper {
     return null;
   }
 
+  /**
+   * Based on the index of the current intersection, finds the next intersection along
+   * the route.  If the current intersection is the last one of the step, the first
+   * intersection of the upcoming step is returned.
+   *
+   * @param intersections            along the step
+   * @param upcomingStep             for the first intersection if needed
+   * @param currentIntersectionIndex index of the current intersection in the list
+   * @return the next intersection or null if not found
+   * @since 0.20.0
+   */
+  @Nullable
+  public static StepIntersection findUpcomingIntersection(@NonNull List<StepIntersection> intersections,
+                                                          @Nullable LegStep upcomingStep,
+                                                          int currentIntersectionIndex) {
+    int nextIntersectionIndex = currentIntersectionIndex + ONE_INDEX;
+    if (nextIntersectionIndex < intersections.size()) {
+      return intersections.get(nextIntersectionIndex);
+    } else if (upcomingStep != null) {
+      List<StepIntersection> upcomingIntersections = upcomingStep.intersections();
+      if (upcomingIntersections != null && !upcomingIntersections.isEmpty()) {
+        return upcomingIntersections.get(FIRST_INTERSECTION);
+      }
+    }
+    return null;
+  }
+
   /**
    * Given a list of distance annotations, find the current annotation index.  This index retrieves the
    * current annotation from any provided annotation list in {@link LegAnnotation}.
@@ -411,8 +561,47 @@ public class NavigationHelper {
     int annotationIndex = findAnnotationIndex(
       currentLegAnnotation, annotationBuilder, leg, legDistanceRemaining, distanceList
     );
+    return buildCurrentAnnotation(annotationBuilder, legAnnotation, annotationIndex);
+  }
+
+  /**
+   * Given the cumulative annotation distances of the {@link LegAnnotationIndex}, find the current
+   * annotation with a binary search.
+   * <p>
+   * A new {@link CurrentLegAnnotation} is only built when the annotation index has changed,
+   * otherwise the current annotation is returned as-is.
+   *
+   * @param currentLegAnnotation current annotation being traveled along
+   * @param leg                  holding each list of annotations
+   * @param legIndex             of the leg in the annotation index
+   * @param legDistanceRemaining to determine the new set of annotations
+   * @param annotationIndex      holding the cumulative annotation distances of the route
+   * @return a current set of annotation data for the user's position along the route
+   */
+  @Nullable
+  static CurrentLegAnnotation createCurrentAnnotation(CurrentLegAnnotation currentLegAnnotation, RouteLeg leg,
+                                                      int legIndex, double legDistanceRemaining,
+                                                      LegAnnotationIndex annotationIndex) {
+    LegAnnotation legAnnotation = leg.annotation();
+    if (legAnnotation == null || leg.distance() == null) {
+      return null;
+    }
+    double distanceTraveled = leg.distance() - legDistanceRemaining;
+    int currentAnnotationIndex = annotationIndex.findAnnotationIndex(legIndex, distanceTraveled);
+    if (currentAnnotationIndex == LegAnnotationIndex.INVALID_ANNOTATION_INDEX) {
+      return null;
+    }
+    if (currentLegAnnotation != null && currentLegAnnotation.index() == currentAnnotationIndex) {
+      return currentLegAnnotation;
+    }
+    CurrentLegAnnotation.Builder annotationBuilder = CurrentLegAnnotation.builder()
+      .distanceToAnnotation(annotationIndex.distanceToAnnotation(legIndex, currentAnnotationIndex));
+    return buildCurrentAnnotation(annotationBuilder, legAnnotation, currentAnnotationIndex);
+  }
 
-    annotationBuilder.distance(distanceList.get(annotationIndex));
+  private static CurrentLegAnnotation buildCurrentAnnotation(CurrentLegAnnotation.Builder annotationBuilder,
+                                                             LegAnnotation legAnnotation, int annotationIndex) {
+    annotationBuilder.distance(legAnnotation.distance().get(annotationIndex));
     List<Double> durationList = legAnnotation.duration();
     if (durationList != null) {
       annotationBuilder.duration(durationList.get(annotationIndex));
@@ -445,9 +634,30 @@ public class NavigationHelper {
   static List<Milestone> checkMilestones(RouteProgress previousRouteProgress,
                                          RouteProgress routeProgress,
                                          MapboxNavigation mapboxNavigation) {
+    return checkMilestones(previousRouteProgress, routeProgress, mapboxNavigation.getMilestones());
+  }
+
+  static List<Milestone> checkMilestones(RouteProgress previousRouteProgress, RouteProgress routeProgress,
+                                         Collection<Milestone> navigationMilestones) {
+    return checkMilestones(previousRouteProgress, routeProgress, navigationMilestones, new TriggerSnapshot());
+  }
+
+  /**
+   * Runs through the given milestones and returns the occurring ones, evaluating every milestone
+   * against one {@link TriggerSnapshot} of the route progress.
+   *
+   * @param previousRouteProgress for checking if milestone is occurring
+   * @param routeProgress         for checking if milestone is occurring
+   * @param navigationMilestones  to check
+   * @param snapshot              updated with the route progress, can be reused for every location update
+   * @return list of occurring milestones
+   */
+  static List<Milestone> checkMilestones(RouteProgress previousRouteProgress, RouteProgress routeProgress,
+                                         Collection<Milestone> navigationMilestones, TriggerSnapshot snapshot) {
+    snapshot.update(previousRouteProgress, routeProgress);
     List<Milestone> milestones = new ArrayList<>();
-    for (Milestone milestone : mapboxNavigation.getMilestones()) {
-      if (milestone.isOccurring(previousRouteProgress, routeProgress)) {
+    for (Milestone milestone : navigationMilestones) {
+      if (milestone.isOccurring(previousRouteProgress, routeProgress, snapshot)) {
         milestones.add(milestone);
       }
     }
@@ -468,13 +678,17 @@ public class NavigationHelper {
    */
   static boolean isUserOffRoute(NavigationLocationUpdate navigationLocationUpdate, RouteProgress routeProgress,
                                 OffRouteCallback callback) {
-    MapboxNavigationOptions options = navigationLocationUpdate.mapboxNavigation().options();
+    MapboxNavigation mapboxNavigation = navigationLocationUpdate.mapboxNavigation();
+    return isUserOffRoute(navigationLocationUpdate.location(), routeProgress, mapboxNavigation.options(),
+      mapboxNavigation.getOffRouteEngine(), callback);
+  }
+
+  static boolean isUserOffRoute(Location location, RouteProgress routeProgress, MapboxNavigationOptions options,
+                                OffRoute offRoute, OffRouteCallback callback) {
     if (!options.enableOffRouteDetection()) {
       return false;
     }
-    OffRoute offRoute = navigationLocationUpdate.mapboxNavigation().getOffRouteEngine();
     setOffRouteDetectorCallback(offRoute, callback);
-    Location location = navigationLocationUpdate.location();
     return offRoute.isUserOffRoute(location, routeProgress, options);
   }
 
@@ -498,8 +712,7 @@ public class NavigationHelper {
 
   private static int findAnnotationIndex(CurrentLegAnnotation currentLegAnnotation,
                                          CurrentLegAnnotation.Builder annotationBuilder, RouteLeg leg,
-                                         double legDistanceRemaining, List<Double> distanceAnnotationList) {
-    List<Double> legDistances = new ArrayList<>(distanceAnnotationList);
+                                         double legDistanceRemaining, List<Double> legDistances) {
     Double totalLegDistance = leg.distance();
     double distanceTraveled = totalLegDistance - legDistanceRemaining;
 
@@ -521,10 +734,26 @@ public class NavigationHelper {
     return INDEX_ZERO;
   }
 
-  private static Location getSnappedLocation(MapboxNavigation mapboxNavigation, Location location,
-                                             RouteProgress routeProgress) {
-    Snap snap = mapboxNavigation.getSnapEngine();
-    return snap.getSnappedLocation(location, routeProgress);
+  private static int findStepPointIndex(List<Point> stepPoints, Point point, int startIndex) {
+    for (int i = startIndex; i < stepPoints.size(); i++) {
+      if (stepPoints.get(i).equals(point)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static double measureSnappedDistance(List<Point> stepPoints, double[] stepPointDistances, Point point) {
+    Feature feature = TurfMisc.nearestPointOnLine(point, stepPoints);
+    Point snappedPoint = (Point) feature.geometry();
+    Number segmentIndex = feature.getNumberProperty(INDEX_PROPERTY);
+    if (snappedPoint == null || segmentIndex == null) {
+      return ZERO_METERS;
+    }
+    int index = Math.min(segmentIndex.intValue(), stepPoints.size() - 1);
+    double distanceIntoSegment = TurfMeasurement.distance(stepPoints.get(index), snappedPoint,
+      TurfConstants.UNIT_METERS);
+    return stepPointDistances[index] + distanceIntoSegment;
   }
 
   private static void setOffRouteDetectorCallback(OffRoute offRoute, OffRouteCallback callback) {
@@ -532,12 +761,4 @@ public class NavigationHelper {
       ((OffRouteDetector) offRoute).setOffRouteCallback(callback);
     }
   }
-
-  private static boolean hasInvalidLegs(List<RouteLeg> legs) {
-    return legs == null || legs.isEmpty();
-  }
-
-  private static boolean hasInvalidSteps(List<LegStep> steps) {
-    return steps == null || steps.isEmpty();
-  }
 }
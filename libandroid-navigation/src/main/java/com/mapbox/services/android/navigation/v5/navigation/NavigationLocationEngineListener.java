@@ -8,12 +8,12 @@ import com.mapbox.services.android.navigation.v5.location.LocationValidator;
 
 class NavigationLocationEngineListener implements LocationEngineListener {
 
-  private final RouteProcessorBackgroundThread thread;
+  private final RouteProcessorExecutor thread;
   private final LocationValidator validator;
   private final LocationEngine locationEngine;
   private MapboxNavigation mapboxNavigation;
 
-  NavigationLocationEngineListener(RouteProcessorBackgroundThread thread, MapboxNavigation mapboxNavigation,
+  NavigationLocationEngineListener(RouteProcessorExecutor thread, MapboxNavigation mapboxNavigation,
                                    LocationEngine locationEngine, LocationValidator validator) {
     this.thread = thread;
     this.mapboxNavigation = mapboxNavigation;
@@ -0,0 +1,75 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A snapshot of the latencies recorded for each {@link PipelineStage} of the navigation pipeline,
+ * taken with {@link MapboxNavigation#getNavigationMetrics()}.
+ * <p>
+ * Latencies are in nanoseconds and are recorded into histograms with a relative precision of about 3%,
+ * so percentiles are accurate to within that margin.  Nothing is recorded unless
+ * {@link MapboxNavigationOptions#enablePipelineMetrics()} is enabled.
+ *
+ * @since 0.20.0
+ */
+public final class NavigationMetrics {
+
+  private final Map<PipelineStage, LatencyHistogram> stageHistograms;
+
+  NavigationMetrics(Map<PipelineStage, LatencyHistogram> stageHistograms) {
+    this.stageHistograms = new EnumMap<>(stageHistograms);
+  }
+
+  /**
+   * Number of latencies recorded for the stage.
+   *
+   * @param stage of the navigation pipeline
+   * @return recorded latencies
+   * @since 0.20.0
+   */
+  public long count(@NonNull PipelineStage stage) {
+    LatencyHistogram histogram = stageHistograms.get(stage);
+    return histogram == null ? 0 : histogram.count();
+  }
+
+  /**
+   * Latency, in nanoseconds, at or below which the given percentage of the stage's latencies fall;
+   * for example, 99 for the 99th percentile.
+   *
+   * @param stage      of the navigation pipeline
+   * @param percentile between 0 and 100
+   * @return latency at the percentile, or 0 if nothing has been recorded
+   * @since 0.20.0
+   */
+  public long percentileNanos(@NonNull PipelineStage stage, double percentile) {
+    LatencyHistogram histogram = stageHistograms.get(stage);
+    return histogram == null ? 0 : histogram.percentileNanos(percentile);
+  }
+
+  /**
+   * Highest latency, in nanoseconds, recorded for the stage.
+   *
+   * @param stage of the navigation pipeline
+   * @return maximum latency, or 0 if nothing has been recorded
+   * @since 0.20.0
+   */
+  public long maximumNanos(@NonNull PipelineStage stage) {
+    LatencyHistogram histogram = stageHistograms.get(stage);
+    return histogram == null ? 0 : histogram.maximumNanos();
+  }
+
+  /**
+   * Average latency, in nanoseconds, recorded for the stage.
+   *
+   * @param stage of the navigation pipeline
+   * @return average latency, or 0 if nothing has been recorded
+   * @since 0.20.0
+   */
+  public double averageNanos(@NonNull PipelineStage stage) {
+    LatencyHistogram histogram = stageHistograms.get(stage);
+    return histogram == null ? 0d : histogram.averageNanos();
+  }
+}
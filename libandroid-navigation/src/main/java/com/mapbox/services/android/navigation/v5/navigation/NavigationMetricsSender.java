@@ -0,0 +1,59 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.content.Context;
+import android.location.Location;
+
+import com.mapbox.android.telemetry.Event;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.navigation.metrics.RerouteEvent;
+import com.mapbox.services.android.navigation.v5.navigation.metrics.SessionState;
+import com.mapbox.services.android.navigation.v5.routeprogress.MetricsRouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+/**
+ * Sends the events of {@link NavigationTelemetry} through {@link NavigationMetricsWrapper}.
+ * <p>
+ * Only called on the telemetry thread.
+ */
+class NavigationMetricsSender {
+
+  void init(Context context, String accessToken, String sdkIdentifier, boolean isDebugLoggingEnabled) {
+    NavigationMetricsWrapper.init(context, accessToken, BuildConfig.MAPBOX_NAVIGATION_EVENTS_USER_AGENT);
+    NavigationMetricsWrapper.sdkIdentifier = sdkIdentifier;
+    NavigationMetricsWrapper.toggleLogging(isDebugLoggingEnabled);
+    Event navTurnstileEvent = NavigationMetricsWrapper.turnstileEvent();
+    // TODO Check if we are sending two turnstile events (Maps and Nav) and if so, do we want to track them
+    // separately?
+    NavigationMetricsWrapper.push(navTurnstileEvent);
+  }
+
+  void departEvent(SessionState sessionState, MetricsRouteProgress metricProgress, Location location) {
+    NavigationMetricsWrapper.departEvent(sessionState, metricProgress, location);
+  }
+
+  void arriveEvent(SessionState sessionState, RouteProgress routeProgress, Location location) {
+    NavigationMetricsWrapper.arriveEvent(sessionState, routeProgress, location);
+  }
+
+  void rerouteEvent(RerouteEvent rerouteEvent, MetricsRouteProgress metricProgress, Location location) {
+    NavigationMetricsWrapper.rerouteEvent(rerouteEvent, metricProgress, location);
+  }
+
+  void feedbackEvent(SessionState sessionState, MetricsRouteProgress metricProgress, Location location,
+                     String description, String feedbackType, String screenshot, String feedbackSource) {
+    NavigationMetricsWrapper.feedbackEvent(sessionState, metricProgress, location, description, feedbackType,
+      screenshot, feedbackSource);
+  }
+
+  void cancelEvent(SessionState sessionState, MetricsRouteProgress metricProgress, Location location) {
+    NavigationMetricsWrapper.cancelEvent(sessionState, metricProgress, location);
+  }
+
+  void commitJournal() {
+    NavigationMetricsWrapper.commitJournal();
+  }
+
+  void disable() {
+    NavigationMetricsWrapper.disable();
+  }
+}
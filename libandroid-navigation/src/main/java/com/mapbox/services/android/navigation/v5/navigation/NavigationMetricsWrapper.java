@@ -9,7 +9,6 @@ import com.mapbox.android.telemetry.FeedbackData;
 import com.mapbox.android.telemetry.FeedbackEventData;
 import com.mapbox.android.telemetry.MapboxTelemetry;
 import com.mapbox.android.telemetry.NavigationCancelData;
-import com.mapbox.android.telemetry.NavigationEventFactory;
 import com.mapbox.android.telemetry.NavigationLocationData;
 import com.mapbox.android.telemetry.NavigationMetadata;
 import com.mapbox.android.telemetry.NavigationNewData;
@@ -23,9 +22,13 @@ import com.mapbox.services.android.navigation.v5.routeprogress.MetricsRouteProgr
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.utils.DistanceFormatter;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Date;
 import java.util.List;
 
+import timber.log.Timber;
+
 final class NavigationMetricsWrapper {
 
   static String sdkIdentifier;
@@ -39,14 +42,24 @@ final class NavigationMetricsWrapper {
   private static String previousName;
   // TODO Where are we going to create MapboxTelemetry instance? Which class is going to hold it?
   private static MapboxTelemetry mapboxTelemetry;
+  private static final String JOURNAL_FILE_NAME = "mapbox-navigation-telemetry.journal";
+  private static final int JOURNAL_BATCH_SIZE = 16;
+  private static final long JOURNAL_MAX_SIZE = 4 << 20;
+  private static final int JOURNAL_MAX_REPLAYS = 3;
+  private static final TelemetryJournalDelivery JOURNAL = new TelemetryJournalDelivery();
 
   private NavigationMetricsWrapper() {
     // Empty private constructor for preventing initialization of this class.
   }
 
   static void init(Context context, String accessToken, String userAgent) {
+    if (mapboxTelemetry != null) {
+      mapboxTelemetry.removeTelemetryListener(JOURNAL);
+    }
     mapboxTelemetry = new MapboxTelemetry(context, accessToken, userAgent);
+    mapboxTelemetry.addTelemetryListener(JOURNAL);
     mapboxTelemetry.enable();
+    openJournal(new File(context.getFilesDir(), JOURNAL_FILE_NAME));
   }
 
   static void toggleLogging(boolean isDebugLoggingEnabled) {
@@ -55,6 +68,12 @@ final class NavigationMetricsWrapper {
 
   static void disable() {
     if (mapboxTelemetry != null) {
+      // Disabling sends the events queued by the telemetry, the journal is compacted once they are delivered
+      try {
+        JOURNAL.awaitDelivery();
+      } catch (IOException exception) {
+        Timber.e(exception, "Unable to write the navigation telemetry journal");
+      }
       mapboxTelemetry.disable();
     }
   }
@@ -63,6 +82,17 @@ final class NavigationMetricsWrapper {
     mapboxTelemetry.push(event);
   }
 
+  /**
+   * Writes the events appended to the journal since the last commit.
+   */
+  static void commitJournal() {
+    try {
+      JOURNAL.commit();
+    } catch (IOException exception) {
+      Timber.e(exception, "Unable to write the navigation telemetry journal");
+    }
+  }
+
   static void arriveEvent(SessionState sessionState, RouteProgress routeProgress, Location location) {
     Date startTimestamp = obtainStartTimestamp(sessionState);
     // TODO We should generate the Nav event spec version somehow. Should be managed and generated by the Events
@@ -100,9 +130,7 @@ final class NavigationMetricsWrapper {
     metadata.setPercentTimeInForeground(sessionState.percentInForeground());
     metadata.setPercentTimeInPortrait(sessionState.percentInPortrait());
     NavigationState state = new NavigationState(metadata);
-    NavigationEventFactory factory = new NavigationEventFactory();
-    Event arriveEvent = factory.createNavigationEvent(Event.Type.NAV_ARRIVE, state);
-    mapboxTelemetry.push(arriveEvent);
+    pushJournaled(Event.Type.NAV_ARRIVE, state);
   }
 
   static void cancelEvent(SessionState sessionState, MetricsRouteProgress metricProgress, Location location) {
@@ -147,9 +175,7 @@ final class NavigationMetricsWrapper {
       data.setArrivalTimestamp(arrivalDate);
     }
     state.setNavigationCancelData(data);
-    NavigationEventFactory factory = new NavigationEventFactory();
-    Event cancelEvent = factory.createNavigationEvent(Event.Type.NAV_CANCEL, state);
-    mapboxTelemetry.push(cancelEvent);
+    pushJournaled(Event.Type.NAV_CANCEL, state);
   }
 
   static void departEvent(SessionState sessionState, MetricsRouteProgress metricProgress, Location location) {
@@ -188,9 +214,7 @@ final class NavigationMetricsWrapper {
     metadata.setPercentTimeInForeground(sessionState.percentInForeground());
     metadata.setPercentTimeInPortrait(sessionState.percentInPortrait());
     NavigationState state = new NavigationState(metadata);
-    NavigationEventFactory factory = new NavigationEventFactory();
-    Event departEvent = factory.createNavigationEvent(Event.Type.NAV_DEPART, state);
-    mapboxTelemetry.push(departEvent);
+    pushJournaled(Event.Type.NAV_DEPART, state);
   }
 
   static void rerouteEvent(RerouteEvent rerouteEvent, MetricsRouteProgress metricProgress,
@@ -266,9 +290,7 @@ final class NavigationMetricsWrapper {
     int stepDurationRemaining = metricProgress.getCurrentStepDurationRemaining();
     navigationStepMetadata.setDurationRemaining(stepDurationRemaining);
     state.setNavigationStepMetadata(navigationStepMetadata);
-    NavigationEventFactory factory = new NavigationEventFactory();
-    Event navRerouteEvent = factory.createNavigationEvent(Event.Type.NAV_REROUTE, state);
-    mapboxTelemetry.push(navRerouteEvent);
+    pushJournaled(Event.Type.NAV_REROUTE, state);
   }
 
   static void feedbackEvent(SessionState sessionState, MetricsRouteProgress metricProgress, Location location,
@@ -338,9 +360,7 @@ final class NavigationMetricsWrapper {
     FeedbackEventData feedbackEventData = new FeedbackEventData(feedbackType, feedbackSource);
     feedbackEventData.setDescription(description);
     state.setFeedbackEventData(feedbackEventData);
-    NavigationEventFactory factory = new NavigationEventFactory();
-    Event feedbackEvent = factory.createNavigationEvent(Event.Type.NAV_FEEDBACK, state);
-    mapboxTelemetry.push(feedbackEvent);
+    pushJournaled(Event.Type.NAV_FEEDBACK, state);
   }
 
   static Event turnstileEvent() {
@@ -349,6 +369,44 @@ final class NavigationMetricsWrapper {
     return navTurnstileEvent;
   }
 
+  /**
+   * Opens the journal, and pushes the events left in it by a session which did not end, for instance
+   * because the process was killed, or whose events were not delivered.  These events are kept in the
+   * journal until the events of this session are delivered, or until they have been pushed
+   * {@link #JOURNAL_MAX_REPLAYS} times.
+   */
+  private static void openJournal(File journalFile) {
+    List<byte[]> recoveredRecords;
+    try {
+      recoveredRecords = JOURNAL.open(journalFile, JOURNAL_BATCH_SIZE, JOURNAL_MAX_SIZE, JOURNAL_MAX_REPLAYS);
+    } catch (IOException exception) {
+      Timber.e(exception, "Unable to open the navigation telemetry journal");
+      return;
+    }
+    for (byte[] record : recoveredRecords) {
+      TelemetryEventRecord eventRecord = TelemetryEventRecord.read(record);
+      if (eventRecord != null) {
+        mapboxTelemetry.push(eventRecord.toEvent());
+      } else {
+        Timber.w("Unable to read an event from the navigation telemetry journal");
+      }
+    }
+  }
+
+  private static void pushJournaled(Event.Type type, NavigationState state) {
+    byte[] record = TelemetryEventRecord.write(type, state);
+    if (record.length > TelemetryEventJournal.MAX_RECORD_SIZE) {
+      Timber.w("The navigation telemetry event is too large for the journal");
+    } else {
+      try {
+        JOURNAL.append(record);
+      } catch (IOException exception) {
+        Timber.e(exception, "Unable to write the navigation telemetry journal");
+      }
+    }
+    mapboxTelemetry.push(TelemetryEventRecord.toEvent(type, state));
+  }
+
   private static Date obtainStartTimestamp(SessionState sessionState) {
     if (sessionState.startTimestamp() == null) {
       return new Date();
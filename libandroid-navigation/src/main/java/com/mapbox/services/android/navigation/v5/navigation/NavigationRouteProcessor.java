@@ -12,7 +12,12 @@ import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteCallback;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
 import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotation;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometryIndex;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteSpatialIndex;
+import com.mapbox.services.android.navigation.v5.snap.Snap;
+import com.mapbox.services.android.navigation.v5.snap.SnapCursor;
+import com.mapbox.services.android.navigation.v5.snap.SnapToRoute;
 import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
 
 import java.util.List;
@@ -21,11 +26,12 @@ import static com.mapbox.services.android.navigation.v5.navigation.NavigationHel
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.createCurrentAnnotation;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.createDistancesToIntersections;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.createIntersectionsList;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.decodeStepPoints;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.findCurrentIntersection;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.findCurrentIntersectionIndex;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.findStepPoints;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.findUpcomingIntersection;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.increaseIndex;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.legDistanceRemaining;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.measureDistancesToIntersections;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.routeDistanceRemaining;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.stepDistanceRemaining;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.userSnappedToRoutePosition;
@@ -41,10 +47,16 @@ class NavigationRouteProcessor implements OffRouteCallback {
   private List<Point> upcomingStepPoints;
   private List<StepIntersection> currentIntersections;
   private List<Pair<StepIntersection, Double>> currentIntersectionDistances;
+  private double[] currentIntersectionOffsets;
   private RouteLeg currentLeg;
   private LegStep currentStep;
   private LegStep upcomingStep;
   private CurrentLegAnnotation currentLegAnnotation;
+  private RouteGeometryIndex geometryIndex;
+  private RouteSpatialIndex spatialIndex;
+  private LegAnnotationIndex annotationIndex;
+  private SnapCursor snapCursor;
+  private RouteProgress.Builder progressBuilder;
   private NavigationIndices indices;
   private double stepDistanceRemaining;
   private boolean shouldIncreaseIndex;
@@ -53,6 +65,8 @@ class NavigationRouteProcessor implements OffRouteCallback {
   NavigationRouteProcessor() {
     indices = NavigationIndices.create(FIRST_LEG_INDEX, FIRST_STEP_INDEX);
     routeUtils = new RouteUtils();
+    snapCursor = new SnapCursor();
+    progressBuilder = RouteProgress.builder();
   }
 
   @Override
@@ -65,7 +79,7 @@ class NavigationRouteProcessor implements OffRouteCallback {
    * based on our calculations of the distances remaining.
    * <p>
    * Also in charge of detecting if a step / leg has finished and incrementing the
-   * indices if needed ({@link NavigationRouteProcessor#advanceIndices(MapboxNavigation)} handles
+   * indices if needed ({@link NavigationRouteProcessor#advanceIndices(DirectionsRoute, OffRoute)} handles
    * the decoding of the next step point list).
    *
    * @param navigation for the current route / options
@@ -73,13 +87,28 @@ class NavigationRouteProcessor implements OffRouteCallback {
    * @return new route progress along the route
    */
   RouteProgress buildNewRouteProgress(MapboxNavigation navigation, Location location) {
-    DirectionsRoute directionsRoute = navigation.getRoute();
-    MapboxNavigationOptions options = navigation.options();
+    return buildNewRouteProgress(
+      navigation.getRoute(), navigation.options(), navigation.getOffRouteEngine(), location
+    );
+  }
+
+  /**
+   * Same as {@link NavigationRouteProcessor#buildNewRouteProgress(MapboxNavigation, Location)}, without
+   * needing a {@link MapboxNavigation} instance.
+   *
+   * @param directionsRoute the route being navigated
+   * @param options         for the maneuver completion thresholds
+   * @param offRouteEngine  to clear the distances from maneuver once the step changes
+   * @param location        for step / leg / route distance remaining
+   * @return new route progress along the route
+   */
+  RouteProgress buildNewRouteProgress(DirectionsRoute directionsRoute, MapboxNavigationOptions options,
+                                      OffRoute offRouteEngine, Location location) {
     double completionOffset = options.maxTurnCompletionOffset();
     double maneuverZoneRadius = options.maneuverZoneRadius();
-    checkNewRoute(navigation);
+    checkNewRoute(directionsRoute, offRouteEngine);
     stepDistanceRemaining = calculateStepDistanceRemaining(location, directionsRoute);
-    checkManeuverCompletion(navigation, location, directionsRoute, completionOffset, maneuverZoneRadius);
+    checkManeuverCompletion(directionsRoute, offRouteEngine, location, completionOffset, maneuverZoneRadius);
     return assembleRouteProgress(directionsRoute);
   }
 
@@ -99,22 +128,51 @@ class NavigationRouteProcessor implements OffRouteCallback {
    * @param navigation to get the next {@link LegStep#geometry()} and off-route engine
    */
   void checkIncreaseIndex(MapboxNavigation navigation) {
+    checkIncreaseIndex(navigation.getRoute(), navigation.getOffRouteEngine());
+  }
+
+  void checkIncreaseIndex(DirectionsRoute directionsRoute, OffRoute offRouteEngine) {
     if (shouldIncreaseIndex) {
-      advanceIndices(navigation);
+      advanceIndices(directionsRoute, offRouteEngine);
       shouldIncreaseIndex = false;
     }
   }
 
+  /**
+   * Hands the {@link RouteGeometryIndex} and {@link RouteSpatialIndex} of the current route to the default
+   * {@link OffRouteDetector} and {@link SnapToRoute} engines, so they don't decode the step geometries again.
+   * <p>
+   * Called after each new route progress is built, as the engines can be replaced at any time.
+   *
+   * @param offRouteEngine to check the new route progress
+   * @param snapEngine     to snap the location to the new route progress
+   */
+  void updateEngineIndices(OffRoute offRouteEngine, Snap snapEngine) {
+    if (offRouteEngine instanceof OffRouteDetector) {
+      ((OffRouteDetector) offRouteEngine).setRouteGeometryIndex(geometryIndex);
+      ((OffRouteDetector) offRouteEngine).setRouteSpatialIndex(spatialIndex);
+    }
+    if (snapEngine instanceof SnapToRoute) {
+      ((SnapToRoute) snapEngine).setRouteGeometryIndex(geometryIndex);
+    }
+  }
+
   /**
    * Checks if the route provided is a new route.  If it is, all {@link RouteProgress}
    * data and {@link NavigationIndices} needs to be reset.
+   * <p>
+   * A new {@link RouteGeometryIndex}, {@link RouteSpatialIndex} and {@link LegAnnotationIndex} are also
+   * built here, so the step geometries and annotation distances are only processed once per route.
    *
-   * @param mapboxNavigation to get the current route and off-route engine
+   * @param directionsRoute the current route
+   * @param offRouteEngine  to clear the distances from maneuver
    */
-  private void checkNewRoute(MapboxNavigation mapboxNavigation) {
-    DirectionsRoute directionsRoute = mapboxNavigation.getRoute();
+  private void checkNewRoute(DirectionsRoute directionsRoute, OffRoute offRouteEngine) {
     if (routeUtils.isNewRoute(routeProgress, directionsRoute)) {
-      createFirstIndices(mapboxNavigation);
+      geometryIndex = RouteGeometryIndex.create(directionsRoute);
+      spatialIndex = RouteSpatialIndex.create(directionsRoute, geometryIndex);
+      annotationIndex = LegAnnotationIndex.create(directionsRoute);
+      createFirstIndices(directionsRoute, offRouteEngine);
       routeProgress = assembleRouteProgress(directionsRoute);
     }
   }
@@ -127,13 +185,14 @@ class NavigationRouteProcessor implements OffRouteCallback {
    * @return distance remaining in meters
    */
   private double calculateStepDistanceRemaining(Location location, DirectionsRoute directionsRoute) {
-    Point snappedPosition = userSnappedToRoutePosition(location, currentStepPoints);
+    Point snappedPosition = userSnappedToRoutePosition(location, currentStepPoints, snapCursor);
     return stepDistanceRemaining(
-      snappedPosition, indices.legIndex(), indices.stepIndex(), directionsRoute, currentStepPoints
+      snappedPosition, snapCursor, geometryIndex, indices.legIndex(), indices.stepIndex(), directionsRoute,
+      currentStepPoints
     );
   }
 
-  private void checkManeuverCompletion(MapboxNavigation navigation, Location location, DirectionsRoute directionsRoute,
+  private void checkManeuverCompletion(DirectionsRoute directionsRoute, OffRoute offRouteEngine, Location location,
                                        double completionOffset, double maneuverZoneRadius) {
     boolean withinManeuverRadius = stepDistanceRemaining < maneuverZoneRadius;
     boolean bearingMatchesManeuver = checkBearingForStepCompletion(
@@ -142,7 +201,7 @@ class NavigationRouteProcessor implements OffRouteCallback {
     boolean forceIncreaseIndices = stepDistanceRemaining == 0 && !bearingMatchesManeuver;
 
     if ((bearingMatchesManeuver && withinManeuverRadius) || forceIncreaseIndices) {
-      advanceIndices(navigation);
+      advanceIndices(directionsRoute, offRouteEngine);
       stepDistanceRemaining = calculateStepDistanceRemaining(location, directionsRoute);
     }
   }
@@ -150,24 +209,26 @@ class NavigationRouteProcessor implements OffRouteCallback {
   /**
    * Increases the step index in {@link NavigationIndices} by 1.
    * <p>
-   * Decodes the step points for the new step and clears the distances from
+   * Retrieves the step points for the new step and clears the distances from
    * maneuver stack, as the maneuver has now changed.
    *
-   * @param mapboxNavigation to get the next {@link LegStep#geometry()} and {@link OffRoute}
+   * @param directionsRoute to get the next {@link LegStep#geometry()}
+   * @param offRouteEngine  to clear the distances from maneuver
    */
-  private void advanceIndices(MapboxNavigation mapboxNavigation) {
+  private void advanceIndices(DirectionsRoute directionsRoute, OffRoute offRouteEngine) {
     indices = increaseIndex(routeProgress, indices);
-    processNewIndex(mapboxNavigation);
+    processNewIndex(directionsRoute, offRouteEngine);
   }
 
   /**
    * Initializes or resets the {@link NavigationIndices} for a new route received.
    *
-   * @param mapboxNavigation to get the next {@link LegStep#geometry()} and {@link OffRoute}
+   * @param directionsRoute to get the next {@link LegStep#geometry()}
+   * @param offRouteEngine  to clear the distances from maneuver
    */
-  private void createFirstIndices(MapboxNavigation mapboxNavigation) {
+  private void createFirstIndices(DirectionsRoute directionsRoute, OffRoute offRouteEngine) {
     indices = NavigationIndices.create(FIRST_LEG_INDEX, FIRST_STEP_INDEX);
-    processNewIndex(mapboxNavigation);
+    processNewIndex(directionsRoute, offRouteEngine);
   }
 
   /**
@@ -176,36 +237,38 @@ class NavigationRouteProcessor implements OffRouteCallback {
    * Processes all new index-based data that is
    * needed for {@link NavigationRouteProcessor#assembleRouteProgress(DirectionsRoute)}.
    *
-   * @param mapboxNavigation for the current route
+   * @param route          the current route
+   * @param offRouteEngine to clear the distances from maneuver
    */
-  private void processNewIndex(MapboxNavigation mapboxNavigation) {
-    DirectionsRoute route = mapboxNavigation.getRoute();
+  private void processNewIndex(DirectionsRoute route, OffRoute offRouteEngine) {
     int legIndex = indices.legIndex();
     int stepIndex = indices.stepIndex();
     int upcomingStepIndex = stepIndex + ONE_INDEX;
     updateSteps(route, legIndex, stepIndex, upcomingStepIndex);
-    updateStepPoints(route, legIndex, stepIndex, upcomingStepIndex);
-    updateIntersections();
-    clearManeuverDistances(mapboxNavigation.getOffRouteEngine());
+    updateStepPoints(legIndex, stepIndex, upcomingStepIndex);
+    updateIntersections(legIndex, stepIndex);
+    clearManeuverDistances(offRouteEngine);
   }
 
   private RouteProgress assembleRouteProgress(DirectionsRoute route) {
     int legIndex = indices.legIndex();
     int stepIndex = indices.stepIndex();
 
-    double legDistanceRemaining = legDistanceRemaining(stepDistanceRemaining, legIndex, stepIndex, route);
-    double routeDistanceRemaining = routeDistanceRemaining(legDistanceRemaining, legIndex, route);
-    currentLegAnnotation = createCurrentAnnotation(currentLegAnnotation, currentLeg, legDistanceRemaining);
+    double legDistanceRemaining = legDistanceRemaining(stepDistanceRemaining, legIndex, stepIndex, geometryIndex);
+    double routeDistanceRemaining = routeDistanceRemaining(legDistanceRemaining, legIndex, geometryIndex);
+    currentLegAnnotation = createCurrentAnnotation(
+      currentLegAnnotation, currentLeg, legIndex, legDistanceRemaining, annotationIndex
+    );
     double stepDistanceTraveled = currentStep.distance() - stepDistanceRemaining;
 
-    StepIntersection currentIntersection = findCurrentIntersection(
-      currentIntersections, currentIntersectionDistances, stepDistanceTraveled
-    );
+    int currentIntersectionIndex = findCurrentIntersectionIndex(currentIntersectionOffsets, stepDistanceTraveled);
+    StepIntersection currentIntersection = currentIntersections.get(currentIntersectionIndex);
     StepIntersection upcomingIntersection = findUpcomingIntersection(
-      currentIntersections, upcomingStep, currentIntersection
+      currentIntersections, upcomingStep, currentIntersectionIndex
     );
 
-    RouteProgress.Builder progressBuilder = RouteProgress.builder()
+    // The builder is reused for every location update, so every property must be set here
+    progressBuilder
       .stepDistanceRemaining(stepDistanceRemaining)
       .legDistanceRemaining(legDistanceRemaining)
       .distanceRemaining(routeDistanceRemaining)
@@ -231,20 +294,27 @@ class NavigationRouteProcessor implements OffRouteCallback {
   }
 
   private void updateSteps(DirectionsRoute route, int legIndex, int stepIndex, int upcomingStepIndex) {
-    currentLeg = route.legs().get(legIndex);
+    RouteLeg newLeg = route.legs().get(legIndex);
+    if (newLeg != currentLeg) {
+      // Annotation indices are only valid within a leg
+      currentLegAnnotation = null;
+    }
+    currentLeg = newLeg;
     List<LegStep> steps = currentLeg.steps();
     currentStep = steps.get(stepIndex);
     upcomingStep = upcomingStepIndex < steps.size() - ONE_INDEX ? steps.get(upcomingStepIndex) : null;
   }
 
-  private void updateStepPoints(DirectionsRoute route, int legIndex, int stepIndex, int upcomingStepIndex) {
-    currentStepPoints = decodeStepPoints(route, currentStepPoints, legIndex, stepIndex);
-    upcomingStepPoints = decodeStepPoints(route, null, legIndex, upcomingStepIndex);
+  private void updateStepPoints(int legIndex, int stepIndex, int upcomingStepIndex) {
+    currentStepPoints = findStepPoints(geometryIndex, currentStepPoints, legIndex, stepIndex);
+    upcomingStepPoints = findStepPoints(geometryIndex, null, legIndex, upcomingStepIndex);
   }
 
-  private void updateIntersections() {
+  private void updateIntersections(int legIndex, int stepIndex) {
     currentIntersections = createIntersectionsList(currentStep, upcomingStep);
-    currentIntersectionDistances = createDistancesToIntersections(currentStepPoints, currentIntersections);
+    currentIntersectionOffsets = measureDistancesToIntersections(geometryIndex, legIndex, stepIndex,
+      currentIntersections);
+    currentIntersectionDistances = createDistancesToIntersections(currentIntersections, currentIntersectionOffsets);
   }
 
   private void clearManeuverDistances(OffRoute offRoute) {
@@ -15,6 +15,8 @@ import com.mapbox.services.android.navigation.v5.navigation.notification.Navigat
 import com.mapbox.services.android.navigation.v5.route.FasterRoute;
 import com.mapbox.services.android.navigation.v5.route.RouteFetcher;
 
+import java.util.concurrent.Executor;
+
 import timber.log.Timber;
 
 /**
@@ -31,7 +33,7 @@ import timber.log.Timber;
 public class NavigationService extends Service {
 
   private final IBinder localBinder = new LocalBinder();
-  private RouteProcessorBackgroundThread thread;
+  private RouteProcessorExecutor thread;
   private NavigationLocationEngineUpdater locationEngineUpdater;
   private RouteFetcher routeFetcher;
   private NavigationNotificationProvider notificationProvider;
@@ -93,7 +95,7 @@ public class NavigationService extends Service {
     String accessToken = mapboxNavigation.obtainAccessToken();
     initializeRouteFetcher(dispatcher, accessToken, mapboxNavigation.retrieveEngineProvider());
     initializeNotificationProvider(mapboxNavigation);
-    initializeRouteProcessorThread(dispatcher, routeFetcher, notificationProvider);
+    initializeRouteProcessorThread(mapboxNavigation, dispatcher, routeFetcher, notificationProvider);
     initializeLocationProvider(mapboxNavigation);
   }
 
@@ -109,12 +111,39 @@ public class NavigationService extends Service {
     notificationProvider = new NavigationNotificationProvider(getApplication(), mapboxNavigation);
   }
 
-  private void initializeRouteProcessorThread(NavigationEventDispatcher dispatcher, RouteFetcher routeFetcher,
+  private void initializeRouteProcessorThread(MapboxNavigation mapboxNavigation, NavigationEventDispatcher dispatcher,
+                                              RouteFetcher routeFetcher,
                                               NavigationNotificationProvider notificationProvider) {
     RouteProcessorThreadListener listener = new RouteProcessorThreadListener(
       dispatcher, routeFetcher, notificationProvider
     );
-    thread = new RouteProcessorBackgroundThread(new Handler(), listener);
+    thread = buildRouteProcessorExecutor(
+      mapboxNavigation.options(), mapboxNavigation.getRouteProcessorStats(),
+      mapboxNavigation.getPipelineMetricsRecorder(), new Handler(), listener
+    );
+  }
+
+  /**
+   * Processes on the {@link MapboxNavigationOptions#routeProcessorExecutor()} if one is set,
+   * otherwise on a dedicated {@link RouteProcessorBackgroundThread}.
+   */
+  // Package private (no modifier) for testing purposes
+  static RouteProcessorExecutor buildRouteProcessorExecutor(MapboxNavigationOptions options, RouteProcessorStats stats,
+                                                            PipelineMetricsRecorder metrics,
+                                                            final Handler responseHandler,
+                                                            RouteProcessorBackgroundThread.Listener listener) {
+    Executor routeProcessorExecutor = options.routeProcessorExecutor();
+    if (routeProcessorExecutor == null) {
+      return new RouteProcessorBackgroundThread(options, stats, metrics, responseHandler, listener);
+    }
+    Executor responseExecutor = new Executor() {
+      @Override
+      public void execute(Runnable command) {
+        responseHandler.post(command);
+      }
+    };
+    return new PooledRouteProcessorExecutor(routeProcessorExecutor, options, stats, metrics, responseExecutor,
+      listener);
   }
 
   private void initializeLocationProvider(MapboxNavigation mapboxNavigation) {
@@ -7,14 +7,9 @@ import android.support.annotation.NonNull;
 
 import com.mapbox.android.core.location.LocationEngine;
 import com.mapbox.android.core.location.LocationEngineListener;
-import com.mapbox.android.telemetry.Event;
 import com.mapbox.android.telemetry.TelemetryUtils;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
-import com.mapbox.core.constants.Constants;
 import com.mapbox.core.utils.TextUtils;
-import com.mapbox.geojson.Point;
-import com.mapbox.geojson.utils.PolylineUtils;
-import com.mapbox.services.android.navigation.BuildConfig;
 import com.mapbox.services.android.navigation.v5.exception.NavigationException;
 import com.mapbox.services.android.navigation.v5.location.MetricsLocation;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.FeedbackEvent;
@@ -24,16 +19,31 @@ import com.mapbox.services.android.navigation.v5.navigation.metrics.SessionState
 import com.mapbox.services.android.navigation.v5.navigation.metrics.TelemetryEvent;
 import com.mapbox.services.android.navigation.v5.routeprogress.MetricsRouteProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
+import com.mapbox.services.android.navigation.v5.utils.PolylineTranscoder;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.ArrayDeque;
 import java.util.Date;
-import java.util.Iterator;
+import java.util.Deque;
 import java.util.List;
 import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Records the navigation session and sends its telemetry events.
+ * <p>
+ * The navigation callbacks arrive on the main thread, where they only keep the latest
+ * {@link RouteProgress} and {@link Location} and post a task when an event happens.  The session
+ * state, the location history and the queued events are only used by a single telemetry thread,
+ * which creates the {@link MetricsRouteProgress} of an event, and checks every second for queued
+ * events ready to be sent.  The sent events are journaled by {@link NavigationMetricsWrapper}, and
+ * the journal is committed by the same check.
+ */
 class NavigationTelemetry implements LocationEngineListener, NavigationMetricListener {
 
   private static NavigationTelemetry instance;
@@ -44,26 +54,58 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
   private static final String MOCK_PROVIDER = "com.mapbox.services.android.navigation.v5.location.replay"
     + ".ReplayRouteLocationEngine";
   private static final int TWENTY_SECOND_INTERVAL = 20;
+  private static final long QUEUE_CHECK_INTERVAL_MILLIS = 1000;
+  private static final String TELEMETRY_THREAD_NAME = "mapbox-navigation-telemetry";
+
+  private final ScheduledExecutorService telemetryExecutor;
+  private final NavigationMetricsSender metricsSender;
+  private final Queue<Location> pendingLocations = new ConcurrentLinkedQueue<>();
+  private final Runnable checkEventQueues = new Runnable() {
+    @Override
+    public void run() {
+      drainPendingLocations();
+      checkRerouteQueue();
+      checkFeedbackQueue();
+      metricsSender.commitJournal();
+    }
+  };
+  private ScheduledFuture<?> eventQueueCheck;
 
-  private List<RerouteEvent> queuedRerouteEvents = new ArrayList<>();
-  private List<FeedbackEvent> queuedFeedbackEvents = new ArrayList<>();
-
-  private MetricsRouteProgress metricProgress;
-  private MetricsLocation metricLocation;
-
+  // Updated on the main thread and captured by the tasks posted to the telemetry thread
+  private volatile RouteProgress lastRouteProgress;
+  private volatile Location lastLocation;
+  private volatile NavigationLifecycleMonitor lifecycleMonitor;
   private NavigationEventDispatcher eventDispatcher;
-  private NavigationLifecycleMonitor lifecycleMonitor;
   private LocationEngine navigationLocationEngine;
+  private boolean isDepartureQueued;
+  private boolean isConfigurationChange;
+
+  // Only used on the telemetry thread, events are queued in the order they become ready to be sent
+  private final Deque<RerouteEvent> queuedRerouteEvents = new ArrayDeque<>();
+  private final Deque<FeedbackEvent> queuedFeedbackEvents = new ArrayDeque<>();
+  private final TelemetryLocationBuffer locationBuffer;
+  private MetricsRouteProgress metricProgress;
+  private RouteProgress metricProgressSource;
   private SessionState navigationSessionState;
-  private RingBuffer<Location> locationBuffer;
   private Date lastRerouteDate;
-
   private boolean isOffRoute;
-  private boolean isConfigurationChange;
 
   private NavigationTelemetry() {
-    locationBuffer = new RingBuffer<>(40);
-    metricLocation = new MetricsLocation(null);
+    this(Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(@NonNull Runnable runnable) {
+        Thread thread = new Thread(runnable, TELEMETRY_THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+      }
+    }), new NavigationMetricsSender());
+  }
+
+  // Package private (no modifier) for testing purposes
+  NavigationTelemetry(ScheduledExecutorService telemetryExecutor, NavigationMetricsSender metricsSender) {
+    this.telemetryExecutor = telemetryExecutor;
+    this.metricsSender = metricsSender;
+    locationBuffer = new TelemetryLocationBuffer(40);
     metricProgress = new MetricsRouteProgress(null);
     navigationSessionState = SessionState.builder().build();
   }
@@ -88,58 +130,87 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
 
   @Override
   public void onLocationChanged(Location location) {
-    updateCurrentLocation(location);
+    lastLocation = location;
+    if (isInitialized) {
+      pendingLocations.offer(location);
+    }
   }
 
   @Override
   public void onRouteProgressUpdate(RouteProgress routeProgress) {
-    this.metricProgress = new MetricsRouteProgress(routeProgress);
+    lastRouteProgress = routeProgress;
 
-    boolean isValidDeparture = navigationSessionState.startTimestamp() == null
-      && routeProgress.currentLegProgress().distanceTraveled() > 0;
+    boolean isValidDeparture = !isDepartureQueued && routeProgress.currentLegProgress().distanceTraveled() > 0;
     if (isValidDeparture) {
-      navigationSessionState = navigationSessionState.toBuilder()
-        .startTimestamp(new Date())
-        .build();
-      updateLifecyclePercentages();
-      NavigationMetricsWrapper.departEvent(navigationSessionState, metricProgress, metricLocation.getLocation());
+      isDepartureQueued = true;
+      final Date departureDate = new Date();
+      final Location departureLocation = lastLocation;
+      final RouteProgress departureProgress = routeProgress;
+      telemetryExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          navigationSessionState = navigationSessionState.toBuilder()
+            .startTimestamp(departureDate)
+            .build();
+          updateLifecyclePercentages();
+          metricsSender.departEvent(navigationSessionState, obtainMetricProgress(departureProgress),
+            new MetricsLocation(departureLocation).getLocation());
+        }
+      });
     }
   }
 
   @Override
   public void onOffRouteEvent(Location offRouteLocation) {
-    if (!isOffRoute) {
-      updateDistanceCompleted();
-      queueRerouteEvent();
-      isOffRoute = true;
-    }
+    final Date eventDate = new Date();
+    final Location eventLocation = lastLocation;
+    final RouteProgress eventProgress = lastRouteProgress;
+    telemetryExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        if (!isOffRoute) {
+          drainPendingLocations();
+          MetricsRouteProgress eventMetricProgress = obtainMetricProgress(eventProgress);
+          updateDistanceCompleted(eventMetricProgress);
+          queueRerouteEvent(eventDate, eventMetricProgress, new MetricsLocation(eventLocation).getLocation());
+          isOffRoute = true;
+        }
+      }
+    });
   }
 
   @Override
-  public void onArrival(RouteProgress routeProgress) {
-    // Update arrival time stamp
-    navigationSessionState = navigationSessionState.toBuilder().arrivalTimestamp(new Date()).build();
-    updateLifecyclePercentages();
-    // Send arrival event
-    NavigationMetricsWrapper.arriveEvent(navigationSessionState, routeProgress, metricLocation.getLocation());
+  public void onArrival(final RouteProgress routeProgress) {
+    final Date arrivalDate = new Date();
+    final Location arrivalLocation = lastLocation;
+    telemetryExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        // Update arrival time stamp
+        navigationSessionState = navigationSessionState.toBuilder().arrivalTimestamp(arrivalDate).build();
+        updateLifecyclePercentages();
+        // Send arrival event
+        metricsSender.arriveEvent(navigationSessionState, routeProgress,
+          new MetricsLocation(arrivalLocation).getLocation());
+      }
+    });
   }
 
-  void initialize(@NonNull Context context, @NonNull String accessToken,
+  void initialize(@NonNull final Context context, @NonNull final String accessToken,
                   MapboxNavigation navigation, LocationEngine locationEngine) {
     if (!isInitialized) {
       updateLocationEngine(locationEngine);
 
       validateAccessToken(accessToken);
-      NavigationMetricsWrapper.init(context, accessToken, BuildConfig.MAPBOX_NAVIGATION_EVENTS_USER_AGENT);
-
-      MapboxNavigationOptions options = navigation.options();
-      String sdkIdentifier = obtainSdkIdentifier(options);
-      NavigationMetricsWrapper.sdkIdentifier = sdkIdentifier;
-      NavigationMetricsWrapper.toggleLogging(options.isDebugLoggingEnabled());
-      Event navTurnstileEvent = NavigationMetricsWrapper.turnstileEvent();
-      // TODO Check if we are sending two turnstile events (Maps and Nav) and if so, do we want to track them
-      // separately?
-      NavigationMetricsWrapper.push(navTurnstileEvent);
+      final MapboxNavigationOptions options = navigation.options();
+      telemetryExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          metricsSender.init(context, accessToken, obtainSdkIdentifier(options), options.isDebugLoggingEnabled());
+        }
+      });
+      eventQueueCheck = telemetryExecutor.scheduleWithFixedDelay(checkEventQueues,
+        QUEUE_CHECK_INTERVAL_MILLIS, QUEUE_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
 
       isInitialized = true;
     }
@@ -164,18 +235,24 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    *
    * @param directionsRoute first route passed to navigation
    */
-  void startSession(DirectionsRoute directionsRoute) {
+  void startSession(final DirectionsRoute directionsRoute) {
     if (!isConfigurationChange) {
-      navigationSessionState = navigationSessionState.toBuilder()
-        .sessionIdentifier(TelemetryUtils.obtainUniversalUniqueIdentifier())
-        .originalDirectionRoute(directionsRoute)
-        .originalRequestIdentifier(directionsRoute.routeOptions().requestUuid())
-        .requestIdentifier(directionsRoute.routeOptions().requestUuid())
-        .currentDirectionRoute(directionsRoute)
-        .eventRouteDistanceCompleted(0)
-        .mockLocation(metricLocation.getLocation().getProvider().equals(MOCK_PROVIDER))
-        .rerouteCount(0)
-        .build();
+      final Location sessionLocation = lastLocation;
+      telemetryExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          navigationSessionState = navigationSessionState.toBuilder()
+            .sessionIdentifier(TelemetryUtils.obtainUniversalUniqueIdentifier())
+            .originalDirectionRoute(directionsRoute)
+            .originalRequestIdentifier(directionsRoute.routeOptions().requestUuid())
+            .requestIdentifier(directionsRoute.routeOptions().requestUuid())
+            .currentDirectionRoute(directionsRoute)
+            .eventRouteDistanceCompleted(0)
+            .mockLocation(isMockLocation(new MetricsLocation(sessionLocation).getLocation()))
+            .rerouteCount(0)
+            .build();
+        }
+      });
     }
     isConfigurationChange = false;
   }
@@ -187,13 +264,27 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
   void endSession(boolean isConfigurationChange) {
     this.isConfigurationChange = isConfigurationChange;
     if (!isConfigurationChange) {
-      if (navigationSessionState.startTimestamp() != null) {
-        flushEventQueues();
-        updateLifecyclePercentages();
-        NavigationMetricsWrapper.cancelEvent(navigationSessionState, metricProgress, metricLocation.getLocation());
+      if (eventQueueCheck != null) {
+        eventQueueCheck.cancel(false);
+        eventQueueCheck = null;
       }
+      final Location cancelLocation = lastLocation;
+      final RouteProgress cancelProgress = lastRouteProgress;
+      final NavigationLifecycleMonitor sessionLifecycleMonitor = lifecycleMonitor;
       lifecycleMonitor = null;
-      NavigationMetricsWrapper.disable();
+      telemetryExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          if (navigationSessionState.startTimestamp() != null) {
+            drainPendingLocations();
+            flushEventQueues();
+            updateLifecyclePercentages(sessionLifecycleMonitor);
+            metricsSender.cancelEvent(navigationSessionState, obtainMetricProgress(cancelProgress),
+              new MetricsLocation(cancelLocation).getLocation());
+          }
+          metricsSender.disable();
+        }
+      });
       isInitialized = false;
     }
   }
@@ -207,10 +298,19 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    *
    * @param directionsRoute new route passed to {@link MapboxNavigation}
    */
-  void updateSessionRoute(DirectionsRoute directionsRoute) {
+  void updateSessionRoute(final DirectionsRoute directionsRoute) {
+    eventDispatcher.addMetricEventListeners(this);
+    telemetryExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        updateSessionState(directionsRoute);
+      }
+    });
+  }
+
+  private void updateSessionState(DirectionsRoute directionsRoute) {
     SessionState.Builder navigationBuilder = navigationSessionState.toBuilder();
     navigationBuilder.currentDirectionRoute(directionsRoute);
-    eventDispatcher.addMetricEventListeners(this);
 
     if (isOffRoute) {
       // If we are off-route, update the reroute count
@@ -247,8 +347,13 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     if (locationEngine != null) {
       navigationLocationEngine = locationEngine;
       navigationLocationEngine.addLocationEngineListener(this);
-      String locationEngineName = locationEngine.getClass().getName();
-      navigationSessionState.toBuilder().locationEngineName(locationEngineName);
+      final String locationEngineName = locationEngine.getClass().getName();
+      telemetryExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          navigationSessionState = navigationSessionState.toBuilder().locationEngineName(locationEngineName).build();
+        }
+      });
     }
   }
 
@@ -261,10 +366,21 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    * @param feedbackSource from either reroute or UI
    * @return String feedbackId to identify the event created if needed
    */
-  String recordFeedbackEvent(@FeedbackEvent.FeedbackType String feedbackType, String description,
-                             @FeedbackEvent.FeedbackSource String feedbackSource) {
-    FeedbackEvent feedbackEvent = queueFeedbackEvent(feedbackType, description, feedbackSource);
-    return feedbackEvent.getEventId();
+  String recordFeedbackEvent(@FeedbackEvent.FeedbackType final String feedbackType, final String description,
+                             @FeedbackEvent.FeedbackSource final String feedbackSource) {
+    final String eventId = TelemetryUtils.obtainUniversalUniqueIdentifier();
+    final Date eventDate = new Date();
+    final Location eventLocation = lastLocation;
+    final RouteProgress eventProgress = lastRouteProgress;
+    telemetryExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        drainPendingLocations();
+        queueFeedbackEvent(eventId, eventDate, obtainMetricProgress(eventProgress),
+          new MetricsLocation(eventLocation).getLocation(), feedbackType, description, feedbackSource);
+      }
+    });
+    return eventId;
   }
 
   /**
@@ -277,15 +393,20 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    * @param description  an optional description to provide more detail about the feedback
    * @param screenshot   an optional encoded screenshot to provide more detail about the feedback
    */
-  void updateFeedbackEvent(String feedbackId, @FeedbackEvent.FeedbackType String feedbackType,
-                           String description, String screenshot) {
-    // Find the event and update
-    FeedbackEvent feedbackEvent = (FeedbackEvent) findQueuedTelemetryEvent(feedbackId);
-    if (feedbackEvent != null) {
-      feedbackEvent.setFeedbackType(feedbackType);
-      feedbackEvent.setDescription(description);
-      feedbackEvent.setScreenshot(screenshot);
-    }
+  void updateFeedbackEvent(final String feedbackId, @FeedbackEvent.FeedbackType final String feedbackType,
+                           final String description, final String screenshot) {
+    telemetryExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        // Find the event and update
+        FeedbackEvent feedbackEvent = (FeedbackEvent) findQueuedTelemetryEvent(feedbackId);
+        if (feedbackEvent != null) {
+          feedbackEvent.setFeedbackType(feedbackType);
+          feedbackEvent.setDescription(description);
+          feedbackEvent.setScreenshot(screenshot);
+        }
+      }
+    });
   }
 
   /**
@@ -295,10 +416,17 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    *
    * @param feedbackId generated from {@link MapboxNavigation#recordFeedback(String, String, String)}
    */
-  void cancelFeedback(String feedbackId) {
-    // Find the event and remove it from the queue
-    FeedbackEvent feedbackEvent = (FeedbackEvent) findQueuedTelemetryEvent(feedbackId);
-    queuedFeedbackEvents.remove(feedbackEvent);
+  void cancelFeedback(final String feedbackId) {
+    telemetryExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        // Find the event and remove it from the queue
+        FeedbackEvent feedbackEvent = (FeedbackEvent) findQueuedTelemetryEvent(feedbackId);
+        if (feedbackEvent != null) {
+          queuedFeedbackEvents.remove(feedbackEvent);
+        }
+      }
+    });
   }
 
   private void validateAccessToken(String accessToken) {
@@ -330,37 +458,40 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     for (RerouteEvent rerouteEvent : queuedRerouteEvents) {
       sendRerouteEvent(rerouteEvent);
     }
+    queuedFeedbackEvents.clear();
+    queuedRerouteEvents.clear();
   }
 
-  private void updateCurrentLocation(Location rawLocation) {
-    metricLocation = new MetricsLocation(rawLocation);
-    locationBuffer.addLast(rawLocation);
+  private void drainPendingLocations() {
+    Location location;
+    while ((location = pendingLocations.poll()) != null) {
+      locationBuffer.record(location);
+    }
+  }
 
-    // Check queued reroute events
-    checkRerouteQueue();
-    // Check queued feedback events
-    checkFeedbackQueue();
+  /**
+   * Creates the {@link MetricsRouteProgress} of an event, reusing the last one created if the
+   * {@link RouteProgress} has not changed since.
+   */
+  private MetricsRouteProgress obtainMetricProgress(RouteProgress routeProgress) {
+    if (routeProgress != metricProgressSource) {
+      metricProgress = new MetricsRouteProgress(routeProgress);
+      metricProgressSource = routeProgress;
+    }
+    return metricProgress;
   }
 
   private void checkRerouteQueue() {
-    Iterator<RerouteEvent> iterator = queuedRerouteEvents.listIterator();
-    while (iterator.hasNext()) {
-      RerouteEvent rerouteEvent = iterator.next();
-      if (shouldSendEvent(rerouteEvent.getSessionState())) {
-        sendRerouteEvent(rerouteEvent);
-        iterator.remove();
-      }
+    // Events are queued as they happen, so only the oldest ones can be ready to be sent
+    while (!queuedRerouteEvents.isEmpty() && shouldSendEvent(queuedRerouteEvents.peekFirst().getSessionState())) {
+      sendRerouteEvent(queuedRerouteEvents.pollFirst());
     }
   }
 
   private void checkFeedbackQueue() {
-    Iterator<FeedbackEvent> iterator = queuedFeedbackEvents.listIterator();
-    while (iterator.hasNext()) {
-      FeedbackEvent feedbackEvent = iterator.next();
-      if (shouldSendEvent(feedbackEvent.getSessionState())) {
-        sendFeedbackEvent(feedbackEvent);
-        iterator.remove();
-      }
+    while (!queuedFeedbackEvents.isEmpty()
+      && shouldSendEvent(queuedFeedbackEvents.peekFirst().getSessionState())) {
+      sendFeedbackEvent(queuedFeedbackEvents.pollFirst());
     }
   }
 
@@ -370,84 +501,62 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
 
   @NonNull
   private List<Location> createLocationListBeforeEvent(Date eventDate) {
-    Location[] locations = locationBuffer.toArray(new Location[locationBuffer.size()]);
-    // Create current list of dates
-    List<Location> currentLocationList = Arrays.asList(locations);
-    // Setup list for dates before the event
-    List<Location> locationsBeforeEvent = new ArrayList<>();
-    // Add any events before the event date
-    for (Location location : currentLocationList) {
-      Date locationDate = new Date(location.getTime());
-      if (locationDate.before(eventDate)) {
-        locationsBeforeEvent.add(location);
-      }
-    }
-    return locationsBeforeEvent;
+    return locationBuffer.locationsBefore(eventDate.getTime());
   }
 
   @NonNull
   private List<Location> createLocationListAfterEvent(Date eventDate) {
-    Location[] locations = locationBuffer.toArray(new Location[locationBuffer.size()]);
-    // Create current list of dates
-    List<Location> currentLocationList = Arrays.asList(locations);
-    // Setup list for dates after the event
-    List<Location> locationsAfterEvent = new ArrayList<>();
-    // Add any events after the event date
-    for (Location location : currentLocationList) {
-      Date locationDate = new Date(location.getTime());
-      if (locationDate.after(eventDate)) {
-        locationsAfterEvent.add(location);
-      }
-    }
-    return locationsAfterEvent;
+    return locationBuffer.locationsAfter(eventDate.getTime());
   }
 
-  private void updateDistanceCompleted() {
+  private void updateDistanceCompleted(MetricsRouteProgress eventMetricProgress) {
     double currentDistanceCompleted = navigationSessionState.eventRouteDistanceCompleted()
-      + metricProgress.getDistanceTraveled();
+      + eventMetricProgress.getDistanceTraveled();
     navigationSessionState = navigationSessionState.toBuilder()
       .eventRouteDistanceCompleted(currentDistanceCompleted)
       .build();
   }
 
-  private void queueRerouteEvent() {
+  private void queueRerouteEvent(Date eventDate, MetricsRouteProgress eventMetricProgress, Location eventLocation) {
     updateLifecyclePercentages();
     // Create a new session state given the current navigation session
-    Date eventDate = new Date();
     SessionState rerouteEventSessionState = navigationSessionState.toBuilder()
       .eventDate(eventDate)
-      .eventRouteProgress(metricProgress)
-      .eventLocation(metricLocation.getLocation())
+      .eventRouteProgress(eventMetricProgress)
+      .eventLocation(eventLocation)
       .secondsSinceLastReroute(getSecondsSinceLastReroute(eventDate))
-      .mockLocation(metricLocation.getLocation().getProvider().equals(MOCK_PROVIDER))
+      .mockLocation(isMockLocation(eventLocation))
       .build();
 
     RerouteEvent rerouteEvent = new RerouteEvent(rerouteEventSessionState);
     queuedRerouteEvents.add(rerouteEvent);
   }
 
-  @NonNull
-  private FeedbackEvent queueFeedbackEvent(@FeedbackEvent.FeedbackType String feedbackType,
-                                           String description, @FeedbackEvent.FeedbackSource String feedbackSource) {
+  private void queueFeedbackEvent(String eventId, Date eventDate, MetricsRouteProgress eventMetricProgress,
+                                  Location eventLocation, @FeedbackEvent.FeedbackType String feedbackType,
+                                  String description, @FeedbackEvent.FeedbackSource String feedbackSource) {
     updateLifecyclePercentages();
     // Distance completed = previous distance completed + current RouteProgress distance traveled
     double distanceCompleted = navigationSessionState.eventRouteDistanceCompleted()
-      + metricProgress.getDistanceTraveled();
+      + eventMetricProgress.getDistanceTraveled();
 
     // Create a new session state given the current navigation session
     SessionState feedbackEventSessionState = navigationSessionState.toBuilder()
-      .eventDate(new Date())
-      .eventRouteProgress(metricProgress)
+      .eventDate(eventDate)
+      .eventRouteProgress(eventMetricProgress)
       .eventRouteDistanceCompleted(distanceCompleted)
-      .eventLocation(metricLocation.getLocation())
-      .mockLocation(metricLocation.getLocation().getProvider().equals(MOCK_PROVIDER))
+      .eventLocation(eventLocation)
+      .mockLocation(isMockLocation(eventLocation))
       .build();
 
-    FeedbackEvent feedbackEvent = new FeedbackEvent(feedbackEventSessionState, feedbackSource);
+    FeedbackEvent feedbackEvent = new FeedbackEvent(feedbackEventSessionState, feedbackSource, eventId);
     feedbackEvent.setDescription(description);
     feedbackEvent.setFeedbackType(feedbackType);
     queuedFeedbackEvents.add(feedbackEvent);
-    return feedbackEvent;
+  }
+
+  private boolean isMockLocation(Location location) {
+    return location.getProvider().equals(MOCK_PROVIDER);
   }
 
   private void sendRerouteEvent(RerouteEvent rerouteEvent) {
@@ -467,7 +576,7 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     // Set the updated session state
     rerouteEvent.setRerouteSessionState(rerouteSessionState);
 
-    NavigationMetricsWrapper.rerouteEvent(rerouteEvent, metricProgress,
+    metricsSender.rerouteEvent(rerouteEvent, obtainMetricProgress(lastRouteProgress),
       rerouteEvent.getSessionState().eventLocation());
   }
 
@@ -484,7 +593,7 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
       .afterEventLocations(afterLocations)
       .build();
 
-    NavigationMetricsWrapper.feedbackEvent(feedbackSessionState, metricProgress,
+    metricsSender.feedbackEvent(feedbackSessionState, obtainMetricProgress(lastRouteProgress),
       feedbackEvent.getSessionState().eventLocation(), feedbackEvent.getDescription(),
       feedbackEvent.getFeedbackType(), feedbackEvent.getScreenshot(), feedbackEvent.getFeedbackSource());
   }
@@ -509,20 +618,22 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
   }
 
   private void updateLifecyclePercentages() {
-    if (lifecycleMonitor != null) {
+    updateLifecyclePercentages(lifecycleMonitor);
+  }
+
+  private void updateLifecyclePercentages(NavigationLifecycleMonitor monitor) {
+    if (monitor != null) {
       navigationSessionState = navigationSessionState.toBuilder()
-        .percentInForeground(lifecycleMonitor.obtainForegroundPercentage())
-        .percentInPortrait(lifecycleMonitor.obtainPortraitPercentage())
+        .percentInForeground(monitor.obtainForegroundPercentage())
+        .percentInPortrait(monitor.obtainPortraitPercentage())
         .build();
     }
   }
 
   private void updateLastRerouteEvent(DirectionsRoute newDirectionsRoute) {
     if (!queuedRerouteEvents.isEmpty()) {
-      RerouteEvent rerouteEvent = queuedRerouteEvents.get(queuedRerouteEvents.size() - 1);
-      List<Point> geometryPositions = PolylineUtils.decode(newDirectionsRoute.geometry(), Constants.PRECISION_6);
-      PolylineUtils.encode(geometryPositions, Constants.PRECISION_5);
-      rerouteEvent.setNewRouteGeometry(PolylineUtils.encode(geometryPositions, Constants.PRECISION_5));
+      RerouteEvent rerouteEvent = queuedRerouteEvents.peekLast();
+      rerouteEvent.setNewRouteGeometry(PolylineTranscoder.toPrecision5(newDirectionsRoute));
       int newDistanceRemaining = newDirectionsRoute.distance() == null ? 0 : newDirectionsRoute.distance().intValue();
       rerouteEvent.setNewDistanceRemaining(newDistanceRemaining);
       int newDurationRemaining = newDirectionsRoute.duration() == null ? 0 : newDirectionsRoute.duration().intValue();
@@ -0,0 +1,89 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.os.Build;
+import android.os.SystemClock;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency of each {@link PipelineStage} into a {@link LatencyHistogram}.
+ * <p>
+ * Stages are timed by chaining timestamps: {@link #start()} returns the time a stage begins and
+ * {@link #recordStage(PipelineStage, long)} records the stage and returns the time the next one begins.
+ * When disabled, no clock is read and nothing is recorded.
+ */
+class PipelineMetricsRecorder {
+
+  private static final long NOT_STARTED = 0;
+
+  private final boolean enabled;
+  private final Map<PipelineStage, LatencyHistogram> stageHistograms = new EnumMap<>(PipelineStage.class);
+
+  PipelineMetricsRecorder(boolean enabled) {
+    this.enabled = enabled;
+    for (PipelineStage stage : PipelineStage.values()) {
+      stageHistograms.put(stage, new LatencyHistogram());
+    }
+  }
+
+  /**
+   * @return the current time in nanoseconds, or 0 if disabled
+   */
+  long start() {
+    return enabled ? System.nanoTime() : NOT_STARTED;
+  }
+
+  /**
+   * Records the time since the stage started.
+   *
+   * @param stage      which has just finished
+   * @param startNanos from {@link #start()} or the previous call to this method
+   * @return the current time in nanoseconds, to start the next stage with, or 0 if disabled
+   */
+  long recordStage(PipelineStage stage, long startNanos) {
+    if (!enabled) {
+      return NOT_STARTED;
+    }
+    long now = System.nanoTime();
+    stageHistograms.get(stage).record(now - startNanos);
+    return now;
+  }
+
+  /**
+   * Records the time from the location fix until now.
+   * <p>
+   * The elapsed realtime of the fix is used where available, as it is unaffected by changes to the
+   * wall clock; otherwise the fix time is compared against the wall clock.
+   *
+   * @param location which has just been delivered to the progress listeners
+   */
+  void recordFixToCallback(Location location) {
+    if (!enabled) {
+      return;
+    }
+    long fixToCallbackNanos;
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 && location.getElapsedRealtimeNanos() > 0) {
+      fixToCallbackNanos = SystemClock.elapsedRealtimeNanos() - location.getElapsedRealtimeNanos();
+    } else {
+      fixToCallbackNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - location.getTime());
+    }
+    stageHistograms.get(PipelineStage.FIX_TO_CALLBACK).record(fixToCallbackNanos);
+  }
+
+  NavigationMetrics snapshot() {
+    Map<PipelineStage, LatencyHistogram> snapshot = new EnumMap<>(PipelineStage.class);
+    for (Map.Entry<PipelineStage, LatencyHistogram> entry : stageHistograms.entrySet()) {
+      snapshot.put(entry.getKey(), entry.getValue().copy());
+    }
+    return new NavigationMetrics(snapshot);
+  }
+
+  void reset() {
+    for (LatencyHistogram histogram : stageHistograms.values()) {
+      histogram.reset();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * The stages a location update passes through, from the location fix to the progress listeners,
+ * whose latencies are recorded when {@link MapboxNavigationOptions#enablePipelineMetrics()} is enabled.
+ *
+ * @see NavigationMetrics
+ * @since 0.20.0
+ */
+public enum PipelineStage {
+
+  /**
+   * Building the new {@link com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress}.
+   */
+  ROUTE_PROGRESS,
+
+  /**
+   * Off-route detection, including advancing to the next step.
+   */
+  OFF_ROUTE,
+
+  /**
+   * Checking which milestones are triggered.
+   */
+  MILESTONES,
+
+  /**
+   * Snapping the location to the route.
+   */
+  SNAP_TO_ROUTE,
+
+  /**
+   * Deciding whether to check for a faster route.
+   */
+  FASTER_ROUTE,
+
+  /**
+   * Waiting for the results to be delivered on the main thread, including any throttling from
+   * {@link MapboxNavigationOptions#maximumProgressDispatchRate()}.
+   */
+  MAIN_THREAD_HOP,
+
+  /**
+   * Running the internal listeners, and through them the registered navigation listeners.
+   */
+  LISTENER_CALLBACKS,
+
+  /**
+   * End to end, from the time of the location fix to its delivery to the
+   * {@link com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener}s.
+   */
+  FIX_TO_CALLBACK
+}
@@ -0,0 +1,138 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link RouteProcessorExecutor} which processes updates on a shared {@link Executor}, such as
+ * an {@link java.util.concurrent.ExecutorService} thread pool, rather than a dedicated
+ * {@link android.os.HandlerThread}.
+ * <p>
+ * Updates of one executor are still processed one at a time and in order, but each update is
+ * submitted to the executor as its own task, so many navigation sessions can share a fixed number
+ * of threads.  Results are delivered through the given response {@link Executor}.
+ * <p>
+ * {@link #quit()} stops this executor only; the shared {@link Executor} is left running.
+ */
+class PooledRouteProcessorExecutor implements RouteProcessorExecutor {
+
+  private final Executor executor;
+  private final RouteProcessorWorker worker;
+  private final RouteProcessorStats stats;
+  private final boolean coalesceUpdates;
+  private final Object queueLock = new Object();
+  private final Queue<QueuedUpdate> queuedUpdates = new ArrayDeque<>();
+  private final Runnable processNextUpdate = new Runnable() {
+    @Override
+    public void run() {
+      processNextUpdate();
+    }
+  };
+  private boolean isProcessing;
+  private boolean isQuit;
+
+  PooledRouteProcessorExecutor(Executor executor, MapboxNavigationOptions options, RouteProcessorStats stats,
+                               PipelineMetricsRecorder metrics, Executor responseExecutor,
+                               RouteProcessorBackgroundThread.Listener listener) {
+    this(executor, new RouteProcessorWorker(new NavigationRouteProcessor(), stats, metrics,
+      new ExecutorRouteProcessorDispatcher(responseExecutor, listener, metrics)
+    ), stats, options.enableLocationUpdateCoalescing());
+  }
+
+  // Package private (no modifier) for testing purposes
+  PooledRouteProcessorExecutor(Executor executor, RouteProcessorWorker worker, RouteProcessorStats stats,
+                               boolean coalesceUpdates) {
+    this.executor = executor;
+    this.worker = worker;
+    this.stats = stats;
+    this.coalesceUpdates = coalesceUpdates;
+  }
+
+  /**
+   * Queues the update to be processed on the shared executor.
+   * <p>
+   * With {@link MapboxNavigationOptions#enableLocationUpdateCoalescing()}, the update replaces any
+   * updates still waiting to be processed.
+   *
+   * @param navigationLocationUpdate to be processed
+   */
+  @Override
+  public void queueUpdate(NavigationLocationUpdate navigationLocationUpdate) {
+    synchronized (queueLock) {
+      if (isQuit) {
+        return;
+      }
+      if (coalesceUpdates) {
+        dropQueuedUpdates();
+      }
+      queuedUpdates.add(new QueuedUpdate(navigationLocationUpdate, currentTimeMillis()));
+      if (isProcessing) {
+        return;
+      }
+      isProcessing = true;
+    }
+    executor.execute(processNextUpdate);
+  }
+
+  @Override
+  public boolean quit() {
+    synchronized (queueLock) {
+      if (isQuit) {
+        return false;
+      }
+      isQuit = true;
+      queuedUpdates.clear();
+      return true;
+    }
+  }
+
+  private void processNextUpdate() {
+    QueuedUpdate queuedUpdate;
+    synchronized (queueLock) {
+      queuedUpdate = queuedUpdates.poll();
+      if (queuedUpdate == null) {
+        isProcessing = false;
+        return;
+      }
+    }
+    try {
+      long queueWaitMillis = currentTimeMillis() - queuedUpdate.queuedAtMillis;
+      worker.process(queuedUpdate.update, queueWaitMillis);
+    } finally {
+      scheduleNextUpdate();
+    }
+  }
+
+  private void scheduleNextUpdate() {
+    synchronized (queueLock) {
+      if (queuedUpdates.isEmpty()) {
+        isProcessing = false;
+        return;
+      }
+    }
+    executor.execute(processNextUpdate);
+  }
+
+  private void dropQueuedUpdates() {
+    while (queuedUpdates.poll() != null) {
+      stats.recordDroppedUpdate();
+    }
+  }
+
+  private static long currentTimeMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+  }
+
+  private static class QueuedUpdate {
+
+    private final NavigationLocationUpdate update;
+    private final long queuedAtMillis;
+
+    QueuedUpdate(NavigationLocationUpdate update, long queuedAtMillis) {
+      this.update = update;
+      this.queuedAtMillis = queuedAtMillis;
+    }
+  }
+}
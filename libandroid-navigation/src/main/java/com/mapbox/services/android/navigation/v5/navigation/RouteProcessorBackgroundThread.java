@@ -12,37 +12,60 @@ import java.util.List;
 
 /**
  * This class extends handler thread to run most of the navigation calculations on a separate
- * background thread.
+ * background thread.  It is the default {@link RouteProcessorExecutor}.
  */
-class RouteProcessorBackgroundThread extends HandlerThread {
+class RouteProcessorBackgroundThread extends HandlerThread implements RouteProcessorExecutor {
 
   private static final String MAPBOX_NAVIGATION_THREAD_NAME = "mapbox_navigation_thread";
   private static final int MSG_LOCATION_UPDATED = 1001;
   private Handler workerHandler;
+  private final LocationUpdateCoalescer coalescer;
+  private final boolean coalesceUpdates;
 
-  RouteProcessorBackgroundThread(Handler responseHandler, Listener listener) {
+  RouteProcessorBackgroundThread(MapboxNavigationOptions options, RouteProcessorStats stats,
+                                 PipelineMetricsRecorder metrics, Handler responseHandler, Listener listener) {
     super(MAPBOX_NAVIGATION_THREAD_NAME, Process.THREAD_PRIORITY_BACKGROUND);
+    this.coalescer = new LocationUpdateCoalescer(stats);
+    this.coalesceUpdates = options.enableLocationUpdateCoalescing();
     start();
-    initialize(responseHandler, listener);
+    initialize(options, stats, metrics, responseHandler, listener);
   }
 
-  void queueUpdate(NavigationLocationUpdate navigationLocationUpdate) {
-    workerHandler.obtainMessage(MSG_LOCATION_UPDATED, navigationLocationUpdate).sendToTarget();
+  /**
+   * Queues the update to be processed on this thread.
+   * <p>
+   * With {@link MapboxNavigationOptions#enableLocationUpdateCoalescing()}, the update replaces any
+   * update still waiting to be processed, and only one message is queued at a time.
+   *
+   * @param navigationLocationUpdate to be processed
+   */
+  @Override
+  public void queueUpdate(NavigationLocationUpdate navigationLocationUpdate) {
+    if (!coalesceUpdates) {
+      workerHandler.obtainMessage(MSG_LOCATION_UPDATED, navigationLocationUpdate).sendToTarget();
+    } else if (coalescer.offer(navigationLocationUpdate)) {
+      workerHandler.sendEmptyMessage(MSG_LOCATION_UPDATED);
+    }
   }
 
-  private void initialize(Handler responseHandler, Listener listener) {
+  private void initialize(MapboxNavigationOptions options, RouteProcessorStats stats,
+                          PipelineMetricsRecorder metrics, Handler responseHandler, Listener listener) {
     NavigationRouteProcessor routeProcessor = new NavigationRouteProcessor();
-    workerHandler = new Handler(getLooper(), new RouteProcessorHandlerCallback(
-      routeProcessor, responseHandler, listener)
+    RouteProcessorDispatcher dispatcher = new HandlerRouteProcessorDispatcher(
+      responseHandler, listener, options.maximumProgressDispatchRate(), metrics
     );
+    RouteProcessorWorker worker = new RouteProcessorWorker(routeProcessor, stats, metrics, dispatcher);
+    workerHandler = new Handler(getLooper(), new RouteProcessorHandlerCallback(coalescer, worker));
   }
 
   /**
    * Listener for posting back to the Navigation Service once the thread finishes calculations.
    * <p>
-   * No matter what, with each new message added to the queue, these callbacks get invoked once
-   * finished and within Navigation Service it is determined if the public corresponding listeners
-   * need invoking or not; the Navigation event dispatcher class handles those callbacks.
+   * With each new message added to the queue, these callbacks get invoked once finished and within
+   * Navigation Service it is determined if the public corresponding listeners need invoking or not;
+   * the Navigation event dispatcher class handles those callbacks.  If
+   * {@link MapboxNavigationOptions#maximumProgressDispatchRate()} is set, updates carrying only new
+   * progress may be merged and delivered through {@link #onNewRouteProgress(Location, RouteProgress)} alone.
    */
   interface Listener {
 
@@ -0,0 +1,18 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.List;
+
+/**
+ * Delivers the results of the {@link RouteProcessorWorker} for each processed location update
+ * to the {@link RouteProcessorBackgroundThread.Listener}.
+ */
+interface RouteProcessorDispatcher {
+
+  void dispatch(boolean userOffRoute, List<Milestone> milestones, Location location,
+                boolean checkFasterRoute, RouteProgress routeProgress);
+}
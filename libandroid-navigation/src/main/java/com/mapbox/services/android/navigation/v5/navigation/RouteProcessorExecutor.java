@@ -0,0 +1,27 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Runs the route processing for each {@link NavigationLocationUpdate} off the thread delivering
+ * locations, one update at a time and in the order they were queued.
+ * <p>
+ * {@link RouteProcessorBackgroundThread} is the default, processing on a dedicated
+ * {@link android.os.HandlerThread}.  {@link PooledRouteProcessorExecutor} processes on a shared
+ * {@link java.util.concurrent.Executor}, such as a fixed thread pool, and does not need a
+ * {@link android.os.Looper}.
+ */
+interface RouteProcessorExecutor {
+
+  /**
+   * Queues the update to be processed.
+   *
+   * @param navigationLocationUpdate to be processed
+   */
+  void queueUpdate(NavigationLocationUpdate navigationLocationUpdate);
+
+  /**
+   * Stops processing; updates still waiting to be processed are discarded.
+   *
+   * @return true if the executor was running and has been stopped
+   */
+  boolean quit();
+}
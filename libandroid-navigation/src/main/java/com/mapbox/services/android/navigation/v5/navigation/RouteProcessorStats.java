@@ -0,0 +1,106 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters describing how location updates move through the navigation route processor.
+ * <p>
+ * Updates are counted as processed once the route processor has run all of its engine checks
+ * against them, and as dropped if a newer update replaced them before they were processed
+ * (see {@link MapboxNavigationOptions#enableLocationUpdateCoalescing()}).  Queue-wait time is the
+ * time, in milliseconds, each processed update spent waiting for the route processor thread.
+ * <p>
+ * The counters are updated from the route processor thread and can be read from any thread.
+ *
+ * @since 0.20.0
+ */
+public final class RouteProcessorStats {
+
+  private final AtomicLong processedUpdates = new AtomicLong();
+  private final AtomicLong droppedUpdates = new AtomicLong();
+  private final AtomicLong totalQueueWaitMillis = new AtomicLong();
+  private final AtomicLong maximumQueueWaitMillis = new AtomicLong();
+
+  RouteProcessorStats() {
+  }
+
+  /**
+   * Number of location updates the route processor has finished processing.
+   *
+   * @return processed location updates
+   * @since 0.20.0
+   */
+  public long processedUpdates() {
+    return processedUpdates.get();
+  }
+
+  /**
+   * Number of location updates dropped because a newer update replaced them before processing.
+   *
+   * @return dropped location updates
+   * @since 0.20.0
+   */
+  public long droppedUpdates() {
+    return droppedUpdates.get();
+  }
+
+  /**
+   * Total time, in milliseconds, processed location updates spent waiting in the queue.
+   *
+   * @return total queue-wait time
+   * @since 0.20.0
+   */
+  public long totalQueueWaitMillis() {
+    return totalQueueWaitMillis.get();
+  }
+
+  /**
+   * Longest time, in milliseconds, a processed location update spent waiting in the queue.
+   *
+   * @return maximum queue-wait time
+   * @since 0.20.0
+   */
+  public long maximumQueueWaitMillis() {
+    return maximumQueueWaitMillis.get();
+  }
+
+  /**
+   * Average time, in milliseconds, a processed location update spent waiting in the queue.
+   *
+   * @return average queue-wait time, or 0 if nothing has been processed yet
+   * @since 0.20.0
+   */
+  public double averageQueueWaitMillis() {
+    long processed = processedUpdates.get();
+    if (processed == 0) {
+      return 0d;
+    }
+    return (double) totalQueueWaitMillis.get() / processed;
+  }
+
+  /**
+   * Sets all counters back to zero.
+   *
+   * @since 0.20.0
+   */
+  public void reset() {
+    processedUpdates.set(0);
+    droppedUpdates.set(0);
+    totalQueueWaitMillis.set(0);
+    maximumQueueWaitMillis.set(0);
+  }
+
+  void recordProcessedUpdate(long queueWaitMillis) {
+    long waitMillis = Math.max(0, queueWaitMillis);
+    processedUpdates.incrementAndGet();
+    totalQueueWaitMillis.addAndGet(waitMillis);
+    long currentMaximum = maximumQueueWaitMillis.get();
+    while (waitMillis > currentMaximum && !maximumQueueWaitMillis.compareAndSet(currentMaximum, waitMillis)) {
+      currentMaximum = maximumQueueWaitMillis.get();
+    }
+  }
+
+  void recordDroppedUpdate() {
+    droppedUpdates.incrementAndGet();
+  }
+}
@@ -0,0 +1,124 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.MilestoneScheduler;
+import com.mapbox.services.android.navigation.v5.milestone.TriggerSnapshot;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.List;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.buildSnappedLocation;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.isUserOffRoute;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.shouldCheckFasterRoute;
+
+/**
+ * Processes location updates for one navigation session, independent of the thread it runs on.
+ * <p>
+ * A {@link RouteProcessorExecutor} owns a worker and makes sure only one update is processed at a time.
+ */
+class RouteProcessorWorker {
+
+  private static final int NO_MILESTONES_VERSION = -1;
+
+  private final NavigationRouteProcessor routeProcessor;
+  private final RouteProcessorStats stats;
+  private final PipelineMetricsRecorder metrics;
+  private final RouteProcessorDispatcher dispatcher;
+  private final TriggerSnapshot triggerSnapshot = new TriggerSnapshot();
+  private final MilestoneScheduler milestoneScheduler = new MilestoneScheduler();
+  private int milestonesVersion = NO_MILESTONES_VERSION;
+
+  RouteProcessorWorker(NavigationRouteProcessor routeProcessor, RouteProcessorStats stats,
+                       PipelineMetricsRecorder metrics, RouteProcessorDispatcher dispatcher) {
+    this.routeProcessor = routeProcessor;
+    this.stats = stats;
+    this.metrics = metrics;
+    this.dispatcher = dispatcher;
+  }
+
+  /**
+   * Processes the update and records it in the {@link RouteProcessorStats}.
+   *
+   * @param update          to be processed
+   * @param queueWaitMillis time the update waited before processing started
+   */
+  void process(NavigationLocationUpdate update, long queueWaitMillis) {
+    handleRequest(update);
+    stats.recordProcessedUpdate(queueWaitMillis);
+  }
+
+  /**
+   * Takes a new location model and runs all related engine checks against it
+   * (off-route, milestones, snapped location, and faster-route).
+   * <p>
+   * The time spent in each engine is recorded with the {@link PipelineMetricsRecorder}.
+   * <p>
+   * After running through the engines, all data is submitted to {@link NavigationService} via
+   * {@link RouteProcessorBackgroundThread.Listener}, using the {@link RouteProcessorDispatcher}.
+   *
+   * @param update hold location, navigation (with options), and distances away from maneuver
+   */
+  private void handleRequest(final NavigationLocationUpdate update) {
+    final MapboxNavigation mapboxNavigation = update.mapboxNavigation();
+    final Location rawLocation = update.location();
+    long stageStartNanos = metrics.start();
+    RouteProgress routeProgress = routeProcessor.buildNewRouteProgress(mapboxNavigation, rawLocation);
+    routeProcessor.updateEngineIndices(mapboxNavigation.getOffRouteEngine(), mapboxNavigation.getSnapEngine());
+    stageStartNanos = metrics.recordStage(PipelineStage.ROUTE_PROGRESS, stageStartNanos);
+
+    final boolean userOffRoute = determineUserOffRoute(update, mapboxNavigation, routeProgress);
+    stageStartNanos = metrics.recordStage(PipelineStage.OFF_ROUTE, stageStartNanos);
+    final List<Milestone> milestones = findTriggeredMilestones(mapboxNavigation, routeProgress);
+    stageStartNanos = metrics.recordStage(PipelineStage.MILESTONES, stageStartNanos);
+    final Location location = findSnappedLocation(mapboxNavigation, rawLocation, routeProgress, userOffRoute);
+    stageStartNanos = metrics.recordStage(PipelineStage.SNAP_TO_ROUTE, stageStartNanos);
+    final boolean checkFasterRoute = findFasterRoute(update, mapboxNavigation, routeProgress, userOffRoute);
+    metrics.recordStage(PipelineStage.FASTER_ROUTE, stageStartNanos);
+
+    final RouteProgress finalRouteProgress = updateRouteProcessorWith(routeProgress);
+    sendUpdateToListener(userOffRoute, milestones, location, checkFasterRoute, finalRouteProgress);
+  }
+
+  private List<Milestone> findTriggeredMilestones(MapboxNavigation mapboxNavigation, RouteProgress routeProgress) {
+    int currentMilestonesVersion = mapboxNavigation.getMilestonesVersion();
+    if (currentMilestonesVersion != milestonesVersion) {
+      milestonesVersion = currentMilestonesVersion;
+      milestoneScheduler.setMilestones(mapboxNavigation.getMilestones());
+    }
+    RouteProgress previousRouteProgress = routeProcessor.getRouteProgress();
+    return milestoneScheduler.checkMilestones(previousRouteProgress, routeProgress, triggerSnapshot);
+  }
+
+  private Location findSnappedLocation(MapboxNavigation mapboxNavigation, Location rawLocation,
+                                       RouteProgress routeProgress, boolean userOffRoute) {
+    boolean snapToRouteEnabled = mapboxNavigation.options().snapToRoute();
+    return buildSnappedLocation(mapboxNavigation, snapToRouteEnabled,
+      rawLocation, routeProgress, userOffRoute);
+  }
+
+  private boolean determineUserOffRoute(NavigationLocationUpdate navigationLocationUpdate,
+                                        MapboxNavigation mapboxNavigation, RouteProgress routeProgress) {
+    final boolean userOffRoute = isUserOffRoute(navigationLocationUpdate, routeProgress, routeProcessor);
+    routeProcessor.checkIncreaseIndex(mapboxNavigation);
+    return userOffRoute;
+  }
+
+  private boolean findFasterRoute(NavigationLocationUpdate navigationLocationUpdate, MapboxNavigation mapboxNavigation,
+                                  RouteProgress routeProgress, boolean userOffRoute) {
+    boolean fasterRouteEnabled = mapboxNavigation.options().enableFasterRouteDetection();
+    return fasterRouteEnabled && !userOffRoute
+      && shouldCheckFasterRoute(navigationLocationUpdate, routeProgress);
+  }
+
+  private RouteProgress updateRouteProcessorWith(RouteProgress routeProgress) {
+    routeProcessor.setRouteProgress(routeProgress);
+    return routeProgress;
+  }
+
+  private void sendUpdateToListener(boolean userOffRoute, List<Milestone> milestones, Location location,
+                                    boolean checkFasterRoute, RouteProgress finalRouteProgress) {
+    dispatcher.dispatch(userOffRoute, milestones, location, checkFasterRoute, finalRouteProgress);
+  }
+}
@@ -0,0 +1,350 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only journal of telemetry events on local storage, so the events of a session survive the
+ * process being killed before they are handed off.
+ * <p>
+ * The journal starts with a header identifying its format and its version, followed by one record per
+ * event: the length of the event, the number of times it was replayed, a CRC32 checksum of both the
+ * replays and the event, then the bytes of the event.  Version 1 held the events as
+ * {@link android.os.Parcel} bytes, version 2 holds the JSON written by {@link TelemetryEventRecord}, and
+ * version 3 adds the replays.  A journal of another version is reset when opened, as its records cannot
+ * be read.
+ * <p>
+ * Appended records are kept in memory and written together by {@link #commit()}, with a single sync to
+ * the storage device, so appending an event does not wait for the device.  The records are committed
+ * once {@code batchSize} of them have been appended, and whenever {@link #commit()} is called.
+ * <p>
+ * Opening a journal reads back its committed records, which are available from
+ * {@link #recoveredRecords()}.  A record which was only partially written, or whose checksum does not
+ * match, ends the journal: it is removed along with anything after it.  Once the events have been
+ * delivered, {@link #compact()} removes every record.
+ * <p>
+ * The journal is bounded, so events which are never delivered do not accumulate:
+ * <ul>
+ * <li>Each recovered record counts as a replay.  A record recovered {@code maxReplays} times is dropped
+ * when the journal is opened.</li>
+ * <li>The journal never grows past {@code maxSize} bytes.  Opening it keeps the newest records which fit,
+ * and appending a record to a full journal evicts the oldest records, down to half of the size, so the
+ * journal is not rewritten on every append.</li>
+ * </ul>
+ * Both replace the file with a rewritten copy, so the journal is never left partially rewritten.
+ * <p>
+ * A journal is not thread safe, and should only be used by one thread.
+ */
+final class TelemetryEventJournal implements Closeable {
+
+  static final int MAX_RECORD_SIZE = 1 << 20;
+
+  private static final int MAGIC = 0x4D4E544A;
+  private static final int VERSION = 3;
+  private static final int HEADER_SIZE = 8;
+  private static final int RECORD_HEADER_SIZE = 12;
+  private static final int INITIAL_BATCH_CAPACITY = 4096;
+  private static final String REWRITTEN_FILE_SUFFIX = ".rewrite";
+
+  private final File file;
+  private final int batchSize;
+  private final long maxSize;
+  private final List<byte[]> recoveredRecords;
+  private final CRC32 checksum = new CRC32();
+  private FileChannel channel;
+  private ByteBuffer batch = ByteBuffer.allocate(INITIAL_BATCH_CAPACITY);
+  private int batchedRecords;
+  private long committedPosition;
+
+  private TelemetryEventJournal(File file, int batchSize, long maxSize, List<byte[]> recoveredRecords)
+    throws IOException {
+    this.file = file;
+    this.batchSize = batchSize;
+    this.maxSize = maxSize;
+    this.recoveredRecords = recoveredRecords;
+    channel = new RandomAccessFile(file, "rw").getChannel();
+    committedPosition = channel.size();
+  }
+
+  /**
+   * Opens the journal in the given file, creating it if needed, and reads back its records.
+   * <p>
+   * The records are written back with one more replay, leaving out the records already replayed
+   * {@code maxReplays} times and the oldest records which do not fit in {@code maxSize}.
+   *
+   * @param file       of the journal
+   * @param batchSize  number of appended records which are committed together
+   * @param maxSize    maximum size of the journal in bytes
+   * @param maxReplays number of times a record is recovered before it is dropped
+   * @return the opened journal
+   * @throws IOException if the file cannot be read or written
+   */
+  @NonNull
+  static TelemetryEventJournal open(@NonNull File file, int batchSize, long maxSize,
+                                    int maxReplays) throws IOException {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("The batch size must be at least 1, was " + batchSize);
+    }
+    if (maxSize <= HEADER_SIZE + RECORD_HEADER_SIZE) {
+      throw new IllegalArgumentException("The maximum size must be more than "
+        + (HEADER_SIZE + RECORD_HEADER_SIZE) + " bytes, was " + maxSize);
+    }
+    if (maxReplays < 1) {
+      throw new IllegalArgumentException("The maximum replays must be at least 1, was " + maxReplays);
+    }
+    List<Record> records = new ArrayList<>();
+    if (file.exists()) {
+      RandomAccessFile journalFile = new RandomAccessFile(file, "r");
+      try {
+        readRecords(journalFile.getChannel(), records);
+      } finally {
+        journalFile.close();
+      }
+    }
+    List<Record> replayedRecords = new ArrayList<>(records.size());
+    for (Record record : records) {
+      if (record.replays < maxReplays) {
+        replayedRecords.add(new Record(record.bytes, record.replays + 1));
+      }
+    }
+    keepNewestRecords(replayedRecords, maxSize - HEADER_SIZE);
+    rewrite(file, replayedRecords);
+    List<byte[]> recoveredRecords = new ArrayList<>(replayedRecords.size());
+    for (Record record : replayedRecords) {
+      recoveredRecords.add(record.bytes);
+    }
+    return new TelemetryEventJournal(file, batchSize, maxSize, Collections.unmodifiableList(recoveredRecords));
+  }
+
+  /**
+   * @return the records committed before the journal was opened and kept by it, oldest first
+   */
+  @NonNull
+  List<byte[]> recoveredRecords() {
+    return recoveredRecords;
+  }
+
+  /**
+   * Appends a record, which is written with the next commit.  If the journal is full, the appended
+   * records are committed first and the oldest records are evicted.
+   *
+   * @param record bytes of the event
+   * @throws IOException if the records were committed or evicted, and could not be written
+   */
+  void append(@NonNull byte[] record) throws IOException {
+    int recordSize = RECORD_HEADER_SIZE + record.length;
+    if (record.length > MAX_RECORD_SIZE || recordSize > maxSize - HEADER_SIZE) {
+      throw new IllegalArgumentException("Records are limited to "
+        + Math.min(MAX_RECORD_SIZE, maxSize - HEADER_SIZE - RECORD_HEADER_SIZE) + " bytes, was " + record.length);
+    }
+    if (committedPosition + batch.position() + recordSize > maxSize) {
+      commit();
+      evictOldestRecords(recordSize);
+    }
+    ensureBatchCapacity(recordSize);
+    putRecord(batch, new Record(record, 0), checksum);
+    batchedRecords++;
+    if (batchedRecords >= batchSize) {
+      commit();
+    }
+  }
+
+  /**
+   * Writes the appended records and syncs them to the storage device.
+   *
+   * @throws IOException if the records could not be written
+   */
+  void commit() throws IOException {
+    if (batchedRecords == 0) {
+      return;
+    }
+    batch.flip();
+    long position = committedPosition;
+    while (batch.hasRemaining()) {
+      position += channel.write(batch, position);
+    }
+    channel.force(false);
+    committedPosition = position;
+    batch.clear();
+    batchedRecords = 0;
+  }
+
+  /**
+   * Removes every record, appended or committed, once the events have been delivered.
+   *
+   * @throws IOException if the journal could not be truncated
+   */
+  void compact() throws IOException {
+    batch.clear();
+    batchedRecords = 0;
+    channel.truncate(HEADER_SIZE);
+    channel.force(false);
+    committedPosition = HEADER_SIZE;
+  }
+
+  /**
+   * @return the number of records appended since the last commit
+   */
+  int pendingRecords() {
+    return batchedRecords;
+  }
+
+  /**
+   * Commits the appended records and closes the journal.
+   *
+   * @throws IOException if the records could not be written
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      commit();
+    } finally {
+      channel.close();
+    }
+  }
+
+  private void ensureBatchCapacity(int recordSize) {
+    if (batch.remaining() >= recordSize) {
+      return;
+    }
+    ByteBuffer largerBatch = ByteBuffer.allocate(Math.max(batch.capacity() * 2, batch.position() + recordSize));
+    batch.flip();
+    largerBatch.put(batch);
+    batch = largerBatch;
+  }
+
+  private void evictOldestRecords(int recordSize) throws IOException {
+    List<Record> records = new ArrayList<>();
+    readRecords(channel, records);
+    long recordsSize = Math.min((maxSize - HEADER_SIZE) / 2, maxSize - HEADER_SIZE - recordSize);
+    keepNewestRecords(records, recordsSize);
+    channel.close();
+    rewrite(file, records);
+    channel = new RandomAccessFile(file, "rw").getChannel();
+    committedPosition = channel.size();
+  }
+
+  private static void keepNewestRecords(List<Record> records, long recordsSize) {
+    long size = 0;
+    int oldestKept = records.size();
+    while (oldestKept > 0 && size + records.get(oldestKept - 1).size() <= recordsSize) {
+      oldestKept--;
+      size += records.get(oldestKept).size();
+    }
+    records.subList(0, oldestKept).clear();
+  }
+
+  private static void readRecords(FileChannel channel, List<Record> records) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    if (!readFully(channel, header, 0) || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+      return;
+    }
+    CRC32 recordChecksum = new CRC32();
+    ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    long position = HEADER_SIZE;
+    while (readFully(channel, recordHeader, position)) {
+      int length = recordHeader.getInt(0);
+      if (length < 0 || length > MAX_RECORD_SIZE) {
+        return;
+      }
+      ByteBuffer record = ByteBuffer.allocate(length);
+      if (!readFully(channel, record, position + RECORD_HEADER_SIZE)) {
+        return;
+      }
+      recordChecksum.reset();
+      recordChecksum.update(recordHeader.array(), 4, 4);
+      recordChecksum.update(record.array(), 0, length);
+      if ((int) recordChecksum.getValue() != recordHeader.getInt(8)) {
+        return;
+      }
+      records.add(new Record(record.array(), recordHeader.getInt(4)));
+      position += RECORD_HEADER_SIZE + length;
+    }
+  }
+
+  /**
+   * Writes the records to a new journal, which then replaces the given file, so a journal which was
+   * partially rewritten is never opened.  Any record which was only partially written, or corrupted, is
+   * dropped along the way.
+   */
+  private static void rewrite(File file, List<Record> records) throws IOException {
+    File rewrittenFile = new File(file.getPath() + REWRITTEN_FILE_SUFFIX);
+    FileChannel channel = new RandomAccessFile(rewrittenFile, "rw").getChannel();
+    try {
+      channel.truncate(0);
+      ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BATCH_CAPACITY);
+      buffer.putInt(MAGIC).putInt(VERSION);
+      CRC32 recordChecksum = new CRC32();
+      for (Record record : records) {
+        if (buffer.remaining() < record.size()) {
+          writeFully(channel, buffer);
+          if (buffer.capacity() < record.size()) {
+            buffer = ByteBuffer.allocate(record.size());
+          }
+        }
+        putRecord(buffer, record, recordChecksum);
+      }
+      writeFully(channel, buffer);
+      channel.force(false);
+    } finally {
+      channel.close();
+    }
+    if (!rewrittenFile.renameTo(file)) {
+      throw new IOException("Unable to replace the journal " + file + " with " + rewrittenFile);
+    }
+  }
+
+  private static void putRecord(ByteBuffer buffer, Record record, CRC32 recordChecksum) {
+    buffer.putInt(record.bytes.length);
+    int replaysPosition = buffer.position();
+    buffer.putInt(record.replays);
+    recordChecksum.reset();
+    recordChecksum.update(buffer.array(), buffer.arrayOffset() + replaysPosition, 4);
+    recordChecksum.update(record.bytes, 0, record.bytes.length);
+    buffer.putInt((int) recordChecksum.getValue());
+    buffer.put(record.bytes);
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    buffer.clear();
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static class Record {
+
+    private final byte[] bytes;
+    private final int replays;
+
+    Record(byte[] bytes, int replays) {
+      this.bytes = bytes;
+      this.replays = replays;
+    }
+
+    int size() {
+      return RECORD_HEADER_SIZE + bytes.length;
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.mapbox.android.telemetry.Event;
+import com.mapbox.android.telemetry.NavigationEventFactory;
+import com.mapbox.android.telemetry.NavigationState;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * A navigation event, as written to the {@link TelemetryEventJournal}.
+ * <p>
+ * The telemetry only builds navigation events from a {@link NavigationState}, so a record holds the type of
+ * the event and its state, serialized as JSON with Gson like the telemetry serializes the event for upload.
+ * Unlike a {@link android.os.Parcel}, the JSON does not depend on the version of the platform, and fields
+ * added or removed by another version of the telemetry are ignored.
+ */
+final class TelemetryEventRecord {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final String TYPE = "type";
+  private static final String STATE = "state";
+  private static final Gson GSON = new GsonBuilder()
+    .registerTypeAdapter(Location.class, new LocationAdapter())
+    .create();
+
+  private final Event.Type type;
+  private final NavigationState state;
+  private final Event event;
+
+  private TelemetryEventRecord(Event.Type type, NavigationState state, Event event) {
+    this.type = type;
+    this.state = state;
+    this.event = event;
+  }
+
+  /**
+   * Writes the record of a navigation event.
+   *
+   * @param type  of the navigation event
+   * @param state the event is built from
+   * @return the bytes of the record
+   */
+  @NonNull
+  static byte[] write(@NonNull Event.Type type, @NonNull NavigationState state) {
+    JsonObject record = new JsonObject();
+    record.addProperty(TYPE, type.name());
+    record.add(STATE, GSON.toJsonTree(state));
+    return GSON.toJson(record).getBytes(UTF_8);
+  }
+
+  /**
+   * Reads the record of a navigation event.
+   *
+   * @param record bytes written by {@link #write(Event.Type, NavigationState)}
+   * @return the record, or null if it could not be read
+   */
+  @Nullable
+  static TelemetryEventRecord read(@NonNull byte[] record) {
+    try {
+      JsonObject json = new JsonParser().parse(new String(record, UTF_8)).getAsJsonObject();
+      JsonElement type = json.get(TYPE);
+      JsonElement state = json.get(STATE);
+      if (type == null || state == null || !state.isJsonObject()) {
+        return null;
+      }
+      Event.Type eventType = Event.Type.valueOf(type.getAsString());
+      NavigationState eventState = GSON.fromJson(state, NavigationState.class);
+      return new TelemetryEventRecord(eventType, eventState, toEvent(eventType, eventState));
+    } catch (JsonParseException | IllegalArgumentException | IllegalStateException
+      | UnsupportedOperationException exception) {
+      // Not a record of a navigation event known by this version of the telemetry
+      return null;
+    }
+  }
+
+  @NonNull
+  Event.Type type() {
+    return type;
+  }
+
+  @NonNull
+  NavigationState state() {
+    return state;
+  }
+
+  /**
+   * @return the navigation event, built again from its state
+   */
+  @NonNull
+  Event toEvent() {
+    return event;
+  }
+
+  /**
+   * Builds a navigation event with the factory of the telemetry.
+   *
+   * @param type  of the navigation event
+   * @param state the event is built from
+   * @return the navigation event
+   */
+  @NonNull
+  static Event toEvent(@NonNull Event.Type type, @NonNull NavigationState state) {
+    return new NavigationEventFactory().createNavigationEvent(type, state);
+  }
+
+  /**
+   * Only writes the properties of a {@link Location} set by the location engines, rather than every
+   * field of the platform class.
+   */
+  private static class LocationAdapter extends TypeAdapter<Location> {
+
+    private static final String PROVIDER = "provider";
+    private static final String TIME = "time";
+    private static final String LATITUDE = "latitude";
+    private static final String LONGITUDE = "longitude";
+    private static final String ALTITUDE = "altitude";
+    private static final String SPEED = "speed";
+    private static final String BEARING = "bearing";
+    private static final String ACCURACY = "accuracy";
+
+    @Override
+    public void write(JsonWriter out, Location location) throws IOException {
+      if (location == null) {
+        out.nullValue();
+        return;
+      }
+      out.beginObject();
+      out.name(PROVIDER).value(location.getProvider());
+      out.name(TIME).value(location.getTime());
+      out.name(LATITUDE).value(location.getLatitude());
+      out.name(LONGITUDE).value(location.getLongitude());
+      if (location.hasAltitude()) {
+        out.name(ALTITUDE).value(location.getAltitude());
+      }
+      if (location.hasSpeed()) {
+        out.name(SPEED).value(location.getSpeed());
+      }
+      if (location.hasBearing()) {
+        out.name(BEARING).value(location.getBearing());
+      }
+      if (location.hasAccuracy()) {
+        out.name(ACCURACY).value(location.getAccuracy());
+      }
+      out.endObject();
+    }
+
+    @Override
+    public Location read(JsonReader reader) throws IOException {
+      if (reader.peek() == JsonToken.NULL) {
+        reader.nextNull();
+        return null;
+      }
+      Location location = new Location((String) null);
+      reader.beginObject();
+      while (reader.hasNext()) {
+        readProperty(reader, location);
+      }
+      reader.endObject();
+      return location;
+    }
+
+    private static void readProperty(JsonReader reader, Location location) throws IOException {
+      String name = reader.nextName();
+      if (reader.peek() == JsonToken.NULL) {
+        reader.nextNull();
+        return;
+      }
+      switch (name) {
+        case PROVIDER:
+          location.setProvider(reader.nextString());
+          break;
+        case TIME:
+          location.setTime(reader.nextLong());
+          break;
+        case LATITUDE:
+          location.setLatitude(reader.nextDouble());
+          break;
+        case LONGITUDE:
+          location.setLongitude(reader.nextDouble());
+          break;
+        case ALTITUDE:
+          location.setAltitude(reader.nextDouble());
+          break;
+        case SPEED:
+          location.setSpeed((float) reader.nextDouble());
+          break;
+        case BEARING:
+          location.setBearing((float) reader.nextDouble());
+          break;
+        case ACCURACY:
+          location.setAccuracy((float) reader.nextDouble());
+          break;
+        default:
+          reader.skipValue();
+          break;
+      }
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.android.telemetry.TelemetryListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import timber.log.Timber;
+
+/**
+ * Keeps the {@link TelemetryEventJournal} of a session until its events are known to be delivered.
+ * <p>
+ * Once the last events of the session have been handed off, {@link #awaitDelivery()} waits for the
+ * response to their upload.  The journal is compacted only if that response, and every response since the
+ * journal was opened, was successful.  Otherwise the journal is closed with its records, which are pushed
+ * again by the next session.  Opening the journal of a new session closes the previous one the same way.
+ * <p>
+ * The telemetry does not acknowledge single events, so a record may be pushed again even though it was
+ * delivered.  The journal limits the replays of each record and its own size, so events which are never
+ * delivered, while offline or opted out, are eventually dropped rather than pushed again on every session.
+ * <p>
+ * Registered as a {@link TelemetryListener}, so the responses arrive on the thread of the HTTP client.
+ */
+class TelemetryJournalDelivery implements TelemetryListener {
+
+  private TelemetryEventJournal journal;
+  private boolean isDeliveryFailed;
+  private boolean isAwaitingDelivery;
+
+  /**
+   * Opens the journal of a new session, closing the journal of the previous session with its records.
+   *
+   * @param file       of the journal
+   * @param batchSize  number of appended records which are committed together
+   * @param maxSize    maximum size of the journal in bytes
+   * @param maxReplays number of times a record is pushed again before it is dropped
+   * @return the records left in the journal by previous sessions, oldest first
+   * @throws IOException if the journal cannot be read or written
+   */
+  @NonNull
+  synchronized List<byte[]> open(@NonNull File file, int batchSize, long maxSize,
+                                 int maxReplays) throws IOException {
+    close();
+    isDeliveryFailed = false;
+    isAwaitingDelivery = false;
+    journal = TelemetryEventJournal.open(file, batchSize, maxSize, maxReplays);
+    return journal.recoveredRecords();
+  }
+
+  /**
+   * Appends the record of an event handed off to the telemetry, if a journal is open.
+   *
+   * @param record bytes of the event
+   * @throws IOException if the batch of records was committed and could not be written
+   */
+  synchronized void append(@NonNull byte[] record) throws IOException {
+    if (journal != null) {
+      journal.append(record);
+    }
+  }
+
+  /**
+   * Writes the records appended since the last commit, if a journal is open.
+   *
+   * @throws IOException if the records could not be written
+   */
+  synchronized void commit() throws IOException {
+    if (journal != null && journal.pendingRecords() > 0) {
+      journal.commit();
+    }
+  }
+
+  /**
+   * Commits the appended records and waits for the response to the upload of the last events.
+   *
+   * @throws IOException if the records could not be written
+   */
+  synchronized void awaitDelivery() throws IOException {
+    if (journal != null) {
+      isAwaitingDelivery = true;
+      journal.commit();
+    }
+  }
+
+  @Override
+  public void onHttpResponse(boolean successful, int code) {
+    onDelivery(successful);
+  }
+
+  @Override
+  public void onHttpFailure(String message) {
+    onDelivery(false);
+  }
+
+  private synchronized void onDelivery(boolean isDelivered) {
+    isDeliveryFailed |= !isDelivered;
+    if (!isAwaitingDelivery) {
+      return;
+    }
+    try {
+      if (!isDeliveryFailed) {
+        journal.compact();
+      }
+    } catch (IOException exception) {
+      Timber.e(exception, "Unable to compact the navigation telemetry journal");
+    }
+    close();
+  }
+
+  private void close() {
+    if (journal == null) {
+      return;
+    }
+    try {
+      journal.close();
+    } catch (IOException exception) {
+      Timber.e(exception, "Unable to close the navigation telemetry journal");
+    }
+    journal = null;
+    isAwaitingDelivery = false;
+  }
+}
@@ -0,0 +1,218 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+/**
+ * Keeps the most recent locations for the telemetry events, as columns of primitive values rather than
+ * {@link Location} objects.
+ * <p>
+ * Recording a location copies its values into arrays allocated with the buffer.  The locations
+ * before and after an event are found by binary search over the location times, and returned as views
+ * of the buffer which create a {@link Location} only when an element is read, which happens when the
+ * event is serialized.  If the location times are not in order, every location is compared with the
+ * event time instead, and the matching locations are copied.
+ * <p>
+ * A view is valid until the locations it covers are evicted from the buffer; reading it after that throws
+ * a {@link ConcurrentModificationException}.  The {@link Location#getExtras()} of a location are not kept.
+ */
+final class TelemetryLocationBuffer {
+
+  private static final byte HAS_ALTITUDE = 1;
+  private static final byte HAS_SPEED = 1 << 1;
+  private static final byte HAS_BEARING = 1 << 2;
+  private static final byte HAS_ACCURACY = 1 << 3;
+
+  private final int capacity;
+  private final String[] providers;
+  private final long[] times;
+  private final long[] elapsedRealtimeNanos;
+  private final double[] latitudes;
+  private final double[] longitudes;
+  private final double[] altitudes;
+  private final float[] speeds;
+  private final float[] bearings;
+  private final float[] accuracies;
+  private final byte[] flags;
+  private long recordedCount;
+  private int size;
+  private int outOfOrderCount;
+
+  TelemetryLocationBuffer(int capacity) {
+    this.capacity = capacity;
+    providers = new String[capacity];
+    times = new long[capacity];
+    elapsedRealtimeNanos = new long[capacity];
+    latitudes = new double[capacity];
+    longitudes = new double[capacity];
+    altitudes = new double[capacity];
+    speeds = new float[capacity];
+    bearings = new float[capacity];
+    accuracies = new float[capacity];
+    flags = new byte[capacity];
+  }
+
+  void record(@NonNull Location location) {
+    if (size == capacity) {
+      evictOldest();
+    }
+    if (size > 0 && location.getTime() < times[slotOf(size - 1)]) {
+      outOfOrderCount++;
+    }
+    int slot = (int) (recordedCount % capacity);
+    providers[slot] = location.getProvider();
+    times[slot] = location.getTime();
+    elapsedRealtimeNanos[slot] = location.getElapsedRealtimeNanos();
+    latitudes[slot] = location.getLatitude();
+    longitudes[slot] = location.getLongitude();
+    altitudes[slot] = location.getAltitude();
+    speeds[slot] = location.getSpeed();
+    bearings[slot] = location.getBearing();
+    accuracies[slot] = location.getAccuracy();
+    flags[slot] = findFlags(location);
+    recordedCount++;
+    size++;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * @param time in milliseconds since the epoch
+   * @return the locations recorded with a time before the given time, oldest first
+   */
+  @NonNull
+  List<Location> locationsBefore(long time) {
+    if (outOfOrderCount > 0) {
+      return copyLocations(time, true);
+    }
+    return new LocationView(recordedCount - size, findFirstIndexAtOrAfter(time));
+  }
+
+  /**
+   * @param time in milliseconds since the epoch
+   * @return the locations recorded with a time after the given time, oldest first
+   */
+  @NonNull
+  List<Location> locationsAfter(long time) {
+    if (outOfOrderCount > 0) {
+      return copyLocations(time, false);
+    }
+    int firstIndex = time == Long.MAX_VALUE ? size : findFirstIndexAtOrAfter(time + 1);
+    return new LocationView(recordedCount - size + firstIndex, size - firstIndex);
+  }
+
+  private void evictOldest() {
+    int oldestSlot = slotOf(0);
+    if (size > 1 && times[slotOf(1)] < times[oldestSlot]) {
+      outOfOrderCount--;
+    }
+    providers[oldestSlot] = null;
+    size--;
+  }
+
+  private int slotOf(int index) {
+    return (int) ((recordedCount - size + index) % capacity);
+  }
+
+  private int findFirstIndexAtOrAfter(long time) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (times[slotOf(middle)] < time) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private List<Location> copyLocations(long time, boolean isBefore) {
+    List<Location> locations = new ArrayList<>();
+    for (int index = 0; index < size; index++) {
+      long locationTime = times[slotOf(index)];
+      if (isBefore ? locationTime < time : locationTime > time) {
+        locations.add(createLocation(slotOf(index)));
+      }
+    }
+    return locations;
+  }
+
+  private Location createLocation(int slot) {
+    Location location = new Location(providers[slot]);
+    location.setTime(times[slot]);
+    location.setElapsedRealtimeNanos(elapsedRealtimeNanos[slot]);
+    location.setLatitude(latitudes[slot]);
+    location.setLongitude(longitudes[slot]);
+    if ((flags[slot] & HAS_ALTITUDE) != 0) {
+      location.setAltitude(altitudes[slot]);
+    }
+    if ((flags[slot] & HAS_SPEED) != 0) {
+      location.setSpeed(speeds[slot]);
+    }
+    if ((flags[slot] & HAS_BEARING) != 0) {
+      location.setBearing(bearings[slot]);
+    }
+    if ((flags[slot] & HAS_ACCURACY) != 0) {
+      location.setAccuracy(accuracies[slot]);
+    }
+    return location;
+  }
+
+  private static byte findFlags(Location location) {
+    byte locationFlags = 0;
+    if (location.hasAltitude()) {
+      locationFlags |= HAS_ALTITUDE;
+    }
+    if (location.hasSpeed()) {
+      locationFlags |= HAS_SPEED;
+    }
+    if (location.hasBearing()) {
+      locationFlags |= HAS_BEARING;
+    }
+    if (location.hasAccuracy()) {
+      locationFlags |= HAS_ACCURACY;
+    }
+    return locationFlags;
+  }
+
+  /**
+   * A range of consecutive recorded locations, identified by the number of locations recorded before
+   * its first location.
+   */
+  private class LocationView extends AbstractList<Location> {
+
+    private final long firstRecord;
+    private final int viewSize;
+
+    LocationView(long firstRecord, int viewSize) {
+      this.firstRecord = firstRecord;
+      this.viewSize = viewSize;
+    }
+
+    @Override
+    public Location get(int index) {
+      if (index < 0 || index >= viewSize) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", size: " + viewSize);
+      }
+      long record = firstRecord + index;
+      if (record < recordedCount - size) {
+        throw new ConcurrentModificationException("The location has been evicted from the buffer.");
+      }
+      return createLocation((int) (record % capacity));
+    }
+
+    @Override
+    public int size() {
+      return viewSize;
+    }
+  }
+}
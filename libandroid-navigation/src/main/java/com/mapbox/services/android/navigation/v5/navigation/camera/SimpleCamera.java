@@ -1,9 +1,8 @@
 package com.mapbox.services.android.navigation.v5.navigation.camera;
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
-import com.mapbox.core.constants.Constants;
-import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.routeprogress.PackedRouteGeometry;
 import com.mapbox.turf.TurfMeasurement;
 
 import java.util.ArrayList;
@@ -96,7 +95,7 @@ public class SimpleCamera extends Camera {
     if (route == null) {
       return Collections.emptyList();
     }
-    LineString lineString = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
-    return lineString.coordinates();
+    List<Point> routePoints = PackedRouteGeometry.of(route).routePoints();
+    return routePoints == null ? Collections.<Point>emptyList() : routePoints;
   }
 }
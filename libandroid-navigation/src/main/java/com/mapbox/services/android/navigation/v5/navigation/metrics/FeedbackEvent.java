@@ -59,10 +59,23 @@ public class FeedbackEvent implements TelemetryEvent {
   private SessionState feedbackSessionState;
 
   public FeedbackEvent(SessionState sessionState, @FeedbackSource String feedbackSource) {
+    this(sessionState, feedbackSource, TelemetryUtils.obtainUniversalUniqueIdentifier());
+  }
+
+  /**
+   * Creates a feedback event with an identifier generated before the event, so it can be returned
+   * to the caller while the event is created on another thread.
+   *
+   * @param sessionState   of the navigation session when the feedback was given
+   * @param feedbackSource from either reroute or UI
+   * @param eventId        identifying this event
+   * @since 0.20.0
+   */
+  public FeedbackEvent(SessionState sessionState, @FeedbackSource String feedbackSource, String eventId) {
     this.feedbackSessionState = sessionState;
     this.feedbackSource = feedbackSource;
     this.feedbackType = FEEDBACK_TYPE_GENERAL_ISSUE; // Default until updated
-    this.eventId = TelemetryUtils.obtainUniversalUniqueIdentifier();
+    this.eventId = eventId;
     this.screenshot = "";
   }
 
@@ -7,10 +7,8 @@ import android.text.TextUtils;
 import com.google.auto.value.AutoValue;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.RouteLeg;
-import com.mapbox.core.constants.Constants;
-import com.mapbox.geojson.Point;
-import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.services.android.navigation.v5.routeprogress.MetricsRouteProgress;
+import com.mapbox.services.android.navigation.v5.utils.PolylineTranscoder;
 
 import java.util.Date;
 import java.util.List;
@@ -26,9 +24,7 @@ public abstract class SessionState {
       return "";
     }
 
-    List<Point> geometryPositions
-      = PolylineUtils.decode(originalDirectionRoute().geometry(), Constants.PRECISION_6);
-    return PolylineUtils.encode(geometryPositions, Constants.PRECISION_5);
+    return PolylineTranscoder.toPrecision5(originalDirectionRoute());
   }
 
   public int originalDistance() {
@@ -75,9 +71,7 @@ public abstract class SessionState {
       return "";
     }
 
-    List<Point> geometryPositions
-      = PolylineUtils.decode(currentDirectionRoute().geometry(), Constants.PRECISION_6);
-    return PolylineUtils.encode(geometryPositions, Constants.PRECISION_5);
+    return PolylineTranscoder.toPrecision5(currentDirectionRoute());
   }
 
   public abstract int secondsSinceLastReroute();
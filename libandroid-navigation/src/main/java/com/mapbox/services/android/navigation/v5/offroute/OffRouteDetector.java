@@ -1,13 +1,18 @@
 package com.mapbox.services.android.navigation.v5.offroute;
 
 import android.location.Location;
+import android.support.annotation.Nullable;
 
 import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
 import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteSpatialIndex;
+import com.mapbox.services.android.navigation.v5.snap.SnapCursor;
+import com.mapbox.services.android.navigation.v5.utils.IntRingBuffer;
 import com.mapbox.turf.TurfConstants;
 import com.mapbox.turf.TurfMeasurement;
 import com.mapbox.turf.TurfMisc;
@@ -22,7 +27,10 @@ public class OffRouteDetector extends OffRoute {
 
   private Point lastReroutePoint;
   private OffRouteCallback callback;
-  private RingBuffer<Integer> distancesAwayFromManeuver = new RingBuffer<>(3);
+  private IntRingBuffer distancesAwayFromManeuver = new IntRingBuffer(3);
+  private SnapCursor snapCursor = new SnapCursor();
+  private RouteGeometryIndex geometryIndex;
+  private RouteSpatialIndex spatialIndex;
   private static final int TWO_POINTS = 2;
 
   /**
@@ -71,8 +79,7 @@ public class OffRouteDetector extends OffRoute {
       return isMovingAwayFromManeuver(location, routeProgress, distancesAwayFromManeuver, currentPoint);
     }
 
-    LegStep upComingStep = routeProgress.currentLegProgress().upComingStep();
-    if (closeToUpcomingStep(options, callback, currentPoint, upComingStep)) {
+    if (closeToUpcomingStep(options, callback, currentPoint, routeProgress, geometryIndex, spatialIndex)) {
       return false;
     }
 
@@ -95,7 +102,35 @@ public class OffRouteDetector extends OffRoute {
   }
 
   /**
-   * Clears the {@link RingBuffer} used for tracking our recent
+   * Sets the {@link RouteGeometryIndex} of the route being navigated, so the step geometries are read
+   * from the index instead of being decoded from each {@link RouteProgress}.
+   * <p>
+   * The navigation engine hands the index of its current route to the detector before every off-route
+   * check.  Set it to null when checking route progress built for another route.
+   *
+   * @param geometryIndex of the route being navigated, or null to decode the step geometries
+   * @since 0.20.0
+   */
+  public void setRouteGeometryIndex(@Nullable RouteGeometryIndex geometryIndex) {
+    this.geometryIndex = geometryIndex;
+  }
+
+  /**
+   * Sets the {@link RouteSpatialIndex} of the route being navigated, so only the step segments and
+   * intersections near the location are measured.
+   * <p>
+   * The navigation engine hands the index of its current route to the detector before every off-route
+   * check.  Set it to null when checking route progress built for another route.
+   *
+   * @param spatialIndex of the route being navigated, or null to measure every segment of the step
+   * @since 0.20.0
+   */
+  public void setRouteSpatialIndex(@Nullable RouteSpatialIndex spatialIndex) {
+    this.spatialIndex = spatialIndex;
+  }
+
+  /**
+   * Clears the {@link IntRingBuffer} used for tracking our recent
    * distances away from the maneuver that is being driven towards.
    *
    * @since 0.11.0
@@ -134,23 +169,27 @@ public class OffRouteDetector extends OffRoute {
 
   private boolean checkOffRouteRadius(Location location, RouteProgress routeProgress,
                                       MapboxNavigationOptions options, Point currentPoint) {
-    LegStep currentStep = routeProgress.currentLegProgress().currentStep();
-    double distanceFromCurrentStep = userTrueDistanceFromStep(currentPoint, currentStep);
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    LegStep currentStep = legProgress.currentStep();
+    int currentStepIndex = legProgress.stepIndex();
     double offRouteRadius = createOffRouteRadius(location, routeProgress, options, currentPoint);
+    double distanceFromCurrentStep = distanceFromStep(currentPoint, routeProgress, geometryIndex, spatialIndex,
+      currentStep, currentStepIndex, offRouteRadius);
     return distanceFromCurrentStep > offRouteRadius;
   }
 
   private double createOffRouteRadius(Location location, RouteProgress routeProgress,
                                       MapboxNavigationOptions options, Point currentPoint) {
-    double dynamicTolerance = dynamicRerouteDistanceTolerance(currentPoint, routeProgress);
+    double dynamicTolerance = dynamicRerouteDistanceTolerance(currentPoint, routeProgress, spatialIndex);
     double accuracyTolerance = location.getAccuracy() * options.deadReckoningTimeInterval();
     return Math.max(dynamicTolerance, accuracyTolerance);
   }
 
   private boolean isMovingAwayFromManeuver(Location location, RouteProgress routeProgress,
-                                           RingBuffer<Integer> distancesAwayFromManeuver, Point currentPoint) {
+                                           IntRingBuffer distancesAwayFromManeuver, Point currentPoint) {
     List<Point> stepPoints = routeProgress.currentStepPoints();
-    if (movingAwayFromManeuver(routeProgress, distancesAwayFromManeuver, stepPoints, currentPoint)) {
+    if (movingAwayFromManeuver(routeProgress, geometryIndex, distancesAwayFromManeuver, snapCursor, stepPoints,
+      currentPoint)) {
       updateLastReroutePoint(location);
       return true;
     }
@@ -164,22 +203,30 @@ public class OffRouteDetector extends OffRoute {
    * If it is, fire {@link OffRouteCallback#onShouldIncreaseIndex()} to increase the step
    * index in the <tt>NavigationEngine</tt> and return true.
    *
-   * @param options      for maneuver zone radius
-   * @param callback     to increase step index
-   * @param currentPoint for distance from upcoming step
-   * @param upComingStep for distance from current point
+   * @param options       for maneuver zone radius
+   * @param callback      to increase step index
+   * @param currentPoint  for distance from upcoming step
+   * @param routeProgress for the upcoming step
+   * @param geometryIndex of the current route, if available
+   * @param spatialIndex  of the current route, if available
    * @return true if close to upcoming step, false if not
    */
   private static boolean closeToUpcomingStep(MapboxNavigationOptions options, OffRouteCallback callback,
-                                             Point currentPoint, LegStep upComingStep) {
+                                             Point currentPoint, RouteProgress routeProgress,
+                                             @Nullable RouteGeometryIndex geometryIndex,
+                                             @Nullable RouteSpatialIndex spatialIndex) {
     if (callback == null) {
       return false;
     }
 
     boolean isCloseToUpcomingStep;
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    LegStep upComingStep = legProgress.upComingStep();
     if (upComingStep != null) {
-      double distanceFromUpcomingStep = userTrueDistanceFromStep(currentPoint, upComingStep);
+      int upcomingStepIndex = legProgress.stepIndex() + 1;
       double maneuverZoneRadius = options.maneuverZoneRadius();
+      double distanceFromUpcomingStep = distanceFromStep(currentPoint, routeProgress, geometryIndex, spatialIndex,
+        upComingStep, upcomingStepIndex, maneuverZoneRadius);
       isCloseToUpcomingStep = distanceFromUpcomingStep < maneuverZoneRadius;
       if (isCloseToUpcomingStep) {
         // Callback to the NavigationEngine to increase the step index
@@ -190,6 +237,28 @@ public class OffRouteDetector extends OffRoute {
     return false;
   }
 
+  /**
+   * Only compares the distance with the given radius, so uses the segments within that radius from the
+   * {@link RouteSpatialIndex} if available.  Otherwise uses the already decoded step coordinates from the
+   * {@link RouteGeometryIndex}, or falls back to decoding the {@link LegStep} geometry.
+   */
+  private static double distanceFromStep(Point currentPoint, RouteProgress routeProgress,
+                                         @Nullable RouteGeometryIndex geometryIndex,
+                                         @Nullable RouteSpatialIndex spatialIndex, LegStep step, int stepIndex,
+                                         double radius) {
+    int legIndex = routeProgress.legIndex();
+    if (spatialIndex != null && spatialIndex.hasStepGeometry(legIndex, stepIndex)) {
+      return spatialIndex.distanceFromStep(currentPoint, legIndex, stepIndex, radius);
+    }
+    if (geometryIndex != null) {
+      List<Point> stepPoints = geometryIndex.stepPoints(legIndex, stepIndex);
+      if (stepPoints != null) {
+        return userTrueDistanceFromStep(currentPoint, stepPoints);
+      }
+    }
+    return userTrueDistanceFromStep(currentPoint, step);
+  }
+
   /**
    * Checks to see if the current point is moving away from the maneuver.
    * <p>
@@ -200,13 +269,17 @@ public class OffRouteDetector extends OffRoute {
    * can be considered that the user is no longer going in the right direction.
    *
    * @param routeProgress             for the upcoming step maneuver
+   * @param geometryIndex             of the current route, if available
    * @param distancesAwayFromManeuver current stack of distances away
+   * @param snapCursor                to snap the current point to the step
    * @param stepPoints                current step points being traveled along
    * @param currentPoint              to determine if moving away or not
    * @return true if moving away from maneuver, false if not
    */
   private static boolean movingAwayFromManeuver(RouteProgress routeProgress,
-                                                RingBuffer<Integer> distancesAwayFromManeuver,
+                                                @Nullable RouteGeometryIndex geometryIndex,
+                                                IntRingBuffer distancesAwayFromManeuver,
+                                                SnapCursor snapCursor,
                                                 List<Point> stepPoints,
                                                 Point currentPoint) {
     boolean invalidUpcomingStep = routeProgress.currentLegProgress().upComingStep() == null;
@@ -215,20 +288,19 @@ public class OffRouteDetector extends OffRoute {
       return false;
     }
 
-    LineString stepLineString = LineString.fromLngLats(stepPoints);
     Point maneuverPoint = stepPoints.get(stepPoints.size() - 1);
-    Point userPointOnStep = (Point) TurfMisc.nearestPointOnLine(currentPoint, stepPoints).geometry();
+    Point userPointOnStep = snapCursor.snap(currentPoint, stepPoints);
 
-    if (userPointOnStep == null || maneuverPoint.equals(userPointOnStep)) {
+    if (snapCursor.snappedPoint() == null || maneuverPoint.equals(userPointOnStep)) {
       return false;
     }
 
-    LineString remainingStepLineString = TurfMisc.lineSlice(userPointOnStep, maneuverPoint, stepLineString);
-    double userDistanceToManeuver = TurfMeasurement.length(remainingStepLineString, TurfConstants.UNIT_METERS);
+    double userDistanceToManeuver = userDistanceToManeuver(routeProgress, geometryIndex, snapCursor, stepPoints,
+      userPointOnStep, maneuverPoint);
 
     boolean hasDistances = !distancesAwayFromManeuver.isEmpty();
-    boolean validOffRouteDistanceTraveled = hasDistances && distancesAwayFromManeuver.peekLast()
-      - distancesAwayFromManeuver.peekFirst() < MINIMUM_BACKUP_DISTANCE_FOR_OFF_ROUTE;
+    boolean validOffRouteDistanceTraveled = hasDistances && distancesAwayFromManeuver.oldest()
+      - distancesAwayFromManeuver.newest() < MINIMUM_BACKUP_DISTANCE_FOR_OFF_ROUTE;
     boolean exceedsManeuverDistancesThreshold = validOffRouteDistanceTraveled
       && distancesAwayFromManeuver.size() >= 3;
 
@@ -238,7 +310,7 @@ public class OffRouteDetector extends OffRoute {
     }
     if (distancesAwayFromManeuver.isEmpty()) {
       distancesAwayFromManeuver.push((int) userDistanceToManeuver);
-    } else if (userDistanceToManeuver > distancesAwayFromManeuver.peek()) {
+    } else if (userDistanceToManeuver > distancesAwayFromManeuver.newest()) {
       distancesAwayFromManeuver.push((int) userDistanceToManeuver);
     } else {
       // If we get a descending distance, reset the counter
@@ -247,6 +319,26 @@ public class OffRouteDetector extends OffRoute {
     return false;
   }
 
+  /**
+   * Uses the segment matched by the {@link SnapCursor} and the cumulative step distances from the
+   * {@link RouteGeometryIndex} if available, otherwise measures a slice of the step geometry.
+   */
+  private static double userDistanceToManeuver(RouteProgress routeProgress,
+                                               @Nullable RouteGeometryIndex geometryIndex, SnapCursor snapCursor,
+                                               List<Point> stepPoints, Point userPointOnStep, Point maneuverPoint) {
+    if (geometryIndex != null) {
+      int legIndex = routeProgress.legIndex();
+      int stepIndex = routeProgress.currentLegProgress().stepIndex();
+      double stepLength = geometryIndex.stepGeometryLength(legIndex, stepIndex);
+      double distanceAlongStep = geometryIndex.distanceAlongStep(legIndex, stepIndex,
+        snapCursor.segmentIndex(), snapCursor.segmentFraction());
+      return stepLength - distanceAlongStep;
+    }
+    LineString stepLineString = LineString.fromLngLats(stepPoints);
+    LineString remainingStepLineString = TurfMisc.lineSlice(userPointOnStep, maneuverPoint, stepLineString);
+    return TurfMeasurement.length(remainingStepLineString, TurfConstants.UNIT_METERS);
+  }
+
   private void updateLastReroutePoint(Location location) {
     lastReroutePoint = Point.fromLngLat(location.getLongitude(), location.getLatitude());
   }
@@ -0,0 +1,362 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.utils.PolylineDecoder;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+
+/**
+ * The decoded geometry of a {@link DirectionsRoute}, its {@link DirectionsRoute#geometry()} and the
+ * {@link LegStep#geometry()} of every step, stored as two arrays of latitudes and longitudes rather than
+ * as {@link Point} objects.
+ * <p>
+ * The coordinates of every step are stored one step after another, followed by the coordinates of the
+ * route geometry.  Offset tables give the first coordinate of each step and the first step of each leg.
+ * A coordinate takes 16 bytes, instead of the 100 or so bytes of a {@link Point} with its coordinate
+ * list.
+ * <p>
+ * {@link #of(DirectionsRoute)} returns the geometry of the last few routes seen, so the navigation engine
+ * and the map share one decoding of each route.  The cache only references the routes and their geometry
+ * weakly, so a geometry no longer used by the navigation engine or the map can be collected.
+ * <p>
+ * The geometry is immutable and safe to share across threads.  {@link #stepPoints(int, int)} and
+ * {@link #routePoints()} adapt it to the APIs taking points; their lists create a {@link Point} each time
+ * an element is read, so they suit reading the coordinates once.
+ * {@link RouteGeometryIndex#stepPoints(int, int)} keeps the points of the steps read on every location
+ * update.
+ *
+ * @since 0.20.0
+ */
+public final class PackedRouteGeometry {
+
+  private static final int NOT_FOUND = -1;
+  private static final int CACHE_SIZE = 4;
+
+  private static final Object CACHE_LOCK = new Object();
+  @SuppressWarnings("unchecked")
+  private static final WeakReference<DirectionsRoute>[] CACHED_ROUTES = new WeakReference[CACHE_SIZE];
+  @SuppressWarnings("unchecked")
+  private static final WeakReference<PackedRouteGeometry>[] CACHED_GEOMETRIES = new WeakReference[CACHE_SIZE];
+  private static int nextCacheSlot;
+
+  private final double[] latitudes;
+  private final double[] longitudes;
+  private final int[] legFirstSteps;
+  private final int[] stepFirstCoordinates;
+  private final boolean[] stepHasGeometry;
+  private final boolean hasRouteGeometry;
+
+  private PackedRouteGeometry(double[] latitudes, double[] longitudes, int[] legFirstSteps,
+                              int[] stepFirstCoordinates, boolean[] stepHasGeometry, boolean hasRouteGeometry) {
+    this.latitudes = latitudes;
+    this.longitudes = longitudes;
+    this.legFirstSteps = legFirstSteps;
+    this.stepFirstCoordinates = stepFirstCoordinates;
+    this.stepHasGeometry = stepHasGeometry;
+    this.hasRouteGeometry = hasRouteGeometry;
+  }
+
+  /**
+   * Returns the geometry of the route, decoding it only the first time a route instance is seen.
+   *
+   * @param route to decode
+   * @return the shared geometry of the route
+   * @since 0.20.0
+   */
+  @NonNull
+  public static PackedRouteGeometry of(@NonNull DirectionsRoute route) {
+    synchronized (CACHE_LOCK) {
+      PackedRouteGeometry cachedGeometry = findCachedGeometry(route);
+      if (cachedGeometry != null) {
+        return cachedGeometry;
+      }
+    }
+    PackedRouteGeometry geometry = create(route);
+    synchronized (CACHE_LOCK) {
+      CACHED_ROUTES[nextCacheSlot] = new WeakReference<>(route);
+      CACHED_GEOMETRIES[nextCacheSlot] = new WeakReference<>(geometry);
+      nextCacheSlot = (nextCacheSlot + 1) % CACHE_SIZE;
+    }
+    return geometry;
+  }
+
+  /**
+   * Decodes the route geometry and the geometry of every step, with a precision of 6.
+   *
+   * @param route to decode
+   * @return a new geometry for the route
+   * @since 0.20.0
+   */
+  @NonNull
+  public static PackedRouteGeometry create(@NonNull DirectionsRoute route) {
+    List<RouteLeg> legs = route.legs();
+    int legCount = legs == null ? 0 : legs.size();
+    int[] legFirstSteps = new int[legCount + 1];
+    for (int legIndex = 0; legIndex < legCount; legIndex++) {
+      List<LegStep> steps = legs.get(legIndex).steps();
+      legFirstSteps[legIndex + 1] = legFirstSteps[legIndex] + (steps == null ? 0 : steps.size());
+    }
+    int totalSteps = legFirstSteps[legCount];
+    int[] stepFirstCoordinates = new int[totalSteps + 1];
+    boolean[] stepHasGeometry = new boolean[totalSteps];
+    int step = 0;
+    for (int legIndex = 0; legIndex < legCount; legIndex++) {
+      List<LegStep> steps = legs.get(legIndex).steps();
+      int stepCount = legFirstSteps[legIndex + 1] - legFirstSteps[legIndex];
+      for (int stepIndex = 0; stepIndex < stepCount; stepIndex++) {
+        String geometry = findStepGeometry(steps.get(stepIndex));
+        stepHasGeometry[step] = geometry != null;
+        int coordinateCount = geometry == null ? 0 : PolylineDecoder.vertexCount(geometry);
+        stepFirstCoordinates[step + 1] = stepFirstCoordinates[step] + coordinateCount;
+        step++;
+      }
+    }
+    String routeGeometry = route.geometry();
+    int routeFirstCoordinate = stepFirstCoordinates[totalSteps];
+    int routeCoordinateCount = routeGeometry == null ? 0 : PolylineDecoder.vertexCount(routeGeometry);
+    double[] latitudes = new double[routeFirstCoordinate + routeCoordinateCount];
+    double[] longitudes = new double[latitudes.length];
+    step = 0;
+    for (int legIndex = 0; legIndex < legCount; legIndex++) {
+      List<LegStep> steps = legs.get(legIndex).steps();
+      int stepCount = legFirstSteps[legIndex + 1] - legFirstSteps[legIndex];
+      for (int stepIndex = 0; stepIndex < stepCount; stepIndex++) {
+        if (stepHasGeometry[step]) {
+          decode(steps.get(stepIndex).geometry(), stepFirstCoordinates[step], latitudes, longitudes);
+        }
+        step++;
+      }
+    }
+    if (routeGeometry != null) {
+      decode(routeGeometry, routeFirstCoordinate, latitudes, longitudes);
+    }
+    return new PackedRouteGeometry(latitudes, longitudes, legFirstSteps, stepFirstCoordinates, stepHasGeometry,
+      routeGeometry != null);
+  }
+
+  /**
+   * @return number of legs of the route
+   * @since 0.20.0
+   */
+  public int legCount() {
+    return legFirstSteps.length - 1;
+  }
+
+  /**
+   * @param legIndex of the leg
+   * @return number of steps of the leg, or zero if the leg index is invalid
+   * @since 0.20.0
+   */
+  public int stepCount(int legIndex) {
+    if (legIndex < 0 || legIndex >= legCount()) {
+      return 0;
+    }
+    return legFirstSteps[legIndex + 1] - legFirstSteps[legIndex];
+  }
+
+  /**
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg
+   * @return true if the step exists and has a geometry, which may have no coordinates
+   * @since 0.20.0
+   */
+  public boolean hasStepGeometry(int legIndex, int stepIndex) {
+    return findStep(legIndex, stepIndex) != NOT_FOUND;
+  }
+
+  /**
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg
+   * @return index of the first coordinate of the step, for {@link #latitude(int)} and
+   * {@link #longitude(int)}, or -1 if the step does not have a geometry
+   * @since 0.20.0
+   */
+  public int stepFirstCoordinate(int legIndex, int stepIndex) {
+    int step = findStep(legIndex, stepIndex);
+    return step == NOT_FOUND ? NOT_FOUND : stepFirstCoordinates[step];
+  }
+
+  /**
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg
+   * @return number of coordinates of the step, or zero if the step does not have a geometry
+   * @since 0.20.0
+   */
+  public int stepCoordinateCount(int legIndex, int stepIndex) {
+    int step = findStep(legIndex, stepIndex);
+    return step == NOT_FOUND ? 0 : stepFirstCoordinates[step + 1] - stepFirstCoordinates[step];
+  }
+
+  /**
+   * @return true if the route has a {@link DirectionsRoute#geometry()}
+   * @since 0.20.0
+   */
+  public boolean hasRouteGeometry() {
+    return hasRouteGeometry;
+  }
+
+  /**
+   * @return index of the first coordinate of the route geometry, for {@link #latitude(int)} and
+   * {@link #longitude(int)}
+   * @since 0.20.0
+   */
+  public int routeFirstCoordinate() {
+    return stepFirstCoordinates[stepFirstCoordinates.length - 1];
+  }
+
+  /**
+   * @return number of coordinates of the route geometry
+   * @since 0.20.0
+   */
+  public int routeCoordinateCount() {
+    return latitudes.length - routeFirstCoordinate();
+  }
+
+  /**
+   * @return number of coordinates of the steps and of the route geometry
+   * @since 0.20.0
+   */
+  public int coordinateCount() {
+    return latitudes.length;
+  }
+
+  /**
+   * @param coordinateIndex of a coordinate of a step or of the route geometry
+   * @return latitude of the coordinate
+   * @since 0.20.0
+   */
+  public double latitude(int coordinateIndex) {
+    return latitudes[coordinateIndex];
+  }
+
+  /**
+   * @param coordinateIndex of a coordinate of a step or of the route geometry
+   * @return longitude of the coordinate
+   * @since 0.20.0
+   */
+  public double longitude(int coordinateIndex) {
+    return longitudes[coordinateIndex];
+  }
+
+  /**
+   * Adapts the coordinates of the step to the APIs taking a list of points.
+   *
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg
+   * @return an unmodifiable list of the step coordinates, or null if the step does not have a geometry
+   * @since 0.20.0
+   */
+  @Nullable
+  public List<Point> stepPoints(int legIndex, int stepIndex) {
+    int step = findStep(legIndex, stepIndex);
+    if (step == NOT_FOUND) {
+      return null;
+    }
+    return new PointList(stepFirstCoordinates[step], stepFirstCoordinates[step + 1] - stepFirstCoordinates[step]);
+  }
+
+  /**
+   * Adapts the coordinates of the route geometry to the APIs taking a list of points.
+   *
+   * @return an unmodifiable list of the route coordinates, or null if the route does not have a geometry
+   * @since 0.20.0
+   */
+  @Nullable
+  public List<Point> routePoints() {
+    if (!hasRouteGeometry) {
+      return null;
+    }
+    return new PointList(routeFirstCoordinate(), routeCoordinateCount());
+  }
+
+  /**
+   * Adapts the route geometry to the APIs taking a {@link LineString}.
+   *
+   * @return a line string backed by the route coordinates, or null if the route does not have a geometry
+   * @since 0.20.0
+   */
+  @Nullable
+  public LineString routeLineString() {
+    List<Point> routePoints = routePoints();
+    return routePoints == null ? null : LineString.fromLngLats(routePoints);
+  }
+
+  private int findStep(int legIndex, int stepIndex) {
+    if (stepIndex < 0 || stepIndex >= stepCount(legIndex)) {
+      return NOT_FOUND;
+    }
+    int step = legFirstSteps[legIndex] + stepIndex;
+    return stepHasGeometry[step] ? step : NOT_FOUND;
+  }
+
+  /**
+   * Finds the geometry of the route, and clears the slots whose route or geometry has been collected.
+   */
+  @Nullable
+  private static PackedRouteGeometry findCachedGeometry(DirectionsRoute route) {
+    PackedRouteGeometry cachedGeometry = null;
+    for (int slot = 0; slot < CACHE_SIZE; slot++) {
+      if (CACHED_ROUTES[slot] == null) {
+        continue;
+      }
+      DirectionsRoute cachedRoute = CACHED_ROUTES[slot].get();
+      PackedRouteGeometry slotGeometry = CACHED_GEOMETRIES[slot].get();
+      if (cachedRoute == null || slotGeometry == null) {
+        CACHED_ROUTES[slot] = null;
+        CACHED_GEOMETRIES[slot] = null;
+      } else if (cachedRoute == route) {
+        cachedGeometry = slotGeometry;
+      }
+    }
+    return cachedGeometry;
+  }
+
+  @Nullable
+  private static String findStepGeometry(@Nullable LegStep step) {
+    return step == null ? null : step.geometry();
+  }
+
+  private static void decode(String geometry, int firstCoordinate, double[] latitudes, double[] longitudes) {
+    PolylineDecoder.decode(geometry, PRECISION_6, 0, Integer.MAX_VALUE, latitudes, longitudes, firstCoordinate);
+  }
+
+  /**
+   * A range of coordinates, creating a {@link Point} for each element read.
+   */
+  private class PointList extends AbstractList<Point> implements RandomAccess {
+
+    private final int firstCoordinate;
+    private final int size;
+
+    PointList(int firstCoordinate, int size) {
+      this.firstCoordinate = firstCoordinate;
+      this.size = size;
+    }
+
+    @Override
+    public Point get(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+      }
+      int coordinate = firstCoordinate + index;
+      return Point.fromLngLat(longitudes[coordinate], latitudes[coordinate]);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
@@ -0,0 +1,393 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds the decoded geometry of every {@link LegStep} in a {@link DirectionsRoute}, along with the
+ * cumulative distance (in meters) to each coordinate of the step.
+ * <p>
+ * The coordinates are those of the {@link PackedRouteGeometry} shared by every user of the route.
+ * {@link #stepPoints(int, int)} and {@link #stepLineString(int, int)} create the points of a step the
+ * first time the step is read, then return the same list and line string on every call, so the steps
+ * traveled along do not create points on each location update.
+ * <p>
+ * The remaining {@link LegStep#distance()} of each leg and {@link RouteLeg#distance()} of the route
+ * are also stored as suffix sums, so leg and route distance remaining are a single lookup.
+ * <p>
+ * The index is built once when a new route is received by the navigation engine, so that each
+ * location update can read step geometry without decoding {@link LegStep#geometry()} again.
+ * The index is immutable and safe to share across threads.
+ *
+ * @since 0.20.0
+ */
+public final class RouteGeometryIndex {
+
+  private static final int FIRST_COORDINATE = 0;
+  private static final int TWO_POINTS = 2;
+  private static final double ZERO_METERS = 0d;
+  private static final double BEARING_REVERSE = 180d;
+
+  private final PackedRouteGeometry geometry;
+  private final StepGeometry[][] legs;
+  private final double[][] stepDistancesRemaining;
+  private final double[] legDistancesRemaining;
+
+  private RouteGeometryIndex(PackedRouteGeometry geometry, StepGeometry[][] legs,
+                             double[][] stepDistancesRemaining, double[] legDistancesRemaining) {
+    this.geometry = geometry;
+    this.legs = legs;
+    this.stepDistancesRemaining = stepDistancesRemaining;
+    this.legDistancesRemaining = legDistancesRemaining;
+  }
+
+  /**
+   * Decodes every step of the given route and measures the cumulative distance along each step.
+   *
+   * @param route to be indexed
+   * @return a new index for the given route
+   * @since 0.20.0
+   */
+  @NonNull
+  public static RouteGeometryIndex create(@NonNull DirectionsRoute route) {
+    PackedRouteGeometry geometry = PackedRouteGeometry.of(route);
+    List<RouteLeg> routeLegs = route.legs();
+    int legCount = routeLegs == null ? 0 : routeLegs.size();
+    StepGeometry[][] legs = new StepGeometry[legCount][];
+    double[][] stepDistancesRemaining = new double[legCount][];
+    double[] legDistancesRemaining = new double[legCount + 1];
+    for (int legIndex = legCount - 1; legIndex >= 0; legIndex--) {
+      RouteLeg leg = routeLegs.get(legIndex);
+      List<LegStep> steps = leg.steps();
+      int stepCount = steps == null ? 0 : steps.size();
+      legs[legIndex] = new StepGeometry[stepCount];
+      stepDistancesRemaining[legIndex] = new double[stepCount + 1];
+      for (int stepIndex = stepCount - 1; stepIndex >= 0; stepIndex--) {
+        LegStep step = steps.get(stepIndex);
+        legs[legIndex][stepIndex] = StepGeometry.create(geometry, legIndex, stepIndex);
+        double stepDistance = step == null ? ZERO_METERS : step.distance();
+        stepDistancesRemaining[legIndex][stepIndex] = stepDistancesRemaining[legIndex][stepIndex + 1] + stepDistance;
+      }
+      double legDistance = leg.distance() == null ? ZERO_METERS : leg.distance();
+      legDistancesRemaining[legIndex] = legDistancesRemaining[legIndex + 1] + legDistance;
+    }
+    return new RouteGeometryIndex(geometry, legs, stepDistancesRemaining, legDistancesRemaining);
+  }
+
+  /**
+   * The coordinates of the indexed route, shared with the other users of the route.
+   *
+   * @return packed geometry of the route
+   * @since 0.20.0
+   */
+  @NonNull
+  public PackedRouteGeometry geometry() {
+    return geometry;
+  }
+
+  /**
+   * Number of legs in the indexed route.
+   *
+   * @return leg count
+   * @since 0.20.0
+   */
+  public int legCount() {
+    return legs.length;
+  }
+
+  /**
+   * Number of steps in the given leg, or zero if the leg index is invalid.
+   *
+   * @param legIndex of the leg
+   * @return step count
+   * @since 0.20.0
+   */
+  public int stepCount(int legIndex) {
+    if (legIndex < 0 || legIndex >= legs.length) {
+      return 0;
+    }
+    return legs[legIndex].length;
+  }
+
+  /**
+   * Provides the decoded coordinates of the given step.
+   * <p>
+   * Returns null if the indices are invalid or the step does not have a geometry.
+   *
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg
+   * @return list of step coordinates
+   * @since 0.20.0
+   */
+  @Nullable
+  public List<Point> stepPoints(int legIndex, int stepIndex) {
+    StepGeometry step = findStep(legIndex, stepIndex);
+    return step == null ? null : step.lineString().coordinates();
+  }
+
+  /**
+   * Provides the given step as a {@link LineString}, backed by the decoded step coordinates.
+   * <p>
+   * Returns null if the indices are invalid or the step does not have a geometry.
+   *
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg
+   * @return line string of the step
+   * @since 0.20.0
+   */
+  @Nullable
+  public LineString stepLineString(int legIndex, int stepIndex) {
+    StepGeometry step = findStep(legIndex, stepIndex);
+    return step == null ? null : step.lineString();
+  }
+
+  /**
+   * Length in meters of the decoded step geometry.
+   *
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg
+   * @return length of the step geometry, zero if invalid
+   * @since 0.20.0
+   */
+  public double stepGeometryLength(int legIndex, int stepIndex) {
+    StepGeometry step = findStep(legIndex, stepIndex);
+    if (step == null || step.distances.length == 0) {
+      return ZERO_METERS;
+    }
+    return step.distances[step.distances.length - 1];
+  }
+
+  /**
+   * Distance in meters along the step geometry from its first coordinate to the coordinate
+   * at the given index.
+   *
+   * @param legIndex        of the leg
+   * @param stepIndex       of the step in the leg
+   * @param coordinateIndex of the coordinate in the step geometry
+   * @return distance along the step, zero if invalid
+   * @since 0.20.0
+   */
+  public double distanceAlongStep(int legIndex, int stepIndex, int coordinateIndex) {
+    StepGeometry step = findStep(legIndex, stepIndex);
+    if (step == null || coordinateIndex < 0 || coordinateIndex >= step.distances.length) {
+      return ZERO_METERS;
+    }
+    return step.distances[coordinateIndex];
+  }
+
+  /**
+   * Distance in meters along the step geometry to a position on one of its segments, such as
+   * the segment index and fraction matched by a {@link com.mapbox.services.android.navigation.v5.snap.SnapCursor}.
+   *
+   * @param legIndex        of the leg
+   * @param stepIndex       of the step in the leg
+   * @param segmentIndex    of the segment (starting coordinate) in the step geometry
+   * @param segmentFraction between 0 and 1 along the segment
+   * @return distance along the step, zero if invalid
+   * @since 0.20.0
+   */
+  public double distanceAlongStep(int legIndex, int stepIndex, int segmentIndex, double segmentFraction) {
+    double segmentStart = distanceAlongStep(legIndex, stepIndex, segmentIndex);
+    StepGeometry step = findStep(legIndex, stepIndex);
+    if (step == null || segmentIndex < 0 || segmentIndex + 1 >= step.distances.length) {
+      return segmentStart;
+    }
+    double segmentLength = step.distances[segmentIndex + 1] - segmentStart;
+    return segmentStart + (segmentLength * segmentFraction);
+  }
+
+  /**
+   * Distance in meters from a position on the step geometry to the end of the step, such as
+   * the segment index and fraction matched by a {@link com.mapbox.services.android.navigation.v5.snap.SnapCursor}.
+   *
+   * @param legIndex        of the leg
+   * @param stepIndex       of the step in the leg
+   * @param segmentIndex    of the segment (starting coordinate) in the step geometry
+   * @param segmentFraction between 0 and 1 along the segment
+   * @return distance remaining in the step, zero if invalid
+   * @since 0.20.0
+   */
+  public double stepDistanceRemaining(int legIndex, int stepIndex, int segmentIndex, double segmentFraction) {
+    double stepLength = stepGeometryLength(legIndex, stepIndex);
+    double distanceAlongStep = distanceAlongStep(legIndex, stepIndex, segmentIndex, segmentFraction);
+    return Math.max(ZERO_METERS, stepLength - distanceAlongStep);
+  }
+
+  /**
+   * Adds the {@link LegStep#distance()} of every step after the given step index to
+   * the step distance remaining.
+   *
+   * @param legIndex              of the leg
+   * @param stepIndex             of the current step in the leg
+   * @param stepDistanceRemaining in the current step
+   * @return distance remaining in the leg
+   * @since 0.20.0
+   */
+  public double legDistanceRemaining(int legIndex, int stepIndex, double stepDistanceRemaining) {
+    if (legIndex < 0 || legIndex >= stepDistancesRemaining.length) {
+      return stepDistanceRemaining;
+    }
+    double[] distancesRemaining = stepDistancesRemaining[legIndex];
+    int upcomingStepIndex = stepIndex + 1;
+    if (upcomingStepIndex < 0 || upcomingStepIndex >= distancesRemaining.length) {
+      return stepDistanceRemaining;
+    }
+    return stepDistanceRemaining + distancesRemaining[upcomingStepIndex];
+  }
+
+  /**
+   * Adds the {@link RouteLeg#distance()} of every leg after the given leg index to
+   * the leg distance remaining.
+   *
+   * @param legIndex             of the current leg
+   * @param legDistanceRemaining in the current leg
+   * @return distance remaining in the route
+   * @since 0.20.0
+   */
+  public double routeDistanceRemaining(int legIndex, double legDistanceRemaining) {
+    int upcomingLegIndex = legIndex + 1;
+    if (upcomingLegIndex < 0 || upcomingLegIndex >= legDistancesRemaining.length) {
+      return legDistanceRemaining;
+    }
+    return legDistanceRemaining + legDistancesRemaining[upcomingLegIndex];
+  }
+
+  /**
+   * Finds the {@link Point} at the given distance along the step geometry.
+   * <p>
+   * Produces the same result as {@link TurfMeasurement#along(LineString, double, String)} but
+   * finds the containing segment with a binary search over the cumulative distances.
+   *
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg
+   * @param distance  in meters along the step
+   * @return the point along the step, or null if the step does not have a geometry
+   * @since 0.20.0
+   */
+  @Nullable
+  public Point pointAlongStep(int legIndex, int stepIndex, double distance) {
+    StepGeometry step = findStep(legIndex, stepIndex);
+    if (step == null || step.distances.length == 0) {
+      return null;
+    }
+    List<Point> points = step.lineString().coordinates();
+    double[] distances = step.distances;
+    int lastIndex = points.size() - 1;
+    if (distance >= distances[lastIndex]) {
+      return points.get(lastIndex);
+    }
+    int index = findFirstIndexAtOrBeyond(distances, distance);
+    double overshot = distance - distances[index];
+    if (index == FIRST_COORDINATE || overshot == ZERO_METERS) {
+      return points.get(index);
+    }
+    Point coordinate = points.get(index);
+    double direction = TurfMeasurement.bearing(coordinate, points.get(index - 1)) - BEARING_REVERSE;
+    return TurfMeasurement.destination(coordinate, overshot, direction, TurfConstants.UNIT_METERS);
+  }
+
+  @Nullable
+  private StepGeometry findStep(int legIndex, int stepIndex) {
+    if (legIndex < 0 || legIndex >= legs.length) {
+      return null;
+    }
+    StepGeometry[] steps = legs[legIndex];
+    if (stepIndex < 0 || stepIndex >= steps.length) {
+      return null;
+    }
+    return steps[stepIndex];
+  }
+
+  private static int findFirstIndexAtOrBeyond(double[] distances, double distance) {
+    int low = 0;
+    int high = distances.length - 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (distances[middle] >= distance) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
+  private static class StepGeometry {
+
+    private final PackedRouteGeometry geometry;
+    private final int firstCoordinate;
+    private final double[] distances;
+    private volatile LineString lineString;
+
+    private StepGeometry(PackedRouteGeometry geometry, int firstCoordinate, double[] distances) {
+      this.geometry = geometry;
+      this.firstCoordinate = firstCoordinate;
+      this.distances = distances;
+    }
+
+    @Nullable
+    static StepGeometry create(PackedRouteGeometry geometry, int legIndex, int stepIndex) {
+      int firstCoordinate = geometry.stepFirstCoordinate(legIndex, stepIndex);
+      if (firstCoordinate < FIRST_COORDINATE) {
+        return null;
+      }
+      int coordinateCount = geometry.stepCoordinateCount(legIndex, stepIndex);
+      return new StepGeometry(geometry, firstCoordinate,
+        measureCumulativeDistances(geometry, firstCoordinate, coordinateCount));
+    }
+
+    /**
+     * Creates the points of the step on the first call, and returns the same line string afterwards.
+     */
+    LineString lineString() {
+      LineString stepLineString = lineString;
+      if (stepLineString == null) {
+        synchronized (this) {
+          stepLineString = lineString;
+          if (stepLineString == null) {
+            stepLineString = LineString.fromLngLats(createPoints());
+            lineString = stepLineString;
+          }
+        }
+      }
+      return stepLineString;
+    }
+
+    private List<Point> createPoints() {
+      List<Point> points = new ArrayList<>(distances.length);
+      for (int coordinate = firstCoordinate; coordinate < firstCoordinate + distances.length; coordinate++) {
+        points.add(Point.fromLngLat(geometry.longitude(coordinate), geometry.latitude(coordinate)));
+      }
+      return Collections.unmodifiableList(points);
+    }
+
+    private static double[] measureCumulativeDistances(PackedRouteGeometry geometry, int firstCoordinate,
+                                                       int coordinateCount) {
+      double[] distances = new double[coordinateCount];
+      if (coordinateCount < TWO_POINTS) {
+        return distances;
+      }
+      Point previous = Point.fromLngLat(geometry.longitude(firstCoordinate), geometry.latitude(firstCoordinate));
+      for (int i = 1; i < coordinateCount; i++) {
+        int coordinate = firstCoordinate + i;
+        Point current = Point.fromLngLat(geometry.longitude(coordinate), geometry.latitude(coordinate));
+        double segmentDistance = TurfMeasurement.distance(previous, current, TurfConstants.UNIT_METERS);
+        distances[i] = distances[i - 1] + segmentDistance;
+        previous = current;
+      }
+      return distances;
+    }
+  }
+}
@@ -0,0 +1,573 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.geojson.Point;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A uniform grid over the segments and {@link StepIntersection}s of every {@link LegStep} in a
+ * {@link DirectionsRoute}, answering nearest-segment and nearest-intersection queries around a location
+ * without measuring every coordinate of a step.
+ * <p>
+ * Each segment is added to the grid cells it passes through and each intersection to the cell containing
+ * it.  The cells are sorted and stored with their contents in flat arrays, so a query only looks at the
+ * cells within its search radius and does not allocate.  Distances to segments are measured to the
+ * closest point on the segment, found in a plane local to the queried location, with the same haversine
+ * formula and earth radius as {@link TurfMeasurement#distance(Point, Point, String)}.  Routes crossing
+ * the antimeridian are indexed as one wide grid, so their queries are correct but slower.
+ * <p>
+ * The index is built once when a new route is received by the navigation engine, alongside the
+ * {@link RouteGeometryIndex}.  The index is immutable and safe to share across threads.
+ *
+ * @since 0.20.0
+ */
+public final class RouteSpatialIndex {
+
+  private static final double CELL_SIZE_METERS = 100d;
+  private static final double EARTH_RADIUS_METERS = 6373000d;
+  private static final double METERS_PER_DEGREE = Math.toRadians(EARTH_RADIUS_METERS);
+  private static final double MAXIMUM_LATITUDE = 89.9d;
+  private static final long MAXIMUM_CELLS = 1L << 32;
+  private static final int ITEM_BITS = 31;
+  private static final long ITEM_MASK = (1L << ITEM_BITS) - 1;
+  private static final int SAMPLES_PER_CELL = 2;
+  private static final int INITIAL_ENTRIES = 64;
+  private static final int NO_ITEM = -1;
+  private static final long NO_CELLS = -1L;
+  private static final long RANGE_MASK = 0xffffffffL;
+
+  private final int[] legStepOffsets;
+  private final int[] stepPointStarts;
+  private final double[] latitudes;
+  private final double[] longitudes;
+  private final int[] segmentEnds;
+  private final int[] stepIntersectionStarts;
+  private final Point[] intersections;
+  private final double minimumLatitude;
+  private final double minimumLongitude;
+  private final double cellLatitude;
+  private final double cellLongitude;
+  private final long rows;
+  private final long columns;
+  private final Grid segmentGrid;
+  private final Grid intersectionGrid;
+
+  private RouteSpatialIndex(Builder builder) {
+    legStepOffsets = builder.legStepOffsets;
+    stepPointStarts = builder.stepPointStarts;
+    latitudes = builder.latitudes;
+    longitudes = builder.longitudes;
+    segmentEnds = builder.segmentEnds;
+    stepIntersectionStarts = builder.stepIntersectionStarts;
+    intersections = builder.intersections;
+    minimumLatitude = builder.minimumLatitude;
+    minimumLongitude = builder.minimumLongitude;
+    cellLatitude = builder.cellLatitude;
+    cellLongitude = builder.cellLongitude;
+    rows = builder.rows;
+    columns = builder.columns;
+    segmentGrid = builder.buildSegmentGrid();
+    intersectionGrid = builder.buildIntersectionGrid();
+  }
+
+  /**
+   * Adds the decoded geometry of every step in the geometry index, and the intersections of every
+   * step of the route, to a new grid.
+   *
+   * @param route         with the step intersections
+   * @param geometryIndex of the same route, with the decoded step geometries
+   * @return a new index for the given route
+   * @since 0.20.0
+   */
+  @NonNull
+  public static RouteSpatialIndex create(@NonNull DirectionsRoute route, @NonNull RouteGeometryIndex geometryIndex) {
+    return new RouteSpatialIndex(new Builder(route, geometryIndex));
+  }
+
+  /**
+   * Checks whether the given step has at least one coordinate in the index.
+   *
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg
+   * @return true if the step geometry is indexed, false if the indices are invalid or it has no geometry
+   * @since 0.20.0
+   */
+  public boolean hasStepGeometry(int legIndex, int stepIndex) {
+    int step = findStep(legIndex, stepIndex);
+    return step != NO_ITEM && stepPointStarts[step] < stepPointStarts[step + 1];
+  }
+
+  /**
+   * Measures the distance in meters from the point to the closest point of the given step geometry,
+   * as long as it is within the search radius.
+   * <p>
+   * Only the grid cells within the search radius are looked at, so the distance returned is exact if
+   * it is not greater than the search radius; otherwise it is either some larger distance or
+   * {@link Double#POSITIVE_INFINITY}.
+   *
+   * @param point        to measure from
+   * @param legIndex     of the leg
+   * @param stepIndex    of the step in the leg
+   * @param searchRadius in meters around the point
+   * @return distance from the step, greater than the search radius if the step is further away
+   * @since 0.20.0
+   */
+  public double distanceFromStep(@NonNull Point point, int legIndex, int stepIndex, double searchRadius) {
+    int step = findStep(legIndex, stepIndex);
+    if (step == NO_ITEM) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return findDistanceFromSegments(point, stepPointStarts[step], stepPointStarts[step + 1], searchRadius);
+  }
+
+  /**
+   * Measures the distance in meters from the point to the closest point of any step in the route,
+   * as long as it is within the search radius.  This can be used to check whether a location is still
+   * along the route when it is away from the current step.
+   * <p>
+   * The distance returned is exact if it is not greater than the search radius, like
+   * {@link #distanceFromStep(Point, int, int, double)}.
+   *
+   * @param point        to measure from
+   * @param searchRadius in meters around the point
+   * @return distance from the route, greater than the search radius if the route is further away
+   * @since 0.20.0
+   */
+  public double distanceFromRoute(@NonNull Point point, double searchRadius) {
+    return findDistanceFromSegments(point, 0, latitudes.length, searchRadius);
+  }
+
+  /**
+   * Finds the closest intersection to the point within the search radius, among the intersections of
+   * the given step and the first intersection of the upcoming step.  These are the same intersections
+   * as the {@link RouteStepProgress#intersections()} of the step.
+   *
+   * @param point        to measure from
+   * @param legIndex     of the leg
+   * @param stepIndex    of the step in the leg
+   * @param searchRadius in meters around the point
+   * @return the closest intersection location, or null if there is none within the search radius
+   * @since 0.20.0
+   */
+  @Nullable
+  public Point nearestIntersection(@NonNull Point point, int legIndex, int stepIndex, double searchRadius) {
+    int step = findStep(legIndex, stepIndex);
+    if (step == NO_ITEM || !(searchRadius >= 0)) {
+      return null;
+    }
+    int start = stepIntersectionStarts[step];
+    int end = stepIntersectionStarts[step + 1];
+    int upcomingIntersection = NO_ITEM;
+    // Like the route processor, the last step of a leg is never an upcoming step
+    boolean hasUpcomingStep = step + 2 < legStepOffsets[legIndex + 1];
+    if (hasUpcomingStep && end < stepIntersectionStarts[step + 2]) {
+      upcomingIntersection = end;
+    }
+    double latitude = point.latitude();
+    double longitude = point.longitude();
+    long rowRange = findRows(latitude, searchRadius);
+    long columnRange = findColumns(latitude, longitude, searchRadius);
+    if (rowRange == NO_CELLS || columnRange == NO_CELLS) {
+      return null;
+    }
+    int nearest = NO_ITEM;
+    double nearestDistance = searchRadius;
+    for (long row = rangeFirst(rowRange); row <= rangeLast(rowRange); row++) {
+      long firstCell = row * columns + rangeFirst(columnRange);
+      long lastCell = row * columns + rangeLast(columnRange);
+      for (int cell = intersectionGrid.findFirstCell(firstCell); intersectionGrid.isCellAtOrBefore(cell, lastCell);
+           cell++) {
+        for (int entry = intersectionGrid.cellStarts[cell]; entry < intersectionGrid.cellStarts[cell + 1]; entry++) {
+          int item = intersectionGrid.items[entry];
+          if ((item < start || item >= end) && item != upcomingIntersection) {
+            continue;
+          }
+          double distance = TurfMeasurement.distance(point, intersections[item], TurfConstants.UNIT_METERS);
+          if (distance < nearestDistance || (distance == nearestDistance && (nearest == NO_ITEM || item < nearest))) {
+            nearest = item;
+            nearestDistance = distance;
+          }
+        }
+      }
+    }
+    return nearest == NO_ITEM ? null : intersections[nearest];
+  }
+
+  private int findStep(int legIndex, int stepIndex) {
+    if (legIndex < 0 || legIndex >= legStepOffsets.length - 1) {
+      return NO_ITEM;
+    }
+    int step = legStepOffsets[legIndex] + stepIndex;
+    if (stepIndex < 0 || step >= legStepOffsets[legIndex + 1]) {
+      return NO_ITEM;
+    }
+    return step;
+  }
+
+  /**
+   * Looks at the segments starting at a coordinate between the start and end, in the cells within
+   * the search radius.
+   */
+  private double findDistanceFromSegments(Point point, int start, int end, double searchRadius) {
+    if (start >= end || !(searchRadius >= 0)) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double latitude = point.latitude();
+    double longitude = point.longitude();
+    long rowRange = findRows(latitude, searchRadius);
+    long columnRange = findColumns(latitude, longitude, searchRadius);
+    if (rowRange == NO_CELLS || columnRange == NO_CELLS) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double longitudeScale = Math.cos(Math.toRadians(latitude));
+    double nearestDistance = Double.POSITIVE_INFINITY;
+    for (long row = rangeFirst(rowRange); row <= rangeLast(rowRange); row++) {
+      long firstCell = row * columns + rangeFirst(columnRange);
+      long lastCell = row * columns + rangeLast(columnRange);
+      for (int cell = segmentGrid.findFirstCell(firstCell); segmentGrid.isCellAtOrBefore(cell, lastCell); cell++) {
+        for (int entry = segmentGrid.cellStarts[cell]; entry < segmentGrid.cellStarts[cell + 1]; entry++) {
+          int item = segmentGrid.items[entry];
+          if (item >= start && item < end) {
+            double distance = distanceFromSegment(latitude, longitude, longitudeScale, item, segmentEnds[item]);
+            nearestDistance = Math.min(nearestDistance, distance);
+          }
+        }
+      }
+    }
+    return nearestDistance;
+  }
+
+  /**
+   * Finds the closest point of the segment in a plane where a degree of longitude is scaled to its
+   * length at the latitude of the point, then measures the distance to it along the earth surface.
+   */
+  private double distanceFromSegment(double latitude, double longitude, double longitudeScale,
+                                     int segmentStart, int segmentEnd) {
+    double startLatitude = latitudes[segmentStart];
+    double startLongitude = longitudes[segmentStart];
+    double segmentLatitude = latitudes[segmentEnd] - startLatitude;
+    double segmentLongitude = longitudes[segmentEnd] - startLongitude;
+    double segmentX = segmentLongitude * longitudeScale;
+    double pointX = (longitude - startLongitude) * longitudeScale;
+    double pointY = latitude - startLatitude;
+    double lengthSquared = segmentX * segmentX + segmentLatitude * segmentLatitude;
+    double fraction = 0d;
+    if (lengthSquared > 0d) {
+      fraction = Math.max(0d, Math.min(1d, (pointX * segmentX + pointY * segmentLatitude) / lengthSquared));
+    }
+    return haversineDistance(latitude, longitude,
+      startLatitude + segmentLatitude * fraction, startLongitude + segmentLongitude * fraction);
+  }
+
+  /**
+   * Finds the first and last row of the cells within the search radius of the point, widened by one
+   * cell on either side, packed into one value, or {@link #NO_CELLS} if none are in the grid.
+   */
+  private long findRows(double latitude, double searchRadius) {
+    double latitudeRadius = searchRadius / METERS_PER_DEGREE;
+    long firstRow = cellOf(latitude - latitudeRadius, minimumLatitude, cellLatitude) - 1;
+    long lastRow = cellOf(latitude + latitudeRadius, minimumLatitude, cellLatitude) + 1;
+    return packRange(firstRow, lastRow, rows);
+  }
+
+  /**
+   * Finds the first and last column of the cells within the search radius of the point, widened by one
+   * cell on either side, packed into one value, or {@link #NO_CELLS} if none are in the grid.
+   */
+  private long findColumns(double latitude, double longitude, double searchRadius) {
+    double latitudeRadius = searchRadius / METERS_PER_DEGREE;
+    double furthestLatitude = Math.min(MAXIMUM_LATITUDE, Math.abs(latitude) + latitudeRadius);
+    double longitudeRadius = latitudeRadius / Math.cos(Math.toRadians(furthestLatitude));
+    long firstColumn = cellOf(longitude - longitudeRadius, minimumLongitude, cellLongitude) - 1;
+    long lastColumn = cellOf(longitude + longitudeRadius, minimumLongitude, cellLongitude) + 1;
+    return packRange(firstColumn, lastColumn, columns);
+  }
+
+  private static long packRange(long first, long last, long cellCount) {
+    long clampedFirst = Math.max(0, first);
+    long clampedLast = Math.min(cellCount - 1, last);
+    if (clampedFirst > clampedLast) {
+      return NO_CELLS;
+    }
+    return (clampedFirst << Integer.SIZE) | clampedLast;
+  }
+
+  private static long rangeFirst(long range) {
+    return range >>> Integer.SIZE;
+  }
+
+  private static long rangeLast(long range) {
+    return range & RANGE_MASK;
+  }
+
+  private static long cellOf(double coordinate, double minimum, double cellSize) {
+    double cell = Math.floor((coordinate - minimum) / cellSize);
+    if (cell < Integer.MIN_VALUE) {
+      return Integer.MIN_VALUE;
+    }
+    return cell > Integer.MAX_VALUE ? Integer.MAX_VALUE : (long) cell;
+  }
+
+  private static double haversineDistance(double latitude, double longitude,
+                                          double otherLatitude, double otherLongitude) {
+    double latitudeDelta = Math.toRadians(otherLatitude - latitude);
+    double longitudeDelta = Math.toRadians(otherLongitude - longitude);
+    double sinLatitude = Math.sin(latitudeDelta / 2);
+    double sinLongitude = Math.sin(longitudeDelta / 2);
+    double value = sinLatitude * sinLatitude
+      + sinLongitude * sinLongitude * Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(otherLatitude));
+    return 2 * Math.atan2(Math.sqrt(value), Math.sqrt(1 - value)) * EARTH_RADIUS_METERS;
+  }
+
+  /**
+   * The cells of the grid holding at least one item, sorted, with the items of each cell.
+   */
+  private static class Grid {
+
+    private final long[] cellKeys;
+    private final int[] cellStarts;
+    private final int[] items;
+
+    /**
+     * @param entries each holding a cell key in the upper bits and an item in the lower bits
+     */
+    Grid(long[] entries, int entryCount) {
+      Arrays.sort(entries, 0, entryCount);
+      int cellCount = 0;
+      for (int i = 0; i < entryCount; i++) {
+        if (i == 0 || (entries[i] >>> ITEM_BITS) != (entries[i - 1] >>> ITEM_BITS)) {
+          cellCount++;
+        }
+      }
+      cellKeys = new long[cellCount];
+      cellStarts = new int[cellCount + 1];
+      items = new int[entryCount];
+      int cell = -1;
+      for (int i = 0; i < entryCount; i++) {
+        long cellKey = entries[i] >>> ITEM_BITS;
+        if (cell < 0 || cellKey != cellKeys[cell]) {
+          cell++;
+          cellKeys[cell] = cellKey;
+          cellStarts[cell] = i;
+        }
+        items[i] = (int) (entries[i] & ITEM_MASK);
+      }
+      cellStarts[cellCount] = entryCount;
+    }
+
+    int findFirstCell(long cellKey) {
+      int low = 0;
+      int high = cellKeys.length;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (cellKeys[middle] < cellKey) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    boolean isCellAtOrBefore(int cell, long cellKey) {
+      return cell < cellKeys.length && cellKeys[cell] <= cellKey;
+    }
+  }
+
+  /**
+   * Flattens the route into coordinates and intersections numbered across every step, and lays out
+   * the grid around them.
+   */
+  private static class Builder {
+
+    private int[] legStepOffsets;
+    private int[] stepPointStarts;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int[] segmentEnds;
+    private int[] stepIntersectionStarts;
+    private Point[] intersections;
+    private double minimumLatitude = Double.POSITIVE_INFINITY;
+    private double minimumLongitude = Double.POSITIVE_INFINITY;
+    private double cellLatitude;
+    private double cellLongitude;
+    private long rows;
+    private long columns;
+
+    Builder(DirectionsRoute route, RouteGeometryIndex geometryIndex) {
+      List<RouteLeg> legs = route.legs() == null ? Collections.<RouteLeg>emptyList() : route.legs();
+      legStepOffsets = new int[legs.size() + 1];
+      PackedRouteGeometry geometry = geometryIndex.geometry();
+      List<Integer> stepFirstCoordinates = new ArrayList<>();
+      List<Integer> stepCoordinateCounts = new ArrayList<>();
+      List<List<StepIntersection>> stepIntersections = new ArrayList<>();
+      for (int legIndex = 0; legIndex < legs.size(); legIndex++) {
+        legStepOffsets[legIndex] = stepIntersections.size();
+        List<LegStep> steps = legs.get(legIndex).steps();
+        int stepCount = steps == null ? 0 : steps.size();
+        for (int stepIndex = 0; stepIndex < stepCount; stepIndex++) {
+          stepFirstCoordinates.add(geometry.stepFirstCoordinate(legIndex, stepIndex));
+          stepCoordinateCounts.add(geometry.stepCoordinateCount(legIndex, stepIndex));
+          LegStep step = steps.get(stepIndex);
+          List<StepIntersection> intersections = step == null ? null : step.intersections();
+          stepIntersections.add(intersections == null ? Collections.<StepIntersection>emptyList() : intersections);
+        }
+      }
+      legStepOffsets[legs.size()] = stepIntersections.size();
+      flattenPoints(geometry, stepFirstCoordinates, stepCoordinateCounts);
+      flattenIntersections(stepIntersections);
+      layOutGrid();
+    }
+
+    /**
+     * Copies the coordinates of every step from the packed route geometry, without creating points.
+     */
+    private void flattenPoints(PackedRouteGeometry geometry, List<Integer> stepFirstCoordinates,
+                               List<Integer> stepCoordinateCounts) {
+      int stepCount = stepCoordinateCounts.size();
+      stepPointStarts = new int[stepCount + 1];
+      int pointCount = 0;
+      for (int coordinateCount : stepCoordinateCounts) {
+        pointCount += coordinateCount;
+      }
+      latitudes = new double[pointCount];
+      longitudes = new double[pointCount];
+      segmentEnds = new int[pointCount];
+      int position = 0;
+      for (int step = 0; step < stepCount; step++) {
+        stepPointStarts[step] = position;
+        int firstCoordinate = stepFirstCoordinates.get(step);
+        int coordinateCount = stepCoordinateCounts.get(step);
+        for (int i = 0; i < coordinateCount; i++) {
+          latitudes[position] = geometry.latitude(firstCoordinate + i);
+          longitudes[position] = geometry.longitude(firstCoordinate + i);
+          segmentEnds[position] = findSegmentEnd(position, i, coordinateCount);
+          position++;
+        }
+      }
+      stepPointStarts[stepCount] = position;
+    }
+
+    /**
+     * A step with a single coordinate is indexed as a segment of no length, while the last coordinate
+     * of a longer step does not start a segment.
+     */
+    private static int findSegmentEnd(int position, int index, int pointCount) {
+      if (index + 1 < pointCount) {
+        return position + 1;
+      }
+      return pointCount == 1 ? position : NO_ITEM;
+    }
+
+    private void flattenIntersections(List<List<StepIntersection>> stepIntersections) {
+      stepIntersectionStarts = new int[stepIntersections.size() + 1];
+      List<Point> locations = new ArrayList<>();
+      for (int step = 0; step < stepIntersections.size(); step++) {
+        stepIntersectionStarts[step] = locations.size();
+        for (StepIntersection intersection : stepIntersections.get(step)) {
+          locations.add(intersection.location());
+        }
+      }
+      stepIntersectionStarts[stepIntersections.size()] = locations.size();
+      intersections = locations.toArray(new Point[locations.size()]);
+    }
+
+    private void layOutGrid() {
+      double maximumLatitude = Double.NEGATIVE_INFINITY;
+      double maximumLongitude = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < latitudes.length; i++) {
+        minimumLatitude = Math.min(minimumLatitude, latitudes[i]);
+        maximumLatitude = Math.max(maximumLatitude, latitudes[i]);
+        minimumLongitude = Math.min(minimumLongitude, longitudes[i]);
+        maximumLongitude = Math.max(maximumLongitude, longitudes[i]);
+      }
+      for (Point intersection : intersections) {
+        minimumLatitude = Math.min(minimumLatitude, intersection.latitude());
+        maximumLatitude = Math.max(maximumLatitude, intersection.latitude());
+        minimumLongitude = Math.min(minimumLongitude, intersection.longitude());
+        maximumLongitude = Math.max(maximumLongitude, intersection.longitude());
+      }
+      if (minimumLatitude > maximumLatitude) {
+        minimumLatitude = 0d;
+        maximumLatitude = 0d;
+        minimumLongitude = 0d;
+        maximumLongitude = 0d;
+      }
+      double middleLatitude = Math.min(MAXIMUM_LATITUDE, Math.abs((minimumLatitude + maximumLatitude) / 2));
+      cellLatitude = CELL_SIZE_METERS / METERS_PER_DEGREE;
+      cellLongitude = cellLatitude / Math.cos(Math.toRadians(middleLatitude));
+      countCells(maximumLatitude - minimumLatitude, maximumLongitude - minimumLongitude);
+      // Cell keys must fit in the upper bits of a grid entry
+      while (rows * columns > MAXIMUM_CELLS) {
+        cellLatitude *= 2;
+        cellLongitude *= 2;
+        countCells(maximumLatitude - minimumLatitude, maximumLongitude - minimumLongitude);
+      }
+    }
+
+    private void countCells(double latitudeSpan, double longitudeSpan) {
+      rows = (long) Math.floor(latitudeSpan / cellLatitude) + 1;
+      columns = (long) Math.floor(longitudeSpan / cellLongitude) + 1;
+    }
+
+    private Grid buildSegmentGrid() {
+      long[] entries = new long[Math.max(INITIAL_ENTRIES, latitudes.length * 2)];
+      int entryCount = 0;
+      for (int item = 0; item < latitudes.length; item++) {
+        int end = segmentEnds[item];
+        if (end == NO_ITEM) {
+          continue;
+        }
+        double startRow = (latitudes[item] - minimumLatitude) / cellLatitude;
+        double startColumn = (longitudes[item] - minimumLongitude) / cellLongitude;
+        double rowSpan = (latitudes[end] - minimumLatitude) / cellLatitude - startRow;
+        double columnSpan = (longitudes[end] - minimumLongitude) / cellLongitude - startColumn;
+        // Samples no more than half a cell apart, so queries widened by a cell find every segment
+        int samples = (int) Math.ceil(Math.max(Math.abs(rowSpan), Math.abs(columnSpan)) * SAMPLES_PER_CELL);
+        long previousCell = NO_ITEM;
+        for (int sample = 0; sample <= samples; sample++) {
+          double fraction = samples == 0 ? 0d : (double) sample / samples;
+          long row = clamp((long) Math.floor(startRow + rowSpan * fraction), rows);
+          long column = clamp((long) Math.floor(startColumn + columnSpan * fraction), columns);
+          long cell = row * columns + column;
+          if (cell != previousCell) {
+            if (entryCount == entries.length) {
+              entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            entries[entryCount++] = (cell << ITEM_BITS) | item;
+            previousCell = cell;
+          }
+        }
+      }
+      return new Grid(entries, entryCount);
+    }
+
+    private Grid buildIntersectionGrid() {
+      long[] entries = new long[intersections.length];
+      for (int item = 0; item < intersections.length; item++) {
+        long row = clamp((long) Math.floor((intersections[item].latitude() - minimumLatitude) / cellLatitude), rows);
+        long column = clamp(
+          (long) Math.floor((intersections[item].longitude() - minimumLongitude) / cellLongitude), columns
+        );
+        entries[item] = ((row * columns + column) << ITEM_BITS) | item;
+      }
+      return new Grid(entries, entries.length);
+    }
+
+    private static long clamp(long cell, long cellCount) {
+      return Math.max(0, Math.min(cellCount - 1, cell));
+    }
+  }
+}
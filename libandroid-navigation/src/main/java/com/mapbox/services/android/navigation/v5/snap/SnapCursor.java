@@ -0,0 +1,205 @@
+package com.mapbox.services.android.navigation.v5.snap;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Point;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+import com.mapbox.turf.TurfMisc;
+
+import java.util.List;
+
+/**
+ * Stateful helper used to snap consecutive locations to the same list of step coordinates.
+ * <p>
+ * Rather than scanning every segment of the step with {@link TurfMisc#nearestPointOnLine(Point, List)}
+ * on each update, the cursor remembers the last matched segment and only searches a bounded window
+ * around it (a few segments backward, more segments forward).  A full scan of the step is only done
+ * when there is no previous match, the step coordinates have changed, or the window match cannot
+ * be trusted (the match is clamped to the edge of the window or too far from the location).
+ * <p>
+ * The matched segment index and the fraction along that segment are exposed so the distance along
+ * the step can be calculated without slicing the step geometry.
+ * <p>
+ * This class is not thread-safe; each caller should hold its own instance.
+ *
+ * @since 0.20.0
+ */
+public class SnapCursor {
+
+  private static final int DEFAULT_BACKWARD_SEGMENTS = 2;
+  private static final int DEFAULT_FORWARD_SEGMENTS = 20;
+  private static final double MAXIMUM_WINDOW_MATCH_DISTANCE = 50d;
+  private static final String INDEX_PROPERTY = "index";
+  private static final int TWO_POINTS = 2;
+  private static final int FIRST_SEGMENT = 0;
+
+  private final int backwardSegments;
+  private final int forwardSegments;
+  private List<Point> stepPoints;
+  private Point snappedPoint;
+  private int segmentIndex = FIRST_SEGMENT;
+  private double segmentFraction;
+  private boolean hasMatch;
+
+  public SnapCursor() {
+    this(DEFAULT_BACKWARD_SEGMENTS, DEFAULT_FORWARD_SEGMENTS);
+  }
+
+  /**
+   * Creates a cursor with a custom search window.
+   *
+   * @param backwardSegments number of segments behind the last match to search
+   * @param forwardSegments  number of segments ahead of the last match to search
+   * @since 0.20.0
+   */
+  public SnapCursor(int backwardSegments, int forwardSegments) {
+    this.backwardSegments = Math.max(0, backwardSegments);
+    this.forwardSegments = Math.max(0, forwardSegments);
+  }
+
+  /**
+   * Snaps the given point to the closest position along the step coordinates.
+   * <p>
+   * If the step coordinates are a different list than the previous call, the cursor is reset to
+   * the beginning of the new step.  If there are less than two coordinates, the given point is
+   * returned as-is.
+   *
+   * @param point      to be snapped
+   * @param stepPoints coordinates of the step being traveled along
+   * @return the snapped point along the step
+   * @since 0.20.0
+   */
+  @NonNull
+  public Point snap(@NonNull Point point, @NonNull List<Point> stepPoints) {
+    if (stepPoints != this.stepPoints) {
+      reset();
+      this.stepPoints = stepPoints;
+    }
+    if (stepPoints.size() < TWO_POINTS) {
+      updateMatch(point, FIRST_SEGMENT, 0d);
+      return point;
+    }
+    int lastSegment = stepPoints.size() - TWO_POINTS;
+    if (hasMatch && snapWithinWindow(point, stepPoints, lastSegment)) {
+      return snappedPoint;
+    }
+    Feature feature = TurfMisc.nearestPointOnLine(point, stepPoints);
+    if (feature.geometry() == null) {
+      reset();
+      return point;
+    }
+    updateMatch(stepPoints, feature, FIRST_SEGMENT, lastSegment);
+    return snappedPoint;
+  }
+
+  /**
+   * Index of the step segment (starting coordinate) the last point was snapped to.
+   *
+   * @return matched segment index
+   * @since 0.20.0
+   */
+  public int segmentIndex() {
+    return segmentIndex;
+  }
+
+  /**
+   * Fraction, between 0 and 1, along the matched segment of the last snapped point.
+   *
+   * @return fraction along the matched segment
+   * @since 0.20.0
+   */
+  public double segmentFraction() {
+    return segmentFraction;
+  }
+
+  /**
+   * The step coordinates the last point was snapped to, or null if the cursor was reset.
+   *
+   * @return step coordinates of the last match
+   * @since 0.20.0
+   */
+  @Nullable
+  public List<Point> stepPoints() {
+    return stepPoints;
+  }
+
+  /**
+   * The last snapped point, or null if nothing has been snapped since the cursor was reset.
+   *
+   * @return last snapped point
+   * @since 0.20.0
+   */
+  @Nullable
+  public Point snappedPoint() {
+    return snappedPoint;
+  }
+
+  /**
+   * Clears the last match, so the next snap will scan the full step.
+   *
+   * @since 0.20.0
+   */
+  public void reset() {
+    stepPoints = null;
+    snappedPoint = null;
+    segmentIndex = FIRST_SEGMENT;
+    segmentFraction = 0d;
+    hasMatch = false;
+  }
+
+  private boolean snapWithinWindow(Point point, List<Point> stepPoints, int lastSegment) {
+    int windowStart = Math.max(FIRST_SEGMENT, segmentIndex - backwardSegments);
+    int windowEnd = Math.min(lastSegment, segmentIndex + forwardSegments);
+    if (windowStart == FIRST_SEGMENT && windowEnd == lastSegment) {
+      return false;
+    }
+    List<Point> window = stepPoints.subList(windowStart, windowEnd + TWO_POINTS);
+    Feature feature = TurfMisc.nearestPointOnLine(point, window);
+    Point windowPoint = (Point) feature.geometry();
+    if (!isValidWindowMatch(point, windowPoint, stepPoints, windowStart, windowEnd, lastSegment)) {
+      return false;
+    }
+    updateMatch(stepPoints, feature, windowStart, lastSegment);
+    return true;
+  }
+
+  private static boolean isValidWindowMatch(Point point, Point windowPoint, List<Point> stepPoints,
+                                            int windowStart, int windowEnd, int lastSegment) {
+    if (windowPoint == null) {
+      return false;
+    }
+    boolean clampedToWindowStart = windowStart > FIRST_SEGMENT && windowPoint.equals(stepPoints.get(windowStart));
+    boolean clampedToWindowEnd = windowEnd < lastSegment && windowPoint.equals(stepPoints.get(windowEnd + 1));
+    if (clampedToWindowStart || clampedToWindowEnd) {
+      return false;
+    }
+    double distance = TurfMeasurement.distance(point, windowPoint, TurfConstants.UNIT_METERS);
+    return distance <= MAXIMUM_WINDOW_MATCH_DISTANCE;
+  }
+
+  private void updateMatch(List<Point> stepPoints, Feature feature, int offset, int lastSegment) {
+    Point point = (Point) feature.geometry();
+    Number index = feature.getNumberProperty(INDEX_PROPERTY);
+    int matchedSegment = offset + (index == null ? FIRST_SEGMENT : index.intValue());
+    matchedSegment = Math.max(FIRST_SEGMENT, Math.min(lastSegment, matchedSegment));
+    Point segmentStart = stepPoints.get(matchedSegment);
+    Point segmentEnd = stepPoints.get(matchedSegment + 1);
+    double segmentLength = TurfMeasurement.distance(segmentStart, segmentEnd, TurfConstants.UNIT_METERS);
+    double fraction = 0d;
+    if (segmentLength > 0) {
+      double distanceIntoSegment = TurfMeasurement.distance(segmentStart, point, TurfConstants.UNIT_METERS);
+      fraction = Math.min(1d, distanceIntoSegment / segmentLength);
+    }
+    updateMatch(point, matchedSegment, fraction);
+  }
+
+  private void updateMatch(Point point, int matchedSegment, double fraction) {
+    snappedPoint = point;
+    segmentIndex = matchedSegment;
+    segmentFraction = Double.isNaN(fraction) ? 0d : fraction;
+    hasMatch = true;
+  }
+}
@@ -4,16 +4,15 @@ import android.location.Location;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
-import com.mapbox.geojson.Feature;
 import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometryIndex;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteStepProgress;
 import com.mapbox.services.android.navigation.v5.utils.MathUtils;
 import com.mapbox.turf.TurfConstants;
 import com.mapbox.turf.TurfMeasurement;
-import com.mapbox.turf.TurfMisc;
 
 import java.util.List;
 
@@ -29,31 +28,49 @@ import static com.mapbox.core.constants.Constants.PRECISION_6;
  */
 public class SnapToRoute extends Snap {
 
+  private final SnapCursor snapCursor = new SnapCursor();
+  private RouteGeometryIndex geometryIndex;
+
   @Override
   public Location getSnappedLocation(Location location, RouteProgress routeProgress) {
-    Location snappedLocation = snapLocationLatLng(location, routeProgress.currentStepPoints());
-    snappedLocation.setBearing(snapLocationBearing(routeProgress));
+    Location snappedLocation = snapLocationLatLng(location, routeProgress.currentStepPoints(), snapCursor);
+    snappedLocation.setBearing(snapLocationBearing(routeProgress, geometryIndex));
     return snappedLocation;
   }
 
+  /**
+   * Sets the {@link RouteGeometryIndex} of the route being navigated, so the step geometries used for
+   * the snapped bearing are read from the index instead of being decoded on every location update.
+   * <p>
+   * The navigation engine hands the index of its current route to this engine before snapping each
+   * location.  Set it to null when snapping to route progress built for another route.
+   *
+   * @param geometryIndex of the route being navigated, or null to decode the step geometries
+   * @since 0.20.0
+   */
+  public void setRouteGeometryIndex(@Nullable RouteGeometryIndex geometryIndex) {
+    this.geometryIndex = geometryIndex;
+  }
+
   /**
    * Logic used to snap the users location coordinates to the closest position along the current
    * step.
    *
    * @param location        the raw location
    * @param stepCoordinates the list of step geometry coordinates
+   * @param snapCursor      remembering the last snapped segment of the step
    * @return the altered user location
    * @since 0.4.0
    */
-  private static Location snapLocationLatLng(Location location, List<Point> stepCoordinates) {
+  private static Location snapLocationLatLng(Location location, List<Point> stepCoordinates,
+                                             SnapCursor snapCursor) {
     Location snappedLocation = new Location(location);
     Point locationToPoint = Point.fromLngLat(location.getLongitude(), location.getLatitude());
 
-    // Uses Turf's pointOnLine, which takes a Point and a LineString to calculate the closest
-    // Point on the LineString.
+    // Uses the snap cursor, which searches the segments around the last snapped position
+    // to calculate the closest Point on the step.
     if (stepCoordinates.size() > 1) {
-      Feature feature = TurfMisc.nearestPointOnLine(locationToPoint, stepCoordinates);
-      Point point = ((Point) feature.geometry());
+      Point point = snapCursor.snap(locationToPoint, stepCoordinates);
       snappedLocation.setLongitude(point.longitude());
       snappedLocation.setLatitude(point.latitude());
     }
@@ -70,9 +87,10 @@ public class SnapToRoute extends Snap {
    * This way, an accurate bearing is upheld transitioning between steps.
    *
    * @param routeProgress for all current progress values
+   * @param geometryIndex of the current route, if available
    * @return float bearing snapped to route
    */
-  private static float snapLocationBearing(RouteProgress routeProgress) {
+  private static float snapLocationBearing(RouteProgress routeProgress, @Nullable RouteGeometryIndex geometryIndex) {
 
     RouteLegProgress legProgress = routeProgress.currentLegProgress();
     RouteStepProgress stepProgress = legProgress.currentStepProgress();
@@ -83,8 +101,10 @@ public class SnapToRoute extends Snap {
     // Either want to measure our current step distance traveled + 1 or 1 meter into the upcoming step
     double distanceAhead = distanceRemainingZero ? 1 : distanceTraveled + 1;
     // Create the step linestring from the geometry
-    LineString upcomingLineString = createUpcomingLineString(legProgress, distanceRemainingZero);
-    LineString currentLineString = createCurrentLineString(legProgress);
+    int legIndex = routeProgress.legIndex();
+    LineString upcomingLineString = createUpcomingLineString(geometryIndex, legIndex, legProgress,
+      distanceRemainingZero);
+    LineString currentLineString = createCurrentLineString(geometryIndex, legIndex, legProgress);
 
     // Measure 1 meter ahead of the users current location, only if the distance remaining isn't zero
     Point futurePoint = createFuturePoint(distanceAhead, upcomingLineString, currentLineString);
@@ -96,21 +116,39 @@ public class SnapToRoute extends Snap {
   }
 
   @NonNull
-  private static LineString createCurrentLineString(RouteLegProgress legProgress) {
+  private static LineString createCurrentLineString(@Nullable RouteGeometryIndex geometryIndex, int legIndex,
+                                                    RouteLegProgress legProgress) {
+    LineString currentLineString = findIndexedLineString(geometryIndex, legIndex, legProgress.stepIndex());
+    if (currentLineString != null) {
+      return currentLineString;
+    }
     String currentGeometry = legProgress.currentStep().geometry();
     return LineString.fromPolyline(currentGeometry, PRECISION_6);
   }
 
   @Nullable
-  private static LineString createUpcomingLineString(RouteLegProgress legProgress, boolean distanceRemainingZero) {
+  private static LineString createUpcomingLineString(@Nullable RouteGeometryIndex geometryIndex, int legIndex,
+                                                     RouteLegProgress legProgress, boolean distanceRemainingZero) {
     LineString upcomingLineString = null;
     if (distanceRemainingZero && legProgress.upComingStep() != null) {
-      String upcomingGeometry = legProgress.upComingStep().geometry();
-      upcomingLineString = LineString.fromPolyline(upcomingGeometry, PRECISION_6);
+      upcomingLineString = findIndexedLineString(geometryIndex, legIndex, legProgress.stepIndex() + 1);
+      if (upcomingLineString == null) {
+        String upcomingGeometry = legProgress.upComingStep().geometry();
+        upcomingLineString = LineString.fromPolyline(upcomingGeometry, PRECISION_6);
+      }
     }
     return upcomingLineString;
   }
 
+  @Nullable
+  private static LineString findIndexedLineString(@Nullable RouteGeometryIndex geometryIndex,
+                                                  int legIndex, int stepIndex) {
+    if (geometryIndex == null) {
+      return null;
+    }
+    return geometryIndex.stepLineString(legIndex, stepIndex);
+  }
+
   @NonNull
   private static Point createFuturePoint(double distanceAhead, LineString upcomingLineString,
                                          LineString currentLineString) {
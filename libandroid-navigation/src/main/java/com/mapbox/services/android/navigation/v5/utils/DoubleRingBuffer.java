@@ -0,0 +1,139 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+/**
+ * A fixed-capacity ring buffer of {@code double} values which, once full, evicts the oldest value with
+ * every push.
+ * <p>
+ * Unlike a {@link RingBuffer} of {@link Double}, values are kept in a single array allocated with
+ * the buffer, so pushing never allocates.  The minimum, maximum, mean and trend of the values
+ * are kept up to date as values are pushed and evicted, so each of them is a constant time query.
+ * <p>
+ * A buffer is not thread-safe.
+ *
+ * @since 0.20.0
+ */
+public final class DoubleRingBuffer extends PrimitiveRingBuffer {
+
+  private final double[] values;
+  private double sum;
+  private double compensation;
+
+  /**
+   * @param capacity number of values kept, at least 1
+   * @since 0.20.0
+   */
+  public DoubleRingBuffer(int capacity) {
+    super(capacity);
+    values = new double[capacity];
+  }
+
+  /**
+   * Adds the value as the newest, evicting the oldest value if the buffer is full.
+   *
+   * @param value to be added
+   * @since 0.20.0
+   */
+  public void push(double value) {
+    int slot = nextSlot();
+    values[slot] = value;
+    addToSum(value);
+    pushed(slot);
+  }
+
+  /**
+   * @return the value pushed last
+   * @throws java.util.NoSuchElementException if the buffer is empty
+   * @since 0.20.0
+   */
+  public double newest() {
+    return values[newestSlot()];
+  }
+
+  /**
+   * @return the oldest value which has not been evicted
+   * @throws java.util.NoSuchElementException if the buffer is empty
+   * @since 0.20.0
+   */
+  public double oldest() {
+    return values[oldestSlot()];
+  }
+
+  /**
+   * @param index from zero for the oldest value to {@code size() - 1} for the newest
+   * @return the value at the index
+   * @throws IndexOutOfBoundsException if the index is not within the buffer
+   * @since 0.20.0
+   */
+  public double get(int index) {
+    return values[slotOf(index)];
+  }
+
+  /**
+   * @return the smallest value in the buffer
+   * @throws java.util.NoSuchElementException if the buffer is empty
+   * @since 0.20.0
+   */
+  public double min() {
+    return values[minimumSlot()];
+  }
+
+  /**
+   * @return the largest value in the buffer
+   * @throws java.util.NoSuchElementException if the buffer is empty
+   * @since 0.20.0
+   */
+  public double max() {
+    return values[maximumSlot()];
+  }
+
+  /**
+   * The sum is compensated for the rounding error of adding and removing values, so it does not
+   * drift as values are evicted.  Once a value which is not finite is pushed, the sum and mean are not
+   * finite either until the buffer is cleared.
+   *
+   * @return the sum of the values in the buffer, zero if it is empty
+   * @since 0.20.0
+   */
+  public double sum() {
+    return sum + compensation;
+  }
+
+  /**
+   * @return the mean of the values in the buffer
+   * @throws java.util.NoSuchElementException if the buffer is empty
+   * @since 0.20.0
+   */
+  public double mean() {
+    checkNotEmpty();
+    return sum() / size();
+  }
+
+  /**
+   * Neumaier summation, which keeps the error of adding a value much smaller than the sum.
+   */
+  private void addToSum(double value) {
+    double total = sum + value;
+    if (Math.abs(sum) >= Math.abs(value)) {
+      compensation += (sum - total) + value;
+    } else {
+      compensation += (value - total) + sum;
+    }
+    sum = total;
+  }
+
+  @Override
+  int compareSlots(int slot, int otherSlot) {
+    return Double.compare(values[slot], values[otherSlot]);
+  }
+
+  @Override
+  void evicting(int slot) {
+    addToSum(-values[slot]);
+  }
+
+  @Override
+  void cleared() {
+    sum = 0;
+    compensation = 0;
+  }
+}
@@ -0,0 +1,120 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+/**
+ * A fixed-capacity ring buffer of {@code int} values which, once full, evicts the oldest value with
+ * every push.
+ * <p>
+ * Unlike a {@link RingBuffer} of {@link Integer}, values are kept in a single array allocated with
+ * the buffer, so pushing never allocates.  The minimum, maximum, mean and trend of the values
+ * are kept up to date as values are pushed and evicted, so each of them is a constant time query.
+ * <p>
+ * A buffer is not thread-safe.
+ *
+ * @since 0.20.0
+ */
+public final class IntRingBuffer extends PrimitiveRingBuffer {
+
+  private final int[] values;
+  private long sum;
+
+  /**
+   * @param capacity number of values kept, at least 1
+   * @since 0.20.0
+   */
+  public IntRingBuffer(int capacity) {
+    super(capacity);
+    values = new int[capacity];
+  }
+
+  /**
+   * Adds the value as the newest, evicting the oldest value if the buffer is full.
+   *
+   * @param value to be added
+   * @since 0.20.0
+   */
+  public void push(int value) {
+    int slot = nextSlot();
+    values[slot] = value;
+    sum += value;
+    pushed(slot);
+  }
+
+  /**
+   * @return the value pushed last
+   * @throws java.util.NoSuchElementException if the buffer is empty
+   * @since 0.20.0
+   */
+  public int newest() {
+    return values[newestSlot()];
+  }
+
+  /**
+   * @return the oldest value which has not been evicted
+   * @throws java.util.NoSuchElementException if the buffer is empty
+   * @since 0.20.0
+   */
+  public int oldest() {
+    return values[oldestSlot()];
+  }
+
+  /**
+   * @param index from zero for the oldest value to {@code size() - 1} for the newest
+   * @return the value at the index
+   * @throws IndexOutOfBoundsException if the index is not within the buffer
+   * @since 0.20.0
+   */
+  public int get(int index) {
+    return values[slotOf(index)];
+  }
+
+  /**
+   * @return the smallest value in the buffer
+   * @throws java.util.NoSuchElementException if the buffer is empty
+   * @since 0.20.0
+   */
+  public int min() {
+    return values[minimumSlot()];
+  }
+
+  /**
+   * @return the largest value in the buffer
+   * @throws java.util.NoSuchElementException if the buffer is empty
+   * @since 0.20.0
+   */
+  public int max() {
+    return values[maximumSlot()];
+  }
+
+  /**
+   * @return the sum of the values in the buffer, zero if it is empty
+   * @since 0.20.0
+   */
+  public long sum() {
+    return sum;
+  }
+
+  /**
+   * @return the mean of the values in the buffer
+   * @throws java.util.NoSuchElementException if the buffer is empty
+   * @since 0.20.0
+   */
+  public double mean() {
+    checkNotEmpty();
+    return (double) sum / size();
+  }
+
+  @Override
+  int compareSlots(int slot, int otherSlot) {
+    return Integer.compare(values[slot], values[otherSlot]);
+  }
+
+  @Override
+  void evicting(int slot) {
+    sum -= values[slot];
+  }
+
+  @Override
+  void cleared() {
+    sum = 0;
+  }
+}
@@ -5,11 +5,13 @@ import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.core.constants.Constants;
 import com.mapbox.core.utils.TextUtils;
 import com.mapbox.geojson.Feature;
-import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.turf.TurfMeasurement;
 import com.mapbox.turf.TurfMisc;
 
+import java.util.List;
+
 import static com.mapbox.turf.TurfConstants.UNIT_METERS;
 
 public final class MeasurementUtils {
@@ -34,21 +36,34 @@ public final class MeasurementUtils {
       return 0;
     }
 
-    // Get the lineString from the step geometry.
-    LineString lineString = LineString.fromPolyline(step.geometry(), Constants.PRECISION_6);
+    // Get the step coordinates from the step geometry.
+    List<Point> stepPoints = PolylineUtils.decode(step.geometry(), Constants.PRECISION_6);
+    return userTrueDistanceFromStep(usersRawLocation, stepPoints);
+  }
 
+  /**
+   * Calculates the distance between the users current raw {@link android.location.Location} object
+   * to the closest {@link Point} in the already decoded step coordinates.
+   *
+   * @param usersRawLocation {@link Point} the raw location where the user is currently located
+   * @param stepPoints       decoded coordinates of the step to calculate the closest point on the
+   *                         step to our predicted location
+   * @return double in distance meters
+   * @since 0.20.0
+   */
+  public static double userTrueDistanceFromStep(Point usersRawLocation, List<Point> stepPoints) {
     // Make sure that the step coordinates isn't less than size 2. If the points equal each other,
     // the distance is obviously zero, so return 0 to avoid executing additional unnecessary code.
-    if (lineString.coordinates().isEmpty()
-      || usersRawLocation.equals(lineString.coordinates().get(0))) {
+    if (stepPoints.isEmpty()
+      || usersRawLocation.equals(stepPoints.get(0))) {
       return 0;
     }
-    if (lineString.coordinates().size() == 1) {
-      return TurfMeasurement.distance(usersRawLocation, lineString.coordinates().get(0),
+    if (stepPoints.size() == 1) {
+      return TurfMeasurement.distance(usersRawLocation, stepPoints.get(0),
         UNIT_METERS);
     }
 
-    Feature feature = TurfMisc.nearestPointOnLine(usersRawLocation, lineString.coordinates());
+    Feature feature = TurfMisc.nearestPointOnLine(usersRawLocation, stepPoints);
     Point snappedPoint = (Point) feature.geometry();
 
     if (snappedPoint == null) {
@@ -57,7 +72,7 @@ public final class MeasurementUtils {
     if (Double.isInfinite(snappedPoint.latitude())
       || Double.isInfinite(snappedPoint.longitude())) {
       return TurfMeasurement.distance(usersRawLocation,
-        lineString.coordinates().get(0), UNIT_METERS);
+        stepPoints.get(0), UNIT_METERS);
     }
 
     double distance = TurfMeasurement.distance(usersRawLocation, snappedPoint, UNIT_METERS);
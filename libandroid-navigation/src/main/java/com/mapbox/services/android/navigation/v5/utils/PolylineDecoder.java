@@ -0,0 +1,182 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.geojson.utils.PolylineUtils;
+
+/**
+ * Decodes encoded polylines into arrays of coordinates, or passes their coordinates to a
+ * {@link CoordinateVisitor}, without creating a {@link com.mapbox.geojson.Point} per vertex.
+ * <p>
+ * The coordinates are the same as those of the points returned by
+ * {@link PolylineUtils#decode(String, int)}.  Decoding can be limited to a window of consecutive
+ * vertices; the vertices before the window still have to be read, but decoding stops at the end of the
+ * window.  None of the methods allocate.
+ *
+ * @since 0.20.0
+ */
+public final class PolylineDecoder {
+
+  private static final int ENCODING_OFFSET = 63;
+  private static final int CHUNK_BITS = 5;
+  private static final int CHUNK_MASK = 0x1f;
+  private static final int LAST_CHUNK_LIMIT = ENCODING_OFFSET + 0x20;
+  private static final long INDEX_MASK = 0xffffffffL;
+
+  /**
+   * Receives the decoded vertices of a polyline, in order.
+   *
+   * @since 0.20.0
+   */
+  public interface CoordinateVisitor {
+
+    /**
+     * @param vertex    index of the vertex in the polyline
+     * @param latitude  of the vertex
+     * @param longitude of the vertex
+     * @since 0.20.0
+     */
+    void visit(int vertex, double latitude, double longitude);
+  }
+
+  private PolylineDecoder() {
+    // Class should not be initialized.
+  }
+
+  /**
+   * Counts the vertices of the polyline without decoding them, to size the coordinate arrays.
+   *
+   * @param polyline encoded polyline
+   * @return number of vertices of the polyline
+   * @since 0.20.0
+   */
+  public static int vertexCount(@NonNull String polyline) {
+    int values = 0;
+    for (int i = 0; i < polyline.length(); i++) {
+      if (polyline.charAt(i) < LAST_CHUNK_LIMIT) {
+        values++;
+      }
+    }
+    return values / 2;
+  }
+
+  /**
+   * Decodes every vertex of the polyline into the arrays, from their first element.
+   *
+   * @param polyline   encoded polyline
+   * @param precision  of the polyline, such as {@code Constants.PRECISION_6}
+   * @param latitudes  receiving the latitude of each vertex
+   * @param longitudes receiving the longitude of each vertex
+   * @return number of vertices decoded, which is limited to the length of the arrays
+   * @since 0.20.0
+   */
+  public static int decode(@NonNull String polyline, int precision, @NonNull double[] latitudes,
+                           @NonNull double[] longitudes) {
+    return decode(polyline, precision, 0, Integer.MAX_VALUE, latitudes, longitudes, 0);
+  }
+
+  /**
+   * Decodes a window of consecutive vertices of the polyline into the arrays.
+   *
+   * @param polyline    encoded polyline
+   * @param precision   of the polyline, such as {@code Constants.PRECISION_6}
+   * @param firstVertex index of the first vertex to decode
+   * @param vertexLimit maximum number of vertices to decode
+   * @param latitudes   receiving the latitude of each vertex
+   * @param longitudes  receiving the longitude of each vertex
+   * @param offset      of the first decoded vertex in the arrays
+   * @return number of vertices decoded, which is limited to the room left in the arrays after the offset
+   * @since 0.20.0
+   */
+  public static int decode(@NonNull String polyline, int precision, int firstVertex, int vertexLimit,
+                           @NonNull double[] latitudes, @NonNull double[] longitudes, int offset) {
+    if (offset < 0 || offset > latitudes.length || offset > longitudes.length) {
+      throw new IndexOutOfBoundsException("Offset " + offset + " is outside of the coordinate arrays");
+    }
+    int room = Math.min(latitudes.length, longitudes.length) - offset;
+    return decode(polyline, precision, firstVertex, Math.min(vertexLimit, room), latitudes, longitudes, offset,
+      null);
+  }
+
+  /**
+   * Passes every vertex of the polyline to the visitor.
+   *
+   * @param polyline  encoded polyline
+   * @param precision of the polyline, such as {@code Constants.PRECISION_6}
+   * @param visitor   receiving the vertices
+   * @return number of vertices visited
+   * @since 0.20.0
+   */
+  public static int decode(@NonNull String polyline, int precision, @NonNull CoordinateVisitor visitor) {
+    return decode(polyline, precision, 0, Integer.MAX_VALUE, visitor);
+  }
+
+  /**
+   * Passes a window of consecutive vertices of the polyline to the visitor.
+   *
+   * @param polyline    encoded polyline
+   * @param precision   of the polyline, such as {@code Constants.PRECISION_6}
+   * @param firstVertex index of the first vertex to visit
+   * @param vertexLimit maximum number of vertices to visit
+   * @param visitor     receiving the vertices
+   * @return number of vertices visited
+   * @since 0.20.0
+   */
+  public static int decode(@NonNull String polyline, int precision, int firstVertex, int vertexLimit,
+                           @NonNull CoordinateVisitor visitor) {
+    return decode(polyline, precision, firstVertex, vertexLimit, null, null, 0, visitor);
+  }
+
+  private static int decode(String polyline, int precision, int firstVertex, int vertexLimit,
+                            @Nullable double[] latitudes, @Nullable double[] longitudes, int offset,
+                            @Nullable CoordinateVisitor visitor) {
+    if (firstVertex < 0 || vertexLimit < 0) {
+      throw new IllegalArgumentException("The first vertex and vertex limit must not be negative, were "
+        + firstVertex + " and " + vertexLimit);
+    }
+    double factor = Math.pow(10, precision);
+    long windowEnd = (long) firstVertex + vertexLimit;
+    int length = polyline.length();
+    int index = 0;
+    int vertex = 0;
+    int latitude = 0;
+    int longitude = 0;
+    while (index < length && vertex < windowEnd) {
+      long latitudeDelta = readDelta(polyline, index);
+      long longitudeDelta = readDelta(polyline, (int) (latitudeDelta & INDEX_MASK));
+      index = (int) (longitudeDelta & INDEX_MASK);
+      latitude += (int) (latitudeDelta >> Integer.SIZE);
+      longitude += (int) (longitudeDelta >> Integer.SIZE);
+      if (vertex >= firstVertex) {
+        if (visitor != null) {
+          visitor.visit(vertex, latitude / factor, longitude / factor);
+        } else {
+          latitudes[offset + vertex - firstVertex] = latitude / factor;
+          longitudes[offset + vertex - firstVertex] = longitude / factor;
+        }
+      }
+      vertex++;
+    }
+    return Math.max(0, vertex - firstVertex);
+  }
+
+  /**
+   * Reads the value starting at the index, the same way as {@link PolylineUtils#decode(String, int)}.
+   *
+   * @return the value in the upper 32 bits, and the index following it in the lower 32 bits
+   */
+  private static long readDelta(String polyline, int startIndex) {
+    int index = startIndex;
+    int result = 1;
+    int shift = 0;
+    int chunk = CHUNK_MASK;
+    while (chunk >= CHUNK_MASK) {
+      chunk = polyline.charAt(index++) - ENCODING_OFFSET - 1;
+      result += chunk << shift;
+      shift += CHUNK_BITS;
+    }
+    int delta = (result & 1) != 0 ? ~(result >> 1) : result >> 1;
+    return ((long) delta << Integer.SIZE) | (index & INDEX_MASK);
+  }
+}
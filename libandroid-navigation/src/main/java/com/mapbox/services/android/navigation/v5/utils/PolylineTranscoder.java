@@ -0,0 +1,120 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.core.utils.TextUtils;
+import com.mapbox.geojson.utils.PolylineUtils;
+
+import static com.mapbox.core.constants.Constants.PRECISION_5;
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+
+/**
+ * Converts an encoded polyline from one precision to another without decoding it into points.
+ * <p>
+ * The coordinates are read with a {@link PolylineDecoder}, rounded to the new precision and written as
+ * deltas again into a {@link StringBuilder} reused between polylines, so the only allocation is the
+ * resulting string.  The result is the same as decoding the polyline with
+ * {@link PolylineUtils#decode(String, int)} and encoding the points with
+ * {@link PolylineUtils#encode(java.util.List, int)}.
+ * <p>
+ * A transcoder is not thread safe.  {@link #toPrecision5(DirectionsRoute)} can be used from any thread,
+ * and converts the geometry of each route only once.
+ *
+ * @since 0.20.0
+ */
+public final class PolylineTranscoder {
+
+  private static final int ENCODING_OFFSET = 63;
+  private static final int CHUNK_BITS = 5;
+  private static final int CHUNK_MASK = 0x1f;
+  private static final int CONTINUATION_BIT = 0x20;
+  private static final int CACHE_SIZE = 4;
+
+  private static final Object CACHE_LOCK = new Object();
+  private static final PolylineTranscoder ROUTE_TRANSCODER = new PolylineTranscoder(PRECISION_6, PRECISION_5);
+  private static final long[] CACHED_FINGERPRINTS = new long[CACHE_SIZE];
+  private static final String[] CACHED_GEOMETRIES = new String[CACHE_SIZE];
+  private static int nextCacheSlot;
+
+  private final int fromPrecision;
+  private final double toFactor;
+  private final StringBuilder transcodedPolyline = new StringBuilder();
+  private final PolylineDecoder.CoordinateVisitor encoder = new PolylineDecoder.CoordinateVisitor() {
+    @Override
+    public void visit(int vertex, double latitude, double longitude) {
+      long roundedLatitude = Math.round(latitude * toFactor);
+      long roundedLongitude = Math.round(longitude * toFactor);
+      writeDelta(roundedLatitude - lastLatitude);
+      writeDelta(roundedLongitude - lastLongitude);
+      lastLatitude = roundedLatitude;
+      lastLongitude = roundedLongitude;
+    }
+  };
+  private long lastLatitude;
+  private long lastLongitude;
+
+  /**
+   * @param fromPrecision of the polylines to transcode, such as {@code Constants.PRECISION_6}
+   * @param toPrecision   of the transcoded polylines, such as {@code Constants.PRECISION_5}
+   * @since 0.20.0
+   */
+  public PolylineTranscoder(int fromPrecision, int toPrecision) {
+    this.fromPrecision = fromPrecision;
+    toFactor = Math.pow(10, toPrecision);
+  }
+
+  /**
+   * Converts the polyline to the precision of this transcoder.
+   *
+   * @param polyline encoded with the precision this transcoder converts from
+   * @return the polyline encoded with the precision this transcoder converts to
+   * @since 0.20.0
+   */
+  @NonNull
+  public String transcode(@NonNull String polyline) {
+    transcodedPolyline.setLength(0);
+    lastLatitude = 0;
+    lastLongitude = 0;
+    PolylineDecoder.decode(polyline, fromPrecision, encoder);
+    return transcodedPolyline.toString();
+  }
+
+  /**
+   * Returns the geometry of the route, encoded with a precision of 6, as a polyline with a precision
+   * of 5, as sent with the telemetry events.  The last few routes converted are cached by their
+   * {@link RouteFingerprint}.
+   *
+   * @param route with a geometry encoded with a precision of 6
+   * @return the geometry with a precision of 5, or an empty string if the route has no geometry
+   * @since 0.20.0
+   */
+  @NonNull
+  public static String toPrecision5(@NonNull DirectionsRoute route) {
+    if (TextUtils.isEmpty(route.geometry())) {
+      return "";
+    }
+    long fingerprint = RouteFingerprint.of(route);
+    synchronized (CACHE_LOCK) {
+      for (int slot = 0; slot < CACHE_SIZE; slot++) {
+        if (CACHED_GEOMETRIES[slot] != null && CACHED_FINGERPRINTS[slot] == fingerprint) {
+          return CACHED_GEOMETRIES[slot];
+        }
+      }
+      String geometry = ROUTE_TRANSCODER.transcode(route.geometry());
+      CACHED_FINGERPRINTS[nextCacheSlot] = fingerprint;
+      CACHED_GEOMETRIES[nextCacheSlot] = geometry;
+      nextCacheSlot = (nextCacheSlot + 1) % CACHE_SIZE;
+      return geometry;
+    }
+  }
+
+  private void writeDelta(long delta) {
+    long value = delta < 0 ? ~(delta << 1) : delta << 1;
+    while (value >= CONTINUATION_BIT) {
+      transcodedPolyline.append((char) ((CONTINUATION_BIT | (value & CHUNK_MASK)) + ENCODING_OFFSET));
+      value >>= CHUNK_BITS;
+    }
+    transcodedPolyline.append((char) (value + ENCODING_OFFSET));
+  }
+}
@@ -0,0 +1,213 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Keeps the positions of a fixed-capacity ring of primitive values, along with the running minimum,
+ * maximum and trend of the values, for {@link IntRingBuffer}, {@link LongRingBuffer} and
+ * {@link DoubleRingBuffer}.
+ * <p>
+ * The values themselves are stored by the subclass in an array indexed by slot.  The minimum and
+ * maximum are found with a monotonic queue of slots each, and the trend by counting the neighbouring
+ * values which are not strictly increasing or decreasing, so every query is constant time and pushing
+ * a value never allocates.
+ */
+abstract class PrimitiveRingBuffer {
+
+  private static final String EMPTY_BUFFER = "The ring buffer is empty.";
+
+  private final int capacity;
+  private final int[] minimumSlots;
+  private final int[] maximumSlots;
+  private int head;
+  private int size;
+  private int minimumHead;
+  private int minimumSize;
+  private int maximumHead;
+  private int maximumSize;
+  private int notIncreasingCount;
+  private int notDecreasingCount;
+
+  PrimitiveRingBuffer(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Ring buffer capacity must be at least 1, was " + capacity);
+    }
+    this.capacity = capacity;
+    minimumSlots = new int[capacity];
+    maximumSlots = new int[capacity];
+  }
+
+  /**
+   * @return the number of values the buffer holds before pushing evicts the oldest
+   * @since 0.20.0
+   */
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * @return the number of values in the buffer
+   * @since 0.20.0
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return true if the buffer holds no values
+   * @since 0.20.0
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @return true if pushing another value will evict the oldest
+   * @since 0.20.0
+   */
+  public boolean isFull() {
+    return size == capacity;
+  }
+
+  /**
+   * Removes every value from the buffer.
+   *
+   * @since 0.20.0
+   */
+  public void clear() {
+    head = 0;
+    size = 0;
+    minimumSize = 0;
+    maximumSize = 0;
+    notIncreasingCount = 0;
+    notDecreasingCount = 0;
+    cleared();
+  }
+
+  /**
+   * Checks whether every value is strictly greater than the value pushed before it.  This is true
+   * for a buffer with fewer than two values.
+   *
+   * @return true if the values are strictly increasing from the oldest to the newest
+   * @since 0.20.0
+   */
+  public boolean isIncreasing() {
+    return notIncreasingCount == 0;
+  }
+
+  /**
+   * Checks whether every value is strictly less than the value pushed before it.  This is true
+   * for a buffer with fewer than two values.
+   *
+   * @return true if the values are strictly decreasing from the oldest to the newest
+   * @since 0.20.0
+   */
+  public boolean isDecreasing() {
+    return notDecreasingCount == 0;
+  }
+
+  /**
+   * Compares the values in the two slots, in the same way as the {@code compare} method of the boxed type.
+   */
+  abstract int compareSlots(int slot, int otherSlot);
+
+  /**
+   * Called before the value in the slot is overwritten by a newer one.
+   */
+  abstract void evicting(int slot);
+
+  abstract void cleared();
+
+  /**
+   * Evicts the oldest value if the buffer is full, then returns the slot where the subclass stores
+   * the new value before calling {@link #pushed(int)}.
+   */
+  final int nextSlot() {
+    if (size == capacity) {
+      evictOldest();
+    }
+    return (head + size) % capacity;
+  }
+
+  final void pushed(int slot) {
+    if (size > 0) {
+      int newestSlot = newestSlot();
+      int comparison = compareSlots(newestSlot, slot);
+      if (comparison >= 0) {
+        notIncreasingCount++;
+      }
+      if (comparison <= 0) {
+        notDecreasingCount++;
+      }
+    }
+    size++;
+    while (minimumSize > 0 && compareSlots(minimumSlots[(minimumHead + minimumSize - 1) % capacity], slot) > 0) {
+      minimumSize--;
+    }
+    minimumSlots[(minimumHead + minimumSize++) % capacity] = slot;
+    while (maximumSize > 0 && compareSlots(maximumSlots[(maximumHead + maximumSize - 1) % capacity], slot) < 0) {
+      maximumSize--;
+    }
+    maximumSlots[(maximumHead + maximumSize++) % capacity] = slot;
+  }
+
+  /**
+   * @param index from zero for the oldest value to {@code size() - 1} for the newest
+   */
+  final int slotOf(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+    return (head + index) % capacity;
+  }
+
+  final int oldestSlot() {
+    checkNotEmpty();
+    return head;
+  }
+
+  final int newestSlot() {
+    checkNotEmpty();
+    return (head + size - 1) % capacity;
+  }
+
+  final int minimumSlot() {
+    checkNotEmpty();
+    return minimumSlots[minimumHead];
+  }
+
+  final int maximumSlot() {
+    checkNotEmpty();
+    return maximumSlots[maximumHead];
+  }
+
+  final void checkNotEmpty() {
+    if (size == 0) {
+      throw new NoSuchElementException(EMPTY_BUFFER);
+    }
+  }
+
+  private void evictOldest() {
+    int oldestSlot = head;
+    if (size > 1) {
+      int comparison = compareSlots(oldestSlot, (head + 1) % capacity);
+      if (comparison >= 0) {
+        notIncreasingCount--;
+      }
+      if (comparison <= 0) {
+        notDecreasingCount--;
+      }
+    }
+    if (minimumSlots[minimumHead] == oldestSlot) {
+      minimumHead = (minimumHead + 1) % capacity;
+      minimumSize--;
+    }
+    if (maximumSlots[maximumHead] == oldestSlot) {
+      maximumHead = (maximumHead + 1) % capacity;
+      maximumSize--;
+    }
+    evicting(oldestSlot);
+    head = (head + 1) % capacity;
+    size--;
+  }
+}
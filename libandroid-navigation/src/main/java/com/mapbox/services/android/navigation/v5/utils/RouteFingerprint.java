@@ -0,0 +1,116 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.RouteOptions;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * A 64-bit fingerprint of a {@link DirectionsRoute}, used to tell whether the route being navigated
+ * has changed without comparing whole routes.
+ * <p>
+ * The fingerprint is an FNV-1a hash of the route geometry, the number of legs and the UUID of the
+ * request which returned the route.  It is computed once per route instance and kept in a small cache
+ * of the most recently seen routes, which does not keep them from being garbage collected.  Routes are
+ * compared by identity first, so checking the route of every location update costs nothing while the
+ * route is unchanged.
+ *
+ * @since 0.20.0
+ */
+public final class RouteFingerprint {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+  private static final int BYTE_MASK = 0xff;
+  private static final int BITS_PER_BYTE = 8;
+  private static final int NO_VALUE = -1;
+  private static final int CACHE_SIZE = 8;
+
+  private static final Object CACHE_LOCK = new Object();
+  @SuppressWarnings("unchecked")
+  private static final WeakReference<DirectionsRoute>[] CACHED_ROUTES = new WeakReference[CACHE_SIZE];
+  private static final long[] CACHED_FINGERPRINTS = new long[CACHE_SIZE];
+  private static int nextCacheSlot;
+
+  private RouteFingerprint() {
+    // Class should not be initialized.
+  }
+
+  /**
+   * Returns the fingerprint of the route, computing it only the first time a route instance is seen.
+   *
+   * @param route to fingerprint
+   * @return hash of the route geometry, leg count and request UUID
+   * @since 0.20.0
+   */
+  public static long of(@NonNull DirectionsRoute route) {
+    synchronized (CACHE_LOCK) {
+      for (int slot = 0; slot < CACHE_SIZE; slot++) {
+        if (CACHED_ROUTES[slot] != null && CACHED_ROUTES[slot].get() == route) {
+          return CACHED_FINGERPRINTS[slot];
+        }
+      }
+    }
+    long fingerprint = compute(route);
+    synchronized (CACHE_LOCK) {
+      CACHED_ROUTES[nextCacheSlot] = new WeakReference<>(route);
+      CACHED_FINGERPRINTS[nextCacheSlot] = fingerprint;
+      nextCacheSlot = (nextCacheSlot + 1) % CACHE_SIZE;
+    }
+    return fingerprint;
+  }
+
+  /**
+   * Checks whether two routes are the same, by identity and then by fingerprint.
+   *
+   * @param route      to compare
+   * @param otherRoute to compare with
+   * @return true if both are the same route, false if either is null or they differ
+   * @since 0.20.0
+   */
+  public static boolean isSameRoute(@Nullable DirectionsRoute route, @Nullable DirectionsRoute otherRoute) {
+    if (route == otherRoute) {
+      return route != null;
+    }
+    if (route == null || otherRoute == null) {
+      return false;
+    }
+    return of(route) == of(otherRoute);
+  }
+
+  static long compute(DirectionsRoute route) {
+    long hash = FNV_OFFSET_BASIS;
+    hash = hashString(hash, route.geometry());
+    hash = hashInt(hash, route.legs() == null ? NO_VALUE : route.legs().size());
+    RouteOptions routeOptions = route.routeOptions();
+    return hashString(hash, routeOptions == null ? null : routeOptions.requestUuid());
+  }
+
+  private static long hashString(long hash, String value) {
+    if (value == null) {
+      return hashInt(hash, NO_VALUE);
+    }
+    long result = hashInt(hash, value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char character = value.charAt(i);
+      result = hashByte(result, character & BYTE_MASK);
+      result = hashByte(result, character >>> BITS_PER_BYTE);
+    }
+    return result;
+  }
+
+  private static long hashInt(long hash, int value) {
+    long result = hash;
+    for (int shift = 0; shift < Integer.SIZE; shift += BITS_PER_BYTE) {
+      result = hashByte(result, (value >>> shift) & BYTE_MASK);
+    }
+    return result;
+  }
+
+  private static long hashByte(long hash, int value) {
+    return (hash ^ value) * FNV_PRIME;
+  }
+}
@@ -20,8 +20,6 @@ import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -32,7 +30,6 @@ public class RouteUtils {
 
   private static final String FORCED_LOCATION = "Forced Location";
   private static final int FIRST_COORDINATE = 0;
-  private static final int FIRST_INSTRUCTION = 0;
   private static final int ORIGIN_WAYPOINT_NAME_THRESHOLD = 1;
   private static final int ORIGIN_WAYPOINT_NAME = 0;
   private static final int FIRST_POSITION = 0;
@@ -64,6 +61,9 @@ public class RouteUtils {
   /**
    * Compares a new routeProgress geometry to a previousRouteProgress geometry to determine if the
    * user is traversing along a new route. If the route geometries do not match, this returns true.
+   * <p>
+   * Routes are compared by identity and then by {@link RouteFingerprint}, which also includes the
+   * number of legs and the request UUID.
    *
    * @param previousRouteProgress the past route progress with the directions route included
    * @param directionsRoute       the current directions route
@@ -72,8 +72,8 @@ public class RouteUtils {
    */
   public boolean isNewRoute(@Nullable RouteProgress previousRouteProgress,
                             @NonNull DirectionsRoute directionsRoute) {
-    return previousRouteProgress == null || !previousRouteProgress.directionsRoute().geometry()
-      .equals(directionsRoute.geometry());
+    return previousRouteProgress == null
+      || !RouteFingerprint.isSameRoute(previousRouteProgress.directionsRoute(), directionsRoute);
   }
 
   /**
@@ -216,14 +216,19 @@ public class RouteUtils {
   @Nullable
   public BannerInstructions findCurrentBannerInstructions(LegStep currentStep, double stepDistanceRemaining) {
     if (isValidBannerInstructions(currentStep)) {
-      List<BannerInstructions> instructions = sortBannerInstructions(currentStep.bannerInstructions());
-      for (BannerInstructions instruction : instructions) {
+      BannerInstructions currentInstructions = null;
+      BannerInstructions closestInstructions = null;
+      for (BannerInstructions instruction : currentStep.bannerInstructions()) {
         double distanceAlongGeometry = instruction.distanceAlongGeometry();
-        if (distanceAlongGeometry >= stepDistanceRemaining) {
-          return instruction;
+        if (distanceAlongGeometry >= stepDistanceRemaining && (currentInstructions == null
+          || distanceAlongGeometry < currentInstructions.distanceAlongGeometry())) {
+          currentInstructions = instruction;
+        }
+        if (closestInstructions == null || distanceAlongGeometry < closestInstructions.distanceAlongGeometry()) {
+          closestInstructions = instruction;
         }
       }
-      return instructions.get(FIRST_INSTRUCTION);
+      return currentInstructions != null ? currentInstructions : closestInstructions;
     }
     return null;
   }
@@ -232,17 +237,6 @@ public class RouteUtils {
     return isValidStep(currentStep) && hasInstructions(currentStep.bannerInstructions());
   }
 
-  private List<BannerInstructions> sortBannerInstructions(List<BannerInstructions> instructions) {
-    List<BannerInstructions> sortedInstructions = new ArrayList<>(instructions);
-    Collections.sort(sortedInstructions, new Comparator<BannerInstructions>() {
-      @Override
-      public int compare(BannerInstructions instructions, BannerInstructions nextInstructions) {
-        return Double.compare(instructions.distanceAlongGeometry(), nextInstructions.distanceAlongGeometry());
-      }
-    });
-    return sortedInstructions;
-  }
-
   /**
    * This method returns the current {@link BannerText} based on the currentStep distance
    * remaining.
@@ -277,14 +271,19 @@ public class RouteUtils {
   @Nullable
   public VoiceInstructions findCurrentVoiceInstructions(LegStep currentStep, double stepDistanceRemaining) {
     if (isValidVoiceInstructions(currentStep)) {
-      List<VoiceInstructions> instructions = sortVoiceInstructions(currentStep.voiceInstructions());
-      for (VoiceInstructions instruction : instructions) {
+      VoiceInstructions currentInstructions = null;
+      VoiceInstructions closestInstructions = null;
+      for (VoiceInstructions instruction : currentStep.voiceInstructions()) {
         double distanceAlongGeometry = instruction.distanceAlongGeometry();
-        if (distanceAlongGeometry >= stepDistanceRemaining) {
-          return instruction;
+        if (distanceAlongGeometry >= stepDistanceRemaining && (currentInstructions == null
+          || distanceAlongGeometry < currentInstructions.distanceAlongGeometry())) {
+          currentInstructions = instruction;
+        }
+        if (closestInstructions == null || distanceAlongGeometry < closestInstructions.distanceAlongGeometry()) {
+          closestInstructions = instruction;
         }
       }
-      return instructions.get(FIRST_INSTRUCTION);
+      return currentInstructions != null ? currentInstructions : closestInstructions;
     }
     return null;
   }
@@ -293,17 +292,6 @@ public class RouteUtils {
     return isValidStep(currentStep) && hasInstructions(currentStep.voiceInstructions());
   }
 
-  private List<VoiceInstructions> sortVoiceInstructions(List<VoiceInstructions> instructions) {
-    List<VoiceInstructions> sortedInstructions = new ArrayList<>(instructions);
-    Collections.sort(sortedInstructions, new Comparator<VoiceInstructions>() {
-      @Override
-      public int compare(VoiceInstructions instructions, VoiceInstructions nextInstructions) {
-        return Double.compare(instructions.distanceAlongGeometry(), nextInstructions.distanceAlongGeometry());
-      }
-    });
-    return sortedInstructions;
-  }
-
   private boolean upcomingStepIsArrivalManeuverType(@NonNull RouteProgress routeProgress) {
     return routeProgress.currentLegProgress().upComingStep() != null
       && routeProgress.currentLegProgress().upComingStep().maneuver().type().contains(STEP_MANEUVER_TYPE_ARRIVE);
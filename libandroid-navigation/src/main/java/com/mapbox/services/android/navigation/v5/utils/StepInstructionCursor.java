@@ -0,0 +1,192 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.api.directions.v5.models.VoiceInstructions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds the current banner or voice instructions of a step, like
+ * {@link RouteUtils#findCurrentBannerInstructions(LegStep, double)} and
+ * {@link RouteUtils#findCurrentVoiceInstructions(LegStep, double)}, without going through every
+ * instruction of the step on every lookup.
+ * <p>
+ * The instructions of every step of the route are sorted by their distance along the geometry once,
+ * when the cursor is created, and kept with those distances in flat arrays.  As the step distance
+ * remaining decreases, a cursor moves forward through the instructions of the current step; it starts
+ * again from the beginning of a step when the step changes or the distance remaining increases.
+ * <p>
+ * A cursor is not thread-safe; it is used on the thread processing the route progress.
+ *
+ * @param <T> either {@link BannerInstructions} or {@link VoiceInstructions}
+ * @since 0.20.0
+ */
+public final class StepInstructionCursor<T> {
+
+  private static final int NO_STEP = -1;
+
+  private final DirectionsRoute route;
+  private final int[] legStepOffsets;
+  private final int[] stepInstructionStarts;
+  private final double[] distances;
+  private final Object[] instructions;
+  private int cursorStep = NO_STEP;
+  private int cursorPosition;
+  private double cursorDistanceRemaining;
+
+  private StepInstructionCursor(DirectionsRoute route, InstructionDistance<T> instructionDistance) {
+    this.route = route;
+    List<RouteLeg> legs = route.legs() == null ? Collections.<RouteLeg>emptyList() : route.legs();
+    legStepOffsets = new int[legs.size() + 1];
+    List<List<T>> stepInstructions = new ArrayList<>();
+    for (int legIndex = 0; legIndex < legs.size(); legIndex++) {
+      legStepOffsets[legIndex] = stepInstructions.size();
+      List<LegStep> steps = legs.get(legIndex).steps();
+      if (steps != null) {
+        for (LegStep step : steps) {
+          List<T> sortedInstructions = new ArrayList<>(instructionDistance.instructionsOrEmpty(step));
+          Collections.sort(sortedInstructions, instructionDistance);
+          stepInstructions.add(sortedInstructions);
+        }
+      }
+    }
+    legStepOffsets[legs.size()] = stepInstructions.size();
+
+    stepInstructionStarts = new int[stepInstructions.size() + 1];
+    int instructionCount = 0;
+    for (List<T> sortedInstructions : stepInstructions) {
+      instructionCount += sortedInstructions.size();
+    }
+    distances = new double[instructionCount];
+    instructions = new Object[instructionCount];
+    int position = 0;
+    for (int step = 0; step < stepInstructions.size(); step++) {
+      stepInstructionStarts[step] = position;
+      List<T> sortedInstructions = stepInstructions.get(step);
+      // Held from the furthest to the closest to the maneuver, so the cursor only moves forward
+      for (int i = sortedInstructions.size() - 1; i >= 0; i--) {
+        distances[position] = instructionDistance.distanceOf(sortedInstructions.get(i));
+        instructions[position] = sortedInstructions.get(i);
+        position++;
+      }
+    }
+    stepInstructionStarts[stepInstructions.size()] = position;
+  }
+
+  /**
+   * Creates a cursor over the banner instructions of every step of the route.
+   *
+   * @param route with the banner instructions
+   * @return a new cursor
+   * @since 0.20.0
+   */
+  @NonNull
+  public static StepInstructionCursor<BannerInstructions> forBannerInstructions(@NonNull DirectionsRoute route) {
+    return new StepInstructionCursor<>(route, new InstructionDistance<BannerInstructions>() {
+      @Override
+      List<BannerInstructions> instructionsOf(LegStep step) {
+        return step.bannerInstructions();
+      }
+
+      @Override
+      double distanceOf(BannerInstructions instructions) {
+        return instructions.distanceAlongGeometry();
+      }
+    });
+  }
+
+  /**
+   * Creates a cursor over the voice instructions of every step of the route.
+   *
+   * @param route with the voice instructions
+   * @return a new cursor
+   * @since 0.20.0
+   */
+  @NonNull
+  public static StepInstructionCursor<VoiceInstructions> forVoiceInstructions(@NonNull DirectionsRoute route) {
+    return new StepInstructionCursor<>(route, new InstructionDistance<VoiceInstructions>() {
+      @Override
+      List<VoiceInstructions> instructionsOf(LegStep step) {
+        return step.voiceInstructions();
+      }
+
+      @Override
+      double distanceOf(VoiceInstructions instructions) {
+        return instructions.distanceAlongGeometry();
+      }
+    });
+  }
+
+  /**
+   * @param route to compare with
+   * @return true if this cursor was created for the same route instance
+   * @since 0.20.0
+   */
+  public boolean isFor(@Nullable DirectionsRoute route) {
+    return this.route == route;
+  }
+
+  /**
+   * Finds the instructions to be used at the given distance remaining along a step: the closest
+   * instructions to the maneuver whose distance along the geometry is at least the distance remaining.
+   * If no instructions are that far from the maneuver, the instructions closest to the maneuver, with
+   * the smallest distance along the geometry, are returned.
+   *
+   * @param legIndex              of the step
+   * @param stepIndex             within the leg
+   * @param stepDistanceRemaining to determine progress along the step
+   * @return the current instructions, or null if the step has none
+   * @since 0.20.0
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public T findCurrentInstructions(int legIndex, int stepIndex, double stepDistanceRemaining) {
+    if (legIndex < 0 || legIndex >= legStepOffsets.length - 1) {
+      return null;
+    }
+    int step = legStepOffsets[legIndex] + stepIndex;
+    if (stepIndex < 0 || step >= legStepOffsets[legIndex + 1]) {
+      return null;
+    }
+    int start = stepInstructionStarts[step];
+    int end = stepInstructionStarts[step + 1];
+    if (start == end) {
+      return null;
+    }
+    if (step != cursorStep || !(stepDistanceRemaining <= cursorDistanceRemaining)) {
+      cursorStep = step;
+      cursorPosition = start;
+    }
+    cursorDistanceRemaining = stepDistanceRemaining;
+    while (cursorPosition < end && distances[cursorPosition] >= stepDistanceRemaining) {
+      cursorPosition++;
+    }
+    return (T) instructions[cursorPosition > start ? cursorPosition - 1 : end - 1];
+  }
+
+  private abstract static class InstructionDistance<T> implements Comparator<T> {
+
+    abstract List<T> instructionsOf(LegStep step);
+
+    abstract double distanceOf(T instructions);
+
+    @Override
+    public int compare(T instructions, T nextInstructions) {
+      return Double.compare(distanceOf(instructions), distanceOf(nextInstructions));
+    }
+
+    private List<T> instructionsOrEmpty(LegStep step) {
+      List<T> instructions = step == null ? null : instructionsOf(step);
+      return instructions == null ? Collections.<T>emptyList() : instructions;
+    }
+  }
+}
@@ -1,9 +1,12 @@
 package com.mapbox.services.android.navigation.v5.utils;
 
+import android.support.annotation.Nullable;
+
 import com.mapbox.api.directions.v5.models.StepIntersection;
 import com.mapbox.geojson.Point;
 import com.mapbox.services.android.navigation.v5.navigation.NavigationConstants;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteSpatialIndex;
 import com.mapbox.turf.TurfClassification;
 import com.mapbox.turf.TurfConstants;
 import com.mapbox.turf.TurfMeasurement;
@@ -40,4 +43,28 @@ public final class ToleranceUtils {
     }
     return NavigationConstants.MINIMUM_DISTANCE_BEFORE_REROUTING;
   }
+
+  /**
+   * Same as {@link #dynamicRerouteDistanceTolerance(Point, RouteProgress)}, but looks up the closest
+   * intersection in the {@link RouteSpatialIndex} of the current route if available.  Only the
+   * intersections within the maneuver zone change the tolerance, so those are the only ones looked up.
+   *
+   * @param snappedPoint  the location to measure from
+   * @param routeProgress for the current step intersections
+   * @param spatialIndex  of the route of the route progress, or null to measure every intersection
+   * @return the distance in meters before rerouting
+   * @since 0.20.0
+   */
+  public static double dynamicRerouteDistanceTolerance(Point snappedPoint, RouteProgress routeProgress,
+                                                       @Nullable RouteSpatialIndex spatialIndex) {
+    if (spatialIndex == null) {
+      return dynamicRerouteDistanceTolerance(snappedPoint, routeProgress);
+    }
+    Point closestIntersection = spatialIndex.nearestIntersection(snappedPoint, routeProgress.legIndex(),
+      routeProgress.currentLegProgress().stepIndex(), NavigationConstants.MANEUVER_ZONE_RADIUS);
+    if (closestIntersection == null || closestIntersection.equals(snappedPoint)) {
+      return NavigationConstants.MINIMUM_DISTANCE_BEFORE_REROUTING;
+    }
+    return NavigationConstants.MINIMUM_DISTANCE_BEFORE_REROUTING / 2;
+  }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import android.util.SparseArray;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class CompiledTriggerTest extends BaseTest {
+
+  private static final String ROUTE_FIXTURE = "directions_v5_precision_6.json";
+  private static final int RANDOM_STATEMENTS = 500;
+  private static final int MAXIMUM_DEPTH = 3;
+
+  @Test
+  public void compile_emptyAllFoldsToTrue() {
+    CompiledTrigger compiledTrigger = CompiledTrigger.compile(Trigger.all());
+
+    assertEquals(1, compiledTrigger.nodeCount());
+    assertEquals(CompiledTrigger.TRUE, compiledTrigger.operationAt(0));
+  }
+
+  @Test
+  public void compile_emptyAnyFoldsToFalse() {
+    CompiledTrigger compiledTrigger = CompiledTrigger.compile(Trigger.any(Trigger.none(Trigger.all())));
+
+    assertEquals(1, compiledTrigger.nodeCount());
+    assertEquals(CompiledTrigger.FALSE, compiledTrigger.operationAt(0));
+  }
+
+  @Test
+  public void compile_nestedAllStatementsAreMerged() {
+    Trigger.Statement statement = Trigger.all(
+      Trigger.all(
+        Trigger.gt(TriggerProperty.STEP_INDEX, 1),
+        Trigger.lt(TriggerProperty.STEP_INDEX, 4)
+      ),
+      Trigger.eq(TriggerProperty.NEW_STEP, TriggerProperty.TRUE),
+      Trigger.all()
+    );
+
+    CompiledTrigger compiledTrigger = CompiledTrigger.compile(statement);
+
+    assertEquals(4, compiledTrigger.nodeCount());
+    assertEquals(CompiledTrigger.ALL, compiledTrigger.operationAt(0));
+  }
+
+  @Test
+  public void compile_comparedPropertyWithFalseInvertsOperation() {
+    CompiledTrigger compiledTrigger = CompiledTrigger.compile(
+      Trigger.eq(TriggerProperty.NEW_STEP, TriggerProperty.FALSE)
+    );
+
+    assertEquals(CompiledTrigger.NOT_EQUAL, compiledTrigger.operationAt(0));
+  }
+
+  @Test
+  public void isOccurring_customStatementIsEvaluated() throws Exception {
+    RouteProgress routeProgress = buildStepProgress(buildTestDirectionsRoute(ROUTE_FIXTURE), 1);
+    Trigger.Statement customStatement = new Trigger.Statement() {
+      @Override
+      public boolean isOccurring(SparseArray<Number[]> statementObjects) {
+        return statementObjects.get(TriggerProperty.STEP_INDEX)[0].intValue() == 1;
+      }
+    };
+
+    CompiledTrigger compiledTrigger = CompiledTrigger.compile(Trigger.any(customStatement));
+
+    assertEquals(CompiledTrigger.CUSTOM, compiledTrigger.operationAt(0));
+    assertTrue(compiledTrigger.isOccurring(TriggerSnapshot.create(routeProgress, routeProgress)));
+  }
+
+  @Test
+  public void isOccurring_shortCircuitsAll() throws Exception {
+    RouteProgress routeProgress = buildStepProgress(buildTestDirectionsRoute(ROUTE_FIXTURE), 1);
+    Trigger.Statement failingStatement = new Trigger.Statement() {
+      @Override
+      public boolean isOccurring(SparseArray<Number[]> statementObjects) {
+        throw new AssertionError("Should not be evaluated");
+      }
+    };
+
+    CompiledTrigger compiledTrigger = CompiledTrigger.compile(
+      Trigger.all(Trigger.eq(TriggerProperty.STEP_INDEX, 0), failingStatement)
+    );
+
+    assertFalse(compiledTrigger.isOccurring(TriggerSnapshot.create(routeProgress, routeProgress)));
+  }
+
+  @Test
+  public void isOccurring_matchesInterpretedStatements() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ROUTE_FIXTURE);
+    List<TriggerSnapshot> snapshots = new ArrayList<>();
+    int stepCount = route.legs().get(0).steps().size();
+    for (int stepIndex = 0; stepIndex < stepCount; stepIndex++) {
+      RouteProgress previousRouteProgress = buildStepProgress(route, Math.max(0, stepIndex - 1));
+      RouteProgress routeProgress = buildStepProgress(route, stepIndex);
+      snapshots.add(TriggerSnapshot.create(previousRouteProgress, routeProgress));
+      snapshots.add(TriggerSnapshot.create(routeProgress, routeProgress));
+    }
+    Random random = new Random(42);
+
+    for (int i = 0; i < RANDOM_STATEMENTS; i++) {
+      Trigger.Statement statement = RandomStatements.build(random, RandomStatements.ALL_PROPERTIES, MAXIMUM_DEPTH);
+      CompiledTrigger compiledTrigger = CompiledTrigger.compile(statement);
+      for (TriggerSnapshot snapshot : snapshots) {
+        assertEquals(statement.isOccurring(snapshot), compiledTrigger.isOccurring(snapshot));
+      }
+    }
+  }
+
+  private RouteProgress buildStepProgress(DirectionsRoute route, int stepIndex) throws Exception {
+    double stepDistanceRemaining = route.legs().get(0).steps().get(stepIndex).distance() / 2;
+    return buildTestRouteProgress(route, stepDistanceRemaining,
+      route.legs().get(0).distance(), route.distance(), stepIndex, 0);
+  }
+}
@@ -0,0 +1,154 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import android.util.SparseArray;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class MilestoneSchedulerTest extends BaseTest {
+
+  private static final String ROUTE_FIXTURE = "directions_v5_precision_6.json";
+  private static final int[] PROPERTIES = {
+    TriggerProperty.STEP_DURATION_REMAINING_SECONDS, TriggerProperty.STEP_DISTANCE_REMAINING_METERS,
+    TriggerProperty.STEP_DISTANCE_TRAVELED_METERS, TriggerProperty.STEP_INDEX, TriggerProperty.NEW_STEP
+  };
+  private static final int RANDOM_MILESTONES = 200;
+  private static final int FIXES_PER_STEP = 20;
+
+  @Test
+  public void checkMilestones_matchesEvaluatingEveryMilestone() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ROUTE_FIXTURE);
+    Random random = new Random(7);
+    List<Trigger.Statement> triggers = new ArrayList<>();
+    for (int i = 0; i < RANDOM_MILESTONES; i++) {
+      triggers.add(RandomStatements.build(random, PROPERTIES, 2));
+    }
+    List<Milestone> scheduledMilestones = buildMilestones(triggers);
+    List<Milestone> evaluatedMilestones = buildMilestones(triggers);
+    MilestoneScheduler scheduler = new MilestoneScheduler();
+    scheduler.setMilestones(scheduledMilestones);
+    TriggerSnapshot snapshot = new TriggerSnapshot();
+
+    RouteProgress previousRouteProgress = buildStepProgress(route, 0, 0);
+    int stepCount = route.legs().get(0).steps().size();
+    for (int stepIndex = 0; stepIndex < stepCount; stepIndex++) {
+      for (int fix = 0; fix <= FIXES_PER_STEP; fix++) {
+        RouteProgress routeProgress = buildStepProgress(route, stepIndex, fix);
+
+        List<Milestone> scheduled = scheduler.checkMilestones(previousRouteProgress, routeProgress, snapshot);
+        List<Milestone> evaluated = checkEveryMilestone(evaluatedMilestones, previousRouteProgress, routeProgress);
+
+        assertEquals(identifiersOf(evaluated), identifiersOf(scheduled));
+        previousRouteProgress = routeProgress;
+      }
+    }
+  }
+
+  @Test
+  public void checkMilestones_milestoneIsNotEvaluatedBeforeItsWindow() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ROUTE_FIXTURE);
+    Milestone milestone = new StepMilestone.Builder()
+      .setTrigger(Trigger.lte(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 10))
+      .build();
+    MilestoneScheduler scheduler = new MilestoneScheduler();
+    scheduler.setMilestones(Collections.singletonList(milestone));
+    TriggerSnapshot snapshot = new TriggerSnapshot();
+    RouteProgress firstRouteProgress = buildStepProgress(route, 1, 0);
+    RouteProgress secondRouteProgress = buildStepProgress(route, 1, 1);
+    RouteProgress arrivingRouteProgress = buildTestRouteProgress(route, 5,
+      route.legs().get(0).distance(), route.distance(), 1, 0);
+
+    scheduler.checkMilestones(firstRouteProgress, firstRouteProgress, snapshot);
+    scheduler.checkMilestones(firstRouteProgress, secondRouteProgress, snapshot);
+    int evaluatedBeforeWindow = scheduler.evaluatedCount();
+    List<Milestone> occurring = scheduler.checkMilestones(secondRouteProgress, arrivingRouteProgress, snapshot);
+
+    assertEquals(0, evaluatedBeforeWindow);
+    assertEquals(1, occurring.size());
+  }
+
+  @Test
+  public void checkMilestones_customStatementIsAlwaysEvaluated() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ROUTE_FIXTURE);
+    Trigger.Statement customStatement = new Trigger.Statement() {
+      @Override
+      public boolean isOccurring(SparseArray<Number[]> statementObjects) {
+        return false;
+      }
+    };
+    Milestone milestone = new StepMilestone.Builder()
+      .setTrigger(Trigger.all(customStatement, Trigger.gt(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 10)))
+      .build();
+    MilestoneScheduler scheduler = new MilestoneScheduler();
+    scheduler.setMilestones(Collections.singletonList(milestone));
+    RouteProgress routeProgress = buildStepProgress(route, 1, 0);
+
+    scheduler.checkMilestones(routeProgress, routeProgress, new TriggerSnapshot());
+
+    assertEquals(1, scheduler.evaluatedCount());
+  }
+
+  @Test
+  public void checkMilestones_voiceInstructionMilestoneIsAlwaysEvaluated() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ROUTE_FIXTURE);
+    Milestone milestone = new VoiceInstructionMilestone.Builder().setIdentifier(1).build();
+    MilestoneScheduler scheduler = new MilestoneScheduler();
+    scheduler.setMilestones(Collections.singletonList(milestone));
+    RouteProgress routeProgress = buildStepProgress(route, 1, 0);
+
+    scheduler.checkMilestones(routeProgress, routeProgress, new TriggerSnapshot());
+
+    assertEquals(1, scheduler.evaluatedCount());
+  }
+
+  private List<Milestone> buildMilestones(List<Trigger.Statement> triggers) {
+    List<Milestone> milestones = new ArrayList<>();
+    for (int i = 0; i < triggers.size(); i++) {
+      Milestone.Builder builder = i % 2 == 0 ? new StepMilestone.Builder() : new RouteMilestone.Builder();
+      milestones.add(builder.setIdentifier(i).setTrigger(triggers.get(i)).build());
+    }
+    return milestones;
+  }
+
+  private List<Milestone> checkEveryMilestone(List<Milestone> milestones, RouteProgress previousRouteProgress,
+                                              RouteProgress routeProgress) {
+    List<Milestone> occurringMilestones = new ArrayList<>();
+    for (Milestone milestone : milestones) {
+      if (milestone.isOccurring(previousRouteProgress, routeProgress)) {
+        occurringMilestones.add(milestone);
+      }
+    }
+    return occurringMilestones;
+  }
+
+  private List<Integer> identifiersOf(List<Milestone> milestones) {
+    List<Integer> identifiers = new ArrayList<>();
+    for (Milestone milestone : milestones) {
+      identifiers.add(milestone.getIdentifier());
+    }
+    return identifiers;
+  }
+
+  private RouteProgress buildStepProgress(DirectionsRoute route, int stepIndex, int fix) throws Exception {
+    double stepDistance = route.legs().get(0).steps().get(stepIndex).distance();
+    double stepDistanceRemaining = stepDistance * (FIXES_PER_STEP - fix) / FIXES_PER_STEP;
+    return buildTestRouteProgress(route, stepDistanceRemaining,
+      route.legs().get(0).distance(), route.distance(), stepIndex, 0);
+  }
+}
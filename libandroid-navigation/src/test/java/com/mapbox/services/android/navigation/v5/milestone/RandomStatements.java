@@ -0,0 +1,65 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import java.util.Random;
+
+/**
+ * Builds random {@link Trigger.Statement}s, to check that a faster evaluation of the statements
+ * matches evaluating every statement.
+ */
+final class RandomStatements {
+
+  static final int[] ALL_PROPERTIES = {
+    TriggerProperty.STEP_DURATION_REMAINING_SECONDS, TriggerProperty.STEP_DISTANCE_REMAINING_METERS,
+    TriggerProperty.STEP_DISTANCE_TOTAL_METERS, TriggerProperty.STEP_DURATION_TOTAL_SECONDS,
+    TriggerProperty.STEP_DISTANCE_TRAVELED_METERS, TriggerProperty.STEP_INDEX, TriggerProperty.NEW_STEP,
+    TriggerProperty.FIRST_STEP, TriggerProperty.LAST_STEP, TriggerProperty.NEXT_STEP_DISTANCE_METERS,
+    TriggerProperty.NEXT_STEP_DURATION_SECONDS, TriggerProperty.FIRST_LEG, TriggerProperty.LAST_LEG
+  };
+
+  private RandomStatements() {
+    // Test helper class therefore, shouldn't be initialized.
+  }
+
+  /**
+   * Builds a random comparison of one of the properties, or a random all, any or none of such
+   * statements nested up to the given depth.
+   *
+   * @param random     source of the statement
+   * @param properties keys of the compared properties
+   * @param depth      number of levels of statements which may still be nested
+   * @return the random statement
+   */
+  static Trigger.Statement build(Random random, int[] properties, int depth) {
+    int kind = random.nextInt(depth > 0 ? 9 : 6);
+    if (kind >= 6) {
+      Trigger.Statement[] statements = new Trigger.Statement[random.nextInt(4)];
+      for (int i = 0; i < statements.length; i++) {
+        statements[i] = build(random, properties, depth - 1);
+      }
+      return kind == 6 ? Trigger.all(statements) : kind == 7 ? Trigger.any(statements) : Trigger.none(statements);
+    }
+    int key = properties[random.nextInt(properties.length)];
+    Number value;
+    if (TriggerSnapshot.isComparedProperty(key)) {
+      value = random.nextBoolean() ? TriggerProperty.TRUE : TriggerProperty.FALSE;
+    } else if (key == TriggerProperty.STEP_INDEX) {
+      value = random.nextInt(6);
+    } else {
+      value = random.nextInt(400) * 1d;
+    }
+    switch (kind) {
+      case 0:
+        return Trigger.gt(key, value);
+      case 1:
+        return Trigger.gte(key, value);
+      case 2:
+        return Trigger.lt(key, value);
+      case 3:
+        return Trigger.lte(key, value);
+      case 4:
+        return Trigger.eq(key, value);
+      default:
+        return Trigger.neq(key, value);
+    }
+  }
+}
@@ -122,6 +122,34 @@ public class TriggerPropertyTest extends BaseTest {
     }
   }
 
+  @Test
+  public void firstLegProperty_doesNotShareKeyWithStepDistanceTraveled() throws Exception {
+    RouteProgress routeProgress = buildTestRouteProgressForTrigger();
+    Milestone milestone = new StepMilestone.Builder()
+      .setTrigger(
+        Trigger.eq(TriggerProperty.FIRST_LEG, TriggerProperty.TRUE)
+      ).build();
+
+    boolean result = milestone.isOccurring(routeProgress, routeProgress);
+
+    Assert.assertTrue(TriggerProperty.FIRST_LEG != TriggerProperty.STEP_DISTANCE_TRAVELED_METERS);
+    Assert.assertTrue(result);
+  }
+
+  @Test
+  public void stepDistanceTraveledProperty_validatesAgainstDistanceTraveled() throws Exception {
+    RouteProgress routeProgress = buildTestRouteProgressForTrigger();
+    double distanceTraveled = routeProgress.currentLegProgress().currentStepProgress().distanceTraveled();
+    Milestone milestone = new StepMilestone.Builder()
+      .setTrigger(
+        Trigger.lte(TriggerProperty.STEP_DISTANCE_TRAVELED_METERS, distanceTraveled)
+      ).build();
+
+    boolean result = milestone.isOccurring(routeProgress, routeProgress);
+
+    Assert.assertTrue(result);
+  }
+
   private RouteProgress buildTestRouteProgressForTrigger() throws Exception {
     Gson gson = new GsonBuilder()
       .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
@@ -0,0 +1,76 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class TriggerSnapshotTest extends BaseTest {
+
+  private static final String ROUTE_FIXTURE = "directions_v5_precision_6.json";
+  private static final double DELTA = 1E-8;
+
+  @Test
+  public void update_doesNotReadRouteProgressUntilNeeded() {
+    RouteProgress previousRouteProgress = mock(RouteProgress.class);
+    RouteProgress routeProgress = mock(RouteProgress.class);
+    TriggerSnapshot snapshot = new TriggerSnapshot();
+
+    snapshot.update(previousRouteProgress, routeProgress);
+
+    verifyZeroInteractions(previousRouteProgress, routeProgress);
+  }
+
+  @Test
+  public void update_replacesValuesOfPreviousProgress() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ROUTE_FIXTURE);
+    RouteProgress firstStepProgress = buildStepProgress(route, 0);
+    RouteProgress secondStepProgress = buildStepProgress(route, 1);
+    TriggerSnapshot snapshot = TriggerSnapshot.create(firstStepProgress, firstStepProgress);
+    assertEquals(0d, snapshot.value(TriggerProperty.STEP_INDEX), DELTA);
+
+    snapshot.update(firstStepProgress, secondStepProgress);
+
+    assertEquals(1d, snapshot.value(TriggerProperty.STEP_INDEX), DELTA);
+    assertTrue(Operation.equal(snapshot, TriggerProperty.NEW_STEP, TriggerProperty.FALSE));
+    assertFalse(Operation.equal(snapshot, TriggerProperty.FIRST_STEP, TriggerProperty.TRUE));
+  }
+
+  @Test
+  public void equal_comparesIntegerAndDoubleValuesNumerically() throws Exception {
+    RouteProgress routeProgress = buildStepProgress(buildTestDirectionsRoute(ROUTE_FIXTURE), 1);
+    TriggerSnapshot snapshot = TriggerSnapshot.create(routeProgress, routeProgress);
+
+    assertTrue(Trigger.eq(TriggerProperty.STEP_INDEX, 1).isOccurring(snapshot));
+    assertTrue(Trigger.eq(TriggerProperty.STEP_INDEX, 1d).isOccurring(snapshot));
+    assertFalse(Trigger.neq(TriggerProperty.STEP_INDEX, 1d).isOccurring(snapshot));
+  }
+
+  @Test
+  public void statementObjects_builtOncePerUpdate() throws Exception {
+    RouteProgress routeProgress = buildStepProgress(buildTestDirectionsRoute(ROUTE_FIXTURE), 0);
+    TriggerSnapshot snapshot = TriggerSnapshot.create(routeProgress, routeProgress);
+
+    assertSame(snapshot.statementObjects(), snapshot.statementObjects());
+  }
+
+  private RouteProgress buildStepProgress(DirectionsRoute route, int stepIndex) throws Exception {
+    double stepDistanceRemaining = route.legs().get(0).steps().get(stepIndex).distance();
+    return buildTestRouteProgress(route, stepDistanceRemaining,
+      route.legs().get(0).distance(), route.distance(), stepIndex, 0);
+  }
+}
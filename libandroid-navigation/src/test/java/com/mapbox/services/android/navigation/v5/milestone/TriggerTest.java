@@ -1,5 +1,7 @@
 package com.mapbox.services.android.navigation.v5.milestone;
 
+import android.util.SparseArray;
+
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
@@ -356,6 +358,34 @@ public class TriggerTest extends BaseTest {
     Assert.assertTrue(result);
   }
 
+  @Test
+  public void equal_statementObjectsCompareIntegerAndDoubleValuesNumerically() throws Exception {
+    SparseArray<Number[]> statementObjects = new SparseArray<>();
+    statementObjects.put(TriggerProperty.STEP_INDEX, new Number[] {1});
+
+    Assert.assertTrue(Trigger.eq(TriggerProperty.STEP_INDEX, 1d).isOccurring(statementObjects));
+    Assert.assertFalse(Trigger.neq(TriggerProperty.STEP_INDEX, 1d).isOccurring(statementObjects));
+  }
+
+  @Test
+  public void customStatement_validatedWithStatementObjects() throws Exception {
+    RouteProgress routeProgress = buildTriggerRouteProgress();
+    final double stepDistance = routeProgress.currentLegProgress().currentStep().distance();
+    Trigger.Statement customStatement = new Trigger.Statement() {
+      @Override
+      public boolean isOccurring(SparseArray<Number[]> statementObjects) {
+        return statementObjects.get(TriggerProperty.STEP_DISTANCE_TOTAL_METERS)[0].doubleValue() == stepDistance;
+      }
+    };
+    Milestone milestone = new StepMilestone.Builder()
+      .setTrigger(Trigger.all(customStatement, Trigger.eq(TriggerProperty.STEP_INDEX, 1)))
+      .build();
+
+    boolean result = milestone.isOccurring(routeProgress, routeProgress);
+
+    Assert.assertTrue(result);
+  }
+
   private RouteProgress buildTriggerRouteProgress() throws Exception {
     Gson gson = new GsonBuilder()
       .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
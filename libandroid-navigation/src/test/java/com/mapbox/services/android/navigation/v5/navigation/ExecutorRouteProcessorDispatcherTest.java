@@ -0,0 +1,82 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class ExecutorRouteProcessorDispatcherTest {
+
+  @Test
+  public void dispatch_deliversAllCallbacksThroughExecutor() {
+    RouteProcessorBackgroundThread.Listener listener = mock(RouteProcessorBackgroundThread.Listener.class);
+    Executor directExecutor = new Executor() {
+      @Override
+      public void execute(Runnable task) {
+        task.run();
+      }
+    };
+    ExecutorRouteProcessorDispatcher dispatcher = new ExecutorRouteProcessorDispatcher(
+      directExecutor, listener, new PipelineMetricsRecorder(false)
+    );
+    Location location = mock(Location.class);
+    RouteProgress routeProgress = mock(RouteProgress.class);
+    List<Milestone> milestones = Collections.emptyList();
+
+    dispatcher.dispatch(true, milestones, location, false, routeProgress);
+
+    verify(listener).onNewRouteProgress(eq(location), eq(routeProgress));
+    verify(listener).onMilestoneTrigger(eq(milestones), eq(routeProgress));
+    verify(listener).onUserOffRoute(eq(location), eq(true));
+    verify(listener).onCheckFasterRoute(eq(location), eq(routeProgress), eq(false));
+  }
+
+  @Test
+  public void dispatch_doesNotCallListenerBeforeExecutorRuns() {
+    RouteProcessorBackgroundThread.Listener listener = mock(RouteProcessorBackgroundThread.Listener.class);
+    Executor executor = mock(Executor.class);
+    ExecutorRouteProcessorDispatcher dispatcher = new ExecutorRouteProcessorDispatcher(
+      executor, listener, new PipelineMetricsRecorder(false)
+    );
+
+    dispatcher.dispatch(false, Collections.<Milestone>emptyList(), mock(Location.class), false,
+      mock(RouteProgress.class));
+
+    verifyZeroInteractions(listener);
+  }
+
+  @Test
+  public void dispatch_recordsCallbackLatenciesWhenMetricsEnabled() {
+    RouteProcessorBackgroundThread.Listener listener = mock(RouteProcessorBackgroundThread.Listener.class);
+    Executor directExecutor = new Executor() {
+      @Override
+      public void execute(Runnable task) {
+        task.run();
+      }
+    };
+    PipelineMetricsRecorder metrics = new PipelineMetricsRecorder(true);
+    ExecutorRouteProcessorDispatcher dispatcher = new ExecutorRouteProcessorDispatcher(
+      directExecutor, listener, metrics
+    );
+
+    dispatcher.dispatch(false, Collections.<Milestone>emptyList(), mock(Location.class), false,
+      mock(RouteProgress.class));
+
+    NavigationMetrics navigationMetrics = metrics.snapshot();
+    assertEquals(1, navigationMetrics.count(PipelineStage.MAIN_THREAD_HOP));
+    assertEquals(1, navigationMetrics.count(PipelineStage.LISTENER_CALLBACKS));
+    assertEquals(1, navigationMetrics.count(PipelineStage.FIX_TO_CALLBACK));
+  }
+}
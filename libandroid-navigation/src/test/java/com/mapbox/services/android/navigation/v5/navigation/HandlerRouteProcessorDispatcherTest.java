@@ -0,0 +1,150 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.os.Handler;
+
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class HandlerRouteProcessorDispatcherTest {
+
+  private static final int NO_LIMIT = 0;
+  private static final int TEN_HZ = 10;
+
+  @Test
+  public void dispatch_withoutLimitPostsEveryUpdate() {
+    Handler handler = mock(Handler.class);
+    HandlerRouteProcessorDispatcher dispatcher = buildDispatcher(handler, NO_LIMIT);
+
+    dispatchProgress(dispatcher, mock(RouteProgress.class));
+    dispatchProgress(dispatcher, mock(RouteProgress.class));
+
+    verify(handler, times(2)).post(any(Runnable.class));
+  }
+
+  @Test
+  public void dispatch_withoutLimitDeliversAllCallbacks() {
+    Handler handler = mock(Handler.class);
+    RouteProcessorBackgroundThread.Listener listener = mock(RouteProcessorBackgroundThread.Listener.class);
+    HandlerRouteProcessorDispatcher dispatcher = new HandlerRouteProcessorDispatcher(
+      handler, listener, NO_LIMIT, new PipelineMetricsRecorder(false)
+    );
+    Location location = mock(Location.class);
+    RouteProgress routeProgress = mock(RouteProgress.class);
+    List<Milestone> milestones = Collections.emptyList();
+
+    dispatcher.dispatch(false, milestones, location, false, routeProgress);
+    captureRunnable(handler).run();
+
+    verify(listener).onNewRouteProgress(eq(location), eq(routeProgress));
+    verify(listener).onMilestoneTrigger(eq(milestones), eq(routeProgress));
+    verify(listener).onUserOffRoute(eq(location), eq(false));
+    verify(listener).onCheckFasterRoute(eq(location), eq(routeProgress), eq(false));
+  }
+
+  @Test
+  public void dispatch_withLimitSchedulesProgressOnce() {
+    Handler handler = mock(Handler.class);
+    HandlerRouteProcessorDispatcher dispatcher = buildDispatcher(handler, TEN_HZ);
+
+    dispatchProgress(dispatcher, mock(RouteProgress.class));
+    dispatchProgress(dispatcher, mock(RouteProgress.class));
+
+    verify(handler, times(1)).postAtTime(any(Runnable.class), anyLong());
+    verify(handler, never()).post(any(Runnable.class));
+  }
+
+  @Test
+  public void dispatch_withLimitDeliversLatestProgress() {
+    Handler handler = mock(Handler.class);
+    RouteProcessorBackgroundThread.Listener listener = mock(RouteProcessorBackgroundThread.Listener.class);
+    HandlerRouteProcessorDispatcher dispatcher = new HandlerRouteProcessorDispatcher(
+      handler, listener, TEN_HZ, new PipelineMetricsRecorder(false)
+    );
+    RouteProgress latestRouteProgress = mock(RouteProgress.class);
+    dispatchProgress(dispatcher, mock(RouteProgress.class));
+    dispatchProgress(dispatcher, latestRouteProgress);
+
+    captureScheduledRunnable(handler).run();
+
+    verify(listener, times(1)).onNewRouteProgress(any(Location.class), any(RouteProgress.class));
+    verify(listener).onNewRouteProgress(any(Location.class), eq(latestRouteProgress));
+  }
+
+  @Test
+  public void dispatch_withLimitPostsMilestonesImmediately() {
+    Handler handler = mock(Handler.class);
+    HandlerRouteProcessorDispatcher dispatcher = buildDispatcher(handler, TEN_HZ);
+    List<Milestone> milestones = new ArrayList<>();
+    milestones.add(mock(Milestone.class));
+
+    dispatcher.dispatch(false, milestones, mock(Location.class), false, mock(RouteProgress.class));
+
+    verify(handler).post(any(Runnable.class));
+  }
+
+  @Test
+  public void dispatch_withLimitPostsOffRouteImmediately() {
+    Handler handler = mock(Handler.class);
+    HandlerRouteProcessorDispatcher dispatcher = buildDispatcher(handler, TEN_HZ);
+
+    dispatcher.dispatch(true, Collections.<Milestone>emptyList(), mock(Location.class), false,
+      mock(RouteProgress.class));
+
+    verify(handler).post(any(Runnable.class));
+  }
+
+  @Test
+  public void dispatch_immediateUpdateReplacesPendingProgress() {
+    Handler handler = mock(Handler.class);
+    RouteProcessorBackgroundThread.Listener listener = mock(RouteProcessorBackgroundThread.Listener.class);
+    HandlerRouteProcessorDispatcher dispatcher = new HandlerRouteProcessorDispatcher(
+      handler, listener, TEN_HZ, new PipelineMetricsRecorder(false)
+    );
+    dispatchProgress(dispatcher, mock(RouteProgress.class));
+    dispatcher.dispatch(true, Collections.<Milestone>emptyList(), mock(Location.class), false,
+      mock(RouteProgress.class));
+
+    captureScheduledRunnable(handler).run();
+
+    verify(listener, never()).onNewRouteProgress(any(Location.class), any(RouteProgress.class));
+  }
+
+  private HandlerRouteProcessorDispatcher buildDispatcher(Handler handler, int maximumProgressDispatchRate) {
+    RouteProcessorBackgroundThread.Listener listener = mock(RouteProcessorBackgroundThread.Listener.class);
+    return new HandlerRouteProcessorDispatcher(
+      handler, listener, maximumProgressDispatchRate, new PipelineMetricsRecorder(false)
+    );
+  }
+
+  private void dispatchProgress(HandlerRouteProcessorDispatcher dispatcher, RouteProgress routeProgress) {
+    dispatcher.dispatch(false, Collections.<Milestone>emptyList(), mock(Location.class), false, routeProgress);
+  }
+
+  private Runnable captureRunnable(Handler handler) {
+    ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+    verify(handler).post(captor.capture());
+    return captor.getValue();
+  }
+
+  private Runnable captureScheduledRunnable(Handler handler) {
+    ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+    verify(handler).postAtTime(captor.capture(), anyLong());
+    return captor.getValue();
+  }
+}
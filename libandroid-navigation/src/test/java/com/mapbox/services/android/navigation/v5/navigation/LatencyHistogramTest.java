@@ -0,0 +1,109 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+  private static final double DELTA = 1E-8;
+  private static final double RELATIVE_PRECISION = 1d / 32;
+
+  @Test
+  public void percentileNanos_smallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int nanos = 1; nanos <= 10; nanos++) {
+      histogram.record(nanos);
+    }
+
+    assertEquals(5, histogram.percentileNanos(50));
+    assertEquals(9, histogram.percentileNanos(90));
+    assertEquals(10, histogram.percentileNanos(100));
+  }
+
+  @Test
+  public void percentileNanos_largeValuesWithinRelativePrecision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long micros = 1; micros <= 1000; micros++) {
+      histogram.record(micros * 1000);
+    }
+
+    long p99 = histogram.percentileNanos(99);
+
+    assertTrue(Math.abs(p99 - 990000) <= 990000 * RELATIVE_PRECISION);
+  }
+
+  @Test
+  public void percentileNanos_cappedAtMaximum() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    histogram.record(1000001);
+
+    assertEquals(1000001, histogram.percentileNanos(100));
+    assertEquals(1000001, histogram.maximumNanos());
+  }
+
+  @Test
+  public void percentileNanos_zeroWhenEmpty() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertEquals(0, histogram.percentileNanos(99));
+  }
+
+  @Test
+  public void record_negativeValueCountedAsZero() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    histogram.record(-10);
+
+    assertEquals(1, histogram.count());
+    assertEquals(0, histogram.maximumNanos());
+    assertEquals(0d, histogram.averageNanos(), DELTA);
+  }
+
+  @Test
+  public void record_valuesAboveTrackableRangeUseLastBucket() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    histogram.record(Long.MAX_VALUE);
+
+    assertEquals(1, histogram.count());
+    assertEquals(Long.MAX_VALUE, histogram.percentileNanos(50));
+  }
+
+  @Test
+  public void bucketIndexFor_highestValueInMatchesBucket() {
+    for (long nanos : new long[] {0, 31, 32, 33, 63, 64, 1000, 123456789}) {
+      int bucketIndex = LatencyHistogram.bucketIndexFor(nanos);
+
+      assertTrue(LatencyHistogram.highestValueIn(bucketIndex) >= nanos);
+      assertEquals(bucketIndex, LatencyHistogram.bucketIndexFor(LatencyHistogram.highestValueIn(bucketIndex)));
+    }
+  }
+
+  @Test
+  public void copy_isNotAffectedByLaterRecording() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(100);
+
+    LatencyHistogram copy = histogram.copy();
+    histogram.record(200);
+
+    assertEquals(1, copy.count());
+    assertEquals(100, copy.maximumNanos());
+    assertEquals(100d, copy.averageNanos(), DELTA);
+  }
+
+  @Test
+  public void reset_clearsAllCounts() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(100);
+
+    histogram.reset();
+
+    assertEquals(0, histogram.count());
+    assertEquals(0, histogram.maximumNanos());
+    assertEquals(0, histogram.percentileNanos(50));
+  }
+}
@@ -0,0 +1,96 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotation;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+
+public class LegAnnotationIndexTest extends BaseTest {
+
+  private static final String ANNOTATED_DISTANCE_CONGESTION_ROUTE_FIXTURE = "directions_distance_congestion_annotation.json";
+
+  @Test
+  public void findAnnotationIndex_beginningOfLegReturnsFirstIndex() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ANNOTATED_DISTANCE_CONGESTION_ROUTE_FIXTURE);
+    LegAnnotationIndex annotationIndex = LegAnnotationIndex.create(route);
+
+    assertEquals(0, annotationIndex.findAnnotationIndex(0, 0));
+  }
+
+  @Test
+  public void findAnnotationIndex_matchesWalkingTheDistanceList() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ANNOTATED_DISTANCE_CONGESTION_ROUTE_FIXTURE);
+    List<Double> distances = route.legs().get(0).annotation().distance();
+    LegAnnotationIndex annotationIndex = LegAnnotationIndex.create(route);
+    double distanceToAnnotation = 0;
+
+    for (int i = 0; i < distances.size(); i++) {
+      double midAnnotation = distanceToAnnotation + (distances.get(i) / 2);
+
+      assertEquals(i, annotationIndex.findAnnotationIndex(0, midAnnotation));
+      assertEquals(distanceToAnnotation, annotationIndex.distanceToAnnotation(0, i), DELTA);
+      distanceToAnnotation += distances.get(i);
+    }
+  }
+
+  @Test
+  public void findAnnotationIndex_pastEndOfLegReturnsLastIndex() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ANNOTATED_DISTANCE_CONGESTION_ROUTE_FIXTURE);
+    RouteLeg leg = route.legs().get(0);
+    int lastIndex = leg.annotation().distance().size() - 1;
+    LegAnnotationIndex annotationIndex = LegAnnotationIndex.create(route);
+
+    assertEquals(lastIndex, annotationIndex.findAnnotationIndex(0, leg.distance() * 2));
+  }
+
+  @Test
+  public void findAnnotationIndex_noAnnotationsReturnsInvalidIndex() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    LegAnnotationIndex annotationIndex = LegAnnotationIndex.create(route);
+
+    assertEquals(LegAnnotationIndex.INVALID_ANNOTATION_INDEX, annotationIndex.findAnnotationIndex(0, 0));
+  }
+
+  @Test
+  public void createCurrentAnnotation_matchesAnnotationFromDistanceList() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ANNOTATED_DISTANCE_CONGESTION_ROUTE_FIXTURE);
+    RouteLeg leg = route.legs().get(0);
+    double legDistanceRemaining = leg.distance() / 2;
+    LegAnnotationIndex annotationIndex = LegAnnotationIndex.create(route);
+    CurrentLegAnnotation expectedAnnotation = NavigationHelper.createCurrentAnnotation(
+      null, leg, legDistanceRemaining
+    );
+
+    CurrentLegAnnotation currentAnnotation = NavigationHelper.createCurrentAnnotation(
+      null, leg, 0, legDistanceRemaining, annotationIndex
+    );
+
+    assertEquals(expectedAnnotation.index(), currentAnnotation.index());
+    assertEquals(expectedAnnotation.congestion(), currentAnnotation.congestion());
+    assertEquals(expectedAnnotation.distanceToAnnotation(), currentAnnotation.distanceToAnnotation(), LARGE_DELTA);
+  }
+
+  @Test
+  public void createCurrentAnnotation_sameIndexReturnsCurrentAnnotation() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ANNOTATED_DISTANCE_CONGESTION_ROUTE_FIXTURE);
+    RouteLeg leg = route.legs().get(0);
+    double legDistanceRemaining = leg.distance() / 2;
+    LegAnnotationIndex annotationIndex = LegAnnotationIndex.create(route);
+    CurrentLegAnnotation currentAnnotation = NavigationHelper.createCurrentAnnotation(
+      null, leg, 0, legDistanceRemaining, annotationIndex
+    );
+
+    CurrentLegAnnotation newAnnotation = NavigationHelper.createCurrentAnnotation(
+      currentAnnotation, leg, 0, legDistanceRemaining - 0.1, annotationIndex
+    );
+
+    assertSame(currentAnnotation, newAnnotation);
+  }
+}
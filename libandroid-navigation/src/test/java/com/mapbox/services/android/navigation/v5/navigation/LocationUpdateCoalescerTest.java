@@ -0,0 +1,57 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class LocationUpdateCoalescerTest {
+
+  @Test
+  public void offer_firstUpdateRequiresNotification() {
+    LocationUpdateCoalescer coalescer = new LocationUpdateCoalescer(new RouteProcessorStats());
+
+    boolean shouldNotify = coalescer.offer(mock(NavigationLocationUpdate.class));
+
+    assertTrue(shouldNotify);
+  }
+
+  @Test
+  public void offer_pendingUpdateIsReplacedAndCountedAsDropped() {
+    RouteProcessorStats stats = new RouteProcessorStats();
+    LocationUpdateCoalescer coalescer = new LocationUpdateCoalescer(stats);
+    NavigationLocationUpdate newestUpdate = mock(NavigationLocationUpdate.class);
+    coalescer.offer(mock(NavigationLocationUpdate.class));
+
+    boolean shouldNotify = coalescer.offer(newestUpdate);
+
+    assertFalse(shouldNotify);
+    assertEquals(1, stats.droppedUpdates());
+    assertSame(newestUpdate, coalescer.poll());
+  }
+
+  @Test
+  public void poll_clearsPendingUpdate() {
+    LocationUpdateCoalescer coalescer = new LocationUpdateCoalescer(new RouteProcessorStats());
+    coalescer.offer(mock(NavigationLocationUpdate.class));
+
+    coalescer.poll();
+
+    assertNull(coalescer.poll());
+  }
+
+  @Test
+  public void offer_afterPollRequiresNotification() {
+    LocationUpdateCoalescer coalescer = new LocationUpdateCoalescer(new RouteProcessorStats());
+    coalescer.offer(mock(NavigationLocationUpdate.class));
+    coalescer.poll();
+
+    boolean shouldNotify = coalescer.offer(mock(NavigationLocationUpdate.class));
+
+    assertTrue(shouldNotify);
+  }
+}
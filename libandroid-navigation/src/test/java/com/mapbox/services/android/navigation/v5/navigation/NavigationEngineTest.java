@@ -0,0 +1,139 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.StepMilestone;
+import com.mapbox.services.android.navigation.v5.milestone.Trigger;
+import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class NavigationEngineTest extends BaseTest {
+
+  @Test
+  public void processAll_returnsResultForEachLocation() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    List<Location> locations = buildLocationsAlongRoute(route);
+    NavigationEngine engine = new NavigationEngine(route, MapboxNavigationOptions.builder().build());
+
+    List<NavigationEngineResult> results = engine.processAll(locations);
+
+    assertEquals(locations.size(), results.size());
+    for (int i = 0; i < locations.size(); i++) {
+      assertSame(locations.get(i), results.get(i).rawLocation());
+    }
+  }
+
+  @Test
+  public void processAll_advancesAlongRoute() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    NavigationEngine engine = new NavigationEngine(route, MapboxNavigationOptions.builder().build());
+
+    List<NavigationEngineResult> results = engine.processAll(buildLocationsAlongRoute(route));
+
+    RouteProgress firstProgress = results.get(0).routeProgress();
+    RouteProgress lastProgress = results.get(results.size() - 1).routeProgress();
+    assertTrue(lastProgress.distanceRemaining() < firstProgress.distanceRemaining());
+    assertTrue(lastProgress.currentLegProgress().stepIndex() > firstProgress.currentLegProgress().stepIndex());
+  }
+
+  @Test
+  public void process_iteratorIsLazy() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    NavigationEngine engine = new NavigationEngine(route, MapboxNavigationOptions.builder().build());
+    OffRoute offRouteEngine = mock(OffRoute.class);
+    engine.setOffRouteEngine(offRouteEngine);
+
+    Iterator<NavigationEngineResult> results = engine.process(buildLocationsAlongRoute(route).iterator());
+
+    assertTrue(results.hasNext());
+    verifyZeroInteractions(offRouteEngine);
+  }
+
+  @Test
+  public void process_offRouteEngineResultIsReturned() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    NavigationEngine engine = new NavigationEngine(route, MapboxNavigationOptions.builder().build());
+    OffRoute offRouteEngine = mock(OffRoute.class);
+    when(offRouteEngine.isUserOffRoute(any(Location.class), any(RouteProgress.class),
+      any(MapboxNavigationOptions.class))).thenReturn(true);
+    engine.setOffRouteEngine(offRouteEngine);
+    Location location = buildLocationsAlongRoute(route).get(0);
+
+    NavigationEngineResult result = engine.process(location);
+
+    assertTrue(result.userOffRoute());
+    assertSame(location, result.location());
+  }
+
+  @Test
+  public void process_defaultMilestonesDisabledTriggersNoMilestones() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder().defaultMilestonesEnabled(false).build();
+    NavigationEngine engine = new NavigationEngine(route, options);
+
+    List<NavigationEngineResult> results = engine.processAll(buildLocationsAlongRoute(route));
+
+    for (NavigationEngineResult result : results) {
+      assertTrue(result.milestones().isEmpty());
+    }
+  }
+
+  @Test
+  public void process_addedMilestoneIsTriggered() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder().defaultMilestonesEnabled(false).build();
+    NavigationEngine engine = new NavigationEngine(route, options);
+    Milestone milestone = new StepMilestone.Builder().setTrigger(Trigger.all()).build();
+    engine.addMilestone(milestone);
+
+    NavigationEngineResult result = engine.process(buildLocationsAlongRoute(route).get(0));
+
+    assertEquals(1, result.milestones().size());
+    assertSame(milestone, result.milestones().get(0));
+  }
+
+  @Test
+  public void process_fasterRouteDetectionDisabledNeverChecks() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    NavigationEngine engine = new NavigationEngine(route, MapboxNavigationOptions.builder().build());
+
+    List<NavigationEngineResult> results = engine.processAll(buildLocationsAlongRoute(route));
+
+    for (NavigationEngineResult result : results) {
+      assertFalse(result.checkFasterRoute());
+    }
+  }
+
+  private List<Location> buildLocationsAlongRoute(DirectionsRoute route) {
+    List<Location> locations = new ArrayList<>();
+    for (LegStep step : route.legs().get(0).steps()) {
+      List<Point> stepPoints = PolylineUtils.decode(step.geometry(), Constants.PRECISION_6);
+      for (Point point : stepPoints) {
+        locations.add(buildDefaultLocationUpdate(point.longitude(), point.latitude()));
+      }
+    }
+    return locations;
+  }
+}
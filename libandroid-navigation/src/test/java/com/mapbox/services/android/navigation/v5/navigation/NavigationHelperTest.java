@@ -15,6 +15,7 @@ import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.api.directions.v5.models.StepIntersection;
 import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
 import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.services.android.navigation.BuildConfig;
@@ -25,9 +26,13 @@ import com.mapbox.services.android.navigation.v5.milestone.Trigger;
 import com.mapbox.services.android.navigation.v5.milestone.TriggerProperty;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteCallback;
 import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotation;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometryIndex;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteStepProgress;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+import com.mapbox.turf.TurfMisc;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -266,6 +271,84 @@ public class NavigationHelperTest extends BaseTest {
     assertTrue(intersectionDistances.isEmpty());
   }
 
+  @Test
+  public void measureDistancesToIntersections_matchesSlicedStepLength() throws Exception {
+    RouteProgress routeProgress = buildMultiLegRouteProgress();
+    LegStep currentStep = routeProgress.currentLegProgress().currentStep();
+    List<Point> currentStepPoints = PolylineUtils.decode(currentStep.geometry(), Constants.PRECISION_6);
+    List<StepIntersection> currentStepIntersections = currentStep.intersections();
+    LineString stepLineString = LineString.fromLngLats(currentStepPoints);
+
+    double[] intersectionDistances = NavigationHelper.measureDistancesToIntersections(
+      currentStepPoints, currentStepIntersections
+    );
+
+    for (int i = 1; i < currentStepIntersections.size(); i++) {
+      Point intersectionPoint = currentStepIntersections.get(i).location();
+      LineString slicedLineString = TurfMisc.lineSlice(currentStepPoints.get(0), intersectionPoint, stepLineString);
+      double expectedDistance = TurfMeasurement.length(slicedLineString, TurfConstants.UNIT_METERS);
+      assertEquals(expectedDistance, intersectionDistances[i], LARGE_DELTA);
+    }
+  }
+
+  @Test
+  public void measureDistancesToIntersections_geometryIndexMatchesMeasuredStepPoints() throws Exception {
+    DirectionsRoute route = buildMultiLegRoute();
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    LegStep currentStep = route.legs().get(0).steps().get(1);
+    List<Point> currentStepPoints = PolylineUtils.decode(currentStep.geometry(), Constants.PRECISION_6);
+    List<StepIntersection> currentStepIntersections = currentStep.intersections();
+
+    double[] indexedDistances = NavigationHelper.measureDistancesToIntersections(
+      geometryIndex, 0, 1, currentStepIntersections
+    );
+
+    double[] measuredDistances = NavigationHelper.measureDistancesToIntersections(
+      currentStepPoints, currentStepIntersections
+    );
+    assertEquals(measuredDistances.length, indexedDistances.length);
+    for (int i = 0; i < measuredDistances.length; i++) {
+      assertEquals(measuredDistances[i], indexedDistances[i], DELTA);
+    }
+  }
+
+  @Test
+  public void findCurrentIntersectionIndex_matchesFindCurrentIntersection() throws Exception {
+    RouteProgress routeProgress = buildMultiLegRouteProgress();
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    RouteStepProgress stepProgress = legProgress.currentStepProgress();
+    List<StepIntersection> intersections = stepProgress.intersections();
+    List<Pair<StepIntersection, Double>> intersectionDistances = stepProgress.intersectionDistancesAlongStep();
+    double[] distances = new double[intersectionDistances.size()];
+    for (int i = 0; i < distances.length; i++) {
+      distances[i] = intersectionDistances.get(i).second;
+    }
+    double stepDistance = legProgress.currentStep().distance();
+
+    for (double distanceTraveled = 0; distanceTraveled <= stepDistance; distanceTraveled += stepDistance / 20) {
+      StepIntersection expectedIntersection = NavigationHelper.findCurrentIntersection(
+        intersections, intersectionDistances, distanceTraveled
+      );
+
+      int currentIntersectionIndex = NavigationHelper.findCurrentIntersectionIndex(distances, distanceTraveled);
+
+      assertEquals(expectedIntersection, intersections.get(currentIntersectionIndex));
+    }
+  }
+
+  @Test
+  public void findUpcomingIntersection_returnsIntersectionAfterCurrentIndex() throws Exception {
+    RouteProgress routeProgress = buildMultiLegRouteProgress();
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    List<StepIntersection> intersections = legProgress.currentStepProgress().intersections();
+
+    StepIntersection upcomingIntersection = NavigationHelper.findUpcomingIntersection(
+      intersections, legProgress.upComingStep(), 0
+    );
+
+    assertEquals(intersections.get(1), upcomingIntersection);
+  }
+
   @Test
   public void findCurrentIntersection_beginningOfStepReturnsFirstIntersection() throws Exception {
     RouteProgress routeProgress = buildMultiLegRouteProgress();
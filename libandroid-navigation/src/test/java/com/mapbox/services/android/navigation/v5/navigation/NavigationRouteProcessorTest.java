@@ -6,7 +6,11 @@ import android.location.Location;
 import com.mapbox.android.core.location.LocationEngine;
 import com.mapbox.geojson.Point;
 import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometryIndex;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteSpatialIndex;
+import com.mapbox.services.android.navigation.v5.snap.SnapToRoute;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -17,7 +21,9 @@ import static com.mapbox.services.android.navigation.v5.navigation.NavigationHel
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class NavigationRouteProcessorTest extends BaseTest {
@@ -175,4 +181,17 @@ public class NavigationRouteProcessorTest extends BaseTest {
 
     assertTrue(firstProgressIndex != secondProgressIndex);
   }
+
+  @Test
+  public void updateEngineIndices_defaultEnginesReceiveRouteIndices() throws Exception {
+    OffRouteDetector offRouteDetector = mock(OffRouteDetector.class);
+    SnapToRoute snapToRoute = mock(SnapToRoute.class);
+    routeProcessor.buildNewRouteProgress(navigation, mock(Location.class));
+
+    routeProcessor.updateEngineIndices(offRouteDetector, snapToRoute);
+
+    verify(offRouteDetector).setRouteGeometryIndex(any(RouteGeometryIndex.class));
+    verify(offRouteDetector).setRouteSpatialIndex(any(RouteSpatialIndex.class));
+    verify(snapToRoute).setRouteGeometryIndex(any(RouteGeometryIndex.class));
+  }
 }
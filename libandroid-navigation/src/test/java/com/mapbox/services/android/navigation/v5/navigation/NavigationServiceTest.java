@@ -0,0 +1,65 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.os.Handler;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class NavigationServiceTest {
+
+  @Test
+  public void buildRouteProcessorExecutor_optionsExecutorSelectsPooledExecutor() {
+    RecordingExecutor executor = new RecordingExecutor();
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .routeProcessorExecutor(executor)
+      .build();
+
+    RouteProcessorExecutor routeProcessorExecutor = NavigationService.buildRouteProcessorExecutor(
+      options, new RouteProcessorStats(), new PipelineMetricsRecorder(false), mock(Handler.class),
+      mock(RouteProcessorBackgroundThread.Listener.class)
+    );
+
+    assertTrue(routeProcessorExecutor instanceof PooledRouteProcessorExecutor);
+  }
+
+  @Test
+  public void buildRouteProcessorExecutor_pooledExecutorProcessesOnOptionsExecutor() {
+    RecordingExecutor executor = new RecordingExecutor();
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .routeProcessorExecutor(executor)
+      .build();
+    RouteProcessorExecutor routeProcessorExecutor = NavigationService.buildRouteProcessorExecutor(
+      options, new RouteProcessorStats(), new PipelineMetricsRecorder(false), mock(Handler.class),
+      mock(RouteProcessorBackgroundThread.Listener.class)
+    );
+
+    routeProcessorExecutor.queueUpdate(mock(NavigationLocationUpdate.class));
+
+    assertEquals(1, executor.tasks.size());
+  }
+
+  @Test
+  public void routeProcessorExecutor_defaultsToDedicatedThread() {
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder().build();
+
+    assertNull(options.routeProcessorExecutor());
+  }
+
+  private static class RecordingExecutor implements Executor {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public void execute(Runnable command) {
+      tasks.add(command);
+    }
+  }
+}
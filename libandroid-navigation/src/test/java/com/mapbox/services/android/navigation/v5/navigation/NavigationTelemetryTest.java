@@ -0,0 +1,205 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.content.Context;
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+import com.mapbox.android.core.location.LocationEngine;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.navigation.metrics.RerouteEvent;
+import com.mapbox.services.android.navigation.v5.navigation.metrics.SessionState;
+import com.mapbox.services.android.navigation.v5.routeprogress.MetricsRouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NavigationTelemetryTest extends BaseTest {
+
+  private static final String TELEMETRY_THREAD_NAME = "test-telemetry";
+
+  private ScheduledExecutorService telemetryExecutor;
+  private RecordingMetricsSender metricsSender;
+  private NavigationTelemetry telemetry;
+  private LocationEngine locationEngine;
+
+  @Before
+  public void setUp() throws Exception {
+    telemetryExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(@NonNull Runnable runnable) {
+        return new Thread(runnable, TELEMETRY_THREAD_NAME);
+      }
+    });
+    metricsSender = new RecordingMetricsSender();
+    telemetry = new NavigationTelemetry(telemetryExecutor, metricsSender);
+    locationEngine = mock(LocationEngine.class);
+    MapboxNavigation navigation = mock(MapboxNavigation.class);
+    when(navigation.options()).thenReturn(MapboxNavigationOptions.builder().build());
+    when(navigation.getEventDispatcher()).thenReturn(mock(NavigationEventDispatcher.class));
+    telemetry.initialize(mock(Context.class), ACCESS_TOKEN, navigation, locationEngine);
+    telemetry.onLocationChanged(buildLocation());
+  }
+
+  @After
+  public void tearDown() {
+    telemetryExecutor.shutdownNow();
+  }
+
+  @Test
+  public void onRouteProgressUpdate_departureIsSentOnTelemetryThread() throws Exception {
+    telemetry.onRouteProgressUpdate(buildDefaultTestRouteProgress());
+    flushTelemetryThread();
+
+    assertEquals(Arrays.asList("init", "depart"), metricsSender.events);
+    assertEquals(Collections.singleton(TELEMETRY_THREAD_NAME), metricsSender.threadNames);
+  }
+
+  @Test
+  public void onRouteProgressUpdate_departureIsSentOnce() throws Exception {
+    RouteProgress routeProgress = buildDefaultTestRouteProgress();
+
+    telemetry.onRouteProgressUpdate(routeProgress);
+    telemetry.onRouteProgressUpdate(routeProgress);
+    flushTelemetryThread();
+
+    assertEquals(Arrays.asList("init", "depart"), metricsSender.events);
+  }
+
+  @Test
+  public void onOffRouteEvent_rerouteIsQueuedUntilSessionEnds() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    telemetry.onRouteProgressUpdate(buildDefaultTestRouteProgress(route));
+    telemetry.onOffRouteEvent(buildLocation());
+    telemetry.updateSessionRoute(route);
+    flushTelemetryThread();
+
+    assertEquals(Arrays.asList("init", "depart"), metricsSender.events);
+
+    telemetry.endSession(false);
+    flushTelemetryThread();
+
+    assertEquals(Arrays.asList("init", "depart", "reroute", "cancel", "disable"), metricsSender.events);
+    assertEquals(Collections.singleton(TELEMETRY_THREAD_NAME), metricsSender.threadNames);
+  }
+
+  @Test
+  public void endSession_queuedRerouteIsSentAfterArrivalAndBeforeCancel() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteProgress routeProgress = buildDefaultTestRouteProgress(route);
+    telemetry.onRouteProgressUpdate(routeProgress);
+    telemetry.onOffRouteEvent(buildLocation());
+    telemetry.updateSessionRoute(route);
+    telemetry.onArrival(routeProgress);
+    telemetry.endSession(false);
+    flushTelemetryThread();
+
+    assertEquals(Arrays.asList("init", "depart", "arrive", "reroute", "cancel", "disable"), metricsSender.events);
+  }
+
+  @Test
+  public void onOffRouteEvent_onlyOneRerouteIsQueuedWhileOffRoute() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    telemetry.onRouteProgressUpdate(buildDefaultTestRouteProgress(route));
+    telemetry.onOffRouteEvent(buildLocation());
+    telemetry.onOffRouteEvent(buildLocation());
+    telemetry.updateSessionRoute(route);
+    telemetry.endSession(false);
+    flushTelemetryThread();
+
+    assertEquals(Arrays.asList("init", "depart", "reroute", "cancel", "disable"), metricsSender.events);
+  }
+
+  @Test
+  public void updateLocationEngine_locationEngineNameIsSetOnTelemetryThread() throws Exception {
+    telemetry.onRouteProgressUpdate(buildDefaultTestRouteProgress());
+    flushTelemetryThread();
+
+    assertEquals(locationEngine.getClass().getName(), metricsSender.departSessionState.locationEngineName());
+  }
+
+  private void flushTelemetryThread() throws Exception {
+    telemetryExecutor.submit(new Runnable() {
+      @Override
+      public void run() {
+        // Runs after every task posted before it
+      }
+    }).get();
+  }
+
+  private Location buildLocation() {
+    Location location = mock(Location.class);
+    when(location.getProvider()).thenReturn("gps");
+    return location;
+  }
+
+  private static class RecordingMetricsSender extends NavigationMetricsSender {
+
+    private final List<String> events = new ArrayList<>();
+    private final Set<String> threadNames = new HashSet<>();
+    private SessionState departSessionState;
+
+    @Override
+    void init(Context context, String accessToken, String sdkIdentifier, boolean isDebugLoggingEnabled) {
+      record("init");
+    }
+
+    @Override
+    void departEvent(SessionState sessionState, MetricsRouteProgress metricProgress, Location location) {
+      departSessionState = sessionState;
+      record("depart");
+    }
+
+    @Override
+    void arriveEvent(SessionState sessionState, RouteProgress routeProgress, Location location) {
+      record("arrive");
+    }
+
+    @Override
+    void rerouteEvent(RerouteEvent rerouteEvent, MetricsRouteProgress metricProgress, Location location) {
+      record("reroute");
+    }
+
+    @Override
+    void feedbackEvent(SessionState sessionState, MetricsRouteProgress metricProgress, Location location,
+                       String description, String feedbackType, String screenshot, String feedbackSource) {
+      record("feedback");
+    }
+
+    @Override
+    void cancelEvent(SessionState sessionState, MetricsRouteProgress metricProgress, Location location) {
+      record("cancel");
+    }
+
+    @Override
+    void commitJournal() {
+      threadNames.add(Thread.currentThread().getName());
+    }
+
+    @Override
+    void disable() {
+      record("disable");
+    }
+
+    private void record(String event) {
+      events.add(event);
+      threadNames.add(Thread.currentThread().getName());
+    }
+  }
+}
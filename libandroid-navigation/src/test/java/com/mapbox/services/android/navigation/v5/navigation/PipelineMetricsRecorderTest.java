@@ -0,0 +1,43 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+
+public class PipelineMetricsRecorderTest {
+
+  @Test
+  public void recordStage_disabledRecordsNothing() {
+    PipelineMetricsRecorder recorder = new PipelineMetricsRecorder(false);
+
+    long startNanos = recorder.start();
+    recorder.recordStage(PipelineStage.ROUTE_PROGRESS, startNanos);
+
+    assertEquals(0, startNanos);
+    assertEquals(0, recorder.snapshot().count(PipelineStage.ROUTE_PROGRESS));
+  }
+
+  @Test
+  public void recordStage_enabledRecordsEachStage() {
+    PipelineMetricsRecorder recorder = new PipelineMetricsRecorder(true);
+
+    long stageStartNanos = recorder.start();
+    stageStartNanos = recorder.recordStage(PipelineStage.ROUTE_PROGRESS, stageStartNanos);
+    recorder.recordStage(PipelineStage.OFF_ROUTE, stageStartNanos);
+
+    NavigationMetrics metrics = recorder.snapshot();
+    assertEquals(1, metrics.count(PipelineStage.ROUTE_PROGRESS));
+    assertEquals(1, metrics.count(PipelineStage.OFF_ROUTE));
+    assertEquals(0, metrics.count(PipelineStage.MILESTONES));
+  }
+
+  @Test
+  public void reset_clearsRecordedStages() {
+    PipelineMetricsRecorder recorder = new PipelineMetricsRecorder(true);
+    recorder.recordStage(PipelineStage.SNAP_TO_ROUTE, recorder.start());
+
+    recorder.reset();
+
+    assertEquals(0, recorder.snapshot().count(PipelineStage.SNAP_TO_ROUTE));
+  }
+}
@@ -0,0 +1,116 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class PooledRouteProcessorExecutorTest {
+
+  @Test
+  public void queueUpdate_submitsOneTaskWhileProcessing() {
+    QueueingExecutor executor = new QueueingExecutor();
+    PooledRouteProcessorExecutor routeProcessorExecutor = buildExecutor(executor, mock(RouteProcessorWorker.class),
+      false);
+
+    routeProcessorExecutor.queueUpdate(mock(NavigationLocationUpdate.class));
+    routeProcessorExecutor.queueUpdate(mock(NavigationLocationUpdate.class));
+
+    assertEquals(1, executor.tasks.size());
+  }
+
+  @Test
+  public void queueUpdate_processesUpdatesInOrder() {
+    QueueingExecutor executor = new QueueingExecutor();
+    RouteProcessorWorker worker = mock(RouteProcessorWorker.class);
+    PooledRouteProcessorExecutor routeProcessorExecutor = buildExecutor(executor, worker, false);
+    NavigationLocationUpdate firstUpdate = mock(NavigationLocationUpdate.class);
+    NavigationLocationUpdate secondUpdate = mock(NavigationLocationUpdate.class);
+    routeProcessorExecutor.queueUpdate(firstUpdate);
+    routeProcessorExecutor.queueUpdate(secondUpdate);
+
+    executor.runAll();
+
+    InOrder inOrder = inOrder(worker);
+    inOrder.verify(worker).process(eq(firstUpdate), anyLong());
+    inOrder.verify(worker).process(eq(secondUpdate), anyLong());
+  }
+
+  @Test
+  public void queueUpdate_coalescingProcessesLatestUpdateOnly() {
+    QueueingExecutor executor = new QueueingExecutor();
+    RouteProcessorWorker worker = mock(RouteProcessorWorker.class);
+    RouteProcessorStats stats = new RouteProcessorStats();
+    PooledRouteProcessorExecutor routeProcessorExecutor = new PooledRouteProcessorExecutor(
+      executor, worker, stats, true
+    );
+    NavigationLocationUpdate staleUpdate = mock(NavigationLocationUpdate.class);
+    NavigationLocationUpdate latestUpdate = mock(NavigationLocationUpdate.class);
+    routeProcessorExecutor.queueUpdate(staleUpdate);
+    routeProcessorExecutor.queueUpdate(latestUpdate);
+
+    executor.runAll();
+
+    verify(worker, never()).process(eq(staleUpdate), anyLong());
+    verify(worker).process(eq(latestUpdate), anyLong());
+    assertEquals(1, stats.droppedUpdates());
+  }
+
+  @Test
+  public void quit_discardsQueuedUpdates() {
+    QueueingExecutor executor = new QueueingExecutor();
+    RouteProcessorWorker worker = mock(RouteProcessorWorker.class);
+    PooledRouteProcessorExecutor routeProcessorExecutor = buildExecutor(executor, worker, false);
+    routeProcessorExecutor.queueUpdate(mock(NavigationLocationUpdate.class));
+
+    boolean isQuit = routeProcessorExecutor.quit();
+    routeProcessorExecutor.queueUpdate(mock(NavigationLocationUpdate.class));
+    executor.runAll();
+
+    assertTrue(isQuit);
+    verifyZeroInteractions(worker);
+  }
+
+  @Test
+  public void quit_returnsFalseWhenAlreadyQuit() {
+    PooledRouteProcessorExecutor routeProcessorExecutor = buildExecutor(new QueueingExecutor(),
+      mock(RouteProcessorWorker.class), false);
+    routeProcessorExecutor.quit();
+
+    assertFalse(routeProcessorExecutor.quit());
+  }
+
+  private PooledRouteProcessorExecutor buildExecutor(Executor executor, RouteProcessorWorker worker,
+                                                     boolean coalesceUpdates) {
+    return new PooledRouteProcessorExecutor(executor, worker, new RouteProcessorStats(), coalesceUpdates);
+  }
+
+  private static class QueueingExecutor implements Executor {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public void execute(Runnable task) {
+      tasks.add(task);
+    }
+
+    void runAll() {
+      while (!tasks.isEmpty()) {
+        tasks.remove(0).run();
+      }
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+
+public class RouteProcessorStatsTest {
+
+  private static final double DELTA = 1E-8;
+
+  @Test
+  public void recordProcessedUpdate_updatesQueueWaitCounters() {
+    RouteProcessorStats stats = new RouteProcessorStats();
+
+    stats.recordProcessedUpdate(10);
+    stats.recordProcessedUpdate(30);
+
+    assertEquals(2, stats.processedUpdates());
+    assertEquals(40, stats.totalQueueWaitMillis());
+    assertEquals(30, stats.maximumQueueWaitMillis());
+    assertEquals(20d, stats.averageQueueWaitMillis(), DELTA);
+  }
+
+  @Test
+  public void recordProcessedUpdate_negativeQueueWaitIsIgnored() {
+    RouteProcessorStats stats = new RouteProcessorStats();
+
+    stats.recordProcessedUpdate(-5);
+
+    assertEquals(1, stats.processedUpdates());
+    assertEquals(0, stats.totalQueueWaitMillis());
+  }
+
+  @Test
+  public void averageQueueWaitMillis_zeroWithoutProcessedUpdates() {
+    RouteProcessorStats stats = new RouteProcessorStats();
+
+    assertEquals(0d, stats.averageQueueWaitMillis(), DELTA);
+  }
+
+  @Test
+  public void reset_clearsAllCounters() {
+    RouteProcessorStats stats = new RouteProcessorStats();
+    stats.recordProcessedUpdate(10);
+    stats.recordDroppedUpdate();
+
+    stats.reset();
+
+    assertEquals(0, stats.processedUpdates());
+    assertEquals(0, stats.droppedUpdates());
+    assertEquals(0, stats.totalQueueWaitMillis());
+    assertEquals(0, stats.maximumQueueWaitMillis());
+  }
+}
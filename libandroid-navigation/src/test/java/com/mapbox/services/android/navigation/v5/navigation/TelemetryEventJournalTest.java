@@ -0,0 +1,238 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static org.junit.Assert.assertArrayEquals;
+
+public class TelemetryEventJournalTest {
+
+  private static final long MAX_SIZE = 1 << 16;
+  private static final int MAX_REPLAYS = 3;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void open_recoversCommittedRecords() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryEventJournal journal = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    journal.append(new byte[] {1, 2, 3});
+    journal.append(new byte[0]);
+    journal.commit();
+    journal.close();
+
+    List<byte[]> records = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS).recoveredRecords();
+
+    assertEquals(2, records.size());
+    assertArrayEquals(new byte[] {1, 2, 3}, records.get(0));
+    assertEquals(0, records.get(1).length);
+  }
+
+  @Test
+  public void append_commitsOnceBatchIsFull() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryEventJournal journal = TelemetryEventJournal.open(file, 2, MAX_SIZE, MAX_REPLAYS);
+    journal.append(new byte[] {1});
+    journal.append(new byte[] {2});
+    journal.append(new byte[] {3});
+
+    assertEquals(1, journal.pendingRecords());
+    assertEquals(2, TelemetryEventJournal.open(file, 2, MAX_SIZE, MAX_REPLAYS).recoveredRecords().size());
+  }
+
+  @Test
+  public void append_growsBatchForLargeRecords() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryEventJournal journal = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    byte[] largeRecord = new byte[10000];
+    largeRecord[9999] = 7;
+    journal.append(new byte[] {1});
+    journal.append(largeRecord);
+    journal.close();
+
+    List<byte[]> records = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS).recoveredRecords();
+
+    assertArrayEquals(largeRecord, records.get(1));
+  }
+
+  @Test
+  public void open_dropsPartiallyWrittenRecord() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryEventJournal journal = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    journal.append(new byte[] {1, 2, 3});
+    journal.append(new byte[] {4, 5, 6});
+    journal.close();
+    truncate(file, file.length() - 2);
+
+    TelemetryEventJournal recoveredJournal = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    recoveredJournal.append(new byte[] {7});
+    recoveredJournal.close();
+    List<byte[]> records = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS).recoveredRecords();
+
+    assertEquals(2, records.size());
+    assertArrayEquals(new byte[] {1, 2, 3}, records.get(0));
+    assertArrayEquals(new byte[] {7}, records.get(1));
+  }
+
+  @Test
+  public void open_dropsRecordsFromCorruptedRecord() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryEventJournal journal = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    journal.append(new byte[] {1, 2, 3});
+    journal.append(new byte[] {4, 5, 6});
+    journal.append(new byte[] {7, 8, 9});
+    journal.close();
+    // Flip the last byte of the second record
+    corrupt(file, 8 + 15 + 14);
+
+    List<byte[]> records = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS).recoveredRecords();
+
+    assertEquals(1, records.size());
+    assertArrayEquals(new byte[] {1, 2, 3}, records.get(0));
+  }
+
+  @Test
+  public void open_resetsFileWithoutHeader() throws Exception {
+    File file = temporaryFolder.newFile();
+    writeBytes(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+    TelemetryEventJournal journal = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+
+    assertTrue(journal.recoveredRecords().isEmpty());
+    assertEquals(8, file.length());
+  }
+
+  @Test
+  public void open_resetsFileOfOtherVersion() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryEventJournal journal = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    journal.append(new byte[] {1});
+    journal.close();
+    writeBytes(file, new byte[] {0x4D, 0x4E, 0x54, 0x4A, 0, 0, 0, 1});
+
+    List<byte[]> records = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS).recoveredRecords();
+
+    assertTrue(records.isEmpty());
+    assertEquals(8, file.length());
+  }
+
+  @Test
+  public void compact_removesEveryRecord() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryEventJournal journal = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    journal.append(new byte[] {1});
+    journal.commit();
+    journal.append(new byte[] {2});
+
+    journal.compact();
+    journal.append(new byte[] {3});
+    journal.close();
+    List<byte[]> records = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS).recoveredRecords();
+
+    assertEquals(1, records.size());
+    assertArrayEquals(new byte[] {3}, records.get(0));
+  }
+
+  @Test
+  public void open_dropsRecordsRecoveredMaxReplaysTimes() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryEventJournal journal = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    journal.append(new byte[] {1});
+    journal.close();
+
+    for (int replay = 0; replay < MAX_REPLAYS; replay++) {
+      journal = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+      assertEquals(1, journal.recoveredRecords().size());
+      journal.close();
+    }
+
+    assertTrue(TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS).recoveredRecords().isEmpty());
+  }
+
+  @Test
+  public void open_keepsNewestRecordsWithinMaxSize() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryEventJournal journal = TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    journal.append(buildRecord(1));
+    journal.append(buildRecord(2));
+    journal.append(buildRecord(3));
+    journal.close();
+
+    List<byte[]> records = TelemetryEventJournal.open(file, 16, 8 + 2 * 112, MAX_REPLAYS).recoveredRecords();
+
+    assertEquals(2, records.size());
+    assertArrayEquals(buildRecord(2), records.get(0));
+    assertArrayEquals(buildRecord(3), records.get(1));
+    assertEquals(8 + 2 * 112, file.length());
+  }
+
+  @Test
+  public void append_evictsOldestRecordsOnceFull() throws Exception {
+    File file = temporaryFolder.newFile();
+    long maxSize = 8 + 4 * 112;
+    TelemetryEventJournal journal = TelemetryEventJournal.open(file, 1, maxSize, MAX_REPLAYS);
+    for (int i = 1; i <= 5; i++) {
+      journal.append(buildRecord(i));
+      assertTrue(file.length() <= maxSize);
+    }
+    journal.close();
+
+    List<byte[]> records = TelemetryEventJournal.open(file, 1, maxSize, MAX_REPLAYS).recoveredRecords();
+
+    assertEquals(3, records.size());
+    assertArrayEquals(buildRecord(3), records.get(0));
+    assertArrayEquals(buildRecord(5), records.get(2));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void append_rejectsOversizedRecord() throws Exception {
+    TelemetryEventJournal journal = TelemetryEventJournal.open(temporaryFolder.newFile(), 16, MAX_SIZE, MAX_REPLAYS);
+
+    journal.append(new byte[TelemetryEventJournal.MAX_RECORD_SIZE + 1]);
+  }
+
+  private static byte[] buildRecord(int value) {
+    byte[] record = new byte[100];
+    record[0] = (byte) value;
+    return record;
+  }
+
+  private static void truncate(File file, long length) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      randomAccessFile.setLength(length);
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  private static void corrupt(File file, long position) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      randomAccessFile.seek(position);
+      int value = randomAccessFile.read();
+      randomAccessFile.seek(position);
+      randomAccessFile.write(value ^ 0xFF);
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  private static void writeBytes(File file, byte[] bytes) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      randomAccessFile.write(bytes);
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+}
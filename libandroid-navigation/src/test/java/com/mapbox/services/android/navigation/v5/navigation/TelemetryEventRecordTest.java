@@ -0,0 +1,85 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mapbox.android.telemetry.Event;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static org.junit.Assert.assertArrayEquals;
+
+public class TelemetryEventRecordTest {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final String STATE = "{\"navigationMetadata\":{\"distanceRemaining\":200,"
+    + "\"sessionIdentifier\":\"session\"},\"navigationLocationData\":{\"locationsBefore\":[{\"provider\":"
+    + "\"gps\",\"time\":1000,\"latitude\":38.9,\"longitude\":-77.0,\"accuracy\":5.0}],\"locationsAfter\":[]}}";
+
+  @Test
+  public void read_returnsTypeAndStateOfWrittenRecord() throws Exception {
+    TelemetryEventRecord eventRecord = TelemetryEventRecord.read(buildRecord("NAV_REROUTE", STATE));
+    byte[] record = TelemetryEventRecord.write(eventRecord.type(), eventRecord.state());
+
+    TelemetryEventRecord writtenRecord = TelemetryEventRecord.read(record);
+
+    assertEquals(Event.Type.NAV_REROUTE, writtenRecord.type());
+    assertArrayEquals(record, TelemetryEventRecord.write(writtenRecord.type(), writtenRecord.state()));
+  }
+
+  @Test
+  public void write_keepsLocationsOfState() throws Exception {
+    TelemetryEventRecord eventRecord = TelemetryEventRecord.read(buildRecord("NAV_REROUTE", STATE));
+
+    byte[] record = TelemetryEventRecord.write(eventRecord.type(), eventRecord.state());
+
+    JsonObject location = new JsonParser().parse(new String(record, UTF_8)).getAsJsonObject()
+      .getAsJsonObject("state").getAsJsonObject("navigationLocationData")
+      .getAsJsonArray("locationsBefore").get(0).getAsJsonObject();
+    assertEquals("gps", location.get("provider").getAsString());
+    assertEquals(1000, location.get("time").getAsLong());
+    assertEquals(38.9, location.get("latitude").getAsDouble());
+    assertEquals(-77.0, location.get("longitude").getAsDouble());
+    assertEquals(5.0, location.get("accuracy").getAsDouble());
+  }
+
+  @Test
+  public void read_buildsEventOfRecord() throws Exception {
+    TelemetryEventRecord eventRecord = TelemetryEventRecord.read(buildRecord("NAV_DEPART", STATE));
+
+    assertNotNull(eventRecord.toEvent());
+  }
+
+  @Test
+  public void read_ignoresUnknownFields() throws Exception {
+    String state = "{\"navigationMetadata\":{\"unknown\":[1,2]},\"unknown\":{\"a\":1}}";
+
+    TelemetryEventRecord eventRecord = TelemetryEventRecord.read(buildRecord("NAV_ARRIVE", state));
+
+    assertNotNull(eventRecord);
+    assertEquals(Event.Type.NAV_ARRIVE, eventRecord.type());
+  }
+
+  @Test
+  public void read_returnsNullForUnknownType() throws Exception {
+    assertNull(TelemetryEventRecord.read(buildRecord("NAV_UNKNOWN", STATE)));
+  }
+
+  @Test
+  public void read_returnsNullForTypeOtherThanNavigation() throws Exception {
+    assertNull(TelemetryEventRecord.read(buildRecord("TURNSTILE", STATE)));
+  }
+
+  @Test
+  public void read_returnsNullForParcelBytes() throws Exception {
+    assertNull(TelemetryEventRecord.read(new byte[] {0, 0, 0, 1, 0x2D, 0, 0, 0}));
+  }
+
+  private static byte[] buildRecord(String type, String state) {
+    return ("{\"type\":\"" + type + "\",\"state\":" + state + "}").getBytes(UTF_8);
+  }
+}
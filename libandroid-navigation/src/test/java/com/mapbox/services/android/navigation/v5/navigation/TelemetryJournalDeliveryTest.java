@@ -0,0 +1,118 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static org.junit.Assert.assertArrayEquals;
+
+public class TelemetryJournalDeliveryTest {
+
+  private static final long MAX_SIZE = 1 << 16;
+  private static final int MAX_REPLAYS = 3;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void open_keepsRecordsOfPreviousSession() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryJournalDelivery delivery = new TelemetryJournalDelivery();
+    delivery.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    delivery.append(new byte[] {1});
+
+    List<byte[]> records = delivery.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+
+    assertEquals(1, records.size());
+    assertArrayEquals(new byte[] {1}, records.get(0));
+  }
+
+  @Test
+  public void open_dropsRecordsNeverDelivered() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryJournalDelivery delivery = new TelemetryJournalDelivery();
+    delivery.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    delivery.append(new byte[] {1});
+    delivery.awaitDelivery();
+    delivery.onHttpFailure("offline");
+
+    for (int session = 0; session < MAX_REPLAYS; session++) {
+      assertEquals(1, delivery.open(file, 16, MAX_SIZE, MAX_REPLAYS).size());
+      delivery.awaitDelivery();
+      delivery.onHttpFailure("offline");
+    }
+
+    assertTrue(delivery.open(file, 16, MAX_SIZE, MAX_REPLAYS).isEmpty());
+  }
+
+  @Test
+  public void awaitDelivery_keepsRecordsUntilDeliveryIsConfirmed() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryJournalDelivery delivery = new TelemetryJournalDelivery();
+    delivery.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    delivery.append(new byte[] {1});
+
+    delivery.awaitDelivery();
+
+    assertEquals(1, TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS).recoveredRecords().size());
+  }
+
+  @Test
+  public void onHttpResponse_successfulDeliveryCompactsJournal() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryJournalDelivery delivery = new TelemetryJournalDelivery();
+    delivery.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    delivery.append(new byte[] {1});
+    delivery.awaitDelivery();
+
+    delivery.onHttpResponse(true, 204);
+
+    assertTrue(TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS).recoveredRecords().isEmpty());
+  }
+
+  @Test
+  public void onHttpResponse_responseBeforeSessionEndsDoesNotCompactJournal() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryJournalDelivery delivery = new TelemetryJournalDelivery();
+    delivery.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    delivery.append(new byte[] {1});
+    delivery.commit();
+
+    delivery.onHttpResponse(true, 204);
+
+    assertEquals(1, TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS).recoveredRecords().size());
+  }
+
+  @Test
+  public void onHttpResponse_failedDeliveryKeepsRecords() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryJournalDelivery delivery = new TelemetryJournalDelivery();
+    delivery.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    delivery.append(new byte[] {1});
+    delivery.awaitDelivery();
+
+    delivery.onHttpResponse(false, 500);
+
+    assertEquals(1, TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS).recoveredRecords().size());
+  }
+
+  @Test
+  public void onHttpFailure_earlierFailureKeepsRecordsAfterSuccessfulDelivery() throws Exception {
+    File file = temporaryFolder.newFile();
+    TelemetryJournalDelivery delivery = new TelemetryJournalDelivery();
+    delivery.open(file, 16, MAX_SIZE, MAX_REPLAYS);
+    delivery.append(new byte[] {1});
+    delivery.onHttpFailure("timeout");
+    delivery.append(new byte[] {2});
+    delivery.awaitDelivery();
+
+    delivery.onHttpResponse(true, 204);
+
+    assertEquals(2, TelemetryEventJournal.open(file, 16, MAX_SIZE, MAX_REPLAYS).recoveredRecords().size());
+  }
+}
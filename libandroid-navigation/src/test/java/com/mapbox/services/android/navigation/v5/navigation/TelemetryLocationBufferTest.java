@@ -0,0 +1,120 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class TelemetryLocationBufferTest extends BaseTest {
+
+  @Test
+  public void locationsBefore_excludeLocationsAtEventTime() throws Exception {
+    TelemetryLocationBuffer buffer = new TelemetryLocationBuffer(5);
+    for (long time = 1000; time <= 5000; time += 1000) {
+      buffer.record(buildLocation(time));
+    }
+
+    List<Location> locationsBefore = buffer.locationsBefore(3000);
+
+    assertEquals(2, locationsBefore.size());
+    assertEquals(1000, locationsBefore.get(0).getTime());
+    assertEquals(2000, locationsBefore.get(1).getTime());
+  }
+
+  @Test
+  public void locationsAfter_excludeLocationsAtEventTime() throws Exception {
+    TelemetryLocationBuffer buffer = new TelemetryLocationBuffer(5);
+    for (long time = 1000; time <= 5000; time += 1000) {
+      buffer.record(buildLocation(time));
+    }
+
+    List<Location> locationsAfter = buffer.locationsAfter(3000);
+
+    assertEquals(2, locationsAfter.size());
+    assertEquals(4000, locationsAfter.get(0).getTime());
+    assertEquals(5000, locationsAfter.get(1).getTime());
+  }
+
+  @Test
+  public void record_evictsOldestLocationWhenFull() throws Exception {
+    TelemetryLocationBuffer buffer = new TelemetryLocationBuffer(2);
+    buffer.record(buildLocation(1000));
+    buffer.record(buildLocation(2000));
+    buffer.record(buildLocation(3000));
+
+    List<Location> locationsBefore = buffer.locationsBefore(Long.MAX_VALUE);
+
+    assertEquals(2, buffer.size());
+    assertEquals(2, locationsBefore.size());
+    assertEquals(2000, locationsBefore.get(0).getTime());
+  }
+
+  @Test
+  public void locations_keepRecordedValues() throws Exception {
+    Location location = buildLocation(1000);
+    location.setLatitude(38.8977);
+    location.setLongitude(-77.0365);
+    location.setSpeed(12.5f);
+    location.setAccuracy(4f);
+    TelemetryLocationBuffer buffer = new TelemetryLocationBuffer(2);
+    buffer.record(location);
+
+    Location recordedLocation = buffer.locationsAfter(0).get(0);
+
+    assertEquals("test", recordedLocation.getProvider());
+    assertEquals(38.8977, recordedLocation.getLatitude(), DELTA);
+    assertEquals(-77.0365, recordedLocation.getLongitude(), DELTA);
+    assertEquals(12.5f, recordedLocation.getSpeed(), DELTA);
+    assertEquals(4f, recordedLocation.getAccuracy(), DELTA);
+    assertTrue(recordedLocation.hasSpeed());
+    assertFalse(recordedLocation.hasBearing());
+  }
+
+  @Test
+  public void locationsAfter_withTimesOutOfOrder() throws Exception {
+    TelemetryLocationBuffer buffer = new TelemetryLocationBuffer(4);
+    buffer.record(buildLocation(1000));
+    buffer.record(buildLocation(4000));
+    buffer.record(buildLocation(2000));
+    buffer.record(buildLocation(5000));
+
+    List<Location> locationsAfter = buffer.locationsAfter(3000);
+
+    assertEquals(2, locationsAfter.size());
+    assertEquals(4000, locationsAfter.get(0).getTime());
+    assertEquals(5000, locationsAfter.get(1).getTime());
+    assertEquals(2, buffer.locationsBefore(3000).size());
+  }
+
+  @Test(expected = ConcurrentModificationException.class)
+  public void locationView_throwsOnceLocationIsEvicted() throws Exception {
+    TelemetryLocationBuffer buffer = new TelemetryLocationBuffer(2);
+    buffer.record(buildLocation(1000));
+    buffer.record(buildLocation(2000));
+    List<Location> locationsBefore = buffer.locationsBefore(3000);
+
+    buffer.record(buildLocation(3000));
+
+    locationsBefore.get(0);
+  }
+
+  private Location buildLocation(long time) {
+    Location location = new Location("test");
+    location.setTime(time);
+    return location;
+  }
+}
@@ -0,0 +1,114 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+
+public class PackedRouteGeometryTest extends BaseTest {
+
+  private static final String MULTI_LEG_ROUTE_FIXTURE = "directions_two_leg_route.json";
+
+  @Test
+  public void create_packsAllLegsAndSteps() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+
+    PackedRouteGeometry geometry = PackedRouteGeometry.create(route);
+
+    assertEquals(route.legs().size(), geometry.legCount());
+    assertEquals(route.legs().get(1).steps().size(), geometry.stepCount(1));
+  }
+
+  @Test
+  public void stepPoints_equalDecodedStepGeometry() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    LegStep step = route.legs().get(1).steps().get(2);
+    List<Point> expectedPoints = PolylineUtils.decode(step.geometry(), Constants.PRECISION_6);
+
+    PackedRouteGeometry geometry = PackedRouteGeometry.create(route);
+
+    assertEquals(expectedPoints, geometry.stepPoints(1, 2));
+    assertEquals(expectedPoints.size(), geometry.stepCoordinateCount(1, 2));
+  }
+
+  @Test
+  public void stepFirstCoordinate_readsStepCoordinates() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    LegStep step = route.legs().get(1).steps().get(2);
+    Point expectedPoint = PolylineUtils.decode(step.geometry(), Constants.PRECISION_6).get(1);
+
+    PackedRouteGeometry geometry = PackedRouteGeometry.create(route);
+    int coordinate = geometry.stepFirstCoordinate(1, 2) + 1;
+
+    assertEquals(expectedPoint.latitude(), geometry.latitude(coordinate));
+    assertEquals(expectedPoint.longitude(), geometry.longitude(coordinate));
+  }
+
+  @Test
+  public void routeLineString_equalsDecodedRouteGeometry() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    List<Point> expectedPoints = PolylineUtils.decode(route.geometry(), Constants.PRECISION_6);
+
+    PackedRouteGeometry geometry = PackedRouteGeometry.create(route);
+
+    assertEquals(expectedPoints, geometry.routeLineString().coordinates());
+    assertEquals(geometry.coordinateCount(), geometry.routeFirstCoordinate() + geometry.routeCoordinateCount());
+  }
+
+  @Test
+  public void stepPoints_invalidIndicesReturnNull() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+
+    PackedRouteGeometry geometry = PackedRouteGeometry.create(route);
+
+    assertNull(geometry.stepPoints(geometry.legCount(), 0));
+    assertNull(geometry.stepPoints(0, -1));
+    assertFalse(geometry.hasStepGeometry(0, geometry.stepCount(0)));
+    assertEquals(0, geometry.stepCoordinateCount(0, geometry.stepCount(0)));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void stepPoints_cannotBeModified() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+
+    PackedRouteGeometry geometry = PackedRouteGeometry.create(route);
+
+    geometry.stepPoints(0, 0).add(Point.fromLngLat(0, 0));
+  }
+
+  @Test
+  public void of_sharesGeometryOfSameRoute() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+
+    PackedRouteGeometry geometry = PackedRouteGeometry.of(route);
+
+    assertSame(geometry, PackedRouteGeometry.of(route));
+    assertSame(geometry, RouteGeometryIndex.create(route).geometry());
+  }
+
+  @Test
+  public void of_doesNotKeepUnusedGeometryReachable() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    WeakReference<PackedRouteGeometry> geometry = new WeakReference<>(PackedRouteGeometry.of(route));
+
+    for (int attempt = 0; attempt < 10 && geometry.get() != null; attempt++) {
+      System.gc();
+    }
+
+    assertNull(geometry.get());
+    assertNotNull(PackedRouteGeometry.of(route));
+  }
+}
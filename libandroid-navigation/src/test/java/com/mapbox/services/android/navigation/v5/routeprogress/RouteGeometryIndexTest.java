@@ -0,0 +1,168 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+
+public class RouteGeometryIndexTest extends BaseTest {
+
+  private static final String MULTI_LEG_ROUTE_FIXTURE = "directions_two_leg_route.json";
+
+  @Test
+  public void create_indexesAllLegsAndSteps() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+
+    assertEquals(route.legs().size(), geometryIndex.legCount());
+    assertEquals(route.legs().get(0).steps().size(), geometryIndex.stepCount(0));
+  }
+
+  @Test
+  public void stepPoints_equalDecodedStepGeometry() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    LegStep step = route.legs().get(0).steps().get(3);
+    List<Point> expectedPoints = PolylineUtils.decode(step.geometry(), Constants.PRECISION_6);
+
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+
+    assertEquals(expectedPoints, geometryIndex.stepPoints(0, 3));
+  }
+
+  @Test
+  public void stepPoints_returnsSamePointsOnEveryCall() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    List<Point> stepPoints = geometryIndex.stepPoints(0, 3);
+
+    assertSame(stepPoints, geometryIndex.stepPoints(0, 3));
+    assertSame(stepPoints.get(1), geometryIndex.stepPoints(0, 3).get(1));
+    assertSame(stepPoints, geometryIndex.stepLineString(0, 3).coordinates());
+  }
+
+  @Test
+  public void stepPoints_returnsNullWithInvalidIndices() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    int invalidStepIndex = route.legs().get(0).steps().size();
+
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+
+    assertNull(geometryIndex.stepPoints(0, invalidStepIndex));
+    assertNull(geometryIndex.stepPoints(-1, 0));
+    assertNull(geometryIndex.stepLineString(route.legs().size(), 0));
+  }
+
+  @Test
+  public void stepGeometryLength_equalsMeasuredStepLength() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    LegStep step = route.legs().get(0).steps().get(5);
+    LineString lineString = LineString.fromPolyline(step.geometry(), Constants.PRECISION_6);
+    double expectedLength = TurfMeasurement.length(lineString, TurfConstants.UNIT_METERS);
+
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+
+    assertEquals(expectedLength, geometryIndex.stepGeometryLength(0, 5), LARGE_DELTA);
+  }
+
+  @Test
+  public void distanceAlongStep_firstCoordinateIsZero() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+
+    assertEquals(0d, geometryIndex.distanceAlongStep(0, 5, 0), DELTA);
+  }
+
+  @Test
+  public void distanceAlongStep_segmentFractionIsBetweenCoordinates() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    double segmentStart = geometryIndex.distanceAlongStep(0, 5, 1);
+    double segmentEnd = geometryIndex.distanceAlongStep(0, 5, 2);
+
+    double distanceAlongStep = geometryIndex.distanceAlongStep(0, 5, 1, 0.5);
+
+    assertEquals((segmentStart + segmentEnd) / 2, distanceAlongStep, DELTA);
+  }
+
+  @Test
+  public void stepDistanceRemaining_atSegmentStartEqualsRemainingGeometryLength() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    double expectedDistance = geometryIndex.stepGeometryLength(0, 5) - geometryIndex.distanceAlongStep(0, 5, 2);
+
+    double stepDistanceRemaining = geometryIndex.stepDistanceRemaining(0, 5, 2, 0);
+
+    assertEquals(expectedDistance, stepDistanceRemaining, DELTA);
+  }
+
+  @Test
+  public void legDistanceRemaining_addsDistanceOfUpcomingSteps() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    List<LegStep> steps = route.legs().get(0).steps();
+    double stepDistanceRemaining = 25;
+    double expectedDistance = stepDistanceRemaining;
+    for (int i = 3; i < steps.size(); i++) {
+      expectedDistance += steps.get(i).distance();
+    }
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+
+    double legDistanceRemaining = geometryIndex.legDistanceRemaining(0, 2, stepDistanceRemaining);
+
+    assertEquals(expectedDistance, legDistanceRemaining, LARGE_DELTA);
+  }
+
+  @Test
+  public void legDistanceRemaining_onLastStepEqualsStepDistanceRemaining() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    int lastStepIndex = route.legs().get(0).steps().size() - 1;
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+
+    double legDistanceRemaining = geometryIndex.legDistanceRemaining(0, lastStepIndex, 10);
+
+    assertEquals(10d, legDistanceRemaining, DELTA);
+  }
+
+  @Test
+  public void routeDistanceRemaining_addsDistanceOfUpcomingLegs() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    double legDistanceRemaining = 100;
+    double expectedDistance = legDistanceRemaining + route.legs().get(1).distance();
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+
+    assertEquals(expectedDistance, geometryIndex.routeDistanceRemaining(0, legDistanceRemaining), DELTA);
+    assertEquals(legDistanceRemaining, geometryIndex.routeDistanceRemaining(1, legDistanceRemaining), DELTA);
+  }
+
+  @Test
+  public void pointAlongStep_matchesTurfAlong() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    LegStep step = route.legs().get(0).steps().get(5);
+    LineString lineString = LineString.fromPolyline(step.geometry(), Constants.PRECISION_6);
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    double stepLength = geometryIndex.stepGeometryLength(0, 5);
+
+    for (double distance = 0; distance < stepLength + 10; distance += stepLength / 7) {
+      Point expected = TurfMeasurement.along(lineString, distance, TurfConstants.UNIT_METERS);
+      Point actual = geometryIndex.pointAlongStep(0, 5, distance);
+
+      assertEquals(expected.longitude(), actual.longitude(), DELTA);
+      assertEquals(expected.latitude(), actual.latitude(), DELTA);
+    }
+  }
+}
@@ -255,6 +255,19 @@ public class RouteProgressTest extends BaseTest {
     return response.routes().get(0);
   }
 
+  @Test
+  public void builder_reusedBuilderCreatesIndependentProgress() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteProgress.Builder builder = buildBeginningOfLegRouteProgress(route).toBuilder();
+    double stepDistance = getFirstStep(route).distance();
+
+    RouteProgress firstProgress = builder.stepDistanceRemaining(stepDistance).build();
+    RouteProgress secondProgress = builder.stepDistanceRemaining(stepDistance / 2).build();
+
+    assertEquals(stepDistance, firstProgress.currentLegProgress().currentStepProgress().distanceRemaining(), DELTA);
+    assertEquals(stepDistance / 2, secondProgress.currentLegProgress().currentStepProgress().distanceRemaining(), DELTA);
+  }
+
   private RouteProgress buildLastRouteProgress(DirectionsRoute route, RouteLeg firstLeg) throws Exception {
     int stepIndex = firstLeg.steps().size() - 1;
     LegStep step = route.legs().get(0).steps().get(stepIndex);
@@ -0,0 +1,152 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.turf.TurfClassification;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.createIntersectionsList;
+import static com.mapbox.services.android.navigation.v5.utils.MeasurementUtils.userTrueDistanceFromStep;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class RouteSpatialIndexTest extends BaseTest {
+
+  private static final double SEARCH_RADIUS = 1000d;
+  private static final double DISTANCE_DELTA = 0.5d;
+  private static final double[] OFFSETS = {0d, 12d, 45d, 180d};
+  private static final double[] BEARINGS = {0d, 135d, 270d};
+
+  @Test
+  public void distanceFromStep_matchesDistanceFromStepPoints() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    RouteSpatialIndex spatialIndex = RouteSpatialIndex.create(route, geometryIndex);
+
+    for (int stepIndex = 0; stepIndex < geometryIndex.stepCount(0); stepIndex++) {
+      List<Point> stepPoints = geometryIndex.stepPoints(0, stepIndex);
+      for (Point point : buildPointsAroundStep(stepPoints)) {
+        double expectedDistance = userTrueDistanceFromStep(point, stepPoints);
+
+        assertEquals(expectedDistance, spatialIndex.distanceFromStep(point, 0, stepIndex, SEARCH_RADIUS),
+          DISTANCE_DELTA);
+      }
+    }
+  }
+
+  @Test
+  public void distanceFromStep_isGreaterThanRadiusWhenStepIsFurther() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    RouteSpatialIndex spatialIndex = RouteSpatialIndex.create(route, geometryIndex);
+    List<Point> stepPoints = geometryIndex.stepPoints(0, 2);
+    double radius = 20d;
+
+    for (Point point : buildPointsAroundStep(stepPoints)) {
+      boolean isWithinRadius = userTrueDistanceFromStep(point, stepPoints) <= radius - DISTANCE_DELTA;
+      boolean isOutsideRadius = userTrueDistanceFromStep(point, stepPoints) > radius + DISTANCE_DELTA;
+      double distance = spatialIndex.distanceFromStep(point, 0, 2, radius);
+
+      if (isWithinRadius) {
+        assertTrue(distance <= radius);
+      } else if (isOutsideRadius) {
+        assertTrue(distance > radius);
+      }
+    }
+  }
+
+  @Test
+  public void distanceFromRoute_matchesClosestStep() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    RouteSpatialIndex spatialIndex = RouteSpatialIndex.create(route, geometryIndex);
+
+    for (Point point : buildPointsAroundStep(geometryIndex.stepPoints(0, 4))) {
+      double expectedDistance = Double.POSITIVE_INFINITY;
+      for (int stepIndex = 0; stepIndex < geometryIndex.stepCount(0); stepIndex++) {
+        expectedDistance = Math.min(expectedDistance,
+          spatialIndex.distanceFromStep(point, 0, stepIndex, SEARCH_RADIUS));
+      }
+
+      assertEquals(expectedDistance, spatialIndex.distanceFromRoute(point, SEARCH_RADIUS), DELTA);
+    }
+  }
+
+  @Test
+  public void nearestIntersection_matchesNearestStepProgressIntersection() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    RouteSpatialIndex spatialIndex = RouteSpatialIndex.create(route, geometryIndex);
+    List<LegStep> steps = route.legs().get(0).steps();
+
+    for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+      LegStep upcomingStep = stepIndex + 1 < steps.size() - 1 ? steps.get(stepIndex + 1) : null;
+      List<Point> intersectionPoints = new ArrayList<>();
+      for (StepIntersection intersection : createIntersectionsList(steps.get(stepIndex), upcomingStep)) {
+        intersectionPoints.add(intersection.location());
+      }
+      for (Point point : buildPointsAroundStep(geometryIndex.stepPoints(0, stepIndex))) {
+        Point expectedIntersection = TurfClassification.nearestPoint(point, intersectionPoints);
+        double expectedDistance = TurfMeasurement.distance(point, expectedIntersection, TurfConstants.UNIT_METERS);
+
+        Point intersection = spatialIndex.nearestIntersection(point, 0, stepIndex, SEARCH_RADIUS);
+
+        if (expectedDistance <= SEARCH_RADIUS) {
+          assertEquals(expectedIntersection, intersection);
+        } else {
+          assertNull(intersection);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void invalidIndices_haveNoGeometry() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    RouteSpatialIndex spatialIndex = RouteSpatialIndex.create(route, geometryIndex);
+    int invalidStepIndex = route.legs().get(0).steps().size();
+
+    assertTrue(spatialIndex.hasStepGeometry(0, 0));
+    assertFalse(spatialIndex.hasStepGeometry(0, invalidStepIndex));
+    assertFalse(spatialIndex.hasStepGeometry(-1, 0));
+  }
+
+  @Test
+  public void invalidIndices_haveNothingNearby() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    RouteSpatialIndex spatialIndex = RouteSpatialIndex.create(route, geometryIndex);
+    int invalidStepIndex = route.legs().get(0).steps().size();
+    Point point = geometryIndex.stepPoints(0, 0).get(0);
+
+    assertEquals(Double.POSITIVE_INFINITY, spatialIndex.distanceFromStep(point, 1, 0, SEARCH_RADIUS));
+    assertNull(spatialIndex.nearestIntersection(point, 0, invalidStepIndex, SEARCH_RADIUS));
+  }
+
+  private List<Point> buildPointsAroundStep(List<Point> stepPoints) {
+    List<Point> points = new ArrayList<>();
+    for (int i = 0; i < stepPoints.size(); i++) {
+      Point stepPoint = stepPoints.get(i);
+      Point nextPoint = stepPoints.get(Math.min(i + 1, stepPoints.size() - 1));
+      Point midPoint = TurfMeasurement.midpoint(stepPoint, nextPoint);
+      for (double offset : OFFSETS) {
+        for (double bearing : BEARINGS) {
+          points.add(buildPointAwayFromPoint(midPoint, offset, bearing));
+        }
+      }
+    }
+    return points;
+  }
+}
@@ -0,0 +1,112 @@
+package com.mapbox.services.android.navigation.v5.snap;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.turf.TurfMisc;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class SnapCursorTest extends BaseTest {
+
+  @Test
+  public void snap_firstSnapMatchesNearestPointOnLine() throws Exception {
+    List<Point> stepPoints = buildStepPoints(5);
+    Point point = buildPointAwayFromPoint(stepPoints.get(3), 5, 90);
+    SnapCursor snapCursor = new SnapCursor();
+
+    Point snappedPoint = snapCursor.snap(point, stepPoints);
+
+    assertEquals(TurfMisc.nearestPointOnLine(point, stepPoints).geometry(), snappedPoint);
+  }
+
+  @Test
+  public void snap_consecutivePointsMatchNearestPointOnLine() throws Exception {
+    List<Point> stepPoints = buildStepPoints(5);
+    SnapCursor snapCursor = new SnapCursor(1, 2);
+
+    for (int i = 0; i < stepPoints.size(); i++) {
+      Point point = buildPointAwayFromPoint(stepPoints.get(i), 3, 45);
+
+      Point snappedPoint = snapCursor.snap(point, stepPoints);
+
+      assertEquals(TurfMisc.nearestPointOnLine(point, stepPoints).geometry(), snappedPoint);
+    }
+  }
+
+  @Test
+  public void snap_fallsBackToFullScanWhenOutsideWindow() throws Exception {
+    List<Point> stepPoints = buildStepPoints(5);
+    SnapCursor snapCursor = new SnapCursor(0, 1);
+    snapCursor.snap(stepPoints.get(0), stepPoints);
+    Point lastPoint = stepPoints.get(stepPoints.size() - 1);
+
+    Point snappedPoint = snapCursor.snap(lastPoint, stepPoints);
+
+    assertEquals(TurfMisc.nearestPointOnLine(lastPoint, stepPoints).geometry(), snappedPoint);
+    assertEquals(stepPoints.size() - 2, snapCursor.segmentIndex());
+  }
+
+  @Test
+  public void snap_segmentFractionIsBetweenZeroAndOne() throws Exception {
+    List<Point> stepPoints = buildStepPoints(5);
+    SnapCursor snapCursor = new SnapCursor();
+
+    for (Point stepPoint : stepPoints) {
+      snapCursor.snap(buildPointAwayFromPoint(stepPoint, 10, 180), stepPoints);
+
+      assertTrue(snapCursor.segmentFraction() >= 0 && snapCursor.segmentFraction() <= 1);
+    }
+  }
+
+  @Test
+  public void snap_newStepPointsResetSegmentIndex() throws Exception {
+    List<Point> stepPoints = buildStepPoints(5);
+    List<Point> upcomingStepPoints = new ArrayList<>(buildStepPoints(6));
+    SnapCursor snapCursor = new SnapCursor();
+    snapCursor.snap(stepPoints.get(stepPoints.size() - 2), stepPoints);
+
+    snapCursor.snap(upcomingStepPoints.get(0), upcomingStepPoints);
+
+    assertEquals(0, snapCursor.segmentIndex());
+  }
+
+  @Test
+  public void snap_returnsPointWithLessThanTwoCoordinates() throws Exception {
+    List<Point> stepPoints = new ArrayList<>();
+    Point point = Point.fromLngLat(-77.0365, 38.8977);
+    stepPoints.add(point);
+    SnapCursor snapCursor = new SnapCursor();
+
+    Point snappedPoint = snapCursor.snap(point, stepPoints);
+
+    assertEquals(point, snappedPoint);
+  }
+
+  @Test
+  public void reset_clearsSnappedPoint() throws Exception {
+    List<Point> stepPoints = buildStepPoints(5);
+    SnapCursor snapCursor = new SnapCursor();
+    snapCursor.snap(stepPoints.get(1), stepPoints);
+
+    snapCursor.reset();
+
+    assertNull(snapCursor.snappedPoint());
+    assertEquals(0, snapCursor.segmentIndex());
+  }
+
+  private List<Point> buildStepPoints(int stepIndex) throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    String geometry = route.legs().get(0).steps().get(stepIndex).geometry();
+    return PolylineUtils.decode(geometry, Constants.PRECISION_6);
+  }
+}
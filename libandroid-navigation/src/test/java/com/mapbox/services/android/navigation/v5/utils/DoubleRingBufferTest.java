@@ -0,0 +1,61 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class DoubleRingBufferTest extends BaseTest {
+
+  @Test
+  public void runningQueries_matchValuesInBuffer() {
+    DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+    buffer.push(2.5);
+    buffer.push(-1.25);
+    buffer.push(4);
+    buffer.push(3);
+
+    assertEquals(-1.25, buffer.oldest(), DELTA);
+    assertEquals(3, buffer.newest(), DELTA);
+    assertEquals(-1.25, buffer.min(), DELTA);
+    assertEquals(4, buffer.max(), DELTA);
+    assertEquals(5.75, buffer.sum(), DELTA);
+    assertEquals(5.75 / 3, buffer.mean(), DELTA);
+    assertFalse(buffer.isIncreasing());
+    assertFalse(buffer.isDecreasing());
+  }
+
+  @Test
+  public void sum_doesNotDriftAsValuesAreEvicted() {
+    DoubleRingBuffer buffer = new DoubleRingBuffer(2);
+    buffer.push(1e16);
+    buffer.push(1);
+    buffer.push(1);
+    buffer.push(0.1);
+
+    assertEquals(1.1, buffer.sum(), DELTA);
+    assertEquals(0.55, buffer.mean(), DELTA);
+  }
+
+  @Test
+  public void isDecreasing_afterIncreasingValueIsEvicted() {
+    DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+    buffer.push(1);
+    buffer.push(5);
+    buffer.push(4);
+    buffer.push(3);
+
+    assertTrue(buffer.isDecreasing());
+    assertEquals(5, buffer.max(), DELTA);
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void mean_throwsWhenEmpty() {
+    new DoubleRingBuffer(1).mean();
+  }
+}
@@ -0,0 +1,142 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class IntRingBufferTest extends BaseTest {
+
+  private static final int RANDOM_PUSHES = 2000;
+
+  @Test
+  public void push_evictsOldestValueWhenFull() {
+    IntRingBuffer buffer = new IntRingBuffer(2);
+    buffer.push(1);
+    buffer.push(2);
+    buffer.push(3);
+
+    assertEquals(2, buffer.size());
+    assertTrue(buffer.isFull());
+    assertEquals(2, buffer.oldest());
+    assertEquals(3, buffer.newest());
+    assertEquals(2, buffer.get(0));
+    assertEquals(3, buffer.get(1));
+  }
+
+  @Test
+  public void clear_removesEveryValue() {
+    IntRingBuffer buffer = new IntRingBuffer(3);
+    buffer.push(5);
+    buffer.push(4);
+
+    buffer.clear();
+    buffer.push(7);
+
+    assertEquals(1, buffer.size());
+    assertEquals(7, buffer.min());
+    assertEquals(7, buffer.max());
+    assertEquals(7, buffer.sum());
+    assertTrue(buffer.isIncreasing());
+    assertTrue(buffer.isDecreasing());
+  }
+
+  @Test
+  public void runningQueries_matchValuesInBuffer() {
+    Random random = new Random(42);
+    for (int capacity = 1; capacity <= 5; capacity++) {
+      IntRingBuffer buffer = new IntRingBuffer(capacity);
+      ArrayDeque<Integer> expectedValues = new ArrayDeque<>();
+      for (int i = 0; i < RANDOM_PUSHES; i++) {
+        int value = random.nextInt(10) - 5;
+        buffer.push(value);
+        expectedValues.addLast(value);
+        if (expectedValues.size() > capacity) {
+          expectedValues.removeFirst();
+        }
+
+        assertEquals((int) Collections.min(expectedValues), buffer.min());
+        assertEquals((int) Collections.max(expectedValues), buffer.max());
+        assertEquals(sum(expectedValues), buffer.sum());
+        assertEquals((double) sum(expectedValues) / expectedValues.size(), buffer.mean(), DELTA);
+        assertEquals(isIncreasing(expectedValues), buffer.isIncreasing());
+        assertEquals(isDecreasing(expectedValues), buffer.isDecreasing());
+      }
+    }
+  }
+
+  @Test
+  public void isIncreasing_onlyWithStrictlyIncreasingValues() {
+    IntRingBuffer buffer = new IntRingBuffer(3);
+    buffer.push(1);
+    buffer.push(2);
+
+    assertTrue(buffer.isIncreasing());
+    assertFalse(buffer.isDecreasing());
+
+    buffer.push(2);
+
+    assertFalse(buffer.isIncreasing());
+
+    buffer.push(3);
+    buffer.push(4);
+
+    assertTrue(buffer.isIncreasing());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void newest_throwsWhenEmpty() {
+    new IntRingBuffer(1).newest();
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void get_throwsOutsideBuffer() {
+    IntRingBuffer buffer = new IntRingBuffer(2);
+    buffer.push(1);
+
+    buffer.get(1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_throwsWithoutCapacity() {
+    new IntRingBuffer(0);
+  }
+
+  private static long sum(Iterable<Integer> values) {
+    long sum = 0;
+    for (int value : values) {
+      sum += value;
+    }
+    return sum;
+  }
+
+  private static boolean isIncreasing(Iterable<Integer> values) {
+    Integer previous = null;
+    for (Integer value : values) {
+      if (previous != null && value <= previous) {
+        return false;
+      }
+      previous = value;
+    }
+    return true;
+  }
+
+  private static boolean isDecreasing(Iterable<Integer> values) {
+    Integer previous = null;
+    for (Integer value : values) {
+      if (previous != null && value >= previous) {
+        return false;
+      }
+      previous = value;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,39 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class LongRingBufferTest extends BaseTest {
+
+  @Test
+  public void runningQueries_matchValuesInBuffer() {
+    LongRingBuffer buffer = new LongRingBuffer(3);
+    buffer.push(1_500_000_000_000L);
+    buffer.push(1_500_000_001_000L);
+    buffer.push(1_500_000_002_000L);
+    buffer.push(1_500_000_003_000L);
+
+    assertEquals(1_500_000_001_000L, buffer.oldest());
+    assertEquals(1_500_000_003_000L, buffer.newest());
+    assertEquals(1_500_000_001_000L, buffer.min());
+    assertEquals(1_500_000_003_000L, buffer.max());
+    assertEquals(4_500_000_006_000L, buffer.sum());
+    assertEquals(1_500_000_002_000d, buffer.mean(), DELTA);
+    assertTrue(buffer.isIncreasing());
+  }
+
+  @Test
+  public void min_afterMinimumIsEvicted() {
+    LongRingBuffer buffer = new LongRingBuffer(2);
+    buffer.push(1);
+    buffer.push(3);
+    buffer.push(2);
+
+    assertEquals(2, buffer.min());
+    assertEquals(3, buffer.max());
+  }
+}
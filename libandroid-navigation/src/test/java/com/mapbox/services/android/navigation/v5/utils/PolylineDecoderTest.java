@@ -0,0 +1,112 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+import static junit.framework.Assert.assertEquals;
+
+public class PolylineDecoderTest extends BaseTest {
+
+  @Test
+  public void vertexCount_matchesDecodedPoints() throws Exception {
+    String geometry = buildTestDirectionsRoute("directions_two_leg_route.json").geometry();
+
+    int vertexCount = PolylineDecoder.vertexCount(geometry);
+
+    assertEquals(PolylineUtils.decode(geometry, PRECISION_6).size(), vertexCount);
+  }
+
+  @Test
+  public void decode_intoArraysMatchesDecodedPoints() throws Exception {
+    String geometry = buildTestDirectionsRoute("directions_two_leg_route.json").geometry();
+    List<Point> points = PolylineUtils.decode(geometry, PRECISION_6);
+    double[] latitudes = new double[points.size()];
+    double[] longitudes = new double[points.size()];
+
+    int decodedVertices = PolylineDecoder.decode(geometry, PRECISION_6, latitudes, longitudes);
+
+    assertEquals(points.size(), decodedVertices);
+    for (int vertex = 0; vertex < points.size(); vertex++) {
+      assertEquals(points.get(vertex).latitude(), latitudes[vertex]);
+      assertEquals(points.get(vertex).longitude(), longitudes[vertex]);
+    }
+  }
+
+  @Test
+  public void decode_limitedToArrayLength() throws Exception {
+    String geometry = buildTestDirectionsRoute("directions_two_leg_route.json").geometry();
+    List<Point> points = PolylineUtils.decode(geometry, PRECISION_6);
+    double[] latitudes = new double[3];
+    double[] longitudes = new double[3];
+
+    int decodedVertices = PolylineDecoder.decode(geometry, PRECISION_6, 0, Integer.MAX_VALUE,
+      latitudes, longitudes, 1);
+
+    assertEquals(2, decodedVertices);
+    assertEquals(points.get(1).longitude(), longitudes[2]);
+  }
+
+  @Test
+  public void decode_windowOfVertices() throws Exception {
+    String geometry = buildTestDirectionsRoute("directions_two_leg_route.json").geometry();
+    List<Point> points = PolylineUtils.decode(geometry, PRECISION_6);
+    double[] latitudes = new double[4];
+    double[] longitudes = new double[4];
+
+    int decodedVertices = PolylineDecoder.decode(geometry, PRECISION_6, 5, 4, latitudes, longitudes, 0);
+
+    assertEquals(4, decodedVertices);
+    assertEquals(points.get(5).latitude(), latitudes[0]);
+    assertEquals(points.get(8).longitude(), longitudes[3]);
+  }
+
+  @Test
+  public void decode_windowPastLastVertex() throws Exception {
+    String geometry = buildTestDirectionsRoute("directions_two_leg_route.json").geometry();
+    int vertexCount = PolylineDecoder.vertexCount(geometry);
+
+    int decodedVertices = PolylineDecoder.decode(geometry, PRECISION_6, vertexCount - 1, 10,
+      new double[10], new double[10], 0);
+
+    assertEquals(1, decodedVertices);
+    assertEquals(0, PolylineDecoder.decode(geometry, PRECISION_6, vertexCount + 1, 10, new double[10],
+      new double[10], 0));
+  }
+
+  @Test
+  public void decode_visitsVerticesInOrder() throws Exception {
+    String geometry = buildTestDirectionsRoute("directions_two_leg_route.json").geometry();
+    final List<Point> visitedPoints = new ArrayList<>();
+    final List<Integer> visitedVertices = new ArrayList<>();
+
+    int visitedCount = PolylineDecoder.decode(geometry, PRECISION_6, 2, 3, new PolylineDecoder.CoordinateVisitor() {
+      @Override
+      public void visit(int vertex, double latitude, double longitude) {
+        visitedVertices.add(vertex);
+        visitedPoints.add(Point.fromLngLat(longitude, latitude));
+      }
+    });
+
+    List<Point> points = PolylineUtils.decode(geometry, PRECISION_6);
+    assertEquals(3, visitedCount);
+    assertEquals(points.subList(2, 5), visitedPoints);
+    assertEquals(Integer.valueOf(2), visitedVertices.get(0));
+  }
+
+  @Test
+  public void decode_emptyPolyline() throws Exception {
+    assertEquals(0, PolylineDecoder.decode("", PRECISION_6, new double[1], new double[1]));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void decode_negativeFirstVertexThrows() throws Exception {
+    PolylineDecoder.decode("_p~iF~ps|U", PRECISION_6, -1, 1, new double[1], new double[1], 0);
+  }
+}
@@ -0,0 +1,90 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_5;
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+
+public class PolylineTranscoderTest extends BaseTest {
+
+  @Test
+  public void transcode_matchesDecodingAndEncodingRouteGeometry() throws Exception {
+    String geometry = buildTestDirectionsRoute("directions_v5_precision_6.json").geometry();
+    PolylineTranscoder transcoder = new PolylineTranscoder(PRECISION_6, PRECISION_5);
+
+    String transcodedGeometry = transcoder.transcode(geometry);
+
+    assertEquals(reencode(geometry, PRECISION_6, PRECISION_5), transcodedGeometry);
+  }
+
+  @Test
+  public void transcode_roundsHalfCoordinatesLikeEncoding() throws Exception {
+    List<Point> points = Arrays.asList(
+      Point.fromLngLat(-122.4194155, 37.7749295),
+      Point.fromLngLat(-122.419415, 37.774925),
+      Point.fromLngLat(179.999995, -89.999995),
+      Point.fromLngLat(0.000005, -0.000005)
+    );
+    String geometry = PolylineUtils.encode(points, PRECISION_6);
+    PolylineTranscoder transcoder = new PolylineTranscoder(PRECISION_6, PRECISION_5);
+
+    String transcodedGeometry = transcoder.transcode(geometry);
+
+    assertEquals(reencode(geometry, PRECISION_6, PRECISION_5), transcodedGeometry);
+  }
+
+  @Test
+  public void transcode_toHigherPrecision() throws Exception {
+    String geometry = buildTestDirectionsRoute().geometry();
+    PolylineTranscoder transcoder = new PolylineTranscoder(PRECISION_5, PRECISION_6);
+
+    String transcodedGeometry = transcoder.transcode(geometry);
+
+    assertEquals(reencode(geometry, PRECISION_5, PRECISION_6), transcodedGeometry);
+  }
+
+  @Test
+  public void transcode_reusedForShorterPolyline() throws Exception {
+    String geometry = buildTestDirectionsRoute("directions_v5_precision_6.json").geometry();
+    List<Point> points = Arrays.asList(Point.fromLngLat(-77.0365, 38.8977), Point.fromLngLat(-77.0364, 38.8978));
+    String shortGeometry = PolylineUtils.encode(points, PRECISION_6);
+    PolylineTranscoder transcoder = new PolylineTranscoder(PRECISION_6, PRECISION_5);
+    transcoder.transcode(geometry);
+
+    String transcodedGeometry = transcoder.transcode(shortGeometry);
+
+    assertEquals(reencode(shortGeometry, PRECISION_6, PRECISION_5), transcodedGeometry);
+  }
+
+  @Test
+  public void toPrecision5_isCachedPerRoute() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute("directions_v5_precision_6.json");
+    DirectionsRoute equalRoute = route.toBuilder().build();
+
+    String geometry = PolylineTranscoder.toPrecision5(route);
+
+    assertEquals(reencode(route.geometry(), PRECISION_6, PRECISION_5), geometry);
+    assertSame(geometry, PolylineTranscoder.toPrecision5(equalRoute));
+  }
+
+  @Test
+  public void toPrecision5_routeWithoutGeometry() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute().toBuilder().geometry(null).build();
+
+    assertEquals("", PolylineTranscoder.toPrecision5(route));
+  }
+
+  private static String reencode(String geometry, int fromPrecision, int toPrecision) {
+    return PolylineUtils.encode(PolylineUtils.decode(geometry, fromPrecision), toPrecision);
+  }
+}
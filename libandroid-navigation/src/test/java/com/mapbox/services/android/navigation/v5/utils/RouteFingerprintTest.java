@@ -0,0 +1,65 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class RouteFingerprintTest extends BaseTest {
+
+  @Test
+  public void of_equalRoutesHaveSameFingerprint() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    DirectionsRoute equalRoute = route.toBuilder().build();
+
+    assertEquals(RouteFingerprint.of(route), RouteFingerprint.of(equalRoute));
+  }
+
+  @Test
+  public void of_isCachedPerRoute() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+
+    assertEquals(RouteFingerprint.compute(route), RouteFingerprint.of(route));
+    assertEquals(RouteFingerprint.of(route), RouteFingerprint.of(route));
+  }
+
+  @Test
+  public void isSameRoute_differentGeometryIsNotSame() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    DirectionsRoute otherRoute = route.toBuilder().geometry("vfejnqiv").build();
+
+    assertFalse(RouteFingerprint.isSameRoute(route, otherRoute));
+  }
+
+  @Test
+  public void isSameRoute_differentLegCountIsNotSame() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteLeg leg = route.legs().get(0);
+    DirectionsRoute otherRoute = route.toBuilder().legs(Arrays.asList(leg, leg)).build();
+
+    assertFalse(RouteFingerprint.isSameRoute(route, otherRoute));
+  }
+
+  @Test
+  public void isSameRoute_equalRouteIsSame() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+
+    assertTrue(RouteFingerprint.isSameRoute(route, route.toBuilder().build()));
+  }
+
+  @Test
+  public void isSameRoute_nullRouteIsNotSame() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+
+    assertFalse(RouteFingerprint.isSameRoute(route, null));
+    assertFalse(RouteFingerprint.isSameRoute(null, route));
+    assertFalse(RouteFingerprint.isSameRoute(null, null));
+  }
+}
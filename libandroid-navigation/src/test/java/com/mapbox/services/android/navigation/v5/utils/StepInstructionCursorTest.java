@@ -0,0 +1,92 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.VoiceInstructions;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class StepInstructionCursorTest extends BaseTest {
+
+  private static final int DISTANCES_PER_STEP = 50;
+
+  @Test
+  public void findCurrentInstructions_bannerInstructionsMatchRouteUtils() throws Exception {
+    DirectionsRoute route = buildDefaultTestRouteProgress().directionsRoute();
+    StepInstructionCursor<BannerInstructions> cursor = StepInstructionCursor.forBannerInstructions(route);
+    RouteUtils routeUtils = new RouteUtils();
+    List<LegStep> steps = route.legs().get(0).steps();
+
+    for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+      LegStep step = steps.get(stepIndex);
+      for (int i = 0; i <= DISTANCES_PER_STEP; i++) {
+        double stepDistanceRemaining = step.distance() * (DISTANCES_PER_STEP - i) / DISTANCES_PER_STEP;
+
+        assertEquals(routeUtils.findCurrentBannerInstructions(step, stepDistanceRemaining),
+          cursor.findCurrentInstructions(0, stepIndex, stepDistanceRemaining));
+      }
+    }
+  }
+
+  @Test
+  public void findCurrentInstructions_voiceInstructionsMatchRouteUtils() throws Exception {
+    DirectionsRoute route = buildDefaultTestRouteProgress().directionsRoute();
+    StepInstructionCursor<VoiceInstructions> cursor = StepInstructionCursor.forVoiceInstructions(route);
+    RouteUtils routeUtils = new RouteUtils();
+    List<LegStep> steps = route.legs().get(0).steps();
+
+    for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+      LegStep step = steps.get(stepIndex);
+      for (int i = 0; i <= DISTANCES_PER_STEP; i++) {
+        double stepDistanceRemaining = step.distance() * (DISTANCES_PER_STEP - i) / DISTANCES_PER_STEP;
+
+        assertEquals(routeUtils.findCurrentVoiceInstructions(step, stepDistanceRemaining),
+          cursor.findCurrentInstructions(0, stepIndex, stepDistanceRemaining));
+      }
+    }
+  }
+
+  @Test
+  public void findCurrentInstructions_distanceRemainingIncreasesOnSameStep() throws Exception {
+    DirectionsRoute route = buildDefaultTestRouteProgress().directionsRoute();
+    StepInstructionCursor<BannerInstructions> cursor = StepInstructionCursor.forBannerInstructions(route);
+    LegStep step = route.legs().get(0).steps().get(1);
+    List<BannerInstructions> instructions = step.bannerInstructions();
+
+    cursor.findCurrentInstructions(0, 1, 0);
+    BannerInstructions currentInstructions = cursor.findCurrentInstructions(0, 1, step.distance());
+
+    assertEquals(new RouteUtils().findCurrentBannerInstructions(step, step.distance()), currentInstructions);
+    assertEquals(instructions.get(0), currentInstructions);
+  }
+
+  @Test
+  public void findCurrentInstructions_invalidStepReturnsNull() throws Exception {
+    DirectionsRoute route = buildDefaultTestRouteProgress().directionsRoute();
+    StepInstructionCursor<BannerInstructions> cursor = StepInstructionCursor.forBannerInstructions(route);
+    int stepCount = route.legs().get(0).steps().size();
+
+    assertNull(cursor.findCurrentInstructions(0, stepCount, 0));
+    assertNull(cursor.findCurrentInstructions(1, 0, 0));
+    assertNull(cursor.findCurrentInstructions(0, -1, 0));
+  }
+
+  @Test
+  public void isFor_sameRouteInstance() throws Exception {
+    DirectionsRoute route = buildDefaultTestRouteProgress().directionsRoute();
+    DirectionsRoute otherRoute = route.toBuilder().build();
+    StepInstructionCursor<BannerInstructions> cursor = StepInstructionCursor.forBannerInstructions(route);
+
+    assertTrue(cursor.isFor(route));
+    assertFalse(cursor.isFor(otherRoute));
+  }
+}
@@ -6,7 +6,9 @@ import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
 import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometryIndex;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteSpatialIndex;
 import com.mapbox.turf.TurfConstants;
 import com.mapbox.turf.TurfMeasurement;
 
@@ -57,4 +59,18 @@ public class ToleranceUtilsTest extends BaseTest {
 
     assertEquals(50.0, tolerance, DELTA);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void dynamicRerouteDistanceTolerance_spatialIndexMatchesEveryIntersection() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteProgress routeProgress = buildDefaultTestRouteProgress();
+    RouteSpatialIndex spatialIndex = RouteSpatialIndex.create(route, RouteGeometryIndex.create(route));
+    LineString lineString = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
+
+    for (double distance = 0; distance <= route.distance(); distance += 10) {
+      Point point = TurfMeasurement.along(lineString, distance, TurfConstants.UNIT_METERS);
+      assertEquals(ToleranceUtils.dynamicRerouteDistanceTolerance(point, routeProgress),
+        ToleranceUtils.dynamicRerouteDistanceTolerance(point, routeProgress, spatialIndex), DELTA);
+    }
+  }
+}